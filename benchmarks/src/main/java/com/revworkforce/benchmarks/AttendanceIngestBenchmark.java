@@ -0,0 +1,84 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.benchmarks;
+
+import com.revworkforce.model.AttendanceIngestReport;
+import com.revworkforce.service.AttendanceIngestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to ingest one badge swipe file of {@code days} days, four swipes per
+ * employee per day in reader order (interleaved across employees), into the
+ * embedded database. Each run reads the whole file again
+ * (resume=false); the rows it merges already exist after the first run, as
+ * on a re-delivered file. Setup prints the file size and line count.
+ * <p>
+ * Run with {@code -p employees=1000,10000}: at 100000 employees a file is
+ * millions of lines and an iteration takes minutes.
+ *
+ * @author Gururaj Shetty
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AttendanceIngestBenchmark {
+
+    private static final String[] SWIPE_TIMES = { "09:%02d:%02d", "12:%02d:%02d", "13:%02d:%02d", "18:%02d:%02d" };
+
+    @Param({ "5" })
+    public int days;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp(Dataset data) throws Exception {
+        file = Files.createTempFile("swipes", ".csv");
+        long lines = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("employee_id,swiped_at,reader\n");
+            for (int day = 1; day <= days; day++) {
+                for (String time : SWIPE_TIMES) {
+                    for (int n = 1; n <= data.employees; n++) {
+                        String at = String.format(time, n % 60, (n * 7) % 60);
+                        out.write(BenchmarkDatabase.employeeId(n) + ",2024-06-"
+                                + String.format("%02d", day) + " " + at + ",R" + (n % 8) + "\n");
+                        lines++;
+                    }
+                }
+            }
+        }
+        System.out.printf("%nSwipe file: %d lines, %d KB%n", lines, Files.size(file) / 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public AttendanceIngestReport ingestFile(Dataset data) throws Exception {
+        return AttendanceIngestService.ingestFile(file, false);
+    }
+}
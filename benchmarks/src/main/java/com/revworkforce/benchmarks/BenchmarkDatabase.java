@@ -0,0 +1,313 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.benchmarks;
+
+import com.revworkforce.util.MigrationRunner;
+import com.revworkforce.util.PasswordUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds an in-memory H2 database (Oracle compatibility mode) for the DAO
+ * benchmarks: the application schema and seed data from schema.sql and
+ * data.sql, plus a generated organisation of the requested size.
+ * <p>
+ * The generated employees are grouped into teams of {@link #TEAM_SIZE} under a
+ * manager. A quarter of them have a pending leave application. Everyone has
+ * three notifications; for even-numbered employees one of them is unread.
+ *
+ * @author Gururaj Shetty
+ */
+public final class BenchmarkDatabase {
+
+    /** Password of every generated employee. */
+    public static final String PASSWORD = "password";
+
+    /** Reports per generated manager. */
+    public static final int TEAM_SIZE = 20;
+
+    private static final String[] LAST_NAMES = { "Smith", "Patel", "Garcia", "Kim", "Nguyen", "Shetty", "Brown",
+            "Silva", "Khan", "Müller", "Rossi", "Tanaka", "Cohen", "Okafor", "Lopez", "Ivanov", "Dubois", "Singh",
+            "Wilson", "Haddad", "Jensen", "Novak", "Park", "Costa", "Moreau" };
+
+    private static final int BATCH_SIZE = 1000;
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * JDBC URL of the named in-memory database. The database lives until the
+     * JVM exits, so every pooled connection sees the same data.
+     */
+    public static String url(String name) {
+        return "jdbc:h2:mem:" + name + ";MODE=Oracle;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,DAY,VALUE,KEY";
+    }
+
+    /**
+     * Creates the schema, applies the schema migrations, loads the seed data
+     * and generates employees.
+     *
+     * @param url       JDBC URL from {@link #url(String)}.
+     * @param employees Number of employees to generate.
+     */
+    public static void create(String url, int employees) throws SQLException, IOException {
+        try (Connection con = DriverManager.getConnection(url, "sa", "")) {
+            runScript(con, "/schema.sql", true);
+            MigrationRunner.fromClasspath().migrate(con);
+            runScript(con, "/data.sql", false);
+            con.setAutoCommit(false);
+            generate(con, employees);
+            con.commit();
+        }
+    }
+
+    /** ID of the n-th generated employee. */
+    public static String employeeId(int n) {
+        return n % TEAM_SIZE == 0 ? String.format("MGR%06d", n) : String.format("EMP%06d", n);
+    }
+
+    /** ID of the manager of the n-th generated employee. */
+    public static String managerOf(int n) {
+        return employeeId(n - n % TEAM_SIZE);
+    }
+
+    /** A surname shared by one in every 25 generated employees. */
+    public static String searchableLastName() {
+        return LAST_NAMES[LAST_NAMES.length / 2];
+    }
+
+    /**
+     * Adds one manager with a large team on top of a generated organisation.
+     * Each reportee has {@code pendingEach} pending leave applications and
+     * {@code historyEach} approved ones, one per month going back from 2024.
+     *
+     * @param url         JDBC URL of a database built by {@link #create}.
+     * @param managerId   ID of the new manager.
+     * @param reportees   Team size.
+     * @param pendingEach Pending applications per reportee.
+     * @param historyEach Approved applications per reportee.
+     * @return ID of the team's most recent pending leave application.
+     */
+    public static int addTeam(String url, String managerId, int reportees, int pendingEach, int historyEach)
+            throws SQLException {
+        try (Connection con = DriverManager.getConnection(url, "sa", "")) {
+            con.setAutoCommit(false);
+            String hash = PasswordUtil.hashPassword(PASSWORD);
+            String insertEmployee = """
+                        INSERT INTO employees (employee_id, first_name, last_name, email, phone, department_id,
+                                               designation_id, manager_id, joining_date, date_of_birth, salary,
+                                               password_hash)
+                        VALUES (?, ?, ?, ?, ?, (SELECT MIN(department_id) FROM departments),
+                                (SELECT MIN(designation_id) FROM designations), ?, DATE '2020-01-01',
+                                DATE '1990-01-01', 60000, ?)
+                    """;
+            try (PreparedStatement ps = con.prepareStatement(insertEmployee)) {
+                for (int n = 0; n <= reportees; n++) {
+                    String id = n == 0 ? managerId : String.format("%s-%04d", managerId, n);
+                    ps.setString(1, id);
+                    ps.setString(2, "Team" + n);
+                    ps.setString(3, LAST_NAMES[n % LAST_NAMES.length]);
+                    ps.setString(4, id.toLowerCase() + "@bench.revworkforce.com");
+                    ps.setString(5, String.format("7%09d", n));
+                    ps.setString(6, n == 0 ? null : managerId);
+                    ps.setString(7, hash);
+                    addAndFlush(ps, n);
+                }
+                ps.executeBatch();
+            }
+
+            String insertLeave = """
+                        INSERT INTO leave_applications (employee_id, leave_type_id, start_date, end_date,
+                                                        total_days, reason, status)
+                        VALUES (?, (SELECT MIN(leave_type_id) FROM leave_types), ?, ?, 1, 'Generated', ?)
+                    """;
+            LocalDate start = LocalDate.of(2024, 1, 1);
+            try (PreparedStatement ps = con.prepareStatement(insertLeave)) {
+                int added = 0;
+                for (int n = 1; n <= reportees; n++) {
+                    for (int k = 0; k < historyEach + pendingEach; k++) {
+                        boolean pending = k >= historyEach;
+                        LocalDate day = pending ? start.plusDays(k) : start.minusMonths(historyEach - k);
+                        ps.setString(1, String.format("%s-%04d", managerId, n));
+                        ps.setDate(2, Date.valueOf(day));
+                        ps.setDate(3, Date.valueOf(day));
+                        ps.setString(4, pending ? "PENDING" : "APPROVED");
+                        addAndFlush(ps, added++);
+                    }
+                }
+                ps.executeBatch();
+            }
+            con.commit();
+
+            String latest = """
+                        SELECT MAX(la.leave_application_id)
+                        FROM leave_applications la
+                        JOIN employees e ON la.employee_id = e.employee_id
+                        WHERE e.manager_id = ? AND la.status = 'PENDING'
+                    """;
+            try (PreparedStatement ps = con.prepareStatement(latest)) {
+                ps.setString(1, managerId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getInt(1);
+                }
+            }
+        }
+    }
+
+    private static void generate(Connection con, int employees) throws SQLException {
+        // One hash for everyone: hashing 100k passwords would dominate setup
+        String hash = PasswordUtil.hashPassword(PASSWORD);
+        LocalDate joined = LocalDate.of(2020, 1, 1);
+
+        String insertEmployee = """
+                    INSERT INTO employees (employee_id, first_name, last_name, email, phone, department_id,
+                                           designation_id, manager_id, joining_date, date_of_birth, salary,
+                                           password_hash)
+                    VALUES (?, ?, ?, ?, ?, (SELECT MIN(department_id) FROM departments),
+                            (SELECT MIN(designation_id) FROM designations), ?, ?, ?, ?, ?)
+                """;
+        try (PreparedStatement ps = con.prepareStatement(insertEmployee)) {
+            for (int n = 0; n < employees; n++) {
+                ps.setString(1, employeeId(n));
+                ps.setString(2, "First" + n);
+                ps.setString(3, LAST_NAMES[n % LAST_NAMES.length]);
+                ps.setString(4, "user" + n + "@bench.revworkforce.com");
+                ps.setString(5, String.format("8%09d", n));
+                // Managers are inserted before their teams, so the FK holds
+                ps.setString(6, n % TEAM_SIZE == 0 ? null : managerOf(n));
+                ps.setDate(7, Date.valueOf(joined.plusDays(n % 1500)));
+                ps.setDate(8, Date.valueOf(LocalDate.of(1970, 1, 1).plusDays(n % 12000)));
+                ps.setDouble(9, 50000 + n % 50000);
+                ps.setString(10, hash);
+                addAndFlush(ps, n);
+            }
+            ps.executeBatch();
+        }
+
+        String insertLeave = """
+                    INSERT INTO leave_applications (employee_id, leave_type_id, start_date, end_date,
+                                                    total_days, reason, status)
+                    VALUES (?, (SELECT MIN(leave_type_id) FROM leave_types), ?, ?, 2, 'Generated', 'PENDING')
+                """;
+        try (PreparedStatement ps = con.prepareStatement(insertLeave)) {
+            int added = 0;
+            for (int n = 1; n < employees; n += 4) {
+                ps.setString(1, employeeId(n));
+                ps.setDate(2, Date.valueOf(joined.plusDays(2000 + n % 300)));
+                ps.setDate(3, Date.valueOf(joined.plusDays(2001 + n % 300)));
+                addAndFlush(ps, added++);
+            }
+            ps.executeBatch();
+        }
+
+        String insertNotification = """
+                    INSERT INTO notifications (employee_id, notification_type, message, is_read)
+                    VALUES (?, 'GENERAL', ?, ?)
+                """;
+        try (PreparedStatement ps = con.prepareStatement(insertNotification)) {
+            int added = 0;
+            for (int n = 0; n < employees; n++) {
+                for (int k = 0; k < 3; k++) {
+                    ps.setString(1, employeeId(n));
+                    ps.setString(2, "Generated notification " + k);
+                    ps.setInt(3, k == 0 && n % 2 == 0 ? 0 : 1);
+                    addAndFlush(ps, added++);
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static void addAndFlush(PreparedStatement ps, int index) throws SQLException {
+        ps.addBatch();
+        if ((index + 1) % BATCH_SIZE == 0) {
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * Runs an Oracle SQL*Plus style script. PL/SQL blocks (terminated by a
+     * lone "/") are skipped: in schema.sql they only drop tables, which a new
+     * in-memory database does not have.
+     *
+     * @param strict Fail on the first bad statement; otherwise skip statements
+     *               H2 cannot run (Oracle-only date arithmetic in the seed
+     *               data) and carry on.
+     */
+    static void runScript(Connection con, String resource, boolean strict) throws SQLException, IOException {
+        List<String> skipped = new ArrayList<>();
+        try (Statement st = con.createStatement()) {
+            for (String sql : readStatements(resource)) {
+                try {
+                    st.execute(sql);
+                } catch (SQLException e) {
+                    if (strict) {
+                        throw new SQLException("Failed in " + resource + ": " + sql, e);
+                    }
+                    skipped.add(sql);
+                }
+            }
+        }
+        if (!skipped.isEmpty()) {
+            System.err.println("[bench] skipped " + skipped.size() + " statement(s) from " + resource
+                    + " that H2 cannot run");
+        }
+    }
+
+    static List<String> readStatements(String resource) throws IOException {
+        InputStream in = BenchmarkDatabase.class.getResourceAsStream(resource);
+        if (in == null) {
+            throw new IOException(resource + " not found on the classpath");
+        }
+
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inBlock = false;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (inBlock) {
+                    if (trimmed.equals("/")) {
+                        inBlock = false;
+                    }
+                    continue;
+                }
+                if (current.length() == 0 && (trimmed.isEmpty() || trimmed.startsWith("--"))) {
+                    continue;
+                }
+                if (current.length() == 0 && trimmed.toUpperCase().startsWith("BEGIN")) {
+                    inBlock = true;
+                    continue;
+                }
+
+                int comment = trimmed.indexOf("--");
+                String code = comment >= 0 ? trimmed.substring(0, comment).trim() : trimmed;
+                if (code.endsWith(";")) {
+                    current.append(code, 0, code.length() - 1);
+                    statements.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(code).append('\n');
+                }
+            }
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.benchmarks;
+
+import com.revworkforce.config.AppConstants;
+import com.revworkforce.dao.EmployeeDAO;
+import com.revworkforce.util.DBConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Birthday lookups at 100k employees: the previous TO_CHAR(date_of_birth,
+ * 'MMDD') filter, which scans every row, against EmployeeDAO's range probes
+ * on the indexed birth_mmdd column.
+ * <p>
+ * {@code from} picks the first day of the window. From 20 December the
+ * upcoming window crosses the new year, where the old BETWEEN returned no
+ * rows at all; the row counts are printed once per trial so the two can be
+ * compared.
+ * <p>
+ * Each call moves the window on by a day (cycling through a week) so H2
+ * cannot answer a repeated query from the result of the previous call.
+ *
+ * @author Gururaj Shetty
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BirthdayQueryBenchmark {
+
+    private static final DateTimeFormatter MMDD = DateTimeFormatter.ofPattern("MMdd");
+
+    private static final String SQL_OLD_BIRTHDAYS_BETWEEN = """
+                SELECT employee_id, first_name, date_of_birth
+                FROM employees
+                WHERE TO_CHAR(date_of_birth,'MMDD') BETWEEN ? AND ?
+            """;
+
+    @Param({ "100000" })
+    public int employees;
+
+    @Param({ "2024-06-15", "2024-12-20" })
+    public String from;
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAO();
+    private LocalDate first;
+    private int calls;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String url = BenchmarkDatabase.url("revworkforce_birthdays_" + employees);
+        BenchmarkDatabase.create(url, employees);
+
+        System.setProperty("db.url", url);
+        System.setProperty("db.user", "sa");
+        System.setProperty("db.password", "");
+        System.setProperty("db.driver", "org.h2.Driver");
+
+        first = LocalDate.parse(from);
+        LocalDate last = first.plusDays(AppConstants.UPCOMING_EVENT_DAYS);
+        System.out.printf("%n[bench] %s..%s: old query %d rows, indexed %d rows%n", first, last,
+                oldBirthdaysBetween(first, last), birthdaysBetween(first, last));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DBConnection.shutdown();
+    }
+
+    /** Previous upcoming-birthdays query: TO_CHAR on every row. */
+    @Benchmark
+    public int oldUpcomingBirthdays() throws Exception {
+        LocalDate day = nextDay();
+        return oldBirthdaysBetween(day, day.plusDays(AppConstants.UPCOMING_EVENT_DAYS));
+    }
+
+    /** Upcoming birthdays from the birth_mmdd index. */
+    @Benchmark
+    public int upcomingBirthdays() throws Exception {
+        LocalDate day = nextDay();
+        return birthdaysBetween(day, day.plusDays(AppConstants.UPCOMING_EVENT_DAYS));
+    }
+
+    /** Previous birthdays-today query. */
+    @Benchmark
+    public int oldBirthdaysToday() throws Exception {
+        LocalDate day = nextDay();
+        return oldBirthdaysBetween(day, day);
+    }
+
+    /** Birthdays today from the birth_mmdd index. */
+    @Benchmark
+    public int birthdaysToday() throws Exception {
+        LocalDate day = nextDay();
+        return birthdaysBetween(day, day);
+    }
+
+    private LocalDate nextDay() {
+        return first.plusDays(calls++ % 7);
+    }
+
+    private int birthdaysBetween(LocalDate start, LocalDate end) throws Exception {
+        return employeeDAO.getBirthdaysBetween(start, end, rs -> rs.getString("first_name"));
+    }
+
+    private static int oldBirthdaysBetween(LocalDate start, LocalDate end) throws Exception {
+        int rows = 0;
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(SQL_OLD_BIRTHDAYS_BETWEEN)) {
+            ps.setString(1, start.format(MMDD));
+            ps.setString(2, end.format(MMDD));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rs.getString("first_name");
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+}
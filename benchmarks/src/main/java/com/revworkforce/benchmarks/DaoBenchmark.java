@@ -0,0 +1,109 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.benchmarks;
+
+import com.revworkforce.config.AppConstants;
+import com.revworkforce.dao.AuditLogDAO;
+import com.revworkforce.dao.EmployeeDAO;
+import com.revworkforce.dao.LeaveDAO;
+import com.revworkforce.dao.NotificationDAO;
+import com.revworkforce.model.EmployeeSearchPage;
+import com.revworkforce.model.TeamLeaveRequest;
+import com.revworkforce.util.DBConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the DAO calls behind the busiest screens, against the embedded
+ * database at each dataset size.
+ *
+ * @author Gururaj Shetty
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+
+    /** The LIKE search EmployeeDAO ran before the directory index. */
+    private static final String SQL_OLD_SEARCH = """
+                SELECT e.employee_id, e.first_name, e.last_name, e.email,
+                       d.department_name, des.designation_name
+                FROM employees e
+                LEFT JOIN departments d ON e.department_id = d.department_id
+                LEFT JOIN designations des ON e.designation_id = des.designation_id
+                WHERE LOWER(e.first_name) LIKE LOWER(?)
+                   OR LOWER(e.last_name) LIKE LOWER(?)
+                   OR LOWER(e.employee_id) LIKE LOWER(?)
+                   OR LOWER(e.email) LIKE LOWER(?)
+                   OR LOWER(d.department_name) LIKE LOWER(?)
+                   OR LOWER(des.designation_name) LIKE LOWER(?)
+                ORDER BY e.employee_id
+            """;
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAO();
+    private final LeaveDAO leaveDAO = new LeaveDAO();
+    private final NotificationDAO notificationDAO = new NotificationDAO();
+    private final AuditLogDAO auditLogDAO = new AuditLogDAO();
+
+    /** Previous SQL directory search on a surname held by 1 in 25 employees. */
+    @Benchmark
+    public int oldSearchEmployees(Dataset data) throws Exception {
+        String pattern = "%" + BenchmarkDatabase.searchableLastName() + "%";
+        int rows = 0;
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(SQL_OLD_SEARCH)) {
+            for (int i = 1; i <= 6; i++) {
+                ps.setString(i, pattern);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rs.getString("employee_id");
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /** The same search served by the in-memory index, first page only. */
+    @Benchmark
+    public EmployeeSearchPage searchDirectory(Dataset data) throws Exception {
+        return employeeDAO.searchDirectory(BenchmarkDatabase.searchableLastName(), 0,
+                AppConstants.DIRECTORY_PAGE_SIZE);
+    }
+
+    /** Pending leave requests of one manager's team. */
+    @Benchmark
+    public List<TeamLeaveRequest> getTeamLeaveRequests(Dataset data) throws Exception {
+        return leaveDAO.getTeamLeaveRequests(data.managerId);
+    }
+
+    /** Unread badge shown after every login. */
+    @Benchmark
+    public int getUnreadCount(Dataset data) {
+        return notificationDAO.getUnreadCount(data.employeeId);
+    }
+
+    /** Synchronous single-row audit insert. */
+    @Benchmark
+    public void auditLog(Dataset data) throws Exception {
+        auditLogDAO.log(data.employeeId, "BENCHMARK", "EMPLOYEES", data.employeeId, "DAO benchmark");
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.benchmarks;
+
+import com.revworkforce.util.DBConnection;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The database shared by the DAO and service benchmarks, sized by the
+ * {@code employees} parameter.
+ * <p>
+ * The application reads its connection settings once, when the pool is
+ * created, so each dataset size needs its own JVM: keep forking enabled
+ * (the default) when running these benchmarks.
+ *
+ * @author Gururaj Shetty
+ */
+@State(Scope.Benchmark)
+public class Dataset {
+
+    @Param({ "1000", "10000", "100000" })
+    public int employees;
+
+    /** A manager in the middle of the ID range, with a full team. */
+    public String managerId;
+
+    /** An employee with one unread notification. */
+    public String employeeId;
+
+    /** An employee without unread notifications, used for logins. */
+    public String loginId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String url = BenchmarkDatabase.url("revworkforce_" + employees);
+        BenchmarkDatabase.create(url, employees);
+
+        System.setProperty("db.url", url);
+        System.setProperty("db.user", "sa");
+        System.setProperty("db.password", "");
+        System.setProperty("db.driver", "org.h2.Driver");
+
+        int middle = employees / 2;
+        managerId = BenchmarkDatabase.managerOf(middle);
+        employeeId = BenchmarkDatabase.employeeId(middle - middle % 2);
+        loginId = BenchmarkDatabase.employeeId(middle | 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // Flushes the asynchronous audit writer before closing the pool
+        DBConnection.shutdown();
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.benchmarks;
+
+import com.revworkforce.service.AuthService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link AuthService#login} with the correct password: lookup,
+ * BCrypt verification at the application's work factor, last-login update,
+ * session setup, audit entry and unread count. BCrypt is expected to
+ * dominate, so compare this with the DAO numbers to see what is left.
+ *
+ * @author Gururaj Shetty
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+
+    @Benchmark
+    public boolean login(Dataset data) {
+        return AuthService.login(data.loginId, BenchmarkDatabase.PASSWORD);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.benchmarks;
+
+import com.revworkforce.dao.LeaveDAO;
+import com.revworkforce.model.TeamLeaveRequest;
+import com.revworkforce.util.DBConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The check run before every approve or reject: is this leave pending and
+ * does it belong to the manager's team? Compares loading the whole team
+ * listing and scanning it (the previous ManagerService.isPendingLeave) with
+ * the single-row lookup and the cached pending set in LeaveDAO.
+ * <p>
+ * The manager has {@code reportees} direct reports, each with
+ * {@value #PENDING_EACH} pending and {@value #HISTORY_EACH} approved
+ * applications.
+ *
+ * @author Gururaj Shetty
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PendingLeaveBenchmark {
+
+    static final int PENDING_EACH = 4;
+    static final int HISTORY_EACH = 12;
+
+    private static final String MANAGER_ID = "BIGTEAM";
+
+    @Param({ "500" })
+    public int reportees;
+
+    private final LeaveDAO leaveDAO = new LeaveDAO();
+    private int leaveId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String url = BenchmarkDatabase.url("revworkforce_team_" + reportees);
+        BenchmarkDatabase.create(url, 1000);
+        leaveId = BenchmarkDatabase.addTeam(url, MANAGER_ID, reportees, PENDING_EACH, HISTORY_EACH);
+
+        System.setProperty("db.url", url);
+        System.setProperty("db.user", "sa");
+        System.setProperty("db.password", "");
+        System.setProperty("db.driver", "org.h2.Driver");
+    }
+
+    // The menu lists the team's requests before asking which one to process
+    @Setup(Level.Iteration)
+    public void showTeamListing() throws Exception {
+        leaveDAO.getTeamLeaveRequests(MANAGER_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DBConnection.shutdown();
+    }
+
+    /** Previous check: fetch every pending team request and scan for the ID. */
+    @Benchmark
+    public boolean scanTeamListing() throws Exception {
+        for (TeamLeaveRequest row : leaveDAO.getTeamLeaveRequests(MANAGER_ID)) {
+            if (row.leaveApplicationId() == leaveId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** One primary-key lookup joined to the applicant. */
+    @Benchmark
+    public boolean findPendingTeamLeave() throws Exception {
+        return leaveDAO.findPendingTeamLeave(MANAGER_ID, leaveId);
+    }
+
+    /** Answered from the pending set cached by the team listing. */
+    @Benchmark
+    public boolean isPendingTeamLeave() throws Exception {
+        return leaveDAO.isPendingTeamLeave(MANAGER_ID, leaveId);
+    }
+}
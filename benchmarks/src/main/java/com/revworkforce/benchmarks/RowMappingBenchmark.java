@@ -0,0 +1,110 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.benchmarks;
+
+import com.revworkforce.dao.RowMapper;
+import com.revworkforce.dao.RowMappers;
+import com.revworkforce.model.EmployeeSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares mapping a team listing into HashMap rows (the previous DAO code)
+ * with mapping it into EmployeeSummary records through
+ * {@link RowMappers#EMPLOYEE_SUMMARY}.
+ * <p>
+ * Rows come from an in-memory CachedRowSet, so only the mapping cost is
+ * measured. Run with {@code -prof gc} to compare allocation per operation.
+ *
+ * @author Gururaj Shetty
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    private static final String[] COLUMNS = { "employee_id", "first_name", "last_name", "email",
+            "department_name", "designation_name" };
+
+    @Param({ "100", "1000", "10000" })
+    public int rows;
+
+    private CachedRowSet rowSet;
+
+    @Setup
+    public void setUp() throws SQLException {
+        RowSetMetaDataImpl meta = new RowSetMetaDataImpl();
+        meta.setColumnCount(COLUMNS.length);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            meta.setColumnName(i + 1, COLUMNS[i]);
+            meta.setColumnLabel(i + 1, COLUMNS[i]);
+            meta.setColumnType(i + 1, Types.VARCHAR);
+        }
+
+        rowSet = RowSetProvider.newFactory().createCachedRowSet();
+        rowSet.setMetaData(meta);
+        for (int n = 0; n < rows; n++) {
+            rowSet.moveToInsertRow();
+            rowSet.updateString(1, String.format("EMP%05d", n));
+            rowSet.updateString(2, "First" + n);
+            rowSet.updateString(3, (n % 10 == 0) ? null : "Last" + n);
+            rowSet.updateString(4, "user" + n + "@example.com");
+            rowSet.updateString(5, "Engineering");
+            rowSet.updateString(6, "Developer");
+            rowSet.insertRow();
+            rowSet.moveToCurrentRow();
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> hashMapRows() throws SQLException {
+        rowSet.beforeFirst();
+        List<Map<String, Object>> list = new ArrayList<>();
+        while (rowSet.next()) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("employee_id", rowSet.getString("employee_id"));
+            row.put("first_name", rowSet.getString("first_name"));
+            row.put("last_name", rowSet.getString("last_name"));
+            row.put("email", rowSet.getString("email"));
+            row.put("department_name", rowSet.getString("department_name"));
+            row.put("designation_name", rowSet.getString("designation_name"));
+            list.add(row);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> recordRows() throws SQLException {
+        rowSet.beforeFirst();
+        RowMapper<EmployeeSummary> mapper = RowMappers.EMPLOYEE_SUMMARY.forResultSet(rowSet);
+        List<EmployeeSummary> list = new ArrayList<>();
+        while (rowSet.next()) {
+            list.add(mapper.mapRow(rowSet));
+        }
+        return list;
+    }
+}
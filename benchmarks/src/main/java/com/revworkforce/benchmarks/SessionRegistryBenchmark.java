@@ -0,0 +1,91 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.benchmarks;
+
+import com.revworkforce.context.SessionRegistry;
+import com.revworkforce.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session lookups (each one also a touch) from several threads, with
+ * {@code sessions} users logged in. The time per lookup should not grow with
+ * the number of sessions. Setup prints the heap retained per session, which
+ * together with the registry's cap bounds its memory.
+ *
+ * @author Gururaj Shetty
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class SessionRegistryBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int sessions;
+
+    private SessionRegistry registry;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long before = usedHeap();
+        // Headroom for the sessions loginLogout opens
+        registry = new SessionRegistry(TimeUnit.MINUTES.toMillis(10), sessions + 1000);
+        tokens = new String[sessions];
+        for (int i = 0; i < sessions; i++) {
+            Employee emp = new Employee();
+            emp.setEmployeeId(String.format("EMP%06d", i));
+            tokens[i] = registry.open(emp);
+        }
+        long retained = usedHeap() - before;
+        System.out.printf("%n%d sessions retain ~%d bytes each (including the Employee)%n", sessions,
+                retained / sessions);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        registry = null;
+        tokens = null;
+    }
+
+    @Benchmark
+    public Employee lookup() {
+        return registry.get(tokens[ThreadLocalRandom.current().nextInt(tokens.length)]);
+    }
+
+    @Benchmark
+    public Employee loginLogout() {
+        Employee emp = new Employee();
+        String token = registry.open(emp);
+        registry.close(token);
+        return emp;
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -1,11 +1,55 @@
 -- =============================================
 -- RevWorkForce Database Schema
 -- RESET & RECREATE SCRIPT
+-- Baseline only: later changes (new columns,
+-- tables and indexes) are in src/main/resources/
+-- db/migration and are applied by MigrationRunner
+-- at startup.
 -- =============================================
 
 -- =============================================
 -- 1. DROP EXISTING TABLES (Cleanup)
 -- =============================================
+BEGIN
+   EXECUTE IMMEDIATE 'DROP TABLE schema_migrations CASCADE CONSTRAINTS';
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE != -942 THEN
+         RAISE;
+      END IF;
+END;
+/
+
+BEGIN
+   EXECUTE IMMEDIATE 'DROP TABLE attendance_ingest_checkpoints CASCADE CONSTRAINTS';
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE != -942 THEN
+         RAISE;
+      END IF;
+END;
+/
+
+BEGIN
+   EXECUTE IMMEDIATE 'DROP TABLE attendance_monthly CASCADE CONSTRAINTS';
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE != -942 THEN
+         RAISE;
+      END IF;
+END;
+/
+
+BEGIN
+   EXECUTE IMMEDIATE 'DROP TABLE audit_logs_archive CASCADE CONSTRAINTS';
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE != -942 THEN
+         RAISE;
+      END IF;
+END;
+/
+
 BEGIN
    EXECUTE IMMEDIATE 'DROP TABLE audit_logs CASCADE CONSTRAINTS';
 EXCEPTION
@@ -46,6 +90,16 @@ EXCEPTION
 END;
 /
 
+BEGIN
+   EXECUTE IMMEDIATE 'DROP TABLE notifications_archive CASCADE CONSTRAINTS';
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE != -942 THEN
+         RAISE;
+      END IF;
+END;
+/
+
 BEGIN
    EXECUTE IMMEDIATE 'DROP TABLE notifications CASCADE CONSTRAINTS';
 EXCEPTION
@@ -146,6 +200,16 @@ EXCEPTION
 END;
 /
 
+BEGIN
+   EXECUTE IMMEDIATE 'DROP TABLE employee_id_counters CASCADE CONSTRAINTS';
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE != -942 THEN
+         RAISE;
+      END IF;
+END;
+/
+
 BEGIN
    EXECUTE IMMEDIATE 'DROP TABLE employee_roles CASCADE CONSTRAINTS';
 EXCEPTION
@@ -304,6 +368,7 @@ CREATE TABLE leave_applications (
     leave_type_id NUMBER NOT NULL,
     start_date DATE NOT NULL,
     end_date DATE NOT NULL,
+    -- Working days (weekdays less holidays) at the time of applying
     total_days NUMBER(3),
     reason VARCHAR2(500),
     status VARCHAR2(20),
@@ -468,3 +533,4 @@ CREATE TABLE audit_logs (
     CONSTRAINT pk_audit_logs PRIMARY KEY (log_id),
     CONSTRAINT fk_audit_employee FOREIGN KEY (employee_id) REFERENCES employees(employee_id)
 );
+
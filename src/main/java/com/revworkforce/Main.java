@@ -1,10 +1,13 @@
 package com.revworkforce;
 
 import com.revworkforce.menu.MainMenu;
+import com.revworkforce.service.AttendanceRollupJob;
 import com.revworkforce.util.DBConnection;
+import com.revworkforce.util.MigrationRunner;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.sql.Connection;
 
 /**
@@ -26,8 +29,10 @@ public class Main {
         try (Connection con = DBConnection.getConnection()) {
             logger.info("Database connection established");
 
+            MigrationRunner.migrateOnStartup(con, migrations());
+
             // AUTO-FIX: Reset Passwords for ALL test users
-            String newHash = com.revworkforce.util.PasswordUtil.hashPassword("password");
+            String newHash = com.revworkforce.util.PasswordHasher.shared().hash("password");
             try (java.sql.PreparedStatement ps = con.prepareStatement(
                     "UPDATE employees SET password_hash = ? WHERE employee_id IN ('ADMIN001','MGR001','EMP001','EMP002')")) {
                 ps.setString(1, newHash);
@@ -41,6 +46,23 @@ public class Main {
             return;
         }
 
+        com.revworkforce.service.NotificationService.startUnreadCounter();
+        com.revworkforce.service.NotificationService.startDailyNotifications();
+        com.revworkforce.service.NotificationService.startRetention();
+        com.revworkforce.service.AuditService.startArchiving();
+        com.revworkforce.context.SessionContext.startSweeping();
         MainMenu.start();
     }
+
+    /**
+     * The schema migrations, with the work that has to follow some of them
+     * once: the attendance rollups are backfilled in the run that applies V3.
+     *
+     * @return Migrations to apply at startup.
+     * @throws IOException if a migration script is missing.
+     */
+    static MigrationRunner migrations() throws IOException {
+        return MigrationRunner.fromClasspath()
+                .afterMigration(AttendanceRollupJob.ROLLUP_MIGRATION, AttendanceRollupJob::backfill);
+    }
 }
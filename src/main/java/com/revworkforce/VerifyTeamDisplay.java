@@ -2,8 +2,8 @@ package com.revworkforce;
 
 import com.revworkforce.dao.EmployeeDAO;
 import com.revworkforce.service.ManagerService;
+import com.revworkforce.model.EmployeeSummary;
 import java.util.List;
-import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -20,13 +20,11 @@ public class VerifyTeamDisplay {
             EmployeeDAO empDAO = new EmployeeDAO();
             // Search for John Doe to get ID
             logger.info("Searching for Manager 'John Doe'...");
-            List<Map<String, Object>> list = empDAO.searchEmployees("John");
+            List<EmployeeSummary> list = empDAO.searchDirectory("John Doe", 0, 10).results();
             String managerId = null;
-            for (Map<String, Object> row : list) {
-                String firstName = (String) row.get("first_name");
-                String lastName = (String) row.get("last_name");
-                if (firstName.equalsIgnoreCase("John") && lastName.equalsIgnoreCase("Doe")) {
-                    managerId = (String) row.get("employee_id");
+            for (EmployeeSummary row : list) {
+                if ("John".equalsIgnoreCase(row.firstName()) && "Doe".equalsIgnoreCase(row.lastName())) {
+                    managerId = row.employeeId();
                     logger.info("Found Manager: " + managerId);
                     break;
                 }
@@ -1,5 +1,7 @@
 package com.revworkforce.config;
 
+import java.time.LocalTime;
+
 /**
  * Application constants.
  * 
@@ -26,6 +28,109 @@ public class AppConstants {
     public static final String STATUS_APPROVED = "APPROVED";
     public static final String STATUS_REJECTED = "REJECTED";
     public static final String STATUS_CANCELLED = "CANCELLED";
+    public static final String STATUS_REVOKED = "REVOKED";
+
+    // Leave applications decided in one transaction (bounded by the IN list)
+    public static final int LEAVE_DECISION_MAX_BATCH = 500;
+
+    // Pending leave IDs per manager, for the approve/reject pre-check
+    public static final int PENDING_LEAVE_CACHE_MAX_SIZE = 1000;
+    public static final long PENDING_LEAVE_CACHE_TTL_SECONDS = 120;
+
+    // Birthdays/anniversaries listed as upcoming (days after today)
+    public static final int UPCOMING_EVENT_DAYS = 30;
+
+    // Daily birthday/anniversary notifications (scheduled run time)
+    public static final LocalTime DAILY_NOTIFICATION_TIME = LocalTime.of(0, 5);
+
+    // Unread notification counts reloaded from the DB (-Dnotifications.unread.reconcile.ms)
+    public static final long UNREAD_RECONCILE_INTERVAL_MS = 300000;
+
+    // Notification inbox page and retention (-Dnotifications.retention.* overrides)
+    public static final int NOTIFICATION_PAGE_SIZE = 20;
+    public static final int NOTIFICATION_RETENTION_DAYS = 90;
+    public static final int NOTIFICATION_ARCHIVE_BATCH_SIZE = 500;
+    public static final int NOTIFICATION_ARCHIVE_MAX_BATCHES = 200;
+    public static final long NOTIFICATION_ARCHIVE_INTERVAL_MS = 21600000; // 6 hours
+
+    // Employee Directory Cache
+    public static final int EMPLOYEE_CACHE_MAX_SIZE = 5000;
+    public static final long EMPLOYEE_CACHE_TTL_SECONDS = 300;
+
+    // Employee Directory Search (results per page)
+    public static final int DIRECTORY_PAGE_SIZE = 20;
+
+    // Asynchronous Audit Writer (overridable via -Daudit.* system properties)
+    public static final int AUDIT_QUEUE_CAPACITY = 10000;
+    public static final int AUDIT_BATCH_SIZE = 100;
+    public static final long AUDIT_FLUSH_INTERVAL_MS = 200;
+    public static final String AUDIT_OVERFLOW_POLICY = "BLOCK";
+    public static final String AUDIT_SPILL_FILE = "logs/audit-spill.log";
+
+    // Audit log search page and retention (-Daudit.retention.* overrides)
+    public static final int AUDIT_PAGE_SIZE = 25;
+    public static final int AUDIT_RETENTION_DAYS = 180;
+    public static final int AUDIT_ARCHIVE_BATCH_SIZE = 500;
+    public static final int AUDIT_ARCHIVE_MAX_BATCHES = 200;
+    public static final long AUDIT_ARCHIVE_INTERVAL_MS = 21600000; // 6 hours
+
+    // DB Connection Pool (db.pool.* in db.properties, -D or DB_POOL_* env vars)
+    public static final int DB_POOL_MAX_SIZE = 10;
+    public static final int DB_POOL_MIN_IDLE = 2;
+    public static final long DB_POOL_IDLE_TIMEOUT_MS = 30000;
+    public static final long DB_POOL_CONNECTION_TIMEOUT_MS = 30000;
+    public static final long DB_POOL_MAX_LIFETIME_MS = 1800000;
+    public static final long DB_POOL_LEAK_DETECTION_MS = 0; // 0 = off, else >= 2000
+    public static final boolean DB_POOL_METRICS = true;
+    public static final boolean DB_POOL_ADAPTIVE = false;
+    public static final int DB_POOL_ADAPTIVE_MAX_SIZE = 30;
+    public static final long DB_POOL_ADAPTIVE_INTERVAL_MS = 10000;
+    public static final long DB_POOL_ADAPTIVE_TARGET_WAIT_MS = 5;
+
+    // Apply pending db/migration scripts when the application starts (-Ddb.migrate.on.startup)
+    public static final boolean DB_MIGRATE_ON_STARTUP = true;
+
+    // Rows fetched per driver round-trip for streamed queries (-Djdbc.fetch.size)
+    public static final int QUERY_FETCH_SIZE = 200;
+
+    // Employee ID allocation (IDs reserved per block; -Demployee.id.block.size)
+    public static final int EMPLOYEE_ID_BLOCK_SIZE = 20;
+
+    // Bulk Employee Import (overridable via -Dimport.* system properties)
+    public static final int IMPORT_BATCH_SIZE = 200;
+    // Imports hash on the shared PasswordHasher; while it is full they back off,
+    // doubling the pause up to the max, and give up on a chunk after the busy timeout
+    public static final long IMPORT_HASH_BACKOFF_MS = 20;
+    public static final long IMPORT_HASH_MAX_BACKOFF_MS = 1000;
+    public static final long IMPORT_HASH_BUSY_TIMEOUT_MS = 60000;
+    public static final String IMPORT_DEFAULT_PASSWORD = "password";
+
+    // Check-ins after this time are recorded as LATE (-Dattendance.late.after=HH:mm)
+    public static final LocalTime ATTENDANCE_LATE_AFTER = LocalTime.of(9, 30);
+
+    // Badge swipe file ingestion (-Dattendance.ingest.* overrides). Employee-days
+    // held in memory before a commit bound the memory used, whatever the file size.
+    public static final int ATTENDANCE_INGEST_BUFFER_BYTES = 64 * 1024;
+    public static final int ATTENDANCE_INGEST_MAX_PENDING = 50000;
+    public static final long ATTENDANCE_INGEST_CHECKPOINT_LINES = 1000000;
+    public static final int ATTENDANCE_INGEST_BATCH_SIZE = 500;
+
+    // Attendance view: months of rollups, then the most recent days in detail
+    // (-Dattendance.summary.months / -Dattendance.recent.days)
+    public static final int ATTENDANCE_SUMMARY_MONTHS = 12;
+    public static final int ATTENDANCE_RECENT_DAYS = 10;
+
+    // Login sessions (-Dsession.* overrides)
+    public static final long SESSION_IDLE_TIMEOUT_MS = 600000; // 10 minutes
+    public static final int SESSION_MAX_ACTIVE = 100000;
+    public static final long SESSION_SWEEP_INTERVAL_MS = 60000;
+
+    // Password hashing (-Dpassword.hash.* overrides). Stored hashes with another
+    // cost are re-hashed at the next successful login.
+    public static final int PASSWORD_HASH_COST = 12;
+    public static final int PASSWORD_HASH_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    public static final int PASSWORD_HASH_QUEUE_CAPACITY = 64;
+    public static final long PASSWORD_HASH_TIMEOUT_MS = 5000;
 
     private AppConstants() {
         // Prevent instantiation
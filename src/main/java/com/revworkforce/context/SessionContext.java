@@ -1,45 +1,86 @@
 package com.revworkforce.context;
 
+import com.revworkforce.config.AppConstants;
 import com.revworkforce.model.Employee;
 
 /**
- * Manages the current user session context using ThreadLocal or static storage.
+ * Manages the current user session context.
+ * Sessions live in a shared {@link SessionRegistry}; each thread serving a
+ * user is bound to that user's session token, so the console (one thread) and
+ * a multi-user server (a token per request) use the same calls.
  * Handles login state and session timeouts.
- * 
+ *
  * @author Gururaj Shetty
  */
 public class SessionContext {
 
-    private static Employee employee;
-    private static long lastAccess;
+    private static final SessionRegistry registry = new SessionRegistry(
+            Long.getLong("session.idle.timeout.ms", AppConstants.SESSION_IDLE_TIMEOUT_MS),
+            Integer.getInteger("session.max.active", AppConstants.SESSION_MAX_ACTIVE));
 
-    private static final long TIMEOUT_MS = 10 * 60 * 1000; // 10 minutes
+    private static final ThreadLocal<String> currentToken = new ThreadLocal<>();
 
-    public static void set(Employee emp) {
-        employee = emp;
-        touch();
+    /**
+     * Starts a session for the employee and binds it to the current thread.
+     *
+     * @param emp The logged-in employee.
+     * @return The session token.
+     */
+    public static String set(Employee emp) {
+        registry.close(currentToken.get());
+        String token = registry.open(emp);
+        currentToken.set(token);
+        return token;
     }
 
     public static Employee get() {
-        if (isExpired()) {
-            clear();
-            System.out.println("Session expired. Please login again.");
+        String token = currentToken.get();
+        if (token == null) {
             return null;
         }
-        touch();
-        return employee;
+        Employee emp = registry.get(token);
+        if (emp == null) {
+            currentToken.remove();
+            System.out.println("Session expired. Please login again.");
+        }
+        return emp;
     }
 
+    /**
+     * Ends the current thread's session (logout).
+     */
     public static void clear() {
-        employee = null;
+        registry.close(currentToken.get());
+        currentToken.remove();
+    }
+
+    /**
+     * Binds an existing session to the current thread, e.g. at the start of a
+     * request carrying the token.
+     *
+     * @param token The session token.
+     */
+    public static void bind(String token) {
+        currentToken.set(token);
+    }
+
+    /**
+     * Detaches the current thread from its session without ending it, e.g.
+     * at the end of a request.
+     */
+    public static void unbind() {
+        currentToken.remove();
     }
 
-    private static void touch() {
-        lastAccess = System.currentTimeMillis();
+    public static SessionRegistry registry() {
+        return registry;
     }
 
-    private static boolean isExpired() {
-        return employee != null &&
-                System.currentTimeMillis() - lastAccess > TIMEOUT_MS;
+    /**
+     * Starts removing expired sessions in the background
+     * (-Dsession.sweep.interval.ms).
+     */
+    public static void startSweeping() {
+        registry.startSweeping(Long.getLong("session.sweep.interval.ms", AppConstants.SESSION_SWEEP_INTERVAL_MS));
     }
 }
@@ -0,0 +1,215 @@
+package com.revworkforce.context;
+
+import com.revworkforce.exception.ServiceBusyException;
+import com.revworkforce.model.Employee;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Logged-in users keyed by an opaque session token, for serving several users
+ * from one process.
+ * <p>
+ * Lookup is a hash map read. {@link #get} also records the access time with a
+ * single volatile write (at most once a second per session), so concurrent
+ * requests never lock each other. A
+ * session idle for longer than the timeout is refused on its next lookup and
+ * removed by a periodic sweep, so abandoned sessions do not accumulate; the
+ * registry also refuses new sessions past a fixed maximum (checked without a
+ * lock, so concurrent logins can overshoot it by a few).
+ *
+ * @author Gururaj Shetty
+ */
+public class SessionRegistry {
+
+    private static final Logger logger = LogManager.getLogger(SessionRegistry.class);
+
+    private static final int TOKEN_BYTES = 24;
+
+    // Accesses closer together than this do not rewrite the access time, so
+    // busy sessions read their entry without writing to a shared cache line
+    static final long TOUCH_GRANULARITY_MS = 1000;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long idleTimeoutMs;
+    private final int maxSessions;
+    private final LongSupplier clock;
+    private ScheduledExecutorService sweeper;
+
+    /**
+     * @param idleTimeoutMs Time without access after which a session expires.
+     * @param maxSessions   Most sessions held at once.
+     */
+    public SessionRegistry(long idleTimeoutMs, int maxSessions) {
+        this(idleTimeoutMs, maxSessions, System::currentTimeMillis);
+    }
+
+    SessionRegistry(long idleTimeoutMs, int maxSessions, LongSupplier clock) {
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxSessions = maxSessions;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts a session for a logged-in employee.
+     *
+     * @param emp The employee.
+     * @return The session token.
+     * @throws ServiceBusyException if the registry is full even after
+     *                              removing expired sessions.
+     */
+    public String open(Employee emp) {
+        if (sessions.size() >= maxSessions) {
+            sweep();
+            if (sessions.size() >= maxSessions) {
+                throw new ServiceBusyException("Too many active sessions");
+            }
+        }
+        String token = newToken();
+        sessions.put(token, new Session(emp, clock.getAsLong()));
+        return token;
+    }
+
+    /**
+     * Looks up a session and marks it as used.
+     *
+     * @param token The session token.
+     * @return The employee, or null if there is no such session or it expired.
+     */
+    public Employee get(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        if (session.isExpired(now, idleTimeoutMs)) {
+            sessions.remove(token, session);
+            return null;
+        }
+        if (now - session.lastAccess >= TOUCH_GRANULARITY_MS) {
+            session.lastAccess = now;
+        }
+        return session.employee;
+    }
+
+    /**
+     * @param token The session token.
+     * @return true if the session exists and has not expired; does not count
+     *         as an access.
+     */
+    public boolean isActive(String token) {
+        Session session = token == null ? null : sessions.get(token);
+        return session != null && !session.isExpired(clock.getAsLong(), idleTimeoutMs);
+    }
+
+    /**
+     * Ends a session (logout).
+     *
+     * @param token The session token.
+     */
+    public void close(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    /**
+     * Removes every expired session.
+     *
+     * @return Number of sessions removed.
+     */
+    public int sweep() {
+        long now = clock.getAsLong();
+        int removed = 0;
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext();) {
+            if (it.next().isExpired(now, idleTimeoutMs)) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return Sessions held, including expired ones not yet swept.
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Sweeps expired sessions at a fixed interval on a daemon thread.
+     *
+     * @param intervalMs Time between sweeps.
+     */
+    public synchronized void startSweeping(long intervalMs) {
+        if (sweeper != null) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepScheduled, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopSweeping() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+    }
+
+    private void sweepScheduled() {
+        try {
+            int removed = sweep();
+            if (removed > 0) {
+                logger.debug("Expired {} session(s), {} active", removed, sessions.size());
+            }
+        } catch (Exception e) {
+            logger.error("Session sweep failed: " + e.getMessage(), e);
+        }
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static final class Session {
+        private final Employee employee;
+        private volatile long lastAccess;
+
+        private Session(Employee employee, long lastAccess) {
+            this.employee = employee;
+            this.lastAccess = lastAccess;
+        }
+
+        private boolean isExpired(long now, long idleTimeoutMs) {
+            return now - lastAccess > idleTimeoutMs;
+        }
+    }
+}
@@ -1,11 +1,5 @@
 package com.revworkforce.dao;
 
-import com.revworkforce.util.DBConnection;
-
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-
 /**
  * DAO for managing Announcements.
  * Handles fetching all announcements.
@@ -13,7 +7,7 @@ import java.sql.ResultSet;
  * @author Gururaj Shetty
  */
 public class AnnouncementDAO {
-    public ResultSet getAllAnnouncements() throws Exception {
+    public int getAllAnnouncements(RowCallback callback) throws Exception {
 
         String sql = """
                     SELECT title, content, posted_date
@@ -21,9 +15,7 @@ public class AnnouncementDAO {
                     ORDER BY posted_date DESC
                 """;
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        return ps.executeQuery();
+        return StreamingQuery.forEachRow(sql, StreamingQuery.NO_PARAMETERS, callback);
     }
 
 }
@@ -0,0 +1,89 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.dao;
+
+import com.revworkforce.util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves one batch of rows from a live table into its archive table.
+ * <p>
+ * The batch is chosen by ID first and the copy and delete both name those
+ * IDs, so a row that becomes eligible while the batch runs is never deleted
+ * without having been copied. The three statements run in one transaction.
+ *
+ * @author Gururaj Shetty
+ */
+final class ArchiveBatch {
+
+    // The IDs are bound as an IN list, which Oracle caps at 1000 entries
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private ArchiveBatch() {
+    }
+
+    /**
+     * @param candidatesSql Selects the IDs to move (one column); parameters
+     *                      are the cutoff and the batch size.
+     * @param copySql       Copies rows to the archive; %s is the IN list.
+     * @param deleteSql     Deletes rows from the live table; %s is the IN list.
+     * @param cutoff        Rows created before this are eligible.
+     * @param batchSize     Most rows to move.
+     * @return Number of rows moved.
+     * @throws IllegalArgumentException if batchSize is not between 1 and 1000.
+     * @throws Exception if the move fails (nothing is moved).
+     */
+    static int move(String candidatesSql, String copySql, String deleteSql, Timestamp cutoff, int batchSize)
+            throws Exception {
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Archive batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+
+        try (Connection con = DBConnection.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try {
+                List<Integer> ids = new ArrayList<>();
+                try (PreparedStatement ps = con.prepareStatement(candidatesSql)) {
+                    ps.setTimestamp(1, cutoff);
+                    ps.setInt(2, batchSize);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getInt(1));
+                        }
+                    }
+                }
+                if (ids.isEmpty()) {
+                    con.commit();
+                    return 0;
+                }
+
+                String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+                try (PreparedStatement copy = con.prepareStatement(String.format(copySql, placeholders));
+                        PreparedStatement delete = con.prepareStatement(String.format(deleteSql, placeholders))) {
+                    for (int i = 0; i < ids.size(); i++) {
+                        copy.setInt(i + 1, ids.get(i));
+                        delete.setInt(i + 1, ids.get(i));
+                    }
+                    copy.executeUpdate();
+                    int moved = delete.executeUpdate();
+                    con.commit();
+                    return moved;
+                }
+            } catch (Exception e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        }
+    }
+}
@@ -1,84 +1,641 @@
 package com.revworkforce.dao;
 
+import com.revworkforce.model.Attendance;
+import com.revworkforce.model.AttendanceMonth;
+import com.revworkforce.model.AttendanceOutcome;
+import com.revworkforce.model.SwipeDay;
 import com.revworkforce.util.DBConnection;
 
 import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * DAO for Attendance Tracking.
  * Handles check-in, check-out, and attendance history retrieval.
+ * Every write also keeps the employee's attendance_monthly rollup row
+ * current, in the same transaction, so summaries never aggregate daily rows.
  * 
  * @author Gururaj Shetty
  */
 public class AttendanceDAO {
 
-    public boolean hasCheckedIn(String empId, Date date) throws Exception {
-        String sql = "SELECT 1 FROM attendance WHERE employee_id = ? AND attendance_date = ?";
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, empId);
-            ps.setDate(2, date);
-            return ps.executeQuery().next();
+    // Inserts the day's row only if there is none; a second check-in matches
+    // and changes nothing
+    private static final String SQL_CHECK_IN = """
+                MERGE INTO attendance a
+                USING dual ON (a.employee_id = ? AND a.attendance_date = ?)
+                WHEN NOT MATCHED THEN
+                    INSERT (employee_id, attendance_date, check_in_time, status)
+                    VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String SQL_CHECK_OUT = """
+                UPDATE attendance
+                SET check_out_time = ?
+                WHERE employee_id = ? AND attendance_date = ? AND check_out_time IS NULL
+            """;
+
+    private static final String SQL_DAY_EXISTS = "SELECT 1 FROM attendance WHERE employee_id = ? AND attendance_date = ?";
+
+    // Folds a day's first/last swipe into its row: the earliest time seen is
+    // the check-in, the latest (if later) the check-out, so merging the same
+    // swipes again, or in pieces, gives the same row
+    private static final String SQL_MERGE_SWIPE_DAY = """
+                MERGE INTO attendance a
+                USING (SELECT CAST(? AS VARCHAR2(20)) AS employee_id, CAST(? AS DATE) AS attendance_date,
+                              CAST(? AS TIMESTAMP) AS first_swipe, CAST(? AS TIMESTAMP) AS last_swipe,
+                              CAST(? AS VARCHAR2(20)) AS status
+                       FROM dual) s
+                ON (a.employee_id = s.employee_id AND a.attendance_date = s.attendance_date)
+                WHEN MATCHED THEN UPDATE SET
+                    a.check_in_time = LEAST(NVL(a.check_in_time, s.first_swipe), s.first_swipe),
+                    a.check_out_time = NULLIF(
+                        GREATEST(NVL(a.check_out_time, s.last_swipe), NVL(a.check_in_time, s.last_swipe), s.last_swipe),
+                        LEAST(NVL(a.check_in_time, s.first_swipe), s.first_swipe)),
+                    a.status = CASE WHEN a.check_in_time IS NULL OR s.first_swipe < a.check_in_time
+                                    THEN s.status ELSE a.status END
+                WHEN NOT MATCHED THEN
+                    INSERT (employee_id, attendance_date, check_in_time, check_out_time, status)
+                    VALUES (s.employee_id, s.attendance_date, s.first_swipe,
+                            NULLIF(s.last_swipe, s.first_swipe), s.status)
+            """;
+
+    // Seconds between check-in and check-out; interval arithmetic that Oracle
+    // and the H2 test database both support
+    private static final String WORKED_SECONDS = """
+                ROUND(EXTRACT(DAY FROM (a.check_out_time - a.check_in_time)) * 86400
+                      + EXTRACT(HOUR FROM (a.check_out_time - a.check_in_time)) * 3600
+                      + EXTRACT(MINUTE FROM (a.check_out_time - a.check_in_time)) * 60
+                      + EXTRACT(SECOND FROM (a.check_out_time - a.check_in_time)))""";
+
+    // One month of attendance rows rolled up, as the attendance_monthly columns
+    private static final String ROLLUP_AGGREGATES = """
+                NVL(SUM(CASE WHEN a.status IN ('PRESENT', 'LATE') THEN 1 ELSE 0 END), 0) AS present_days,
+                NVL(SUM(CASE WHEN a.status = 'LATE' THEN 1 ELSE 0 END), 0) AS late_days,
+                NVL(SUM(CASE WHEN a.status = 'ABSENT' THEN 1 ELSE 0 END), 0) AS absent_days,
+                COUNT(CASE WHEN a.check_in_time IS NOT NULL AND a.check_out_time IS NOT NULL THEN 1 END)
+                    AS completed_days,
+                NVL(SUM(CASE WHEN a.check_in_time IS NOT NULL AND a.check_out_time IS NOT NULL
+                        THEN\s""" + WORKED_SECONDS + """
+             END), 0) AS worked_seconds,
+                COUNT(CASE WHEN a.check_in_time IS NOT NULL AND a.check_out_time IS NULL THEN 1 END)
+                    AS missing_checkouts
+            """;
+
+    private static final String ROLLUP_UPDATE = """
+                WHEN MATCHED THEN UPDATE SET
+                    m.present_days = s.present_days, m.late_days = s.late_days, m.absent_days = s.absent_days,
+                    m.completed_days = s.completed_days, m.worked_seconds = s.worked_seconds,
+                    m.missing_checkouts = s.missing_checkouts, m.updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private static final String ROLLUP_INSERT = """
+                WHEN NOT MATCHED THEN
+                    INSERT (employee_id, month_start, present_days, late_days, absent_days, completed_days,
+                            worked_seconds, missing_checkouts)
+            """;
+
+    private static final String ROLLUP_SOURCE_VALUES = """
+                s.present_days, s.late_days, s.absent_days, s.completed_days, s.worked_seconds, s.missing_checkouts)
+            """;
+
+    // Recomputes one employee-month from its (at most 31) attendance rows
+    private static final String SQL_REFRESH_EMPLOYEE_MONTH = """
+                MERGE INTO attendance_monthly m
+                USING (SELECT\s""" + ROLLUP_AGGREGATES + """
+                       FROM attendance a
+                       WHERE a.employee_id = ? AND a.attendance_date >= ? AND a.attendance_date < ?) s
+                ON (m.employee_id = ? AND m.month_start = ?)
+            """ + ROLLUP_UPDATE + ROLLUP_INSERT + """
+                    VALUES (?, ?,\s""" + ROLLUP_SOURCE_VALUES;
+
+    // Recomputes one month for every employee (backfill)
+    private static final String SQL_REFRESH_MONTH = """
+                MERGE INTO attendance_monthly m
+                USING (SELECT a.employee_id,\s""" + ROLLUP_AGGREGATES + """
+                       FROM attendance a
+                       WHERE a.attendance_date >= ? AND a.attendance_date < ?
+                       GROUP BY a.employee_id) s
+                ON (m.employee_id = s.employee_id AND m.month_start = ?)
+            """ + ROLLUP_UPDATE + ROLLUP_INSERT + """
+                    VALUES (s.employee_id, ?,\s""" + ROLLUP_SOURCE_VALUES;
+
+    private static final String SQL_DELETE_STALE_MONTH = """
+                DELETE FROM attendance_monthly m
+                WHERE m.month_start = ?
+                  AND NOT EXISTS (SELECT 1 FROM attendance a
+                                  WHERE a.employee_id = m.employee_id
+                                    AND a.attendance_date >= ? AND a.attendance_date < ?)
+            """;
+
+    private static final String SQL_ROLLUP_CHECK_IN = """
+                UPDATE attendance_monthly
+                SET present_days = present_days + 1, late_days = late_days + ?,
+                    missing_checkouts = missing_checkouts + 1, updated_at = CURRENT_TIMESTAMP
+                WHERE employee_id = ? AND month_start = ?
+            """;
+
+    private static final String SQL_ROLLUP_CHECK_OUT = """
+                UPDATE attendance_monthly
+                SET completed_days = completed_days + 1, missing_checkouts = missing_checkouts - 1,
+                    worked_seconds = worked_seconds + NVL((SELECT\s""" + WORKED_SECONDS + """
+
+                        FROM attendance a WHERE a.employee_id = ? AND a.attendance_date = ?), 0),
+                    updated_at = CURRENT_TIMESTAMP
+                WHERE employee_id = ? AND month_start = ?
+            """;
+
+    private static final String SQL_MONTHLY_SUMMARIES = """
+                SELECT employee_id, month_start, present_days, late_days, absent_days, completed_days,
+                       worked_seconds, missing_checkouts
+                FROM attendance_monthly
+                WHERE employee_id = ? AND month_start >= ?
+                ORDER BY month_start DESC
+            """;
+
+    private static final String SQL_SAVE_CHECKPOINT = """
+                MERGE INTO attendance_ingest_checkpoints c
+                USING dual ON (c.source_name = ?)
+                WHEN MATCHED THEN UPDATE SET
+                    c.fingerprint = ?, c.byte_offset = ?, c.lines_read = ?, c.updated_at = CURRENT_TIMESTAMP
+                WHEN NOT MATCHED THEN
+                    INSERT (source_name, fingerprint, byte_offset, lines_read) VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String SQL_GET_CHECKPOINT = """
+                SELECT fingerprint, byte_offset, lines_read
+                FROM attendance_ingest_checkpoints
+                WHERE source_name = ?
+            """;
+
+    /**
+     * How far into a swipe file the committed attendance rows reach.
+     *
+     * @param fingerprint Identifies the file's content (see
+     *                    {@code AttendanceIngestService}), so a different
+     *                    file under the same name starts over.
+     * @param byteOffset  Start of the first line not yet committed.
+     * @param linesRead   Lines before that offset.
+     */
+    public record IngestCheckpoint(String fingerprint, long byteOffset, long linesRead) {
+    }
+
+    /**
+     * Checks an employee in with a single statement: the day's row is created
+     * unless it already exists, so a repeated or concurrent check-in cannot
+     * create a second row and needs no prior lookup. A new row is added to the
+     * month's rollup in the same transaction.
+     *
+     * @param empId     The Employee ID.
+     * @param at        Check-in time; its date is the attendance date.
+     * @param lateAfter Check-ins after this time of day are recorded as LATE.
+     * @return CHECKED_IN, LATE, or ALREADY_CHECKED_IN.
+     * @throws Exception if the statement fails.
+     */
+    public AttendanceOutcome checkIn(String empId, LocalDateTime at, LocalTime lateAfter) throws Exception {
+        try (Connection con = DBConnection.getConnection()) {
+            return checkIn(con, empId, at, lateAfter);
         }
     }
 
-    public void checkIn(String empId) throws Exception {
-        String sql = """
-                    INSERT INTO attendance (employee_id, attendance_date, check_in_time, status)
-                    VALUES (?, CURRENT_DATE, CURRENT_TIMESTAMP, 'PRESENT')
-                """;
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, empId);
-            ps.executeUpdate();
+    AttendanceOutcome checkIn(Connection con, String empId, LocalDateTime at, LocalTime lateAfter)
+            throws SQLException {
+        boolean late = at.toLocalTime().isAfter(lateAfter);
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try {
+            int inserted;
+            try (PreparedStatement ps = con.prepareStatement(SQL_CHECK_IN)) {
+                Date day = Date.valueOf(at.toLocalDate());
+                ps.setString(1, empId);
+                ps.setDate(2, day);
+                ps.setString(3, empId);
+                ps.setDate(4, day);
+                ps.setTimestamp(5, Timestamp.valueOf(at));
+                ps.setString(6, late ? "LATE" : "PRESENT");
+                try {
+                    inserted = ps.executeUpdate();
+                } catch (SQLIntegrityConstraintViolationException e) {
+                    // Another check-in for the same day inserted between our match
+                    // and our insert; running again now matches its row. Any other
+                    // violation (e.g. unknown employee) fails again and is thrown.
+                    inserted = ps.executeUpdate();
+                }
+            }
+            if (inserted > 0) {
+                addCheckInToRollup(con, empId, at.toLocalDate(), late);
+            }
+            con.commit();
+            if (inserted == 0) {
+                return AttendanceOutcome.ALREADY_CHECKED_IN;
+            }
+            return late ? AttendanceOutcome.LATE : AttendanceOutcome.CHECKED_IN;
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(autoCommit);
         }
     }
 
-    public boolean hasCheckedOut(String empId, Date date) throws Exception {
-        String sql = "SELECT 1 FROM attendance WHERE employee_id = ? AND attendance_date = ? AND check_out_time IS NOT NULL";
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
+    /**
+     * Checks an employee out with a single update that only succeeds once per
+     * day, and adds the day's hours to the month's rollup in the same
+     * transaction. The row is read again only when nothing was updated, to
+     * tell an earlier check-out from a missing check-in.
+     *
+     * @param empId The Employee ID.
+     * @param at    Check-out time; its date is the attendance date.
+     * @return CHECKED_OUT, ALREADY_CHECKED_OUT, or NOT_CHECKED_IN.
+     * @throws Exception if the statement fails.
+     */
+    public AttendanceOutcome checkOut(String empId, LocalDateTime at) throws Exception {
+        try (Connection con = DBConnection.getConnection()) {
+            return checkOut(con, empId, at);
+        }
+    }
+
+    AttendanceOutcome checkOut(Connection con, String empId, LocalDateTime at) throws SQLException {
+        LocalDate date = at.toLocalDate();
+        Date day = Date.valueOf(date);
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try {
+            int updated;
+            try (PreparedStatement ps = con.prepareStatement(SQL_CHECK_OUT)) {
+                ps.setTimestamp(1, Timestamp.valueOf(at));
+                ps.setString(2, empId);
+                ps.setDate(3, day);
+                updated = ps.executeUpdate();
+            }
+            if (updated > 0) {
+                addCheckOutToRollup(con, empId, date);
+                con.commit();
+                return AttendanceOutcome.CHECKED_OUT;
+            }
+            con.commit();
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+        try (PreparedStatement ps = con.prepareStatement(SQL_DAY_EXISTS)) {
             ps.setString(1, empId);
-            ps.setDate(2, date);
-            return ps.executeQuery().next();
+            ps.setDate(2, day);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? AttendanceOutcome.ALREADY_CHECKED_OUT : AttendanceOutcome.NOT_CHECKED_IN;
+            }
         }
     }
 
-    public void checkOut(String empId) throws Exception {
-        String sql = """
-                    UPDATE attendance
-                    SET check_out_time = CURRENT_TIMESTAMP
-                    WHERE employee_id = ? AND attendance_date = CURRENT_DATE
-                """;
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
+    private static void addCheckInToRollup(Connection con, String empId, LocalDate day, boolean late)
+            throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(SQL_ROLLUP_CHECK_IN)) {
+            ps.setInt(1, late ? 1 : 0);
+            ps.setString(2, empId);
+            ps.setDate(3, monthStart(YearMonth.from(day)));
+            if (ps.executeUpdate() > 0) {
+                return;
+            }
+        }
+        // First day of the month, or a month from before the rollups existed
+        refreshEmployeeMonth(con, empId, YearMonth.from(day));
+    }
+
+    private static void addCheckOutToRollup(Connection con, String empId, LocalDate day) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(SQL_ROLLUP_CHECK_OUT)) {
             ps.setString(1, empId);
-            ps.executeUpdate();
+            ps.setDate(2, Date.valueOf(day));
+            ps.setString(3, empId);
+            ps.setDate(4, monthStart(YearMonth.from(day)));
+            if (ps.executeUpdate() > 0) {
+                return;
+            }
         }
+        refreshEmployeeMonth(con, empId, YearMonth.from(day));
     }
 
-    public ResultSet getAttendanceHistory(String empId) throws Exception {
-        String sql = "SELECT * FROM attendance WHERE employee_id = ? ORDER BY attendance_date DESC";
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
+    private static void refreshEmployeeMonth(Connection con, String empId, YearMonth month) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(SQL_REFRESH_EMPLOYEE_MONTH)) {
+            bindEmployeeMonth(ps, empId, month);
+            try {
+                ps.executeUpdate();
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // Created concurrently; recomputing again updates it instead
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    private static void bindEmployeeMonth(PreparedStatement ps, String empId, YearMonth month) throws SQLException {
         ps.setString(1, empId);
-        return ps.executeQuery();
+        ps.setDate(2, monthStart(month));
+        ps.setDate(3, monthStart(month.plusMonths(1)));
+        ps.setString(4, empId);
+        ps.setDate(5, monthStart(month));
+        ps.setString(6, empId);
+        ps.setDate(7, monthStart(month));
+    }
+
+    private static Date monthStart(YearMonth month) {
+        return Date.valueOf(month.atDay(1));
+    }
+
+    /**
+     * Streams an employee's full attendance history, newest first.
+     *
+     * @param empId    The Employee ID.
+     * @param callback Receives each attendance row.
+     * @return Number of rows streamed.
+     * @throws Exception if the query fails.
+     */
+    public int getAttendanceHistory(String empId, RowCallback callback) throws Exception {
+        String sql = "SELECT * FROM attendance WHERE employee_id = ? ORDER BY attendance_date DESC";
+
+        return StreamingQuery.forEachRow(sql, ps -> ps.setString(1, empId), callback);
+    }
+
+    /**
+     * Retrieves one page of an employee's attendance history, newest first,
+     * using the attendance date as a keyset cursor. Each page is an index range
+     * scan on (employee_id, attendance_date), however deep into the history
+     * it is.
+     *
+     * @param empId    The Employee ID.
+     * @param before   Only return days strictly before this date; null for the
+     *                 first page. Pass the last date of the previous page to
+     *                 continue.
+     * @param pageSize Maximum number of rows.
+     * @return Up to pageSize attendance records; fewer means the end was reached.
+     * @throws Exception if the query fails.
+     */
+    public List<Attendance> getAttendanceHistoryPage(String empId, Date before, int pageSize) throws Exception {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        String sql = before == null
+                ? """
+                            SELECT attendance_id, employee_id, attendance_date, check_in_time, check_out_time, status
+                            FROM attendance
+                            WHERE employee_id = ?
+                            ORDER BY attendance_date DESC
+                            FETCH FIRST ? ROWS ONLY
+                        """
+                : """
+                            SELECT attendance_id, employee_id, attendance_date, check_in_time, check_out_time, status
+                            FROM attendance
+                            WHERE employee_id = ?
+                              AND attendance_date < ?
+                            ORDER BY attendance_date DESC
+                            FETCH FIRST ? ROWS ONLY
+                        """;
+
+        List<Attendance> page = new ArrayList<>(pageSize);
+        StreamingQuery.forEachRow(sql, ps -> {
+            int i = 1;
+            ps.setString(i++, empId);
+            if (before != null) {
+                ps.setDate(i++, before);
+            }
+            ps.setInt(i, pageSize);
+        }, rs -> {
+            Attendance a = new Attendance();
+            a.setAttendanceId(rs.getInt("attendance_id"));
+            a.setEmployeeId(rs.getString("employee_id"));
+            a.setAttendanceDate(rs.getDate("attendance_date"));
+            a.setCheckInTime(rs.getTimestamp("check_in_time"));
+            a.setCheckOutTime(rs.getTimestamp("check_out_time"));
+            a.setStatus(rs.getString("status"));
+            page.add(a);
+        });
+        return page;
+    }
+
+    /**
+     * Merges collapsed swipes into attendance with JDBC batching, recomputes
+     * the monthly rollups they touch and records the file's checkpoint, all
+     * in one transaction: after a crash either all are there or none is. The merge is idempotent, so a batch that
+     * loses a race on uk_attendance with an interactive check-in is simply
+     * run again.
+     *
+     * @param days       Swipes to merge; at most one entry per employee-day.
+     * @param lateAfter  A day whose first swipe is after this is LATE.
+     * @param batchSize  Statements per executeBatch.
+     * @param source     Name the checkpoint is kept under.
+     * @param checkpoint Progress reached once these days are committed.
+     * @throws Exception if the merge fails twice or the checkpoint cannot be saved.
+     */
+    public void mergeSwipeDays(List<SwipeDay> days, LocalTime lateAfter, int batchSize, String source,
+            IngestCheckpoint checkpoint) throws Exception {
+        try (Connection con = DBConnection.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try {
+                try {
+                    mergeSwipeDays(con, days, lateAfter, batchSize);
+                } catch (BatchUpdateException e) {
+                    con.rollback();
+                    mergeSwipeDays(con, days, lateAfter, batchSize);
+                }
+                saveIngestCheckpoint(con, source, checkpoint);
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        }
     }
 
-    public ResultSet getTeamAttendanceSummary(String managerId) throws Exception {
+    private static void mergeSwipeDays(Connection con, List<SwipeDay> days, LocalTime lateAfter, int batchSize)
+            throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(SQL_MERGE_SWIPE_DAY)) {
+            int pending = 0;
+            for (SwipeDay day : days) {
+                ps.setString(1, day.employeeId());
+                ps.setDate(2, Date.valueOf(day.day()));
+                ps.setTimestamp(3, Timestamp.valueOf(day.firstSwipe()));
+                ps.setTimestamp(4, Timestamp.valueOf(day.lastSwipe()));
+                ps.setString(5, day.firstSwipe().toLocalTime().isAfter(lateAfter) ? "LATE" : "PRESENT");
+                ps.addBatch();
+                if (++pending == batchSize) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+        }
+
+        Set<String> seen = new LinkedHashSet<>();
+        try (PreparedStatement ps = con.prepareStatement(SQL_REFRESH_EMPLOYEE_MONTH)) {
+            int pending = 0;
+            for (SwipeDay day : days) {
+                YearMonth month = YearMonth.from(day.day());
+                if (!seen.add(day.employeeId() + '|' + month)) {
+                    continue;
+                }
+                bindEmployeeMonth(ps, day.employeeId(), month);
+                ps.addBatch();
+                if (++pending == batchSize) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+
+    private static void saveIngestCheckpoint(Connection con, String source, IngestCheckpoint checkpoint)
+            throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(SQL_SAVE_CHECKPOINT)) {
+            ps.setString(1, source);
+            ps.setString(2, checkpoint.fingerprint());
+            ps.setLong(3, checkpoint.byteOffset());
+            ps.setLong(4, checkpoint.linesRead());
+            ps.setString(5, source);
+            ps.setString(6, checkpoint.fingerprint());
+            ps.setLong(7, checkpoint.byteOffset());
+            ps.setLong(8, checkpoint.linesRead());
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * @param source Name the checkpoint is kept under.
+     * @return The file's checkpoint, or null if it was never ingested.
+     * @throws Exception if the query fails.
+     */
+    public IngestCheckpoint getIngestCheckpoint(String source) throws Exception {
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(SQL_GET_CHECKPOINT)) {
+            ps.setString(1, source);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return new IngestCheckpoint(rs.getString("fingerprint"), rs.getLong("byte_offset"),
+                        rs.getLong("lines_read"));
+            }
+        }
+    }
+
+    /**
+     * Streams each reportee's attendance totals, summed over the monthly
+     * rollups: the cost grows with months on record, not days.
+     *
+     * @param managerId The Manager ID.
+     * @param callback  Receives one row per reportee with present_days,
+     *                  late_days, absent_days, completed_days, worked_seconds
+     *                  and missing_checkouts.
+     * @return Number of rows streamed.
+     * @throws Exception if the query fails.
+     */
+    public int getTeamAttendanceSummary(String managerId, RowCallback callback) throws Exception {
         String sql = """
-                    SELECT a.employee_id,
-                           SUM(CASE WHEN a.status = 'PRESENT' THEN 1 ELSE 0 END) AS present_days,
-                           SUM(CASE WHEN a.status = 'ABSENT' THEN 1 ELSE 0 END) AS absent_days
-                    FROM attendance a
-                    JOIN employees e ON a.employee_id = e.employee_id
+                    SELECT m.employee_id,
+                           SUM(m.present_days) AS present_days,
+                           SUM(m.late_days) AS late_days,
+                           SUM(m.absent_days) AS absent_days,
+                           SUM(m.completed_days) AS completed_days,
+                           SUM(m.worked_seconds) AS worked_seconds,
+                           SUM(m.missing_checkouts) AS missing_checkouts
+                    FROM attendance_monthly m
+                    JOIN employees e ON m.employee_id = e.employee_id
                     WHERE e.manager_id = ?
-                    GROUP BY a.employee_id
+                    GROUP BY m.employee_id
+                    ORDER BY m.employee_id
                 """;
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        ps.setString(1, managerId);
-        return ps.executeQuery();
+        return StreamingQuery.forEachRow(sql, ps -> ps.setString(1, managerId), callback);
+    }
+
+    /**
+     * Retrieves an employee's monthly rollups, newest first.
+     *
+     * @param empId The Employee ID.
+     * @param from  Earliest month to include.
+     * @return One entry per month with attendance.
+     * @throws Exception if the query fails.
+     */
+    public List<AttendanceMonth> getMonthlySummaries(String empId, YearMonth from) throws Exception {
+        List<AttendanceMonth> months = new ArrayList<>();
+        StreamingQuery.forEachRow(SQL_MONTHLY_SUMMARIES, ps -> {
+            ps.setString(1, empId);
+            ps.setDate(2, monthStart(from));
+        }, rs -> months.add(new AttendanceMonth(
+                rs.getString("employee_id"),
+                YearMonth.from(rs.getDate("month_start").toLocalDate()),
+                rs.getInt("present_days"),
+                rs.getInt("late_days"),
+                rs.getInt("absent_days"),
+                rs.getInt("completed_days"),
+                rs.getLong("worked_seconds"),
+                rs.getInt("missing_checkouts"))));
+        return months;
+    }
+
+    /**
+     * Recomputes every employee's rollup for one month from the attendance
+     * rows, and drops rollups left without rows. Used to backfill; safe to
+     * repeat.
+     *
+     * @param month The month.
+     * @return Rollup rows written.
+     * @throws Exception if the month cannot be rebuilt; it is rolled back.
+     */
+    public int rebuildMonth(YearMonth month) throws Exception {
+        try (Connection con = DBConnection.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try {
+                int written;
+                try (PreparedStatement ps = con.prepareStatement(SQL_REFRESH_MONTH)) {
+                    ps.setDate(1, monthStart(month));
+                    ps.setDate(2, monthStart(month.plusMonths(1)));
+                    ps.setDate(3, monthStart(month));
+                    ps.setDate(4, monthStart(month));
+                    written = ps.executeUpdate();
+                }
+                try (PreparedStatement ps = con.prepareStatement(SQL_DELETE_STALE_MONTH)) {
+                    ps.setDate(1, monthStart(month));
+                    ps.setDate(2, monthStart(month));
+                    ps.setDate(3, monthStart(month.plusMonths(1)));
+                    ps.executeUpdate();
+                }
+                con.commit();
+                return written;
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * @return Date of the oldest attendance row, or null if there are none.
+     * @throws Exception if the query fails.
+     */
+    public LocalDate getFirstAttendanceDate() throws Exception {
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement("SELECT MIN(attendance_date) FROM attendance");
+                ResultSet rs = ps.executeQuery()) {
+            Date first = rs.next() ? rs.getDate(1) : null;
+            return first == null ? null : first.toLocalDate();
+        }
     }
 }
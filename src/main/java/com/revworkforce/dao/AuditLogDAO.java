@@ -3,6 +3,10 @@
  */
 package com.revworkforce.dao;
 
+import com.revworkforce.model.AuditLog;
+import com.revworkforce.model.AuditLogCursor;
+import com.revworkforce.model.AuditLogFilter;
+import com.revworkforce.model.AuditLogPage;
 import com.revworkforce.util.DBConnection;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -11,6 +15,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * DAO for System Audit Logging.
@@ -22,6 +29,60 @@ public class AuditLogDAO {
 
     private static final Logger logger = LogManager.getLogger(AuditLogDAO.class);
 
+    private static final String SQL_INSERT_LOG = """
+                INSERT INTO audit_logs
+                (employee_id, action, table_name, record_id, new_value)
+                VALUES (?, ?, ?, ?, ?)
+            """;
+
+    // Batched entries are written after the fact, so keep the time they were raised
+    private static final String SQL_INSERT_LOG_AT = """
+                INSERT INTO audit_logs
+                (employee_id, action, table_name, record_id, new_value, created_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    /*
+     * Searches page newest first on (created_at, log_id). The filters are
+     * added only when set, so each combination gets its own plan, and the
+     * keyset condition lets every page start with an index range scan.
+     */
+    private static final String SQL_SEARCH = """
+                SELECT a.log_id, a.employee_id, e.first_name, e.last_name, a.action, a.table_name,
+                       a.record_id, a.new_value, a.created_at
+                FROM %s a
+                LEFT JOIN employees e ON a.employee_id = e.employee_id
+                WHERE 1 = 1%s
+                ORDER BY a.created_at DESC, a.log_id DESC
+                FETCH FIRST ? ROWS ONLY
+            """;
+
+    private static final String TABLE_LIVE = "audit_logs";
+    private static final String TABLE_ARCHIVE = "audit_logs_archive";
+
+    private static final String SQL_ARCHIVE_CANDIDATES = """
+                SELECT log_id
+                FROM audit_logs
+                WHERE created_at < ?
+                ORDER BY created_at, log_id
+                FETCH FIRST ? ROWS ONLY
+            """;
+
+    private static final String SQL_COPY_TO_ARCHIVE = """
+                INSERT INTO audit_logs_archive
+                    (log_id, employee_id, action, table_name, column_name, record_id,
+                     old_value, new_value, ip_address, created_at)
+                SELECT log_id, employee_id, action, table_name, column_name, record_id,
+                       old_value, new_value, ip_address, created_at
+                FROM audit_logs
+                WHERE log_id IN (%s)
+            """;
+
+    private static final String SQL_DELETE_ARCHIVED = """
+                DELETE FROM audit_logs
+                WHERE log_id IN (%s)
+            """;
+
     public void log(
             String employeeId,
             String action,
@@ -29,14 +90,8 @@ public class AuditLogDAO {
             String recordId,
             String description) throws Exception {
 
-        String sql = """
-                    INSERT INTO audit_logs
-                    (employee_id, action, table_name, record_id, new_value)
-                    VALUES (?, ?, ?, ?, ?)
-                """;
-
         try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
+                PreparedStatement ps = con.prepareStatement(SQL_INSERT_LOG)) {
 
             ps.setString(1, employeeId);
             ps.setString(2, action);
@@ -48,44 +103,139 @@ public class AuditLogDAO {
     }
 
     /**
-     * Retrieves and prints the latest system audit logs.
-     * Joins with Employee table to show readable names.
+     * Inserts a batch of audit entries on a single connection using JDBC
+     * batching, committed as one transaction.
+     *
+     * @param entries Audit entries to persist.
+     * @throws Exception if the batch fails; nothing from the batch is committed.
      */
-    public void printAuditLogs() {
+    public void logBatch(List<AuditLog> entries) throws Exception {
+        if (entries.isEmpty()) {
+            return;
+        }
 
-        String sql = """
-                    SELECT a.employee_id, e.first_name, e.last_name, a.action, a.table_name,
-                           a.record_id, a.new_value, a.created_at
-                    FROM audit_logs a
-                    LEFT JOIN employees e ON a.employee_id = e.employee_id
-                    ORDER BY a.created_at DESC
-                """;
+        try (Connection con = DBConnection.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try (PreparedStatement ps = con.prepareStatement(SQL_INSERT_LOG_AT)) {
+                for (AuditLog entry : entries) {
+                    ps.setString(1, entry.getEmployeeId());
+                    ps.setString(2, entry.getAction());
+                    ps.setString(3, entry.getTableName());
+                    ps.setString(4, entry.getRecordId());
+                    ps.setString(5, entry.getNewValue());
+                    ps.setTimestamp(6, entry.getCreatedAt());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        }
+    }
 
+    /**
+     * Searches the audit log, newest first.
+     *
+     * @param filter   Criteria; see {@link AuditLogFilter}.
+     * @param after    Cursor from the previous page, or null for the first.
+     * @param pageSize Entries per page.
+     * @return The page.
+     * @throws Exception if the query fails.
+     */
+    public AuditLogPage findLogs(AuditLogFilter filter, AuditLogCursor after, int pageSize) throws Exception {
+        return search(TABLE_LIVE, filter, after, pageSize);
+    }
+
+    /**
+     * Searches entries moved to audit_logs_archive by {@link #archiveLogs}.
+     *
+     * @see #findLogs(AuditLogFilter, AuditLogCursor, int)
+     */
+    public AuditLogPage findArchivedLogs(AuditLogFilter filter, AuditLogCursor after, int pageSize)
+            throws Exception {
+        return search(TABLE_ARCHIVE, filter, after, pageSize);
+    }
+
+    /**
+     * Moves one batch of entries created before the cutoff, oldest first,
+     * into audit_logs_archive in one transaction.
+     *
+     * @param cutoff    Entries created before this are eligible.
+     * @param batchSize Most entries to move (at most 1000).
+     * @return Number moved; less than batchSize once nothing older remains.
+     * @throws Exception if the move fails (nothing is moved).
+     */
+    public int archiveLogs(Timestamp cutoff, int batchSize) throws Exception {
+        return ArchiveBatch.move(SQL_ARCHIVE_CANDIDATES, SQL_COPY_TO_ARCHIVE, SQL_DELETE_ARCHIVED, cutoff, batchSize);
+    }
+
+    private AuditLogPage search(String table, AuditLogFilter filter, AuditLogCursor after, int pageSize)
+            throws Exception {
+        StringBuilder where = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        addCondition(where, params, "a.employee_id = ?", filter.employeeId());
+        addCondition(where, params, "a.action = ?", filter.action());
+        addCondition(where, params, "a.table_name = ?", filter.tableName());
+        addCondition(where, params, "a.record_id = ?", filter.recordId());
+        addCondition(where, params, "a.created_at >= ?", filter.from());
+        addCondition(where, params, "a.created_at < ?", filter.to());
+        if (after != null) {
+            where.append("\n  AND (a.created_at < ? OR (a.created_at = ? AND a.log_id < ?))");
+            params.add(after.createdAt());
+            params.add(after.createdAt());
+            params.add(after.logId());
+        }
+        // One extra row says whether another page follows
+        params.add(pageSize + 1);
+
+        String sql = String.format(SQL_SEARCH, table, where);
+        List<AuditLog> entries = new ArrayList<>();
         try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql);
-                ResultSet rs = ps.executeQuery()) {
-
-            System.out.println("\n--- SYSTEM AUDIT LOGS ---");
-            System.out.printf("%-10s | %-15s | %-10s | %-15s | %-10s | %-30s | %-20s%n",
-                    "Emp ID", "Name", "Action", "Table", "Record ID", "Description", "Time");
-            System.out.println("-".repeat(125));
-
-            while (rs.next()) {
-                String name = rs.getString("first_name") + " " + rs.getString("last_name");
-
-                System.out.printf("%-10s | %-15s | %-10s | %-15s | %-10s | %-30s | %s%n",
-                        rs.getString("employee_id"),
-                        (name.equals("null null") ? "Unknown" : name),
-                        rs.getString("action"),
-                        rs.getString("table_name"),
-                        rs.getString("record_id"),
-                        rs.getString("new_value"),
-                        rs.getTimestamp("created_at"));
+                PreparedStatement ps = con.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (entries.size() <= pageSize && rs.next()) {
+                    entries.add(mapSearchRow(rs));
+                }
             }
-            System.out.println();
-        } catch (Exception e) {
-            logger.error("Unable to fetch audit logs: " + e.getMessage(), e);
         }
+
+        if (entries.size() <= pageSize) {
+            return new AuditLogPage(entries, null);
+        }
+        entries.remove(pageSize);
+        AuditLog last = entries.get(pageSize - 1);
+        return new AuditLogPage(entries, new AuditLogCursor(last.getCreatedAt(), last.getLogId()));
+    }
+
+    private static void addCondition(StringBuilder where, List<Object> params, String condition, Object value) {
+        if (value == null || (value instanceof String text && text.isBlank())) {
+            return;
+        }
+        where.append("\n  AND ").append(condition);
+        params.add(value instanceof String text ? text.trim() : value);
+    }
+
+    private static AuditLog mapSearchRow(ResultSet rs) throws SQLException {
+        AuditLog entry = new AuditLog();
+        entry.setLogId(rs.getInt("log_id"));
+        entry.setEmployeeId(rs.getString("employee_id"));
+        String first = rs.getString("first_name");
+        String last = rs.getString("last_name");
+        entry.setEmployeeName(first == null ? null : last == null ? first : first + " " + last);
+        entry.setAction(rs.getString("action"));
+        entry.setTableName(rs.getString("table_name"));
+        entry.setRecordId(rs.getString("record_id"));
+        entry.setNewValue(rs.getString("new_value"));
+        entry.setCreatedAt(rs.getTimestamp("created_at"));
+        return entry;
     }
 
 }
@@ -8,9 +8,15 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * DAO for Department management.
+ * Existence checks and the department listing are served from an in-memory
+ * snapshot of the table, reloaded after every write made through this DAO.
  * 
  * @author Gururaj Shetty
  */
@@ -18,6 +24,21 @@ public class DepartmentDAO {
 
     private static final Logger logger = LogManager.getLogger(DepartmentDAO.class);
 
+    private static final ReferenceTable departments = new ReferenceTable("departments",
+            DepartmentDAO::loadDepartments);
+
+    /**
+     * Drops the department snapshot. Used after out-of-band changes to the
+     * departments table.
+     */
+    public static void clearCache() {
+        departments.invalidate();
+    }
+
+    public static String getCacheStats() {
+        return departments.toString();
+    }
+
     /**
      * Adds a new department to the system.
      * 
@@ -34,15 +55,14 @@ public class DepartmentDAO {
             ps.setString(1, name);
             ps.executeUpdate();
         }
+        departments.reload();
     }
 
-    public ResultSet getAllDepartments() throws Exception {
+    public int getAllDepartments(RowCallback callback) throws Exception {
 
         String sql = "SELECT department_id, department_name FROM departments ORDER BY department_name";
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        return ps.executeQuery();
+        return StreamingQuery.forEachRow(sql, StreamingQuery.NO_PARAMETERS, callback);
     }
 
     public void updateDepartment(String id, String name) throws Exception {
@@ -52,6 +72,10 @@ public class DepartmentDAO {
             ps.setString(1, name);
             ps.setString(2, id);
             ps.executeUpdate();
+            departments.reload();
+        } finally {
+            // Employees are indexed for search under the old name
+            EmployeeDAO.invalidateSearchIndex();
         }
     }
 
@@ -62,34 +86,59 @@ public class DepartmentDAO {
             ps.setString(1, id);
             ps.executeUpdate();
         }
+        departments.reload();
     }
 
     public boolean isDepartmentIdExists(String id) throws Exception {
-        String sql = "SELECT 1 FROM departments WHERE department_id = ?";
+        return departments.contains(id);
+    }
+
+    /**
+     * Retrieves every department ID in one query, for validating many rows at
+     * once (e.g. bulk imports) without a lookup per row.
+     *
+     * @return Set of department IDs as strings.
+     * @throws Exception if the query fails.
+     */
+    public Set<String> getDepartmentIds() throws Exception {
+        String sql = "SELECT department_id FROM departments";
+        Set<String> ids = new HashSet<>();
         try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, id);
-            try (ResultSet rs = ps.executeQuery()) {
-                return rs.next();
+                PreparedStatement ps = con.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getString("department_id"));
             }
         }
+        return ids;
     }
 
     public void printDepartments() {
-        try (Connection con = DBConnection.getConnection();
-                Statement stmt = con.createStatement();
-                ResultSet rs = stmt.executeQuery(
-                        "SELECT department_id, department_name FROM departments ORDER BY department_id")) {
+        try {
+            Map<Integer, String> rows = departments.rows();
 
             System.out.println("\nAvailable Departments:");
             System.out.println("ID   | Name");
             System.out.println("---- | --------------------");
-            while (rs.next()) {
-                System.out.printf("%-4d | %s%n", rs.getInt("department_id"), rs.getString("department_name"));
+            for (Map.Entry<Integer, String> row : rows.entrySet()) {
+                System.out.printf("%-4d | %s%n", row.getKey(), row.getValue());
             }
             System.out.println();
         } catch (Exception e) {
             logger.error("Error listing departments: " + e.getMessage(), e);
         }
     }
+
+    private static Map<Integer, String> loadDepartments() throws Exception {
+        String sql = "SELECT department_id, department_name FROM departments";
+        Map<Integer, String> rows = new HashMap<>();
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows.put(rs.getInt("department_id"), rs.getString("department_name"));
+            }
+        }
+        return rows;
+    }
 }
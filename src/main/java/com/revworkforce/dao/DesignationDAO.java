@@ -8,9 +8,14 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * DAO for Designation management.
+ * Existence and role checks and the designation listing are served from an
+ * in-memory snapshot of the table, reloaded after every write made through
+ * this DAO.
  * 
  * @author Gururaj Shetty
  */
@@ -18,6 +23,21 @@ public class DesignationDAO {
 
     private static final Logger logger = LogManager.getLogger(DesignationDAO.class);
 
+    private static final ReferenceTable designations = new ReferenceTable("designations",
+            DesignationDAO::loadDesignations);
+
+    /**
+     * Drops the designation snapshot. Used after out-of-band changes to the
+     * designations table.
+     */
+    public static void clearCache() {
+        designations.invalidate();
+    }
+
+    public static String getCacheStats() {
+        return designations.toString();
+    }
+
     public void addDesignation(String name) throws Exception {
 
         String sql = "INSERT INTO designations (designation_name) VALUES (?)";
@@ -28,15 +48,14 @@ public class DesignationDAO {
             ps.setString(1, name);
             ps.executeUpdate();
         }
+        designations.reload();
     }
 
-    public ResultSet getAllDesignations() throws Exception {
+    public int getAllDesignations(RowCallback callback) throws Exception {
 
         String sql = "SELECT designation_id, designation_name FROM designations ORDER BY designation_name";
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        return ps.executeQuery();
+        return StreamingQuery.forEachRow(sql, StreamingQuery.NO_PARAMETERS, callback);
     }
 
     public void updateDesignation(String id, String name) throws Exception {
@@ -46,6 +65,10 @@ public class DesignationDAO {
             ps.setString(1, name);
             ps.setString(2, id);
             ps.executeUpdate();
+            designations.reload();
+        } finally {
+            // Employees are indexed for search under the old name
+            EmployeeDAO.invalidateSearchIndex();
         }
     }
 
@@ -56,17 +79,11 @@ public class DesignationDAO {
             ps.setString(1, id);
             ps.executeUpdate();
         }
+        designations.reload();
     }
 
     public boolean isDesignationIdExists(String id) throws Exception {
-        String sql = "SELECT 1 FROM designations WHERE designation_id = ?";
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, id);
-            try (ResultSet rs = ps.executeQuery()) {
-                return rs.next();
-            }
-        }
+        return designations.contains(id);
     }
 
     public void printDesignations() {
@@ -80,10 +97,8 @@ public class DesignationDAO {
      * @param showManagersOnly true to show only Manager titles, false for others.
      */
     public void printDesignations(boolean showManagersOnly) {
-        try (Connection con = DBConnection.getConnection();
-                Statement stmt = con.createStatement();
-                ResultSet rs = stmt.executeQuery(
-                        "SELECT designation_id, designation_name FROM designations ORDER BY designation_id")) {
+        try {
+            Map<Integer, String> rows = designations.rows();
 
             System.out.println(
                     "\nAvailable Designations (" + (showManagersOnly ? "Manager Role" : "Employee Role") + "):");
@@ -91,12 +106,9 @@ public class DesignationDAO {
             System.out.println("---- | --------------------");
 
             boolean found = false;
-            while (rs.next()) {
-                String name = rs.getString("designation_name");
-                boolean isManagerTitle = name.toLowerCase().contains("manager");
-
-                if (showManagersOnly == isManagerTitle) {
-                    System.out.printf("%-4d | %s%n", rs.getInt("designation_id"), name);
+            for (Map.Entry<Integer, String> row : rows.entrySet()) {
+                if (showManagersOnly == isManagerTitle(row.getValue())) {
+                    System.out.printf("%-4d | %s%n", row.getKey(), row.getValue());
                     found = true;
                 }
             }
@@ -109,19 +121,48 @@ public class DesignationDAO {
         }
     }
 
+    /**
+     * Retrieves every designation in one query, keyed by ID, for validating
+     * many rows at once (e.g. bulk imports).
+     *
+     * @return Map of designation ID to designation name.
+     * @throws Exception if the query fails.
+     */
+    public Map<String, String> getDesignationNames() throws Exception {
+        String sql = "SELECT designation_id, designation_name FROM designations";
+        Map<String, String> names = new HashMap<>();
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                names.put(rs.getString("designation_id"), rs.getString("designation_name"));
+            }
+        }
+        return names;
+    }
+
     public boolean isDesignationMatchRole(String id, boolean mustBeManager) throws Exception {
-        String sql = "SELECT designation_name FROM designations WHERE designation_id = ?";
+        String name = designations.getName(id);
+        if (name == null) {
+            return false; // ID doesn't exist
+        }
+        return isManagerTitle(name) == mustBeManager;
+    }
+
+    private static boolean isManagerTitle(String name) {
+        return name.toLowerCase().contains("manager");
+    }
+
+    private static Map<Integer, String> loadDesignations() throws Exception {
+        String sql = "SELECT designation_id, designation_name FROM designations";
+        Map<Integer, String> rows = new HashMap<>();
         try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, id);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    String name = rs.getString("designation_name");
-                    boolean isManagerTitle = name.toLowerCase().contains("manager");
-                    return isManagerTitle == mustBeManager;
-                }
-                return false; // ID doesn't exist
+                PreparedStatement ps = con.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows.put(rs.getInt("designation_id"), rs.getString("designation_name"));
             }
         }
+        return rows;
     }
 }
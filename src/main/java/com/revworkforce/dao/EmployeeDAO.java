@@ -3,18 +3,28 @@
  */
 package com.revworkforce.dao;
 
+import com.revworkforce.config.AppConstants;
 import com.revworkforce.model.Employee;
+import com.revworkforce.model.EmployeeSearchPage;
+import com.revworkforce.model.EmployeeSummary;
 import com.revworkforce.util.DBConnection;
+import com.revworkforce.util.LruCache;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.util.ArrayList;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Data Access Object for Employee-related database operations.
@@ -26,7 +36,182 @@ public class EmployeeDAO {
 
     private static final Logger logger = LogManager.getLogger(EmployeeDAO.class);
 
+    private static final String SQL_INSERT_EMPLOYEE = """
+                INSERT INTO employees
+                (employee_id, first_name, last_name, email, phone, address, emergency_contact,
+                 date_of_birth, department_id, designation_id,
+                 manager_id, salary, password_hash, is_active, joining_date)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 1, ?)
+            """;
+
+    private static final String SQL_SELECT_SUMMARY = """
+                SELECT e.employee_id, e.first_name, e.last_name, e.email,
+                       d.department_name, des.designation_name
+                FROM employees e
+                LEFT JOIN departments d ON e.department_id = d.department_id
+                LEFT JOIN designations des ON e.designation_id = des.designation_id
+            """;
+
+    /*
+     * Birthday and anniversary windows probe the indexed month-day columns.
+     * The second branch covers the part of a window after 31 December and is
+     * an empty range otherwise (see MonthDayRange).
+     */
+    private static final String SQL_BIRTHDAYS_BETWEEN = """
+                SELECT employee_id, first_name, date_of_birth, birth_mmdd AS mmdd, 1 AS lap
+                FROM employees
+                WHERE birth_mmdd BETWEEN ? AND ?
+                UNION ALL
+                SELECT employee_id, first_name, date_of_birth, birth_mmdd, 2
+                FROM employees
+                WHERE birth_mmdd BETWEEN ? AND ?
+                ORDER BY lap, mmdd
+            """;
+
+    private static final String SQL_ANNIVERSARIES_BETWEEN = """
+                SELECT employee_id, first_name, joining_date, joining_mmdd AS mmdd, 1 AS lap
+                FROM employees
+                WHERE joining_mmdd BETWEEN ? AND ? AND joining_date < ?
+                UNION ALL
+                SELECT employee_id, first_name, joining_date, joining_mmdd, 2
+                FROM employees
+                WHERE joining_mmdd BETWEEN ? AND ? AND joining_date < ?
+                ORDER BY lap, mmdd
+            """;
+
+    /*
+     * Read-through caches shared by every EmployeeDAO instance. The services each
+     * hold their own DAO, so the caches are static to let a write through one
+     * instance invalidate reads served by another.
+     */
+    private static final LruCache<String, Employee> employeeCache = newCache("employees");
+    private static final LruCache<String, Boolean> existsCache = newCache("employee-exists");
+    private static final LruCache<String, List<EmployeeSummary>> reporteeCache = newCache("reportees");
+
+    // Reporting hierarchy; loaded once and patched in place as managers change
+    private static final OrgChartIndex orgChart = new OrgChartIndex(EmployeeDAO::loadReportingLines);
+
+    // Directory search; loaded once and patched in place as employees change
+    private static final EmployeeSearchIndex searchIndex = new EmployeeSearchIndex(EmployeeDAO::loadSearchEntries);
+
+    private static <V> LruCache<String, V> newCache(String name) {
+        return new LruCache<>(name, AppConstants.EMPLOYEE_CACHE_MAX_SIZE,
+                AppConstants.EMPLOYEE_CACHE_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns hit/miss statistics for the employee directory caches.
+     *
+     * @return One line per cache.
+     */
+    public static String getCacheStats() {
+        return String.join(System.lineSeparator(),
+                employeeCache.toString(),
+                existsCache.toString(),
+                reporteeCache.toString(),
+                orgChart.toString(),
+                searchIndex.toString());
+    }
+
+    public static long getCacheHits() {
+        return employeeCache.getHits() + existsCache.getHits() + reporteeCache.getHits();
+    }
+
+    public static long getCacheMisses() {
+        return employeeCache.getMisses() + existsCache.getMisses() + reporteeCache.getMisses();
+    }
+
+    /**
+     * Drops every cached employee entry. Used after out-of-band changes to the
+     * employees table.
+     */
+    public static void clearCaches() {
+        employeeCache.invalidateAll();
+        existsCache.invalidateAll();
+        reporteeCache.invalidateAll();
+        orgChart.invalidate();
+        searchIndex.invalidate();
+        LeaveDAO.invalidatePendingLeaves();
+    }
+
+    /**
+     * Drops the directory search index. Used when department or designation
+     * names change, since every employee in them is indexed under the old name.
+     */
+    public static void invalidateSearchIndex() {
+        searchIndex.invalidate();
+    }
+
+    private static void invalidateEmployee(String empId) {
+        employeeCache.invalidate(empId);
+        existsCache.invalidate(empId);
+    }
+
+    // Reporting lines changed; team lists are cheap to rebuild, so drop them
+    // wholesale rather than tracking old/new managers.
+    private static void invalidateReportingLines() {
+        reporteeCache.invalidateAll();
+        LeaveDAO.invalidatePendingLeaves();
+    }
+
+    private static Map<String, String> loadReportingLines() throws Exception {
+        String sql = "SELECT employee_id, manager_id FROM employees";
+
+        Map<String, String> lines = new HashMap<>();
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                lines.put(rs.getString("employee_id"), rs.getString("manager_id"));
+            }
+        }
+        logger.info("Org chart index loaded with {} employees", lines.size());
+        return lines;
+    }
+
+    private static List<EmployeeSummary> loadSearchEntries() throws Exception {
+        List<EmployeeSummary> entries = StreamingQuery.queryList(SQL_SELECT_SUMMARY,
+                StreamingQuery.NO_PARAMETERS, RowMappers.EMPLOYEE_SUMMARY);
+        logger.info("Search index loaded with {} employees", entries.size());
+        return entries;
+    }
+
+    // Re-reads one employee into the search index once it has been loaded
+    private static void reindex(String empId) {
+        if (!searchIndex.isLoaded()) {
+            return;
+        }
+        try {
+            List<EmployeeSummary> rows = StreamingQuery.queryList(
+                    SQL_SELECT_SUMMARY + " WHERE e.employee_id = ?",
+                    ps -> ps.setString(1, empId), RowMappers.EMPLOYEE_SUMMARY);
+            if (rows.isEmpty()) {
+                searchIndex.remove(empId);
+            } else {
+                searchIndex.put(rows.get(0));
+            }
+        } catch (Exception e) {
+            logger.warn("Could not refresh search index for {}: {}", empId, e.getMessage());
+            searchIndex.invalidate();
+        }
+    }
+
+    private static Employee copyOf(Employee src) {
+        Employee emp = new Employee();
+        emp.setEmployeeId(src.getEmployeeId());
+        emp.setFirstName(src.getFirstName());
+        emp.setLastName(src.getLastName());
+        emp.setEmail(src.getEmail());
+        return emp;
+    }
+
     public Employee getEmployeeById(String empId) throws Exception {
+        // Hand out copies so callers cannot mutate the cached instance
+        Employee cached = employeeCache.getOrLoad(empId, this::loadEmployeeById);
+        return cached != null ? copyOf(cached) : null;
+    }
+
+    private Employee loadEmployeeById(String empId) throws Exception {
         String sql = "SELECT * FROM employees WHERE employee_id = ?";
 
         try (Connection con = DBConnection.getConnection();
@@ -47,7 +232,14 @@ public class EmployeeDAO {
         return null;
     }
 
-    public ResultSet getProfile(String empId) throws Exception {
+    /**
+     * Retrieves the contact details shown on an employee's profile.
+     *
+     * @param empId The Employee ID.
+     * @return Column name to value, or null if the employee does not exist.
+     * @throws Exception if a database access error occurs.
+     */
+    public Map<String, Object> getProfile(String empId) throws Exception {
         String sql = """
                     SELECT employee_id, first_name, last_name, email,
                            phone, address, emergency_contact, manager_id
@@ -55,10 +247,25 @@ public class EmployeeDAO {
                     WHERE employee_id = ?
                 """;
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        ps.setString(1, empId);
-        return ps.executeQuery();
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setString(1, empId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    Map<String, Object> profile = new HashMap<>();
+                    profile.put("employee_id", rs.getString("employee_id"));
+                    profile.put("first_name", rs.getString("first_name"));
+                    profile.put("last_name", rs.getString("last_name"));
+                    profile.put("email", rs.getString("email"));
+                    profile.put("phone", rs.getString("phone"));
+                    profile.put("address", rs.getString("address"));
+                    profile.put("emergency_contact", rs.getString("emergency_contact"));
+                    profile.put("manager_id", rs.getString("manager_id"));
+                    return profile;
+                }
+            }
+        }
+        return null;
     }
 
     /**
@@ -66,10 +273,14 @@ public class EmployeeDAO {
      * Includes department and designation details for display.
      *
      * @param managerId The Manager's Employee ID.
-     * @return ResultSet containing reportee details.
+     * @return Active reportees; the list is shared and unmodifiable.
      * @throws Exception if a database access error occurs.
      */
-    public List<Map<String, Object>> getReportees(String managerId) throws Exception {
+    public List<EmployeeSummary> getReportees(String managerId) throws Exception {
+        return reporteeCache.getOrLoad(managerId, this::loadReportees);
+    }
+
+    private List<EmployeeSummary> loadReportees(String managerId) throws Exception {
         String sql = """
                     SELECT e.employee_id, e.first_name, e.last_name, e.email,
                            d.department_name, des.designation_name
@@ -80,36 +291,55 @@ public class EmployeeDAO {
                       AND e.is_active = 1
                 """;
 
-        List<Map<String, Object>> list = new ArrayList<>();
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, managerId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    Map<String, Object> row = new HashMap<>();
-                    row.put("employee_id", rs.getString("employee_id"));
-                    row.put("first_name", rs.getString("first_name"));
-                    row.put("last_name", rs.getString("last_name"));
-                    row.put("email", rs.getString("email"));
-                    row.put("department_name", rs.getString("department_name"));
-                    row.put("designation_name", rs.getString("designation_name"));
-                    list.add(row);
-                }
-            }
-        }
-        return list;
+        return Collections.unmodifiableList(StreamingQuery.queryList(sql,
+                ps -> ps.setString(1, managerId), RowMappers.EMPLOYEE_SUMMARY));
     }
 
+    /**
+     * Checks whether an employee reports directly to the manager.
+     *
+     * @param managerId The Manager's Employee ID.
+     * @param empId     The Employee ID.
+     * @return true if empId's manager is managerId.
+     * @throws Exception if the org chart cannot be loaded.
+     */
     public boolean isReportee(String managerId, String empId) throws Exception {
-        String sql = "SELECT 1 FROM employees WHERE manager_id = ? AND employee_id = ?";
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, managerId);
-            ps.setString(2, empId);
-            try (ResultSet rs = ps.executeQuery()) {
-                return rs.next();
-            }
-        }
+        return orgChart.isDirectReport(managerId, empId);
+    }
+
+    /**
+     * Checks whether an employee reports to the manager directly or through
+     * any number of intermediate managers (skip-level).
+     *
+     * @param managerId The Manager's Employee ID.
+     * @param empId     The Employee ID.
+     * @return true if managerId is anywhere in empId's reporting chain.
+     * @throws Exception if the org chart cannot be loaded.
+     */
+    public boolean isInReportingLine(String managerId, String empId) throws Exception {
+        return orgChart.isInReportingLine(managerId, empId);
+    }
+
+    /**
+     * Retrieves the IDs of everyone below a manager, direct reports first.
+     *
+     * @param managerId The Manager's Employee ID.
+     * @return Employee IDs of the manager's whole subtree.
+     * @throws Exception if the org chart cannot be loaded.
+     */
+    public List<String> getAllReporteeIds(String managerId) throws Exception {
+        return orgChart.getSubtree(managerId);
+    }
+
+    /**
+     * Retrieves the managers above an employee, nearest first.
+     *
+     * @param empId The Employee ID.
+     * @return Manager IDs up to the top of the hierarchy.
+     * @throws Exception if the org chart cannot be loaded.
+     */
+    public List<String> getReportingChain(String empId) throws Exception {
+        return orgChart.getReportingChain(empId);
     }
 
     /**
@@ -136,6 +366,8 @@ public class EmployeeDAO {
             ps.setString(3, emergency);
             ps.setString(4, empId);
             ps.executeUpdate();
+        } finally {
+            invalidateEmployee(empId);
         }
     }
 
@@ -155,134 +387,145 @@ public class EmployeeDAO {
             ps.setDouble(3, salary);
             ps.setString(4, mgr);
             ps.setString(5, empId);
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) {
+                orgChart.moveEmployee(empId, mgr);
+                reindex(empId);
+            }
+        } catch (Exception e) {
+            orgChart.invalidate();
+            throw e;
+        } finally {
+            invalidateEmployee(empId);
+            invalidateReportingLines();
         }
     }
 
-    public ResultSet getUpcomingBirthdays() throws Exception {
-        String sql = """
-                    SELECT employee_id, first_name, date_of_birth
-                    FROM employees
-                    WHERE TO_CHAR(date_of_birth,'MMDD')
-                          BETWEEN TO_CHAR(SYSDATE,'MMDD')
-                          AND TO_CHAR(SYSDATE+30,'MMDD')
-                """;
+    /**
+     * Lists employees whose birthday falls in the next
+     * {@value AppConstants#UPCOMING_EVENT_DAYS} days, soonest first.
+     */
+    public int getUpcomingBirthdays(RowCallback callback) throws Exception {
+        LocalDate today = LocalDate.now();
+        return getBirthdaysBetween(today, today.plusDays(AppConstants.UPCOMING_EVENT_DAYS), callback);
+    }
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        return ps.executeQuery();
+    public int getBirthdaysToday(RowCallback callback) throws Exception {
+        LocalDate today = LocalDate.now();
+        return getBirthdaysBetween(today, today, callback);
     }
 
-    public ResultSet getBirthdaysToday() throws Exception {
-        String sql = """
-                    SELECT employee_id, first_name
-                    FROM employees
-                    WHERE TO_CHAR(date_of_birth,'MMDD') = TO_CHAR(SYSDATE,'MMDD')
-                """;
+    /**
+     * Lists employees whose birthday falls between two days, in calendar
+     * order from the first day (the range may cross the new year).
+     *
+     * @param first    First day, inclusive.
+     * @param last     Last day, inclusive; less than a year after first.
+     * @param callback Receives employee_id, first_name and date_of_birth.
+     * @return Number of rows.
+     */
+    public int getBirthdaysBetween(LocalDate first, LocalDate last, RowCallback callback) throws Exception {
+        MonthDayRange range = MonthDayRange.of(first, last);
+        return StreamingQuery.forEachRow(SQL_BIRTHDAYS_BETWEEN, ps -> {
+            ps.setInt(1, range.from());
+            ps.setInt(2, range.to());
+            ps.setInt(3, range.wrapFrom());
+            ps.setInt(4, range.wrapTo());
+        }, callback);
+    }
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        return ps.executeQuery();
+    /**
+     * Lists employees whose work anniversary falls in the next
+     * {@value AppConstants#UPCOMING_EVENT_DAYS} days, soonest first.
+     */
+    public int getWorkAnniversaries(RowCallback callback) throws Exception {
+        LocalDate today = LocalDate.now();
+        return getWorkAnniversariesBetween(today, today.plusDays(AppConstants.UPCOMING_EVENT_DAYS), callback);
     }
 
-    public ResultSet getWorkAnniversaries() throws Exception {
-        String sql = """
-                    SELECT employee_id, first_name, joining_date
-                    FROM employees
-                    WHERE TO_CHAR(joining_date,'MMDD')
-                          BETWEEN TO_CHAR(SYSDATE,'MMDD')
-                          AND TO_CHAR(SYSDATE+30,'MMDD')
-                """;
+    public int getWorkAnniversariesToday(RowCallback callback) throws Exception {
+        LocalDate today = LocalDate.now();
+        return getWorkAnniversariesBetween(today, today, callback);
+    }
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        return ps.executeQuery();
+    /**
+     * Lists employees whose work anniversary falls between two days, in
+     * calendar order from the first day. Employees who join on or after the
+     * first day have no anniversary yet and are left out.
+     *
+     * @param first    First day, inclusive.
+     * @param last     Last day, inclusive; less than a year after first.
+     * @param callback Receives employee_id, first_name and joining_date.
+     * @return Number of rows.
+     */
+    public int getWorkAnniversariesBetween(LocalDate first, LocalDate last, RowCallback callback)
+            throws Exception {
+        MonthDayRange range = MonthDayRange.of(first, last);
+        Date joinedBefore = Date.valueOf(first);
+        return StreamingQuery.forEachRow(SQL_ANNIVERSARIES_BETWEEN, ps -> {
+            ps.setInt(1, range.from());
+            ps.setInt(2, range.to());
+            ps.setDate(3, joinedBefore);
+            ps.setInt(4, range.wrapFrom());
+            ps.setInt(5, range.wrapTo());
+            ps.setDate(6, joinedBefore);
+        }, callback);
     }
 
-    public ResultSet getWorkAnniversariesToday() throws Exception {
-        String sql = """
-                    SELECT employee_id, first_name, joining_date
-                    FROM employees
-                    WHERE TO_CHAR(joining_date,'MMDD') = TO_CHAR(SYSDATE,'MMDD')
-                      AND TO_CHAR(joining_date,'YYYY') != TO_CHAR(SYSDATE,'YYYY')
-                """;
+    /**
+     * Searches the employee directory (name, ID, email, department and
+     * designation) through the in-memory search index, best match first.
+     * Supports prefixes ("EMP00", "jo") and small typos in names.
+     *
+     * @param query  The search text.
+     * @param offset Number of matches to skip.
+     * @param limit  Maximum number of matches to return.
+     * @return The requested page of matches.
+     * @throws Exception if the index cannot be loaded.
+     */
+    public EmployeeSearchPage searchDirectory(String query, int offset, int limit) throws Exception {
+        return searchIndex.search(query, offset, limit);
+    }
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        return ps.executeQuery();
+    /**
+     * Retrieves every email address on file in one query.
+     *
+     * @return Set of existing emails.
+     * @throws Exception if the query fails.
+     */
+    public Set<String> getExistingEmails() throws Exception {
+        return loadColumnValues("SELECT email FROM employees WHERE email IS NOT NULL");
     }
 
     /**
-     * Searches for employees matching a keyword across multiple fields (Name, ID,
-     * Email, Dept, Desig).
-     * Uses LIKE operators for flexible matching.
+     * Retrieves every phone number on file in one query.
      *
-     * @param keyword The search term.
-     * @return ResultSet containing matching employee records.
-     * @throws Exception if query fails.
+     * @return Set of existing phone numbers.
+     * @throws Exception if the query fails.
      */
-    public List<Map<String, Object>> searchEmployees(String keyword) throws Exception {
-        String sql = """
-                    SELECT e.employee_id, e.first_name, e.last_name, e.email,
-                           d.department_name, des.designation_name
-                    FROM employees e
-                    LEFT JOIN departments d ON e.department_id = d.department_id
-                    LEFT JOIN designations des ON e.designation_id = des.designation_id
-                    WHERE LOWER(e.first_name) LIKE LOWER(?)
-                       OR LOWER(e.last_name) LIKE LOWER(?)
-                       OR LOWER(e.employee_id) LIKE LOWER(?)
-                       OR LOWER(e.email) LIKE LOWER(?)
-                       OR LOWER(d.department_name) LIKE LOWER(?)
-                       OR LOWER(des.designation_name) LIKE LOWER(?)
-                    ORDER BY e.employee_id
-                """;
+    public Set<String> getExistingPhones() throws Exception {
+        return loadColumnValues("SELECT phone FROM employees WHERE phone IS NOT NULL");
+    }
 
-        List<Map<String, Object>> list = new ArrayList<>();
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-            String searchPattern = "%" + keyword + "%";
-            ps.setString(1, searchPattern);
-            ps.setString(2, searchPattern);
-            ps.setString(3, searchPattern);
-            ps.setString(4, searchPattern);
-            ps.setString(5, searchPattern);
-            ps.setString(6, searchPattern);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    Map<String, Object> row = new HashMap<>();
-                    row.put("employee_id", rs.getString("employee_id"));
-                    row.put("first_name", rs.getString("first_name"));
-                    row.put("last_name", rs.getString("last_name"));
-                    row.put("email", rs.getString("email"));
-                    row.put("department_name", rs.getString("department_name"));
-                    row.put("designation_name", rs.getString("designation_name"));
-                    list.add(row);
-                }
-            }
-        }
-        return list;
+    /**
+     * Retrieves every employee ID in one query.
+     *
+     * @return Set of employee IDs.
+     * @throws Exception if the query fails.
+     */
+    public Set<String> getEmployeeIds() throws Exception {
+        return loadColumnValues("SELECT employee_id FROM employees");
     }
 
-    public String getNextId(String prefix) throws Exception {
-        String sql = "SELECT MAX(employee_id) FROM employees WHERE employee_id LIKE ?";
+    private Set<String> loadColumnValues(String sql) throws Exception {
+        Set<String> values = new HashSet<>();
         try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, prefix + "%");
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    String maxId = rs.getString(1);
-                    if (maxId != null && maxId.length() > 3) {
-                        try {
-                            int num = Integer.parseInt(maxId.substring(3));
-                            return prefix + String.format("%03d", num + 1);
-                        } catch (NumberFormatException e) {
-                            // Fallback if parsing fails
-                        }
-                    }
-                }
+                PreparedStatement ps = con.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
             }
         }
-        return prefix + "001";
+        return values;
     }
 
     public boolean isEmailExists(String email) throws Exception {
@@ -308,47 +551,97 @@ public class EmployeeDAO {
     }
 
     public void insertEmployee(Employee emp) throws Exception {
-        String sql = """
-                    INSERT INTO employees
-                    (employee_id, first_name, last_name, email, phone, address, emergency_contact,
-                     date_of_birth, department_id, designation_id,
-                     manager_id, salary, password_hash, is_active, joining_date)
-                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 1, ?)
-                """;
-
         try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-
-            ps.setString(1, emp.getEmployeeId());
-            ps.setString(2, emp.getFirstName());
-            ps.setString(3, emp.getLastName());
-            ps.setString(4, emp.getEmail());
-            ps.setString(5, emp.getPhone());
-            ps.setString(6, emp.getAddress());
-            ps.setString(7, emp.getEmergencyContact());
-            ps.setDate(8, emp.getDateOfBirth());
-
-            if (emp.getDepartmentId() != null)
-                ps.setInt(9, emp.getDepartmentId());
-            else
-                ps.setNull(9, java.sql.Types.INTEGER);
-            if (emp.getDesignationId() != null)
-                ps.setInt(10, emp.getDesignationId());
-            else
-                ps.setNull(10, java.sql.Types.INTEGER);
-
-            ps.setString(11, emp.getManagerId());
-            if (emp.getSalary() != null)
-                ps.setDouble(12, emp.getSalary());
-            else
-                ps.setNull(12, java.sql.Types.DOUBLE);
-            ps.setString(13, emp.getPasswordHash());
-            ps.setDate(14, emp.getJoiningDate());
+                PreparedStatement ps = con.prepareStatement(SQL_INSERT_EMPLOYEE)) {
 
+            bindInsert(ps, emp);
             ps.executeUpdate();
+            orgChart.moveEmployee(emp.getEmployeeId(), emp.getManagerId());
+            reindex(emp.getEmployeeId());
+        } catch (Exception e) {
+            orgChart.invalidate();
+            throw e;
+        } finally {
+            invalidateEmployee(emp.getEmployeeId());
+            if (emp.getManagerId() != null) {
+                invalidateReportingLines();
+            }
+        }
+    }
+
+    /**
+     * Inserts a group of employees with JDBC batching in a single transaction.
+     * Either every row is inserted or, on failure, none are.
+     *
+     * @param employees Employees to insert.
+     * @throws Exception if any insert fails (the whole batch is rolled back).
+     */
+    public void insertEmployees(List<Employee> employees) throws Exception {
+        if (employees.isEmpty()) {
+            return;
+        }
+
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(SQL_INSERT_EMPLOYEE)) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try {
+                for (Employee emp : employees) {
+                    bindInsert(ps, emp);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+            for (Employee emp : employees) {
+                orgChart.moveEmployee(emp.getEmployeeId(), emp.getManagerId());
+            }
+        } catch (Exception e) {
+            orgChart.invalidate();
+            throw e;
+        } finally {
+            for (Employee emp : employees) {
+                invalidateEmployee(emp.getEmployeeId());
+            }
+            invalidateReportingLines();
+            // Cheaper to rebuild once than to re-read every imported row
+            searchIndex.invalidate();
         }
     }
 
+    private static void bindInsert(PreparedStatement ps, Employee emp) throws SQLException {
+        ps.setString(1, emp.getEmployeeId());
+        ps.setString(2, emp.getFirstName());
+        ps.setString(3, emp.getLastName());
+        ps.setString(4, emp.getEmail());
+        ps.setString(5, emp.getPhone());
+        ps.setString(6, emp.getAddress());
+        ps.setString(7, emp.getEmergencyContact());
+        ps.setDate(8, emp.getDateOfBirth());
+
+        if (emp.getDepartmentId() != null)
+            ps.setInt(9, emp.getDepartmentId());
+        else
+            ps.setNull(9, java.sql.Types.INTEGER);
+        if (emp.getDesignationId() != null)
+            ps.setInt(10, emp.getDesignationId());
+        else
+            ps.setNull(10, java.sql.Types.INTEGER);
+
+        ps.setString(11, emp.getManagerId());
+        if (emp.getSalary() != null)
+            ps.setDouble(12, emp.getSalary());
+        else
+            ps.setNull(12, java.sql.Types.DOUBLE);
+        ps.setString(13, emp.getPasswordHash());
+        ps.setDate(14, emp.getJoiningDate());
+    }
+
     public Map<String, Object> getAuthDetails(String empId) throws Exception {
         String sql = """
                     SELECT employee_id,
@@ -432,6 +725,27 @@ public class EmployeeDAO {
         }
     }
 
+    /**
+     * Replaces a password hash with one of the same password at another cost,
+     * unless the password was changed since the old hash was read.
+     *
+     * @param empId   The Employee ID.
+     * @param oldHash The hash the new one replaces.
+     * @param newHash The re-hashed password.
+     * @return true if the hash was replaced.
+     * @throws Exception if update fails.
+     */
+    public boolean upgradePasswordHash(String empId, String oldHash, String newHash) throws Exception {
+        String sql = "UPDATE employees SET password_hash = ? WHERE employee_id = ? AND password_hash = ?";
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setString(1, newHash);
+            ps.setString(2, empId);
+            ps.setString(3, oldHash);
+            return ps.executeUpdate() > 0;
+        }
+    }
+
     public Map<String, Object> getSecurityDetails(String empId) throws Exception {
         String sql = """
                     SELECT q.question_text, es.answer_hash
@@ -466,6 +780,10 @@ public class EmployeeDAO {
                 PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setString(1, empId);
             ps.executeUpdate();
+        } finally {
+            // getReportees filters on is_active
+            invalidateEmployee(empId);
+            invalidateReportingLines();
         }
     }
 
@@ -475,7 +793,15 @@ public class EmployeeDAO {
                 PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setString(1, mgrId);
             ps.setString(2, empId);
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) {
+                orgChart.moveEmployee(empId, mgrId);
+            }
+        } catch (Exception e) {
+            // Outcome unknown; rebuild from the table on next use
+            orgChart.invalidate();
+            throw e;
+        } finally {
+            invalidateReportingLines();
         }
     }
 
@@ -499,6 +825,10 @@ public class EmployeeDAO {
     }
 
     public boolean isEmployeeExists(String empId) throws Exception {
+        return existsCache.getOrLoad(empId, this::loadIsEmployeeExists);
+    }
+
+    private boolean loadIsEmployeeExists(String empId) throws Exception {
         String sql = "SELECT 1 FROM employees WHERE employee_id = ?";
         try (Connection con = DBConnection.getConnection();
                 PreparedStatement ps = con.prepareStatement(sql)) {
@@ -0,0 +1,120 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.dao;
+
+import com.revworkforce.util.DBConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+/**
+ * DAO for the employee_id_counters table, which holds the next free numeric
+ * suffix for each employee ID prefix.
+ * Blocks are reserved under a row lock, so concurrent sessions (or
+ * application instances) never receive overlapping ranges.
+ *
+ * @author Gururaj Shetty
+ */
+public class EmployeeIdCounterDAO {
+
+    private static final Logger logger = LogManager.getLogger(EmployeeIdCounterDAO.class);
+
+    private static final String SQL_LOCK_COUNTER = "SELECT next_value FROM employee_id_counters WHERE prefix = ? FOR UPDATE";
+    private static final String SQL_ADVANCE_COUNTER = "UPDATE employee_id_counters SET next_value = ? WHERE prefix = ?";
+    private static final String SQL_INSERT_COUNTER = "INSERT INTO employee_id_counters (prefix, next_value) VALUES (?, ?)";
+
+    // Only used once per prefix, to start the counter after existing IDs.
+    // Compares numerically: as strings, EMP999 sorts after EMP1000.
+    private static final String SQL_MAX_EXISTING = """
+                SELECT MAX(TO_NUMBER(SUBSTR(employee_id, 4)))
+                FROM employees
+                WHERE employee_id LIKE ?
+                  AND REGEXP_LIKE(SUBSTR(employee_id, 4), '^[0-9]+$')
+            """;
+
+    /**
+     * Reserves a block of consecutive ID numbers for a prefix.
+     *
+     * @param prefix ID prefix (EMP or MGR).
+     * @param size   Number of IDs to reserve.
+     * @return The first number of the block; the block is [first, first + size).
+     * @throws Exception if the counter cannot be read or advanced.
+     */
+    public long reserveBlock(String prefix, int size) throws Exception {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+
+        try (Connection con = DBConnection.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try {
+                long start = lockCounter(con, prefix);
+                try (PreparedStatement ps = con.prepareStatement(SQL_ADVANCE_COUNTER)) {
+                    ps.setLong(1, start + size);
+                    ps.setString(2, prefix);
+                    ps.executeUpdate();
+                }
+                con.commit();
+                return start;
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Locks the counter row and returns its value, creating it first if this
+     * prefix has never been allocated.
+     */
+    private long lockCounter(Connection con, String prefix) throws SQLException {
+        Long current = selectForUpdate(con, prefix);
+        if (current != null) {
+            return current;
+        }
+
+        long seed = maxExistingNumber(con, prefix) + 1;
+        try (PreparedStatement ps = con.prepareStatement(SQL_INSERT_COUNTER)) {
+            ps.setString(1, prefix);
+            ps.setLong(2, seed);
+            ps.executeUpdate();
+            logger.info("Employee ID counter for {} initialised at {}", prefix, seed);
+            return seed;
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // Another session created the row first; its insert is committed by
+            // the time ours fails, so lock and use it
+            current = selectForUpdate(con, prefix);
+            if (current == null) {
+                throw e;
+            }
+            return current;
+        }
+    }
+
+    private Long selectForUpdate(Connection con, String prefix) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(SQL_LOCK_COUNTER)) {
+            ps.setString(1, prefix);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    private long maxExistingNumber(Connection con, String prefix) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(SQL_MAX_EXISTING)) {
+            ps.setString(1, prefix + "%");
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+}
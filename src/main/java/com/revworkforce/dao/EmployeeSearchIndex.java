@@ -0,0 +1,362 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.dao;
+
+import com.revworkforce.model.EmployeeSearchPage;
+import com.revworkforce.model.EmployeeSummary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index for the employee directory search.
+ * Loaded once from the employees table on first use and then kept current
+ * through {@link #put(EmployeeSummary)} and {@link #remove(String)} as
+ * employees are added or changed.
+ * <p>
+ * Employee ID, names, email, department and designation are split into
+ * lower-case terms. Every term of the query must match a term of the
+ * employee, either exactly, as a prefix, or (for names, department and
+ * designation) within a small edit distance, so "Jonhson" still finds
+ * "Johnson". Matches are ranked by how well
+ * and in which field each query term matched, then by employee ID.
+ *
+ * @author Gururaj Shetty
+ */
+public class EmployeeSearchIndex {
+
+    /**
+     * Supplies every employee to index.
+     */
+    @FunctionalInterface
+    public interface Source {
+        List<EmployeeSummary> load() throws Exception;
+    }
+
+    // Field weights: an ID or name hit outranks a department hit
+    private static final int WEIGHT_ID = 5;
+    private static final int WEIGHT_NAME = 4;
+    private static final int WEIGHT_EMAIL = 3;
+    private static final int WEIGHT_DESIGNATION = 2;
+    private static final int WEIGHT_DEPARTMENT = 1;
+
+    // Match quality, multiplied by the field weight
+    private static final int MATCH_EXACT = 3;
+    private static final int MATCH_PREFIX = 2;
+    private static final int MATCH_FUZZY = 1;
+
+    // Shorter query terms are only matched exactly or by prefix
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final int FUZZY_TWO_EDITS_LENGTH = 8;
+
+    private final Source source;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Document> documents = new HashMap<>();
+    // term -> (employee ID -> best field weight); sorted for prefix lookups
+    private final TreeMap<String, Map<String, Integer>> postings = new TreeMap<>();
+    // terms eligible for fuzzy matching -> number of documents using them
+    private final Map<String, Integer> fuzzyTerms = new HashMap<>();
+    private volatile boolean loaded;
+
+    private record Document(EmployeeSummary summary, Map<String, Integer> terms, Set<String> fuzzy) {
+    }
+
+    public EmployeeSearchIndex(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * Searches the directory.
+     *
+     * @param query  Free text, e.g. "john dev" or "EMP00".
+     * @param offset Number of matches to skip.
+     * @param limit  Maximum number of matches to return.
+     * @return The requested page; empty if the query has no terms.
+     * @throws IllegalArgumentException if offset is negative or limit is not
+     *                                  positive.
+     * @throws Exception                if the index cannot be loaded.
+     */
+    public EmployeeSearchPage search(String query, int offset, int limit) throws Exception {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("offset must be >= 0 and limit > 0");
+        }
+        Set<String> terms = new LinkedHashSet<>(split(query));
+        if (terms.isEmpty()) {
+            return EmployeeSearchPage.empty();
+        }
+
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> scores = null;
+            for (String term : terms) {
+                Map<String, Integer> termScores = score(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return new EmployeeSearchPage(List.of(), 0, offset);
+                }
+            }
+
+            List<Map.Entry<String, Integer>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+
+            List<EmployeeSummary> page = new ArrayList<>();
+            for (int i = offset; i < ranked.size() && page.size() < limit; i++) {
+                page.add(documents.get(ranked.get(i).getKey()).summary());
+            }
+            return new EmployeeSearchPage(page, ranked.size(), offset);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces an employee. Does nothing until the index has been
+     * loaded, since the first load reads the current state anyway.
+     *
+     * @param summary The employee as it should now be found.
+     */
+    public void put(EmployeeSummary summary) {
+        if (!loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            index(summary);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an employee from the index.
+     *
+     * @param empId The Employee ID.
+     */
+    public void remove(String empId) {
+        if (!loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            unindex(empId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Discards the index; the next search reloads it from the source.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            documents.clear();
+            postings.clear();
+            fuzzyTerms.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() throws Exception {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                documents.clear();
+                postings.clear();
+                fuzzyTerms.clear();
+                for (EmployeeSummary summary : source.load()) {
+                    index(summary);
+                }
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the read lock
+    private Map<String, Integer> score(String term) {
+        Map<String, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Map<String, Integer>> entry : postings
+                .subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+            int match = entry.getKey().equals(term) ? MATCH_EXACT : MATCH_PREFIX;
+            addScores(scores, entry.getValue(), match);
+        }
+
+        if (term.length() >= FUZZY_MIN_LENGTH) {
+            int maxEdits = term.length() >= FUZZY_TWO_EDITS_LENGTH ? 2 : 1;
+            for (String candidate : fuzzyTerms.keySet()) {
+                if (!candidate.startsWith(term) && withinEditDistance(term, candidate, maxEdits)) {
+                    addScores(scores, postings.get(candidate), MATCH_FUZZY);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static void addScores(Map<String, Integer> scores, Map<String, Integer> posting, int match) {
+        for (Map.Entry<String, Integer> hit : posting.entrySet()) {
+            scores.merge(hit.getKey(), match * hit.getValue(), Math::max);
+        }
+    }
+
+    // Caller holds the write lock
+    private void index(EmployeeSummary summary) {
+        String empId = summary.employeeId();
+        unindex(empId);
+
+        Map<String, Integer> terms = new HashMap<>();
+        Set<String> fuzzy = new LinkedHashSet<>();
+        addTerms(terms, null, summary.employeeId(), WEIGHT_ID);
+        addTerms(terms, fuzzy, summary.firstName(), WEIGHT_NAME);
+        addTerms(terms, fuzzy, summary.lastName(), WEIGHT_NAME);
+        addTerms(terms, null, summary.email(), WEIGHT_EMAIL);
+        if (summary.email() != null) {
+            // Lets a full address match exactly
+            terms.merge(summary.email().toLowerCase(Locale.ROOT), WEIGHT_EMAIL, Math::max);
+        }
+        addTerms(terms, fuzzy, summary.designationName(), WEIGHT_DESIGNATION);
+        addTerms(terms, fuzzy, summary.departmentName(), WEIGHT_DEPARTMENT);
+
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), k -> new HashMap<>()).put(empId, term.getValue());
+        }
+        for (String term : fuzzy) {
+            fuzzyTerms.merge(term, 1, Integer::sum);
+        }
+        documents.put(empId, new Document(summary, terms, fuzzy));
+    }
+
+    // Caller holds the write lock
+    private void unindex(String empId) {
+        Document previous = documents.remove(empId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms().keySet()) {
+            Map<String, Integer> posting = postings.get(term);
+            posting.remove(empId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        for (String term : previous.fuzzy()) {
+            fuzzyTerms.computeIfPresent(term, (k, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> terms, Set<String> fuzzy, String text, int weight) {
+        for (String word : split(text)) {
+            terms.merge(word, weight, Math::max);
+            if (fuzzy != null) {
+                fuzzy.add(word);
+            }
+            // "emp001" is also found by "001"
+            for (String part : word.split("(?<=\\p{L})(?=\\p{N})|(?<=\\p{N})(?=\\p{L})")) {
+                if (!part.equals(word)) {
+                    terms.merge(part, weight, Math::max);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits text into lower-case words at anything other than a letter or
+     * digit.
+     */
+    static List<String> split(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Edit distance check (insertions, deletions, substitutions and swaps of
+     * adjacent letters) that gives up as soon as every alignment exceeds
+     * maxEdits.
+     */
+    static boolean withinEditDistance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) {
+            return false;
+        }
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    @Override
+    public String toString() {
+        lock.readLock().lock();
+        try {
+            return String.format("search-index[loaded=%s, employees=%d, terms=%d]", loaded, documents.size(),
+                    postings.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
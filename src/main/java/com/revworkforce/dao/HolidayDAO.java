@@ -2,15 +2,34 @@ package com.revworkforce.dao;
 
 import com.revworkforce.util.DBConnection;
 import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * DAO for managing Holidays.
  * Handles adding and retrieving holiday calendar.
- * 
+ *
  * @author Gururaj Shetty
  */
 public class HolidayDAO {
 
+    private static final String SQL_SELECT_BY_YEAR = "SELECT * FROM holidays WHERE year = ? ORDER BY holiday_date";
+
+    // The calendar goes by the holiday's date, whatever year it was filed under
+    private static final String SQL_SELECT_DATES = "SELECT holiday_date FROM holidays "
+            + "WHERE holiday_date >= ? AND holiday_date < ?";
+
+    // Shared by every instance so a holiday added through one is seen by all
+    private static final WorkingDayCalendar calendar = new WorkingDayCalendar(HolidayDAO::loadHolidayDates);
+
+    /**
+     * @return The working-day calendar backed by the holidays table.
+     */
+    public static WorkingDayCalendar getCalendar() {
+        return calendar;
+    }
+
     public void addHoliday(String name, Date date, int year) throws Exception {
         String sql = "INSERT INTO holidays (holiday_name, holiday_date, year) VALUES (?, ?, ?)";
 
@@ -20,14 +39,33 @@ public class HolidayDAO {
             ps.setDate(2, date);
             ps.setInt(3, year);
             ps.executeUpdate();
+        } finally {
+            calendar.invalidate(date.toLocalDate().getYear());
         }
     }
 
-    public ResultSet getHolidays(int year) throws Exception {
-        String sql = "SELECT * FROM holidays WHERE year = ? ORDER BY holiday_date";
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        ps.setInt(1, year);
-        return ps.executeQuery();
+    public int getHolidays(int year, RowCallback callback) throws Exception {
+        return StreamingQuery.forEachRow(SQL_SELECT_BY_YEAR, ps -> ps.setInt(1, year), callback);
+    }
+
+    /**
+     * Counts working days (weekdays that are not holidays) in a date range.
+     *
+     * @param start First day.
+     * @param end   Last day, inclusive.
+     * @return Working days; 0 if end is before start.
+     * @throws Exception if the holidays cannot be loaded.
+     */
+    public int countWorkingDays(Date start, Date end) throws Exception {
+        return calendar.workingDays(start.toLocalDate(), end.toLocalDate());
+    }
+
+    private static List<LocalDate> loadHolidayDates(int year) throws Exception {
+        List<LocalDate> dates = new ArrayList<>();
+        StreamingQuery.forEachRow(SQL_SELECT_DATES, ps -> {
+            ps.setDate(1, Date.valueOf(LocalDate.of(year, 1, 1)));
+            ps.setDate(2, Date.valueOf(LocalDate.of(year + 1, 1, 1)));
+        }, rs -> dates.add(rs.getDate("holiday_date").toLocalDate()));
+        return dates;
     }
 }
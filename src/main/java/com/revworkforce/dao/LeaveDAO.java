@@ -3,13 +3,20 @@
  */
 package com.revworkforce.dao;
 
+import com.revworkforce.config.AppConstants;
+import com.revworkforce.model.LeaveBalanceRow;
+import com.revworkforce.model.TeamLeaveRequest;
 import com.revworkforce.util.DBConnection;
+import com.revworkforce.util.LruCache;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * DAO for Leave Management.
@@ -19,7 +26,63 @@ import java.util.Map;
  */
 public class LeaveDAO {
 
-    public List<Map<String, Object>> getLeaveBalances(String empId) throws Exception {
+    /*
+     * Pending leave IDs of each manager's team, filled from the team listing the
+     * manager is shown before picking a request. Static like the EmployeeDAO
+     * caches, so a decision made through another instance invalidates it. It
+     * only answers the menu's pre-check and does not see changes made by other
+     * processes: LeaveDecisionDAO re-checks the status and the applicant's
+     * manager under a row lock, which is what authorizes the decision.
+     */
+    private static final LruCache<String, Set<Integer>> pendingLeaveCache = new LruCache<>("pending-leaves",
+            AppConstants.PENDING_LEAVE_CACHE_MAX_SIZE, AppConstants.PENDING_LEAVE_CACHE_TTL_SECONDS,
+            TimeUnit.SECONDS);
+
+    // Leave type ID -> name; reloaded by LeavePolicyDAO when a type is added
+    private static final ReferenceTable leaveTypes = new ReferenceTable("leave-types", LeaveDAO::loadLeaveTypes);
+
+    private static final String SQL_PENDING_TEAM_LEAVE = """
+                SELECT 1
+                FROM leave_applications la
+                JOIN employees e ON la.employee_id = e.employee_id
+                WHERE la.leave_application_id = ?
+                  AND la.status = 'PENDING'
+                  AND e.manager_id = ?
+            """;
+
+    /**
+     * Drops every cached pending set. Called when a leave application is
+     * created or changes status, and when reporting lines change.
+     */
+    public static void invalidatePendingLeaves() {
+        pendingLeaveCache.invalidateAll();
+    }
+
+    /**
+     * Loads the leave types again after one was added or changed.
+     */
+    public static void reloadLeaveTypes() {
+        leaveTypes.reload();
+    }
+
+    /**
+     * Drops the leave type snapshot. Used after out-of-band changes to the
+     * leave_types table.
+     */
+    public static void clearLeaveTypes() {
+        leaveTypes.invalidate();
+    }
+
+    /**
+     * Returns statistics for the pending leave cache and the leave types.
+     *
+     * @return One line per cache.
+     */
+    public static String getCacheStats() {
+        return String.join(System.lineSeparator(), pendingLeaveCache.toString(), leaveTypes.toString());
+    }
+
+    public List<LeaveBalanceRow> getLeaveBalances(String empId) throws Exception {
         String sql = """
                     SELECT lt.leave_type_name, lb.total_allocated,
                            lb.used_leaves, lb.available_leaves
@@ -28,22 +91,7 @@ public class LeaveDAO {
                     WHERE lb.employee_id = ?
                 """;
 
-        List<Map<String, Object>> list = new ArrayList<>();
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, empId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    Map<String, Object> row = new HashMap<>();
-                    row.put("leave_type_name", rs.getString("leave_type_name"));
-                    row.put("total_allocated", rs.getInt("total_allocated"));
-                    row.put("used_leaves", rs.getInt("used_leaves"));
-                    row.put("available_leaves", rs.getInt("available_leaves"));
-                    list.add(row);
-                }
-            }
-        }
-        return list;
+        return StreamingQuery.queryList(sql, ps -> ps.setString(1, empId), RowMappers.LEAVE_BALANCE);
     }
 
     /**
@@ -53,7 +101,7 @@ public class LeaveDAO {
      * @return List of pending leaves.
      * @throws Exception if query fails.
      */
-    public List<Map<String, Object>> getTeamLeaveRequests(String managerId) throws Exception {
+    public List<TeamLeaveRequest> getTeamLeaveRequests(String managerId) throws Exception {
 
         String sql = """
                     SELECT la.leave_application_id,
@@ -72,73 +120,85 @@ public class LeaveDAO {
                     ORDER BY la.applied_date
                 """;
 
-        List<Map<String, Object>> list = new ArrayList<>();
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, managerId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    Map<String, Object> row = new HashMap<>();
-                    row.put("leave_application_id", rs.getInt("leave_application_id"));
-                    row.put("employee_id", rs.getString("employee_id"));
-                    row.put("first_name", rs.getString("first_name"));
-                    row.put("last_name", rs.getString("last_name"));
-                    row.put("department_name", rs.getString("department_name"));
-                    row.put("start_date", rs.getDate("start_date"));
-                    row.put("end_date", rs.getDate("end_date"));
-                    row.put("status", rs.getString("status"));
-                    list.add(row);
-                }
-            }
+        // Not cached if a leave or reporting line changed while the listing was read
+        long generation = pendingLeaveCache.generation();
+        List<TeamLeaveRequest> requests = StreamingQuery.queryList(sql, ps -> ps.setString(1, managerId),
+                RowMappers.TEAM_LEAVE_REQUEST);
+
+        Set<Integer> pending = new HashSet<>();
+        for (TeamLeaveRequest request : requests) {
+            pending.add(request.leaveApplicationId());
         }
-        return list;
+        pendingLeaveCache.putIfNotInvalidated(managerId, pending, generation);
+        return requests;
     }
 
     /**
-     * Updates the status of a leave application (e.g., APPROVED, REJECTED).
-     * Records the reviewer and comments.
-     * 
+     * Checks that a leave application is pending and was made by one of the
+     * manager's direct reports, to validate the ID typed into the menu.
+     * Answered from the team listing last shown to the manager while it is
+     * cached, otherwise by {@link #findPendingTeamLeave(String, int)}. The
+     * answer can be up to the cache TTL old; the decision itself is checked
+     * again by {@link LeaveDecisionDAO}.
+     *
+     * @param managerId The Manager's Employee ID.
      * @param leaveId   The Leave Application ID.
-     * @param managerId The Reviewer's ID.
-     * @param status    The new status.
-     * @param comments  Optional comments.
-     * @throws Exception if update fails.
+     * @return true if the leave was pending in the manager's team.
+     * @throws Exception if query fails.
      */
-    public void updateLeaveStatus(
-            int leaveId,
-            String managerId,
-            String status,
-            String comments) throws Exception {
-
-        String sql = """
-                    UPDATE leave_applications
-                    SET status = ?, manager_comments = ?, reviewed_by = ?, reviewed_date = SYSDATE
-                    WHERE leave_application_id = ?
-                """;
+    public boolean isPendingTeamLeave(String managerId, int leaveId) throws Exception {
+        Set<Integer> pending = pendingLeaveCache.get(managerId);
+        if (pending != null) {
+            return pending.contains(leaveId);
+        }
+        return findPendingTeamLeave(managerId, leaveId);
+    }
 
+    /**
+     * Uncached form of {@link #isPendingTeamLeave(String, int)}: a single
+     * primary-key lookup of the application joined to its applicant.
+     *
+     * @param managerId The Manager's Employee ID.
+     * @param leaveId   The Leave Application ID.
+     * @return true if the leave is pending and belongs to a direct report.
+     * @throws Exception if query fails.
+     */
+    public boolean findPendingTeamLeave(String managerId, int leaveId) throws Exception {
         try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-
-            ps.setString(1, status);
-            ps.setString(2, comments);
-            ps.setString(3, managerId);
-            ps.setInt(4, leaveId);
-            ps.executeUpdate();
+                PreparedStatement ps = con.prepareStatement(SQL_PENDING_TEAM_LEAVE)) {
+            ps.setInt(1, leaveId);
+            ps.setString(2, managerId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
         }
     }
 
+    /**
+     * Files a new PENDING leave application.
+     *
+     * @param empId       Applicant.
+     * @param leaveTypeId Leave type.
+     * @param start       First day of leave.
+     * @param end         Last day of leave.
+     * @param reason      Reason given.
+     * @param totalDays   Working days in the leave (see
+     *                    {@link HolidayDAO#countWorkingDays(Date, Date)}).
+     * @throws Exception if insert fails.
+     */
     public void applyLeave(
             String empId,
             int leaveTypeId,
             Date start,
             Date end,
-            String reason) throws Exception {
+            String reason,
+            int totalDays) throws Exception {
 
         String sql = """
                     INSERT INTO leave_applications
                     (employee_id, leave_type_id, start_date, end_date,
-                     status, reason)
-                    VALUES (?, ?, ?, ?, 'PENDING', ?)
+                     status, reason, total_days)
+                    VALUES (?, ?, ?, ?, 'PENDING', ?, ?)
                 """;
 
         try (Connection con = DBConnection.getConnection();
@@ -149,13 +209,15 @@ public class LeaveDAO {
             ps.setDate(3, start);
             ps.setDate(4, end);
             ps.setString(5, reason);
+            ps.setInt(6, totalDays);
             ps.executeUpdate();
         }
+        invalidatePendingLeaves();
     }
 
     public List<Map<String, Object>> getMyLeaves(String empId) throws Exception {
         String sql = """
-                    SELECT leave_application_id, start_date, end_date, status
+                    SELECT leave_application_id, start_date, end_date, total_days, status
                     FROM leave_applications
                     WHERE employee_id = ?
                     ORDER BY applied_date DESC
@@ -171,6 +233,8 @@ public class LeaveDAO {
                     row.put("leave_application_id", rs.getInt("leave_application_id"));
                     row.put("start_date", rs.getDate("start_date"));
                     row.put("end_date", rs.getDate("end_date"));
+                    int totalDays = rs.getInt("total_days");
+                    row.put("total_days", rs.wasNull() ? null : totalDays);
                     row.put("status", rs.getString("status"));
                     list.add(row);
                 }
@@ -179,17 +243,18 @@ public class LeaveDAO {
         return list;
     }
 
-    public ResultSet getLeaveStatistics() throws Exception {
+    public int getLeaveStatistics(RowCallback callback) throws Exception {
         String sql = "SELECT status, COUNT(*) as count FROM leave_applications GROUP BY status";
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        return ps.executeQuery();
+
+        return StreamingQuery.forEachRow(sql, StreamingQuery.NO_PARAMETERS, callback);
     }
 
-    public ResultSet getDepartmentLeaveReport() throws Exception {
+    public int getDepartmentLeaveReport(RowCallback callback) throws Exception {
         String sql = """
                     SELECT d.department_name, e.first_name || ' ' || e.last_name as emp_name,
-                           lt.leave_type_name, SUM(la.end_date - la.start_date + 1) as days_taken
+                           lt.leave_type_name,
+                           SUM(COALESCE(NULLIF(la.debited_days, 0), la.total_days,
+                                        la.end_date - la.start_date + 1)) as days_taken
                     FROM leave_applications la
                     JOIN employees e ON la.employee_id = e.employee_id
                     JOIN departments d ON e.department_id = d.department_id
@@ -198,41 +263,20 @@ public class LeaveDAO {
                     GROUP BY d.department_name, e.first_name, e.last_name, lt.leave_type_name
                     ORDER BY d.department_name, emp_name
                 """;
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        return ps.executeQuery();
+
+        return StreamingQuery.forEachRow(sql, StreamingQuery.NO_PARAMETERS, callback);
     }
 
-    public ResultSet getEmployeeLeaveReport(String empId) throws Exception {
+    public int getEmployeeLeaveReport(String empId, RowCallback callback) throws Exception {
         String sql = """
-                    SELECT lt.leave_type_name, la.start_date, la.end_date, la.status, la.reason
+                    SELECT lt.leave_type_name, la.start_date, la.end_date, la.total_days, la.status, la.reason
                     FROM leave_applications la
                     JOIN leave_types lt ON la.leave_type_id = lt.leave_type_id
                     WHERE la.employee_id = ?
                     ORDER BY la.start_date DESC
                 """;
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        ps.setString(1, empId);
-        return ps.executeQuery();
-    }
-
-    public void cancelLeave(int leaveId, String empId) throws Exception {
-        String sql = """
-                    UPDATE leave_applications
-                    SET status = 'CANCELLED'
-                    WHERE leave_application_id = ?
-                      AND employee_id = ?
-                      AND status = 'PENDING'
-                """;
-
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
 
-            ps.setInt(1, leaveId);
-            ps.setString(2, empId);
-            ps.executeUpdate();
-        }
+        return StreamingQuery.forEachRow(sql, ps -> ps.setString(1, empId), callback);
     }
 
     public List<Map<String, Object>> getTeamLeaveCalendar(String managerId) throws Exception {
@@ -299,7 +343,7 @@ public class LeaveDAO {
         return list;
     }
 
-    public List<Map<String, Object>> getTeamLeaveBalances(String managerId) throws Exception {
+    public List<LeaveBalanceRow> getTeamLeaveBalances(String managerId) throws Exception {
 
         String sql = """
                     SELECT lb.employee_id,
@@ -314,23 +358,7 @@ public class LeaveDAO {
                     ORDER BY lb.employee_id, lt.leave_type_name
                 """;
 
-        List<Map<String, Object>> list = new ArrayList<>();
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, managerId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    Map<String, Object> row = new HashMap<>();
-                    row.put("employee_id", rs.getString("employee_id"));
-                    row.put("leave_type_name", rs.getString("leave_type_name"));
-                    row.put("total_allocated", rs.getInt("total_allocated"));
-                    row.put("used_leaves", rs.getInt("used_leaves"));
-                    row.put("available_leaves", rs.getInt("available_leaves"));
-                    list.add(row);
-                }
-            }
-        }
-        return list;
+        return StreamingQuery.queryList(sql, ps -> ps.setString(1, managerId), RowMappers.TEAM_LEAVE_BALANCE);
     }
 
     /**
@@ -415,23 +443,6 @@ public class LeaveDAO {
         }
     }
 
-    public void revokeApprovedLeave(int leaveId) throws Exception {
-
-        String sql = """
-                    UPDATE leave_applications
-                    SET status = 'REVOKED'
-                    WHERE leave_application_id = ?
-                      AND status = 'APPROVED'
-                """;
-
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql)) {
-
-            ps.setInt(1, leaveId);
-            ps.executeUpdate();
-        }
-    }
-
     public void addHoliday(String name, Date date) throws Exception {
 
         String sql = """
@@ -465,23 +476,17 @@ public class LeaveDAO {
     /**
      * Prints all available leave types (e.g., Sick, Vacation) to the console.
      * This helper function is used by the UI (LeaveService) to display options
-     * before asking the user to input a Leave Type ID.
+     * before asking the user to input a Leave Type ID. The list comes from
+     * the in-memory leave type snapshot.
      */
     public void printLeaveTypes() {
-        // SQL query to fetch ID and Name of all leave types, ordered largely for
-        // readability
-        String sql = "SELECT leave_type_id, leave_type_name FROM leave_types ORDER BY leave_type_id";
-
-        // Execute query using try-with-resources to ensure connection closure
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(sql);
-                ResultSet rs = ps.executeQuery()) {
+        try {
+            Map<Integer, String> types = leaveTypes.rows();
 
             System.out.println("\n--- LEAVE TYPES ---");
-            // Iterate through the result set and print each leave type
-            while (rs.next()) {
-                // Formatting output as "ID | Name" for clear user selection
-                System.out.println(rs.getInt("leave_type_id") + " | " + rs.getString("leave_type_name"));
+            // Formatting output as "ID | Name" for clear user selection
+            for (Map.Entry<Integer, String> type : types.entrySet()) {
+                System.out.println(type.getKey() + " | " + type.getValue());
             }
         } catch (Exception e) {
             // Using System.out here to keep CLI feedback simple during this read-only
@@ -490,4 +495,16 @@ public class LeaveDAO {
         }
     }
 
+    private static Map<Integer, String> loadLeaveTypes() throws Exception {
+        String sql = "SELECT leave_type_id, leave_type_name FROM leave_types";
+        Map<Integer, String> types = new HashMap<>();
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                types.put(rs.getInt("leave_type_id"), rs.getString("leave_type_name"));
+            }
+        }
+        return types;
+    }
 }
@@ -0,0 +1,498 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.dao;
+
+import com.revworkforce.config.AppConstants;
+import com.revworkforce.model.LeaveDecision;
+import com.revworkforce.model.LeaveDecision.Outcome;
+import com.revworkforce.util.DBConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Leave status changes that keep leave_balances in step.
+ * <p>
+ * Each call runs in one transaction on one connection: the applications are
+ * locked (SELECT ... FOR UPDATE), each transition is checked, the matching
+ * leave_balances rows are locked and debited on approval or credited on
+ * revoke of an approved leave, and the applications are updated. The
+ * days taken are stored on the application (debited_days) so a later revoke
+ * gives back exactly that amount, and every update is guarded by the row's
+ * version so a change made without the lock is detected rather than
+ * double-counted.
+ * <p>
+ * Allowed transitions: PENDING to APPROVED, REJECTED or CANCELLED, and
+ * APPROVED to REVOKED. Approval debits the working days in the leave, counted
+ * against the holiday calendar as it stands at approval time. A leave that
+ * spans new year is split by calendar year and each part debited from that
+ * year's balance; it is approved only if every year has enough.
+ * <p>
+ * A manager may only decide on leaves of their direct reports. The applicant's
+ * manager is read in the same locked SELECT, so the check cannot go stale
+ * between the menu's pre-check and the update; admins decide through
+ * {@link #decideAsAdmin} without that restriction.
+ *
+ * @author Gururaj Shetty
+ */
+public class LeaveDecisionDAO {
+
+    private static final Logger logger = LogManager.getLogger(LeaveDecisionDAO.class);
+
+    private static final Map<String, Set<String>> TRANSITIONS = Map.of(
+            AppConstants.STATUS_PENDING, Set.of(AppConstants.STATUS_APPROVED, AppConstants.STATUS_REJECTED,
+                    AppConstants.STATUS_CANCELLED),
+            AppConstants.STATUS_APPROVED, Set.of(AppConstants.STATUS_REVOKED));
+
+    private static final String SQL_LOCK_APPLICATIONS = """
+                SELECT leave_application_id, employee_id, leave_type_id, start_date, end_date,
+                       debited_days, status, version
+                FROM leave_applications
+                WHERE leave_application_id IN (%s)
+                FOR UPDATE
+            """;
+
+    // team_member is null when the applicant does not report to the manager
+    private static final String SQL_LOCK_TEAM_APPLICATIONS = """
+                SELECT la.leave_application_id, la.employee_id, la.leave_type_id, la.start_date, la.end_date,
+                       la.debited_days, la.status, la.version, e.employee_id AS team_member
+                FROM leave_applications la
+                LEFT JOIN employees e ON e.employee_id = la.employee_id AND e.manager_id = ?
+                WHERE la.leave_application_id IN (%s)
+                FOR UPDATE
+            """;
+
+    private static final String SQL_LOCK_BALANCES = """
+                SELECT leave_balance_id, employee_id, leave_type_id, year,
+                       NVL(available_leaves, 0) AS available_leaves
+                FROM leave_balances
+                WHERE %s
+                FOR UPDATE
+            """;
+
+    private static final String SQL_REVIEW = """
+                UPDATE leave_applications
+                SET status = ?, manager_comments = ?, reviewed_by = ?, reviewed_date = SYSDATE,
+                    debited_days = ?, version = version + 1, updated_at = CURRENT_TIMESTAMP
+                WHERE leave_application_id = ? AND version = ?
+            """;
+
+    private static final String SQL_CANCEL = """
+                UPDATE leave_applications
+                SET status = ?, debited_days = ?, version = version + 1, updated_at = CURRENT_TIMESTAMP
+                WHERE leave_application_id = ? AND version = ?
+            """;
+
+    private static final String SQL_ADJUST_BALANCE = """
+                UPDATE leave_balances
+                SET used_leaves = NVL(used_leaves, 0) + ?,
+                    available_leaves = NVL(available_leaves, 0) - ?,
+                    updated_at = CURRENT_TIMESTAMP
+                WHERE leave_balance_id = ?
+            """;
+
+    private final WorkingDayCalendar calendar;
+
+    public LeaveDecisionDAO() {
+        this(HolidayDAO.getCalendar());
+    }
+
+    LeaveDecisionDAO(WorkingDayCalendar calendar) {
+        this.calendar = calendar;
+    }
+
+    // daysByYear: working days in each calendar year the leave touches, in year order
+    private record Application(int id, String employeeId, int leaveTypeId, Map<Integer, Integer> daysByYear,
+            int debitedDays, String status, long version, boolean inTeam) {
+    }
+
+    private record BalanceKey(String employeeId, int leaveTypeId, int year) {
+    }
+
+    private static final class Balance {
+        final int id;
+        int available;
+        int change;
+
+        Balance(int id, int available) {
+            this.id = id;
+            this.available = available;
+        }
+    }
+
+    /**
+     * Approves, rejects or revokes one leave application of a direct report.
+     *
+     * @param leaveId   The Leave Application ID.
+     * @param managerId Manager making the decision; other teams' leaves are
+     *                  refused with {@link Outcome#NOT_YOUR_TEAM}.
+     * @param newStatus APPROVED, REJECTED or REVOKED.
+     * @param comments  Reviewer comments.
+     * @return What happened.
+     * @throws Exception if the transaction fails (nothing is changed).
+     */
+    public LeaveDecision decide(int leaveId, String managerId, String newStatus, String comments)
+            throws Exception {
+        return decideAll(List.of(leaveId), managerId, newStatus, comments).get(0);
+    }
+
+    /**
+     * Approves, rejects or revokes any employee's leave application as an
+     * administrative override.
+     *
+     * @param leaveId   The Leave Application ID.
+     * @param adminId   Admin making the decision.
+     * @param newStatus APPROVED, REJECTED or REVOKED.
+     * @param comments  Reviewer comments.
+     * @return What happened.
+     * @throws Exception if the transaction fails (nothing is changed).
+     */
+    public LeaveDecision decideAsAdmin(int leaveId, String adminId, String newStatus, String comments)
+            throws Exception {
+        return apply(List.of(leaveId), adminId, false, null, newStatus, comments).get(0);
+    }
+
+    /**
+     * Applies the same decision to several leave applications in one
+     * transaction and a fixed number of round trips. Applications that cannot
+     * take the decision (wrong status, not enough balance, ...) are reported
+     * and skipped; the rest are committed together.
+     *
+     * @param leaveIds  Leave Application IDs, in the order balances should be
+     *                  consumed; duplicates are ignored.
+     * @param managerId Manager making the decision; only direct reports'
+     *                  leaves are changed.
+     * @param newStatus APPROVED, REJECTED or REVOKED.
+     * @param comments  Reviewer comments.
+     * @return One result per distinct ID, in the given order.
+     * @throws IllegalArgumentException if more than
+     *                                  {@link AppConstants#LEAVE_DECISION_MAX_BATCH}
+     *                                  IDs are given.
+     * @throws Exception                if the transaction fails (nothing is
+     *                                  changed).
+     */
+    public List<LeaveDecision> decideAll(List<Integer> leaveIds, String managerId, String newStatus,
+            String comments) throws Exception {
+        return apply(leaveIds, managerId, true, null, newStatus, comments);
+    }
+
+    /**
+     * Withdraws an employee's own pending leave application.
+     *
+     * @param leaveId The Leave Application ID.
+     * @param empId   The applicant; other employees' leaves are refused.
+     * @return What happened.
+     * @throws Exception if the transaction fails (nothing is changed).
+     */
+    public LeaveDecision cancel(int leaveId, String empId) throws Exception {
+        return apply(List.of(leaveId), null, false, empId, AppConstants.STATUS_CANCELLED, null).get(0);
+    }
+
+    // teamOnly: the reviewer is a manager and may only decide on direct reports' leaves
+    private List<LeaveDecision> apply(List<Integer> leaveIds, String reviewerId, boolean teamOnly, String ownerId,
+            String newStatus, String comments) throws Exception {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(leaveIds));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (ids.size() > AppConstants.LEAVE_DECISION_MAX_BATCH) {
+            throw new IllegalArgumentException(
+                    "At most " + AppConstants.LEAVE_DECISION_MAX_BATCH + " leave applications per decision");
+        }
+
+        try (Connection con = DBConnection.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try {
+                List<LeaveDecision> decisions = apply(con, ids, reviewerId, teamOnly, ownerId, newStatus,
+                        comments);
+                con.commit();
+                if (decisions.stream().anyMatch(LeaveDecision::isApplied)) {
+                    LeaveDAO.invalidatePendingLeaves();
+                }
+                return decisions;
+            } catch (Exception e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private List<LeaveDecision> apply(Connection con, List<Integer> ids, String reviewerId, boolean teamOnly,
+            String ownerId, String newStatus, String comments) throws Exception {
+        Map<Integer, Application> applications = lockApplications(con, ids, teamOnly ? reviewerId : null);
+
+        // Work out each transition and the balance changes it needs
+        Map<Integer, Map<BalanceKey, Integer>> changes = new LinkedHashMap<>();
+        Map<Integer, Outcome> outcomes = new HashMap<>();
+        Set<BalanceKey> keys = new LinkedHashSet<>();
+        for (int id : ids) {
+            Application app = applications.get(id);
+            if (app == null) {
+                outcomes.put(id, Outcome.NOT_FOUND);
+            } else if (!app.inTeam()) {
+                outcomes.put(id, Outcome.NOT_YOUR_TEAM);
+            } else if ((ownerId != null && !ownerId.equals(app.employeeId()))
+                    || !TRANSITIONS.getOrDefault(app.status(), Set.of()).contains(newStatus)) {
+                outcomes.put(id, Outcome.NOT_ALLOWED);
+            } else {
+                Map<BalanceKey, Integer> change = balanceChanges(app, newStatus);
+                changes.put(id, change);
+                keys.addAll(change.keySet());
+            }
+        }
+
+        // Check balances in request order, so earlier requests are served first
+        Map<BalanceKey, Balance> balances = lockBalances(con, keys);
+        for (Map.Entry<Integer, Map<BalanceKey, Integer>> entry : changes.entrySet()) {
+            Outcome refused = checkBalances(entry.getValue(), balances);
+            if (refused != null) {
+                outcomes.put(entry.getKey(), refused);
+                continue;
+            }
+            Iterator<Map.Entry<BalanceKey, Integer>> parts = entry.getValue().entrySet().iterator();
+            while (parts.hasNext()) {
+                Map.Entry<BalanceKey, Integer> part = parts.next();
+                Balance balance = balances.get(part.getKey());
+                if (balance == null) {
+                    // Quota removed since approval; nothing to give back to
+                    parts.remove();
+                } else {
+                    balance.available -= part.getValue();
+                    balance.change += part.getValue();
+                }
+            }
+        }
+
+        List<Integer> toUpdate = new ArrayList<>();
+        for (int id : changes.keySet()) {
+            if (!outcomes.containsKey(id)) {
+                toUpdate.add(id);
+            }
+        }
+        int[] counts = updateApplications(con, toUpdate, applications, changes, reviewerId, newStatus, comments);
+        for (int i = 0; i < toUpdate.size(); i++) {
+            int id = toUpdate.get(i);
+            if (counts[i] == 0) {
+                // Version moved under us: leave this one and its balance alone
+                outcomes.put(id, Outcome.CONFLICT);
+                for (Map.Entry<BalanceKey, Integer> part : changes.get(id).entrySet()) {
+                    balances.get(part.getKey()).change -= part.getValue();
+                }
+            } else {
+                outcomes.put(id, Outcome.APPLIED);
+            }
+        }
+        adjustBalances(con, balances.values());
+
+        List<LeaveDecision> decisions = new ArrayList<>();
+        for (int id : ids) {
+            Application app = applications.get(id);
+            Outcome outcome = outcomes.get(id);
+            decisions.add(new LeaveDecision(id, app == null ? null : app.employeeId(),
+                    app == null ? null : app.status(), newStatus,
+                    outcome == Outcome.APPLIED ? total(changes.get(id)) : 0, outcome));
+        }
+        logger.debug("Leave decision {} by {}: {}", newStatus, reviewerId != null ? reviewerId : ownerId,
+                decisions);
+        return decisions;
+    }
+
+    private static Map<BalanceKey, Integer> balanceChanges(Application app, String newStatus) {
+        Map<BalanceKey, Integer> changes = new LinkedHashMap<>();
+        if (AppConstants.STATUS_APPROVED.equals(newStatus)) {
+            for (Map.Entry<Integer, Integer> year : app.daysByYear().entrySet()) {
+                if (year.getValue() > 0) {
+                    changes.put(keyOf(app, year.getKey()), year.getValue());
+                }
+            }
+        } else if (AppConstants.STATUS_APPROVED.equals(app.status())) {
+            // Give back what was debited, year by year as the calendar now
+            // splits it; anything over (a holiday added since) goes to the last year
+            int remaining = app.debitedDays();
+            List<Integer> years = new ArrayList<>(app.daysByYear().keySet());
+            for (int i = 0; i < years.size() && remaining > 0; i++) {
+                int year = years.get(i);
+                int part = i == years.size() - 1 ? remaining : Math.min(remaining, app.daysByYear().get(year));
+                if (part > 0) {
+                    changes.put(keyOf(app, year), -part);
+                    remaining -= part;
+                }
+            }
+        }
+        return changes;
+    }
+
+    // Debits need a balance row with enough left in every year; credits never fail
+    private static Outcome checkBalances(Map<BalanceKey, Integer> changes, Map<BalanceKey, Balance> balances) {
+        for (Map.Entry<BalanceKey, Integer> part : changes.entrySet()) {
+            if (part.getValue() <= 0) {
+                continue;
+            }
+            Balance balance = balances.get(part.getKey());
+            if (balance == null) {
+                return Outcome.NO_BALANCE;
+            }
+            if (part.getValue() > balance.available) {
+                return Outcome.INSUFFICIENT_BALANCE;
+            }
+        }
+        return null;
+    }
+
+    private static int total(Map<BalanceKey, Integer> changes) {
+        int total = 0;
+        for (int change : changes.values()) {
+            total += change;
+        }
+        return total;
+    }
+
+    private static BalanceKey keyOf(Application app, int year) {
+        return new BalanceKey(app.employeeId(), app.leaveTypeId(), year);
+    }
+
+    // managerId: when set, marks the applications whose applicant does not report to that manager
+    private Map<Integer, Application> lockApplications(Connection con, List<Integer> ids, String managerId)
+            throws Exception {
+        String sql = String.format(managerId != null ? SQL_LOCK_TEAM_APPLICATIONS : SQL_LOCK_APPLICATIONS,
+                String.join(", ", Collections.nCopies(ids.size(), "?")));
+        Map<Integer, Application> applications = new HashMap<>();
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            int i = 1;
+            if (managerId != null) {
+                ps.setString(i++, managerId);
+            }
+            for (int id : ids) {
+                ps.setInt(i++, id);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Date start = rs.getDate("start_date");
+                    Date end = rs.getDate("end_date");
+                    Application app = new Application(rs.getInt("leave_application_id"),
+                            rs.getString("employee_id"), rs.getInt("leave_type_id"),
+                            workingDaysByYear(start.toLocalDate(), end.toLocalDate()), rs.getInt("debited_days"),
+                            rs.getString("status"), rs.getLong("version"),
+                            managerId == null || rs.getString("team_member") != null);
+                    applications.put(app.id(), app);
+                }
+            }
+        }
+        return applications;
+    }
+
+    private Map<Integer, Integer> workingDaysByYear(LocalDate start, LocalDate end) throws Exception {
+        Map<Integer, Integer> days = new LinkedHashMap<>();
+        if (end.isBefore(start)) {
+            days.put(start.getYear(), 0);
+            return days;
+        }
+        for (int year = start.getYear(); year <= end.getYear(); year++) {
+            LocalDate from = year == start.getYear() ? start : LocalDate.of(year, 1, 1);
+            LocalDate to = year == end.getYear() ? end : LocalDate.of(year, 12, 31);
+            days.put(year, calendar.workingDays(from, to));
+        }
+        return days;
+    }
+
+    private static Map<BalanceKey, Balance> lockBalances(Connection con, Set<BalanceKey> keys)
+            throws SQLException {
+        Map<BalanceKey, Balance> balances = new HashMap<>();
+        if (keys.isEmpty()) {
+            return balances;
+        }
+        String sql = String.format(SQL_LOCK_BALANCES, String.join(" OR ",
+                Collections.nCopies(keys.size(), "(employee_id = ? AND leave_type_id = ? AND year = ?)")));
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            int i = 1;
+            for (BalanceKey key : keys) {
+                ps.setString(i++, key.employeeId());
+                ps.setInt(i++, key.leaveTypeId());
+                ps.setInt(i++, key.year());
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    balances.put(new BalanceKey(rs.getString("employee_id"), rs.getInt("leave_type_id"),
+                            rs.getInt("year")),
+                            new Balance(rs.getInt("leave_balance_id"), rs.getInt("available_leaves")));
+                }
+            }
+        }
+        return balances;
+    }
+
+    private static int[] updateApplications(Connection con, List<Integer> ids, Map<Integer, Application> applications,
+            Map<Integer, Map<BalanceKey, Integer>> changes, String reviewerId, String newStatus, String comments)
+            throws SQLException {
+        if (ids.isEmpty()) {
+            return new int[0];
+        }
+        boolean review = reviewerId != null;
+        try (PreparedStatement ps = con.prepareStatement(review ? SQL_REVIEW : SQL_CANCEL)) {
+            for (int id : ids) {
+                Application app = applications.get(id);
+                // Only an approved leave holds days from the balance
+                int debited = AppConstants.STATUS_APPROVED.equals(newStatus) ? total(changes.get(id)) : 0;
+                int i = 1;
+                ps.setString(i++, newStatus);
+                if (review) {
+                    ps.setString(i++, comments);
+                    ps.setString(i++, reviewerId);
+                }
+                ps.setInt(i++, debited);
+                ps.setInt(i++, id);
+                ps.setLong(i, app.version());
+                ps.addBatch();
+            }
+            int[] counts = ps.executeBatch();
+            for (int i = 0; i < counts.length; i++) {
+                // Some drivers report batched updates without a row count
+                if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                    counts[i] = 1;
+                }
+            }
+            return counts;
+        }
+    }
+
+    private static void adjustBalances(Connection con, Iterable<Balance> balances) throws SQLException {
+        List<Balance> changed = new ArrayList<>();
+        for (Balance balance : balances) {
+            if (balance.change != 0) {
+                changed.add(balance);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = con.prepareStatement(SQL_ADJUST_BALANCE)) {
+            for (Balance balance : changed) {
+                ps.setInt(1, balance.change);
+                ps.setInt(2, balance.change);
+                ps.setInt(3, balance.id);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+}
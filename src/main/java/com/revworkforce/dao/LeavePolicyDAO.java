@@ -35,5 +35,6 @@ public class LeavePolicyDAO {
             ps.setString(2, description);
             ps.executeUpdate();
         }
+        LeaveDAO.reloadLeaveTypes();
     }
 }
@@ -0,0 +1,65 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.dao;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The month-day keys (month * 100 + day, as stored in employees.birth_mmdd
+ * and joining_mmdd) covered by a run of calendar days.
+ * <p>
+ * A run that crosses 31 December cannot be one key range, so it is split in
+ * two: {@code from..1231} and {@code 101..to}. Queries bind both ranges, each
+ * against its own index range scan; when the run does not wrap, the second
+ * range is empty. In a non-leap year a run ending on 28 February also covers
+ * 29 February, so leap-day birthdays are not skipped.
+ *
+ * @param from     First key of the first range.
+ * @param to       Last key of the first range.
+ * @param wrapFrom First key of the range after the year wrap.
+ * @param wrapTo   Last key of the range after the year wrap.
+ * @author Gururaj Shetty
+ */
+record MonthDayRange(int from, int to, int wrapFrom, int wrapTo) {
+
+    static final int FIRST_KEY = 101;
+    static final int LAST_KEY = 1231;
+
+    /**
+     * @param first First day, inclusive.
+     * @param last  Last day, inclusive.
+     * @return The key ranges for the days; a year or more covers every key.
+     * @throws IllegalArgumentException if last is before first.
+     */
+    static MonthDayRange of(LocalDate first, LocalDate last) {
+        if (last.isBefore(first)) {
+            throw new IllegalArgumentException("Range ends before it starts: " + first + " to " + last);
+        }
+        if (ChronoUnit.YEARS.between(first, last.plusDays(1)) >= 1) {
+            return new MonthDayRange(FIRST_KEY, LAST_KEY, FIRST_KEY, FIRST_KEY - 1);
+        }
+
+        int to = key(last);
+        if (to == 228 && !last.isLeapYear()) {
+            to = 229;
+        }
+        if (last.getYear() == first.getYear()) {
+            return new MonthDayRange(key(first), to, FIRST_KEY, FIRST_KEY - 1);
+        }
+        return new MonthDayRange(key(first), LAST_KEY, FIRST_KEY, to);
+    }
+
+    /**
+     * @param day A date.
+     * @return Its month-day key, e.g. 1225 for 25 December.
+     */
+    static int key(LocalDate day) {
+        return day.getMonthValue() * 100 + day.getDayOfMonth();
+    }
+
+    boolean wraps() {
+        return wrapFrom <= wrapTo;
+    }
+}
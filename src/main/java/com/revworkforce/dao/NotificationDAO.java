@@ -3,19 +3,26 @@
  */
 package com.revworkforce.dao;
 
+import com.revworkforce.config.AppConstants;
 import com.revworkforce.exception.AppException;
+import com.revworkforce.model.Notification;
+import com.revworkforce.model.NotificationPage;
 import com.revworkforce.util.DBConnection;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
-/**
- * Data Access Object for Notification management.
- * Handles fetching unread counts and retrieving/marking notifications.
- */
 /**
  * Data Access Object for Notification management.
  * Handles fetching unread counts, retrieving notifications, and marking them as
@@ -28,25 +35,53 @@ public class NotificationDAO {
     private static final Logger logger = LogManager.getLogger(NotificationDAO.class);
 
     // SQL Queries
-    private static final String SQL_GET_UNREAD_COUNT = """
-                SELECT COUNT(*)
+    private static final String SQL_UNREAD_COUNTS = """
+                SELECT employee_id, COUNT(*) AS unread
                 FROM notifications
-                WHERE employee_id = ?
-                  AND is_read = 0
+                WHERE is_read = 0
+                GROUP BY employee_id
             """;
 
-    private static final String SQL_GET_NOTIFICATIONS = """
-                SELECT notification_id, message, created_at
+    // Keyset page, newest first: one index range scan however large the backlog
+    private static final String SQL_UNREAD_PAGE = """
+                SELECT notification_id, employee_id, notification_type, message, created_at
                 FROM notifications
                 WHERE employee_id = ?
                   AND is_read = 0
-                ORDER BY created_at DESC
+                  AND notification_id < ?
+                ORDER BY notification_id DESC
+                FETCH FIRST ? ROWS ONLY
             """;
 
     private static final String SQL_MARK_READ = """
                 UPDATE notifications
-                SET is_read = 1
+                SET is_read = 1, read_at = CURRENT_TIMESTAMP
                 WHERE notification_id = ?
+                  AND is_read = 0
+            """;
+
+    private static final String SQL_ARCHIVE_CANDIDATES = """
+                SELECT notification_id
+                FROM notifications
+                WHERE is_read = 1
+                  AND created_at < ?
+                ORDER BY notification_id
+                FETCH FIRST ? ROWS ONLY
+            """;
+
+    private static final String SQL_COPY_TO_ARCHIVE = """
+                INSERT INTO notifications_archive
+                    (notification_id, employee_id, notification_type, message, is_read,
+                     created_at, read_at, event_date)
+                SELECT notification_id, employee_id, notification_type, message, is_read,
+                       created_at, read_at, event_date
+                FROM notifications
+                WHERE notification_id IN (%s)
+            """;
+
+    private static final String SQL_DELETE_ARCHIVED = """
+                DELETE FROM notifications
+                WHERE notification_id IN (%s)
             """;
 
     private static final String SQL_INSERT_NOTIFICATION = """
@@ -54,6 +89,46 @@ public class NotificationDAO {
                 VALUES (?, ?, ?)
             """;
 
+    // Shared by every instance so each write keeps the login badge current
+    private static final UnreadCounter unreadCounter = new UnreadCounter(NotificationDAO::loadUnreadCounts);
+
+    /**
+     * @return The in-memory unread counts behind {@link #getUnreadCount}.
+     */
+    public static UnreadCounter getUnreadCounter() {
+        return unreadCounter;
+    }
+
+    /*
+     * Daily notifications are written with one INSERT ... SELECT each. The
+     * NOT EXISTS on (employee, type, event_date) makes a rerun for the same
+     * day a no-op; the unique index on (event_key, event_date) catches two
+     * runs that overlap. Employees are matched on the indexed month-day
+     * columns.
+     */
+    private static final String SQL_INSERT_BIRTHDAYS = """
+                INSERT INTO notifications (employee_id, notification_type, message, event_date)
+                SELECT e.employee_id, 'BIRTHDAY', 'Happy Birthday, ' || e.first_name || '!', ?
+                FROM employees e
+                WHERE e.birth_mmdd BETWEEN ? AND ?
+                  AND NOT EXISTS (SELECT 1 FROM notifications n
+                                  WHERE n.employee_id = e.employee_id
+                                    AND n.notification_type = 'BIRTHDAY'
+                                    AND n.event_date = ?)
+            """;
+
+    private static final String SQL_INSERT_ANNIVERSARIES = """
+                INSERT INTO notifications (employee_id, notification_type, message, event_date)
+                SELECT e.employee_id, 'ANNIVERSARY', 'Happy Work Anniversary!', ?
+                FROM employees e
+                WHERE e.joining_mmdd BETWEEN ? AND ?
+                  AND e.joining_date < ?
+                  AND NOT EXISTS (SELECT 1 FROM notifications n
+                                  WHERE n.employee_id = e.employee_id
+                                    AND n.notification_type = 'ANNIVERSARY'
+                                    AND n.event_date = ?)
+            """;
+
     /**
      * Creates a new notification record for an employee.
      * 
@@ -67,28 +142,98 @@ public class NotificationDAO {
             ps.setString(1, empId);
             ps.setString(2, type);
             ps.setString(3, message);
-            ps.executeUpdate();
+            unreadCounter.increment(empId, ps.executeUpdate());
         } catch (Exception e) {
             logger.error("Error creating notification: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Gets the count of unread notifications for a specific employee.
+     * Notifies every employee whose birthday falls on the given day, unless
+     * they already have that day's birthday notification.
      *
-     * @param empId The employee ID.
-     * @return The number of unread notifications.
+     * @param day The day to generate for.
+     * @return Number of notifications created.
+     * @throws Exception if the insert fails (nothing is created).
      */
-    public int getUnreadCount(String empId) {
-        try (Connection con = DBConnection.getConnection();
-                PreparedStatement ps = con.prepareStatement(SQL_GET_UNREAD_COUNT)) {
+    public int createBirthdayNotifications(Date day) throws Exception {
+        MonthDayRange range = MonthDayRange.of(day.toLocalDate(), day.toLocalDate());
+        return insertDailyNotifications(SQL_INSERT_BIRTHDAYS, "birthday", ps -> {
+            ps.setDate(1, day);
+            ps.setInt(2, range.from());
+            ps.setInt(3, range.to());
+            ps.setDate(4, day);
+        });
+    }
 
-            ps.setString(1, empId);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1);
+    /**
+     * Notifies every employee whose work anniversary falls on the given day,
+     * unless they already have that day's anniversary notification.
+     *
+     * @param day The day to generate for.
+     * @return Number of notifications created.
+     * @throws Exception if the insert fails (nothing is created).
+     */
+    public int createAnniversaryNotifications(Date day) throws Exception {
+        MonthDayRange range = MonthDayRange.of(day.toLocalDate(), day.toLocalDate());
+        return insertDailyNotifications(SQL_INSERT_ANNIVERSARIES, "anniversary", ps -> {
+            ps.setDate(1, day);
+            ps.setInt(2, range.from());
+            ps.setInt(3, range.to());
+            ps.setDate(4, day);
+            ps.setDate(5, day);
+        });
+    }
+
+    /*
+     * A run that collides with an overlapping one fails as a whole on the
+     * unique index, so it is retried once: by then the other run's rows are
+     * committed and NOT EXISTS skips them. A second collision means the
+     * other run is still writing the same rows, which are then left to it.
+     */
+    private static int insertDailyNotifications(String sql, String kind, StreamingQuery.ParameterBinder binder)
+            throws Exception {
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(sql)) {
+            binder.bind(ps);
+            int created;
+            try {
+                created = ps.executeUpdate();
+            } catch (SQLIntegrityConstraintViolationException e) {
+                logger.info("Overlapping {} notification run, retrying: {}", kind, e.getMessage());
+                try {
+                    created = ps.executeUpdate();
+                } catch (SQLIntegrityConstraintViolationException again) {
+                    logger.info("Another run is still creating the {} notifications; left to it", kind);
+                    created = 0;
                 }
             }
+            return reloadUnreadCountsIfCreated(created);
+        }
+    }
+
+    // Set-based inserts do not say who was notified, so recount everyone
+    private static int reloadUnreadCountsIfCreated(int created) {
+        if (created > 0 && unreadCounter.isLoaded()) {
+            try {
+                unreadCounter.reload();
+            } catch (Exception e) {
+                logger.error("Error reloading unread counts: " + e.getMessage(), e);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Gets the count of unread notifications for a specific employee, from
+     * the in-memory counter (loaded on first use).
+     *
+     * @param empId The employee ID.
+     * @return The number of unread notifications.
+     */
+    public int getUnreadCount(String empId) {
+        try {
+            return unreadCounter.get(empId);
         } catch (Exception e) {
             // Log error internally but return 0 to avoid breaking UI
             logger.error("Error fetching notification count: " + e.getMessage(), e);
@@ -97,7 +242,27 @@ public class NotificationDAO {
     }
 
     /**
-     * Prints unread notifications to the console and marks them as read.
+     * Returns one page of an employee's unread notifications, newest first.
+     *
+     * @param empId    The employee ID.
+     * @param beforeId Cursor from the previous page
+     *                 ({@link NotificationPage#nextCursor()}), or 0 for the
+     *                 first page.
+     * @param pageSize Notifications per page.
+     * @return The page.
+     * @throws Exception if the query fails.
+     */
+    public NotificationPage getUnreadPage(String empId, int beforeId, int pageSize) throws Exception {
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(SQL_UNREAD_PAGE)) {
+            return readUnreadPage(ps, empId, beforeId, pageSize);
+        }
+    }
+
+    /**
+     * Prints the newest page of unread notifications to the console and marks
+     * them as read. Older unread notifications are left for the next visit,
+     * so a large backlog costs one page per visit.
      *
      * @param empId The employee ID.
      */
@@ -106,38 +271,82 @@ public class NotificationDAO {
         System.out.println("\n--- NOTIFICATIONS ---");
 
         try (Connection con = DBConnection.getConnection();
-                PreparedStatement psSelect = con.prepareStatement(SQL_GET_NOTIFICATIONS);
+                PreparedStatement psSelect = con.prepareStatement(SQL_UNREAD_PAGE);
                 PreparedStatement psUpdate = con.prepareStatement(SQL_MARK_READ)) {
 
-            psSelect.setString(1, empId);
+            NotificationPage page = readUnreadPage(psSelect, empId, 0, AppConstants.NOTIFICATION_PAGE_SIZE);
+            if (page.notifications().isEmpty()) {
+                System.out.println("No new notifications.");
+                return;
+            }
 
-            try (ResultSet rs = psSelect.executeQuery()) {
+            for (Notification n : page.notifications()) {
+                System.out.println("[NEW] " + n.getCreatedAt() + ": " + n.getMessage());
+                psUpdate.setInt(1, n.getNotificationId());
+                psUpdate.addBatch();
+            }
 
-                boolean hasNotifications = false;
+            int marked = 0;
+            for (int updated : psUpdate.executeBatch()) {
+                marked += updated == PreparedStatement.SUCCESS_NO_INFO ? 1 : updated;
+            }
+            unreadCounter.markedRead(empId, marked);
 
-                while (rs.next()) {
-                    hasNotifications = true;
-                    int notifId = rs.getInt("notification_id");
-                    String message = rs.getString("message");
-                    // Assuming created_at is a timestamp/date
-                    String date = rs.getString("created_at");
+            if (page.hasMore()) {
+                System.out.println("More unread notifications remain. View notifications again to see them.");
+            }
 
-                    System.out.println("[NEW] " + date + ": " + message);
+        } catch (Exception e) {
+            throw new AppException("Failed to retrieve notifications", e);
+        }
+    }
 
-                    // Mark as read immediately
-                    psUpdate.setInt(1, notifId);
-                    psUpdate.addBatch();
-                }
+    /**
+     * Moves one batch of read notifications created before the cutoff into
+     * notifications_archive, in one transaction. Unread notifications are
+     * never archived.
+     *
+     * @param cutoff    Notifications created before this are eligible.
+     * @param batchSize Most notifications to move.
+     * @return Number moved; less than batchSize once nothing older remains.
+     * @throws IllegalArgumentException if batchSize is not between 1 and 1000.
+     * @throws Exception if the move fails (nothing is moved).
+     */
+    public int archiveReadNotifications(Timestamp cutoff, int batchSize) throws Exception {
+        return ArchiveBatch.move(SQL_ARCHIVE_CANDIDATES, SQL_COPY_TO_ARCHIVE, SQL_DELETE_ARCHIVED, cutoff, batchSize);
+    }
 
-                if (hasNotifications) {
-                    psUpdate.executeBatch();
-                } else {
-                    System.out.println("No new notifications.");
+    // Reads pageSize + 1 rows: the extra one only says whether another page exists
+    private static NotificationPage readUnreadPage(PreparedStatement ps, String empId, int beforeId, int pageSize)
+            throws SQLException {
+        ps.setString(1, empId);
+        ps.setInt(2, beforeId > 0 ? beforeId : Integer.MAX_VALUE);
+        ps.setInt(3, pageSize + 1);
+
+        List<Notification> notifications = new ArrayList<>();
+        boolean hasMore = false;
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                if (notifications.size() == pageSize) {
+                    hasMore = true;
+                    break;
                 }
+                Notification n = new Notification();
+                n.setNotificationId(rs.getInt("notification_id"));
+                n.setEmployeeId(rs.getString("employee_id"));
+                n.setNotificationType(rs.getString("notification_type"));
+                n.setMessage(rs.getString("message"));
+                n.setCreatedAt(rs.getTimestamp("created_at"));
+                notifications.add(n);
             }
-
-        } catch (Exception e) {
-            throw new AppException("Failed to retrieve notifications", e);
         }
+        return new NotificationPage(notifications, hasMore);
+    }
+
+    private static Map<String, Integer> loadUnreadCounts() throws Exception {
+        Map<String, Integer> counts = new HashMap<>();
+        StreamingQuery.forEachRow(SQL_UNREAD_COUNTS, StreamingQuery.NO_PARAMETERS,
+                rs -> counts.put(rs.getString("employee_id"), rs.getInt("unread")));
+        return counts;
     }
 }
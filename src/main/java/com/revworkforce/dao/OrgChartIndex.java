@@ -0,0 +1,275 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.dao;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the reporting hierarchy (employee -> manager).
+ * Loaded once from the employees table on first use and then kept current
+ * through {@link #moveEmployee(String, String)} as reporting lines change, so
+ * manager/reportee checks no longer need a round trip to the database.
+ * <p>
+ * Direct-report checks are O(1), skip-level checks and reporting chains are
+ * O(depth), and subtree listings are proportional to the size of the subtree.
+ *
+ * @author Gururaj Shetty
+ */
+public class OrgChartIndex {
+
+    /**
+     * Supplies the full employee -> manager mapping. A null manager marks a
+     * root of the hierarchy.
+     */
+    @FunctionalInterface
+    public interface Source {
+        Map<String, String> load() throws Exception;
+    }
+
+    private final Source source;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, String> managerOf = new HashMap<>();
+    private final Map<String, Set<String>> reportsOf = new HashMap<>();
+    private volatile boolean loaded;
+
+    public OrgChartIndex(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * Returns the direct manager of an employee.
+     *
+     * @param empId The Employee ID.
+     * @return Manager ID, or null for a root or unknown employee.
+     * @throws Exception if the index cannot be loaded.
+     */
+    public String getManager(String empId) throws Exception {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return managerOf.get(empId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether an employee reports directly to the manager.
+     *
+     * @param managerId The Manager's Employee ID.
+     * @param empId     The Employee ID.
+     * @return true if the employee's manager is managerId.
+     * @throws Exception if the index cannot be loaded.
+     */
+    public boolean isDirectReport(String managerId, String empId) throws Exception {
+        if (managerId == null) {
+            return false;
+        }
+        return managerId.equals(getManager(empId));
+    }
+
+    /**
+     * Checks whether an employee sits anywhere below the manager, directly or
+     * through intermediate managers.
+     *
+     * @param managerId The Manager's Employee ID.
+     * @param empId     The Employee ID.
+     * @return true if managerId appears in the employee's reporting chain.
+     * @throws Exception if the index cannot be loaded.
+     */
+    public boolean isInReportingLine(String managerId, String empId) throws Exception {
+        if (managerId == null) {
+            return false;
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Set<String> seen = new HashSet<>();
+            String current = managerOf.get(empId);
+            while (current != null && seen.add(current)) {
+                if (current.equals(managerId)) {
+                    return true;
+                }
+                current = managerOf.get(current);
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the managers above an employee, nearest first.
+     *
+     * @param empId The Employee ID.
+     * @return Manager IDs from the direct manager up to the top of the hierarchy.
+     * @throws Exception if the index cannot be loaded.
+     */
+    public List<String> getReportingChain(String empId) throws Exception {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            // LinkedHashSet keeps order and stops on a (bad data) cycle
+            Set<String> chain = new LinkedHashSet<>();
+            String current = managerOf.get(empId);
+            while (current != null && chain.add(current)) {
+                current = managerOf.get(current);
+            }
+            return new ArrayList<>(chain);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the employees reporting directly to a manager.
+     *
+     * @param managerId The Manager's Employee ID.
+     * @return Direct report IDs (empty if none).
+     * @throws Exception if the index cannot be loaded.
+     */
+    public List<String> getDirectReports(String managerId) throws Exception {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Set<String> reports = reportsOf.get(managerId);
+            return reports == null ? Collections.emptyList() : new ArrayList<>(reports);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns every employee below a manager, breadth first (direct reports
+     * first, then their reports, and so on).
+     *
+     * @param managerId The Manager's Employee ID.
+     * @return IDs of the whole subtree, excluding the manager.
+     * @throws Exception if the index cannot be loaded.
+     */
+    public List<String> getSubtree(String managerId) throws Exception {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<String> result = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            seen.add(managerId);
+            Deque<String> pending = new ArrayDeque<>();
+            pending.add(managerId);
+            while (!pending.isEmpty()) {
+                Set<String> reports = reportsOf.get(pending.poll());
+                if (reports == null) {
+                    continue;
+                }
+                for (String report : reports) {
+                    if (seen.add(report)) {
+                        result.add(report);
+                        pending.add(report);
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records a new or changed reporting line. Does nothing until the index has
+     * been loaded, since the first load reads the current state anyway.
+     *
+     * @param empId     The Employee ID.
+     * @param managerId The new Manager ID, or null to make the employee a root.
+     */
+    public void moveEmployee(String empId, String managerId) {
+        if (!loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            link(empId, managerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Discards the index; the next query reloads it from the source.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            managerOf.clear();
+            reportsOf.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return managerOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() throws Exception {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                managerOf.clear();
+                reportsOf.clear();
+                for (Map.Entry<String, String> line : source.load().entrySet()) {
+                    link(line.getKey(), line.getValue());
+                }
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void link(String empId, String managerId) {
+        String previous = managerOf.put(empId, managerId);
+        if (previous != null) {
+            Set<String> oldReports = reportsOf.get(previous);
+            if (oldReports != null) {
+                oldReports.remove(empId);
+                if (oldReports.isEmpty()) {
+                    reportsOf.remove(previous);
+                }
+            }
+        }
+        if (managerId != null) {
+            reportsOf.computeIfAbsent(managerId, k -> new LinkedHashSet<>()).add(empId);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("org-chart[loaded=%s, employees=%d]", loaded, size());
+    }
+}
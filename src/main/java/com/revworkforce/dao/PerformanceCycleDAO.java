@@ -49,7 +49,7 @@ public class PerformanceCycleDAO {
         }
     }
 
-    public ResultSet getAllCycles() throws Exception {
+    public int getAllCycles(RowCallback callback) throws Exception {
 
         String sql = """
                     SELECT cycle_id, year, start_date, end_date, status
@@ -57,9 +57,7 @@ public class PerformanceCycleDAO {
                     ORDER BY start_date DESC
                 """;
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        return ps.executeQuery();
+        return StreamingQuery.forEachRow(sql, StreamingQuery.NO_PARAMETERS, callback);
     }
 
     /**
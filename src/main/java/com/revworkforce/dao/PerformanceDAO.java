@@ -18,7 +18,7 @@ import java.sql.ResultSet;
  */
 public class PerformanceDAO {
 
-    public ResultSet getTeamGoals(String managerId) throws Exception {
+    public int getTeamGoals(String managerId, RowCallback callback) throws Exception {
         String sql = """
                     SELECT g.goal_id,
                            g.employee_id,
@@ -32,20 +32,18 @@ public class PerformanceDAO {
                     ORDER BY g.deadline
                 """;
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        ps.setString(1, managerId);
-        return ps.executeQuery();
+        return StreamingQuery.forEachRow(sql, ps -> ps.setString(1, managerId), callback);
     }
 
     /**
      * Aggregates goal completion statistics for a manager's team.
      * 
      * @param managerId Manager's Employee ID.
-     * @return ResultSet with total vs completed goals per employee.
+     * @param callback  Receives one row (total vs completed goals) per employee.
+     * @return Number of rows streamed.
      * @throws Exception if query fails.
      */
-    public ResultSet getGoalCompletionSummary(String managerId) throws Exception {
+    public int getGoalCompletionSummary(String managerId, RowCallback callback) throws Exception {
         String sql = """
                     SELECT e.employee_id,
                            COUNT(*) AS total_goals,
@@ -56,10 +54,7 @@ public class PerformanceDAO {
                     GROUP BY e.employee_id
                 """;
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        ps.setString(1, managerId);
-        return ps.executeQuery();
+        return StreamingQuery.forEachRow(sql, ps -> ps.setString(1, managerId), callback);
     }
 
     public void submitSelfReview(
@@ -127,7 +122,7 @@ public class PerformanceDAO {
         }
     }
 
-    public ResultSet getMyGoals(String empId) throws Exception {
+    public int getMyGoals(String empId, RowCallback callback) throws Exception {
         String sql = """
                     SELECT goal_id, goal_description,
                            deadline, priority, progress_percentage
@@ -136,10 +131,7 @@ public class PerformanceDAO {
                     ORDER BY deadline
                 """;
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        ps.setString(1, empId);
-        return ps.executeQuery();
+        return StreamingQuery.forEachRow(sql, ps -> ps.setString(1, empId), callback);
     }
 
     public void updateGoalProgress(int goalId, int progress) throws Exception {
@@ -158,7 +150,7 @@ public class PerformanceDAO {
         }
     }
 
-    public ResultSet getMyFeedback(String empId) throws Exception {
+    public int getMyFeedback(String empId, RowCallback callback) throws Exception {
         String sql = """
                     SELECT manager_feedback, manager_rating
                     FROM performance_reviews
@@ -166,13 +158,10 @@ public class PerformanceDAO {
                       AND manager_feedback IS NOT NULL
                 """;
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        ps.setString(1, empId);
-        return ps.executeQuery();
+        return StreamingQuery.forEachRow(sql, ps -> ps.setString(1, empId), callback);
     }
 
-    public ResultSet getTeamReviews(String managerId) throws Exception {
+    public int getTeamReviews(String managerId, RowCallback callback) throws Exception {
         String sql = """
                     SELECT pr.review_id,
                            pr.employee_id,
@@ -184,10 +173,7 @@ public class PerformanceDAO {
                     ORDER BY pr.submitted_date DESC
                 """;
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        ps.setString(1, managerId);
-        return ps.executeQuery();
+        return StreamingQuery.forEachRow(sql, ps -> ps.setString(1, managerId), callback);
     }
 
     public void submitManagerFeedback(int reviewId, String feedback, int rating) throws Exception {
@@ -210,7 +196,7 @@ public class PerformanceDAO {
         }
     }
 
-    public ResultSet getTeamPerformanceSummary(String managerId) throws Exception {
+    public int getTeamPerformanceSummary(String managerId, RowCallback callback) throws Exception {
         String sql = """
                     SELECT e.employee_id,
                            AVG(pr.manager_rating) as avg_rating
@@ -220,10 +206,7 @@ public class PerformanceDAO {
                     GROUP BY e.employee_id
                 """;
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        ps.setString(1, managerId);
-        return ps.executeQuery();
+        return StreamingQuery.forEachRow(sql, ps -> ps.setString(1, managerId), callback);
     }
 
     public String getEmployeeIdForReview(int reviewId) throws Exception {
@@ -0,0 +1,155 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.dao;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of a small reference table (departments, designations,
+ * leave types, roles): ID to name, ordered by ID.
+ * <p>
+ * The table is loaded on first use into an immutable snapshot that readers
+ * share without locking. After a write the owning DAO calls
+ * {@link #reload()}, which loads a new snapshot and swaps it in whole, so a
+ * reader sees either the old table or the new one, never a mix. A load that
+ * started before a reload is discarded rather than installed over it.
+ *
+ * @author Gururaj Shetty
+ */
+public class ReferenceTable {
+
+    private static final Logger logger = LogManager.getLogger(ReferenceTable.class);
+
+    /**
+     * Supplies the whole table as ID to name.
+     */
+    @FunctionalInterface
+    public interface Source {
+        Map<Integer, String> load() throws Exception;
+    }
+
+    private final String name;
+    private final Source source;
+    private final AtomicLong loads = new AtomicLong();
+
+    private volatile SortedMap<Integer, String> snapshot;
+
+    // Bumped on every reload and invalidation; guarded by this
+    private long generation;
+
+    public ReferenceTable(String name, Source source) {
+        this.name = name;
+        this.source = source;
+    }
+
+    /**
+     * @return The current snapshot, ID to name in ID order; unmodifiable.
+     * @throws Exception if the table has to be loaded and the load fails.
+     */
+    public SortedMap<Integer, String> rows() throws Exception {
+        SortedMap<Integer, String> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long startGeneration;
+        synchronized (this) {
+            if (snapshot != null) {
+                return snapshot;
+            }
+            startGeneration = generation;
+        }
+        return install(startGeneration);
+    }
+
+    /**
+     * @param id ID as typed or stored, e.g. "5".
+     * @return true if a row has this ID; false for unknown or non-numeric IDs.
+     * @throws Exception if the table cannot be loaded.
+     */
+    public boolean contains(String id) throws Exception {
+        Integer key = parseId(id);
+        return key != null && rows().containsKey(key);
+    }
+
+    /**
+     * @param id ID as typed or stored, e.g. "5".
+     * @return The row's name, or null for unknown or non-numeric IDs.
+     * @throws Exception if the table cannot be loaded.
+     */
+    public String getName(String id) throws Exception {
+        Integer key = parseId(id);
+        return key == null ? null : rows().get(key);
+    }
+
+    /**
+     * Loads the table again and swaps the new snapshot in. Called after a
+     * committed write; if the load fails the snapshot is dropped instead, so
+     * the next read retries rather than serving the old rows.
+     */
+    public void reload() {
+        long startGeneration;
+        synchronized (this) {
+            startGeneration = ++generation;
+        }
+        try {
+            install(startGeneration);
+        } catch (Exception e) {
+            logger.warn("Reloading {} failed, will load on next use: {}", name, e.getMessage());
+            invalidate();
+        }
+    }
+
+    /**
+     * Drops the snapshot, so the next read loads the table. Used after changes
+     * made outside the DAOs.
+     */
+    public synchronized void invalidate() {
+        generation++;
+        snapshot = null;
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    public long getLoads() {
+        return loads.get();
+    }
+
+    private SortedMap<Integer, String> install(long startGeneration) throws Exception {
+        SortedMap<Integer, String> loaded = Collections.unmodifiableSortedMap(new TreeMap<>(source.load()));
+        loads.incrementAndGet();
+        synchronized (this) {
+            if (generation == startGeneration) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    private static Integer parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(id.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        SortedMap<Integer, String> current = snapshot;
+        return String.format("%s[loaded=%s, rows=%d, loads=%d]", name, current != null,
+                current == null ? 0 : current.size(), loads.get());
+    }
+}
@@ -6,15 +6,29 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DAO for checking Roles.
+ * Role names come from an in-memory snapshot of the roles table, so a login
+ * only reads the employee's role assignments.
  * 
  * @author Gururaj Shetty
  */
 public class RoleDAO {
 
+    private static final ReferenceTable roleNames = new ReferenceTable("roles", RoleDAO::loadRoles);
+
+    /**
+     * Drops the role snapshot. Used after out-of-band changes to the roles
+     * table.
+     */
+    public static void clearCache() {
+        roleNames.invalidate();
+    }
+
     /**
      * Retrieves the primary role for an employee.
      * Hierarchy: ADMIN > MANAGER > EMPLOYEE.
@@ -24,14 +38,9 @@ public class RoleDAO {
      * @throws Exception If database access fails.
      */
     public String getEmployeeRole(String empId) throws Exception {
-        String sql = """
-                    SELECT r.role_name
-                    FROM roles r
-                    JOIN employee_roles er ON r.role_id = er.role_id
-                    WHERE er.employee_id = ?
-                """;
+        String sql = "SELECT role_id FROM employee_roles WHERE employee_id = ?";
 
-        List<String> roles = new ArrayList<>();
+        List<String> roleIds = new ArrayList<>();
 
         try (Connection con = DBConnection.getConnection();
                 PreparedStatement ps = con.prepareStatement(sql)) {
@@ -39,11 +48,20 @@ public class RoleDAO {
             ps.setString(1, empId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    roles.add(rs.getString("role_name"));
+                    roleIds.add(rs.getString("role_id"));
                 }
             }
         }
 
+        // Named after the connection is returned, in case the roles need loading
+        List<String> roles = new ArrayList<>();
+        for (String roleId : roleIds) {
+            String name = roleNames.getName(roleId);
+            if (name != null) {
+                roles.add(name);
+            }
+        }
+
         if (roles.isEmpty()) {
             return "Employee"; // Default fallback
         }
@@ -58,4 +76,17 @@ public class RoleDAO {
 
         return "Employee";
     }
+
+    private static Map<Integer, String> loadRoles() throws Exception {
+        String sql = "SELECT role_id, role_name FROM roles";
+        Map<Integer, String> rows = new HashMap<>();
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows.put(rs.getInt("role_id"), rs.getString("role_name"));
+            }
+        }
+        return rows;
+    }
 }
@@ -0,0 +1,20 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Receives the rows of a streamed query one at a time.
+ * The ResultSet is positioned on the current row and is only valid for the
+ * duration of the call; the DAO closes it (and its connection) afterwards.
+ *
+ * @author Gururaj Shetty
+ */
+@FunctionalInterface
+public interface RowCallback {
+
+    void processRow(ResultSet rs) throws SQLException;
+}
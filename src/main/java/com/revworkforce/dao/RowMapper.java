@@ -0,0 +1,32 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a ResultSet to an object.
+ * <p>
+ * Mappers are created per statement by a {@link Factory}, which looks up the
+ * column positions once so that each row is read by index.
+ *
+ * @param <T> Row type.
+ * @author Gururaj Shetty
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    T mapRow(ResultSet rs) throws SQLException;
+
+    /**
+     * Creates a mapper for one result set, resolving its column indexes.
+     *
+     * @param <T> Row type.
+     */
+    @FunctionalInterface
+    interface Factory<T> {
+        RowMapper<T> forResultSet(ResultSet rs) throws SQLException;
+    }
+}
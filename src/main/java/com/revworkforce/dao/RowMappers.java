@@ -0,0 +1,79 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.dao;
+
+import com.revworkforce.model.EmployeeSummary;
+import com.revworkforce.model.LeaveBalanceRow;
+import com.revworkforce.model.TeamLeaveRequest;
+
+/**
+ * Row mappers for the list queries.
+ * Each factory resolves its columns with {@link java.sql.ResultSet#findColumn}
+ * once per result set; the returned mapper reads every row by index.
+ *
+ * @author Gururaj Shetty
+ */
+public final class RowMappers {
+
+    /**
+     * employee_id, first_name, last_name, email, department_name,
+     * designation_name.
+     */
+    public static final RowMapper.Factory<EmployeeSummary> EMPLOYEE_SUMMARY = rs -> {
+        int id = rs.findColumn("employee_id");
+        int first = rs.findColumn("first_name");
+        int last = rs.findColumn("last_name");
+        int email = rs.findColumn("email");
+        int dept = rs.findColumn("department_name");
+        int desig = rs.findColumn("designation_name");
+        return r -> new EmployeeSummary(r.getString(id), r.getString(first), r.getString(last),
+                r.getString(email), r.getString(dept), r.getString(desig));
+    };
+
+    /**
+     * leave_type_name, total_allocated, used_leaves, available_leaves.
+     */
+    public static final RowMapper.Factory<LeaveBalanceRow> LEAVE_BALANCE = rs -> {
+        int type = rs.findColumn("leave_type_name");
+        int total = rs.findColumn("total_allocated");
+        int used = rs.findColumn("used_leaves");
+        int available = rs.findColumn("available_leaves");
+        return r -> new LeaveBalanceRow(null, r.getString(type), r.getInt(total), r.getInt(used),
+                r.getInt(available));
+    };
+
+    /**
+     * As {@link #LEAVE_BALANCE}, plus employee_id.
+     */
+    public static final RowMapper.Factory<LeaveBalanceRow> TEAM_LEAVE_BALANCE = rs -> {
+        int id = rs.findColumn("employee_id");
+        int type = rs.findColumn("leave_type_name");
+        int total = rs.findColumn("total_allocated");
+        int used = rs.findColumn("used_leaves");
+        int available = rs.findColumn("available_leaves");
+        return r -> new LeaveBalanceRow(r.getString(id), r.getString(type), r.getInt(total), r.getInt(used),
+                r.getInt(available));
+    };
+
+    /**
+     * leave_application_id, employee_id, first_name, last_name,
+     * department_name, start_date, end_date, status.
+     */
+    public static final RowMapper.Factory<TeamLeaveRequest> TEAM_LEAVE_REQUEST = rs -> {
+        int leaveId = rs.findColumn("leave_application_id");
+        int empId = rs.findColumn("employee_id");
+        int first = rs.findColumn("first_name");
+        int last = rs.findColumn("last_name");
+        int dept = rs.findColumn("department_name");
+        int start = rs.findColumn("start_date");
+        int end = rs.findColumn("end_date");
+        int status = rs.findColumn("status");
+        return r -> new TeamLeaveRequest(r.getInt(leaveId), r.getString(empId), r.getString(first),
+                r.getString(last), r.getString(dept), r.getDate(start), r.getDate(end), r.getString(status));
+    };
+
+    private RowMappers() {
+        // Prevent instantiation
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.dao;
+
+import com.revworkforce.config.AppConstants;
+import com.revworkforce.util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a query and hands each row to a {@link RowCallback}, closing the
+ * statement and returning the connection to the pool when done (or on error).
+ * Rows are fetched from the driver in groups of {@code jdbc.fetch.size}, so
+ * long results are read in constant memory.
+ *
+ * @author Gururaj Shetty
+ */
+final class StreamingQuery {
+
+    /**
+     * Sets the parameters of a prepared statement.
+     */
+    @FunctionalInterface
+    interface ParameterBinder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    static final ParameterBinder NO_PARAMETERS = ps -> {
+    };
+
+    private static final int FETCH_SIZE = Integer.getInteger("jdbc.fetch.size", AppConstants.QUERY_FETCH_SIZE);
+
+    private StreamingQuery() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @return Number of rows passed to the callback.
+     */
+    static int forEachRow(String sql, ParameterBinder binder, RowCallback callback) throws Exception {
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setFetchSize(FETCH_SIZE);
+            binder.bind(ps);
+            int rows = 0;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    callback.processRow(rs);
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Runs a query and maps every row with a mapper created for its result
+     * set.
+     *
+     * @return The mapped rows, in result order.
+     */
+    static <T> List<T> queryList(String sql, ParameterBinder binder, RowMapper.Factory<T> factory)
+            throws Exception {
+        try (Connection con = DBConnection.getConnection();
+                PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setFetchSize(FETCH_SIZE);
+            binder.bind(ps);
+            List<T> rows = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMapper<T> mapper = factory.forResultSet(rs);
+                while (rs.next()) {
+                    rows.add(mapper.mapRow(rs));
+                }
+            }
+            return rows;
+        }
+    }
+}
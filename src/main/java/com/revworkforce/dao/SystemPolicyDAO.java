@@ -93,7 +93,7 @@ public class SystemPolicyDAO {
         }
     }
 
-    public ResultSet getAllPolicies() throws Exception {
+    public int getAllPolicies(RowCallback callback) throws Exception {
 
         String sql = """
                     SELECT policy_name, policy_value
@@ -101,8 +101,6 @@ public class SystemPolicyDAO {
                     ORDER BY policy_name
                 """;
 
-        Connection con = DBConnection.getConnection();
-        PreparedStatement ps = con.prepareStatement(sql);
-        return ps.executeQuery();
+        return StreamingQuery.forEachRow(sql, StreamingQuery.NO_PARAMETERS, callback);
     }
 }
@@ -0,0 +1,193 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.dao;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unread notification count per employee, held in memory so the badge shown
+ * at login is a map lookup rather than a COUNT(*) over the employee's
+ * notifications.
+ * <p>
+ * The counts are loaded with one grouped query, then kept current by the DAO:
+ * {@link #increment} after an insert and {@link #markedRead} after notifications
+ * are read. Changes recorded while a load is running are kept aside and
+ * applied to the loaded counts before they are installed, so a reload does
+ * not drop them. Writes that bypass the DAO (or commit just as the load
+ * reads them) can still leave a count off, so {@link #startReconciling}
+ * reloads it periodically.
+ *
+ * @author Gururaj Shetty
+ */
+public class UnreadCounter {
+
+    private static final Logger logger = LogManager.getLogger(UnreadCounter.class);
+
+    /** Loads the unread count of every employee who has unread notifications. */
+    @FunctionalInterface
+    public interface Source {
+        Map<String, Integer> load() throws Exception;
+    }
+
+    private final Source source;
+    private volatile Map<String, Integer> counts;
+    private ScheduledExecutorService reconciler;
+
+    // Held only for map updates, never across a load
+    private final Object updateLock = new Object();
+    // Per-employee changes since the running load started; null when none
+    // is running. Guarded by updateLock
+    private Map<String, Integer> loadDeltas;
+
+    public UnreadCounter(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * @param empId The Employee ID.
+     * @return Unread notifications of the employee.
+     * @throws Exception if the counts cannot be loaded.
+     */
+    public int get(String empId) throws Exception {
+        return ensureLoaded().getOrDefault(empId, 0);
+    }
+
+    /**
+     * Records new unread notifications. Ignored until the counts are loaded,
+     * since the load will include them.
+     *
+     * @param empId The Employee ID.
+     * @param added Notifications created.
+     */
+    public void increment(String empId, int added) {
+        if (added <= 0) {
+            return;
+        }
+        synchronized (updateLock) {
+            if (loadDeltas != null) {
+                loadDeltas.merge(empId, added, Integer::sum);
+            }
+            Map<String, Integer> current = counts;
+            if (current != null) {
+                current.merge(empId, added, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Records notifications marked as read. The count never drops below zero.
+     *
+     * @param empId The Employee ID.
+     * @param read  Notifications marked read.
+     */
+    public void markedRead(String empId, int read) {
+        if (read <= 0) {
+            return;
+        }
+        synchronized (updateLock) {
+            if (loadDeltas != null) {
+                loadDeltas.merge(empId, -read, Integer::sum);
+            }
+            Map<String, Integer> current = counts;
+            if (current != null) {
+                current.computeIfPresent(empId, (id, n) -> n > read ? n - read : null);
+            }
+        }
+    }
+
+    /**
+     * Replaces every count with a fresh load from the database.
+     *
+     * @throws Exception if the load fails; the previous counts are kept.
+     */
+    public synchronized void reload() throws Exception {
+        synchronized (updateLock) {
+            loadDeltas = new HashMap<>();
+        }
+        try {
+            Map<String, Integer> loaded = new ConcurrentHashMap<>(source.load());
+            synchronized (updateLock) {
+                // Changes made while the query ran, which it may not have seen
+                for (Map.Entry<String, Integer> delta : loadDeltas.entrySet()) {
+                    loaded.merge(delta.getKey(), delta.getValue(), Integer::sum);
+                }
+                loaded.values().removeIf(n -> n <= 0);
+                counts = loaded;
+            }
+            logger.debug("Unread counts loaded for {} employee(s)", loaded.size());
+        } finally {
+            synchronized (updateLock) {
+                loadDeltas = null;
+            }
+        }
+    }
+
+    /**
+     * Drops the counts; the next {@link #get} loads them again.
+     */
+    public synchronized void invalidate() {
+        counts = null;
+    }
+
+    /**
+     * @return true once the counts have been loaded.
+     */
+    public boolean isLoaded() {
+        return counts != null;
+    }
+
+    /**
+     * Loads the counts now and reloads them at a fixed interval on a daemon
+     * thread.
+     *
+     * @param intervalMs Time between reloads.
+     */
+    public synchronized void startReconciling(long intervalMs) {
+        if (reconciler != null) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "unread-counter");
+            t.setDaemon(true);
+            return t;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcile, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopReconciling() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+            reconciler = null;
+        }
+    }
+
+    private void reconcile() {
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("Unread count reconciliation failed: " + e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Integer> ensureLoaded() throws Exception {
+        Map<String, Integer> current = counts;
+        if (current == null) {
+            synchronized (this) {
+                if (counts == null) {
+                    reload();
+                }
+                current = counts;
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.dao;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Working-day arithmetic over the holiday calendar: weekdays that are not
+ * company holidays.
+ * <p>
+ * Each year is loaded on first use into a bitset of its working days and a
+ * running count of them (working days up to each day of the year), so
+ * counting the working days in a range costs two array reads per calendar
+ * year it touches. A year is reloaded after {@link #invalidate(int)}, which
+ * the holiday DAO calls when a holiday is added.
+ *
+ * @author Gururaj Shetty
+ */
+public class WorkingDayCalendar {
+
+    /**
+     * Supplies the holidays of one calendar year.
+     */
+    @FunctionalInterface
+    public interface Source {
+        Collection<LocalDate> holidays(int year) throws Exception;
+    }
+
+    private static final class YearTable {
+        private final BitSet workingDays;
+        private final short[] prefix;
+
+        private YearTable(BitSet workingDays, short[] prefix) {
+            this.workingDays = workingDays;
+            this.prefix = prefix;
+        }
+
+        // Working days from day-of-year 'from' to 'to', both inclusive
+        private int count(int from, int to) {
+            return prefix[to] - prefix[from - 1];
+        }
+
+        private int total() {
+            return prefix[prefix.length - 1];
+        }
+    }
+
+    private final Source source;
+    private final Map<Integer, YearTable> years = new HashMap<>();
+
+    // Bumped on every invalidation so that a load racing with a new holiday
+    // does not put the old calendar back.
+    private long generation;
+
+    public WorkingDayCalendar(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * Counts the working days from start to end, both inclusive.
+     *
+     * @param start First day.
+     * @param end   Last day.
+     * @return Working days in the range; 0 if end is before start.
+     * @throws Exception if a year's holidays cannot be loaded.
+     */
+    public int workingDays(LocalDate start, LocalDate end) throws Exception {
+        if (end.isBefore(start)) {
+            return 0;
+        }
+        if (start.getYear() == end.getYear()) {
+            return table(start.getYear()).count(start.getDayOfYear(), end.getDayOfYear());
+        }
+
+        int days = table(start.getYear()).count(start.getDayOfYear(), start.lengthOfYear());
+        for (int year = start.getYear() + 1; year < end.getYear(); year++) {
+            days += table(year).total();
+        }
+        return days + table(end.getYear()).count(1, end.getDayOfYear());
+    }
+
+    /**
+     * @param date Day to check.
+     * @return true if the day is neither a weekend nor a holiday.
+     * @throws Exception if the year's holidays cannot be loaded.
+     */
+    public boolean isWorkingDay(LocalDate date) throws Exception {
+        return table(date.getYear()).workingDays.get(date.getDayOfYear());
+    }
+
+    /**
+     * Drops one year, so it is reloaded on next use.
+     *
+     * @param year Calendar year whose holidays changed.
+     */
+    public synchronized void invalidate(int year) {
+        generation++;
+        years.remove(year);
+    }
+
+    /**
+     * Drops every loaded year.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        years.clear();
+    }
+
+    /**
+     * @return Number of years currently loaded.
+     */
+    public synchronized int size() {
+        return years.size();
+    }
+
+    private YearTable table(int year) throws Exception {
+        long startGeneration;
+        synchronized (this) {
+            YearTable table = years.get(year);
+            if (table != null) {
+                return table;
+            }
+            startGeneration = generation;
+        }
+
+        // Load outside the lock; a concurrent first use may load the year twice
+        YearTable table = build(year, source.holidays(year));
+        synchronized (this) {
+            if (generation == startGeneration) {
+                years.putIfAbsent(year, table);
+            }
+        }
+        return table;
+    }
+
+    private static YearTable build(int year, Collection<LocalDate> holidays) {
+        int length = Year.of(year).length();
+        BitSet workingDays = new BitSet(length + 1);
+        LocalDate day = LocalDate.ofYearDay(year, 1);
+        for (int i = 1; i <= length; i++, day = day.plusDays(1)) {
+            DayOfWeek dow = day.getDayOfWeek();
+            if (dow != DayOfWeek.SATURDAY && dow != DayOfWeek.SUNDAY) {
+                workingDays.set(i);
+            }
+        }
+        for (LocalDate holiday : holidays) {
+            if (holiday.getYear() == year) {
+                workingDays.clear(holiday.getDayOfYear());
+            }
+        }
+
+        short[] prefix = new short[length + 1];
+        for (int i = 1; i <= length; i++) {
+            prefix[i] = (short) (prefix[i - 1] + (workingDays.get(i) ? 1 : 0));
+        }
+        return new YearTable(workingDays, prefix);
+    }
+}
@@ -0,0 +1,19 @@
+package com.revworkforce.exception;
+
+/**
+ * Exception thrown when a bounded resource turns work away because it is
+ * saturated. The caller should report that the system is busy rather than
+ * treat it as a failure of the request itself.
+ * 
+ * @author Gururaj Shetty
+ */
+public class ServiceBusyException extends AppException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+
+    public ServiceBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
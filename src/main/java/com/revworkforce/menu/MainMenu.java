@@ -3,6 +3,7 @@ package com.revworkforce.menu;
 import com.revworkforce.context.SessionContext;
 import com.revworkforce.model.Employee;
 import com.revworkforce.service.AuthService;
+import com.revworkforce.util.DBConnection;
 import com.revworkforce.util.InputUtil;
 import com.revworkforce.dao.RoleDAO;
 
@@ -34,6 +35,7 @@ public class MainMenu {
                     case 3 -> {
                         System.out.println("Exiting system. Goodbye!");
                         InputUtil.close();
+                        DBConnection.shutdown();
                         System.exit(0);
                     }
                     default -> System.out.println("Invalid option. Please try again.");
@@ -73,12 +73,12 @@ public class ManagerMenu {
                     case 3 -> {
                         while (true) {
                             ManagerService.viewTeamLeaveRequests(mgr.getEmployeeId());
-                            System.out.println("Enter Leave ID to Process (or 0 to Go Back)");
+                            System.out.println("Enter Leave ID to Process (0 to Go Back, -1 to Approve All)");
 
                             int leaveId = 0;
                             while (true) {
                                 leaveId = InputUtil.readInt("Leave ID: ");
-                                if (leaveId == 0)
+                                if (leaveId == 0 || leaveId == -1)
                                     break;
                                 if (ManagerService.isPendingLeave(mgr.getEmployeeId(), leaveId)) {
                                     break;
@@ -89,6 +89,11 @@ public class ManagerMenu {
 
                             if (leaveId == 0)
                                 break;
+                            if (leaveId == -1) {
+                                String comments = InputUtil.readString("Comments for all approvals: ");
+                                ManagerService.approveAllPendingLeaves(mgr.getEmployeeId(), comments);
+                                continue;
+                            }
 
                             String decision = "";
                             while (true) {
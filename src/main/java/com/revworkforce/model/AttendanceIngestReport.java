@@ -0,0 +1,117 @@
+package com.revworkforce.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of ingesting one badge swipe file.
+ * Counts every line, but keeps the details of only the first
+ * {@link #MAX_ERRORS} rejected ones, since a bad file can have millions.
+ *
+ * @author Gururaj Shetty
+ */
+public class AttendanceIngestReport {
+
+    public static final int MAX_ERRORS = 100;
+
+    private final String source;
+    private final long startOffset;
+    private long endOffset;
+    private long linesRead;
+    private long swipesAccepted;
+    private long linesRejected;
+    private long daysWritten;
+    private int flushes;
+    private final List<ImportReport.RowError> errors = new ArrayList<>();
+
+    /**
+     * @param source      Name the file's checkpoint is kept under.
+     * @param startOffset Byte offset the run started from; above 0 when it
+     *                    resumed an earlier run.
+     */
+    public AttendanceIngestReport(String source, long startOffset) {
+        this.source = source;
+        this.startOffset = startOffset;
+        this.endOffset = startOffset;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public long getStartOffset() {
+        return startOffset;
+    }
+
+    public boolean isResumed() {
+        return startOffset > 0;
+    }
+
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    public void setEndOffset(long endOffset) {
+        this.endOffset = endOffset;
+    }
+
+    /**
+     * @return Lines read by this run, not counting those an earlier run
+     *         already committed.
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    public void addLineRead() {
+        linesRead++;
+    }
+
+    public long getSwipesAccepted() {
+        return swipesAccepted;
+    }
+
+    public void addSwipeAccepted() {
+        swipesAccepted++;
+    }
+
+    public long getLinesRejected() {
+        return linesRejected;
+    }
+
+    public void addRejected(long lineNumber, String message) {
+        linesRejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new ImportReport.RowError((int) Math.min(lineNumber, Integer.MAX_VALUE), message));
+        }
+    }
+
+    /**
+     * @return Employee-days merged into attendance; a day flushed twice (its
+     *         swipes spanning a checkpoint) counts twice.
+     */
+    public long getDaysWritten() {
+        return daysWritten;
+    }
+
+    public void addFlush(int days) {
+        daysWritten += days;
+        flushes++;
+    }
+
+    public int getFlushes() {
+        return flushes;
+    }
+
+    public List<ImportReport.RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d lines from byte %d%s, %d swipes, %d rejected, %d employee-days in %d commit(s)",
+                source, linesRead, startOffset, isResumed() ? " (resumed)" : "", swipesAccepted, linesRejected,
+                daysWritten, flushes);
+    }
+}
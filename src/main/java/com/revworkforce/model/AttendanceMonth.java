@@ -0,0 +1,28 @@
+package com.revworkforce.model;
+
+import java.time.YearMonth;
+
+/**
+ * One employee's attendance for one month, from the monthly rollup.
+ *
+ * @param employeeId       The Employee ID.
+ * @param month            The month.
+ * @param presentDays      Days checked in (on time or late).
+ * @param lateDays         Days checked in after the late threshold.
+ * @param absentDays       Days marked ABSENT.
+ * @param completedDays    Days with both a check-in and a check-out.
+ * @param workedSeconds    Time between check-in and check-out, summed over
+ *                         completed days.
+ * @param missingCheckouts Days checked in but not (yet) checked out.
+ * @author Gururaj Shetty
+ */
+public record AttendanceMonth(String employeeId, YearMonth month, int presentDays, int lateDays, int absentDays,
+        int completedDays, long workedSeconds, int missingCheckouts) {
+
+    /**
+     * @return Average hours worked per completed day; 0 if there are none.
+     */
+    public double averageHours() {
+        return completedDays == 0 ? 0 : workedSeconds / 3600.0 / completedDays;
+    }
+}
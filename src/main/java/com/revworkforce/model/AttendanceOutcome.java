@@ -0,0 +1,33 @@
+package com.revworkforce.model;
+
+/**
+ * Result of a check-in or check-out through
+ * {@link com.revworkforce.dao.AttendanceDAO}.
+ *
+ * @author Gururaj Shetty
+ */
+public enum AttendanceOutcome {
+    CHECKED_IN("Check-in successful"),
+    LATE("Checked in late"),
+    ALREADY_CHECKED_IN("You have already checked in today."),
+    CHECKED_OUT("Check-out successful"),
+    ALREADY_CHECKED_OUT("You have already checked out today."),
+    NOT_CHECKED_IN("You have not checked in today.");
+
+    private final String message;
+
+    AttendanceOutcome(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return true if this call wrote the check-in or check-out.
+     */
+    public boolean isRecorded() {
+        return this == CHECKED_IN || this == LATE || this == CHECKED_OUT;
+    }
+}
@@ -19,6 +19,7 @@ public class AuditLog {
     private String newValue;
     private String ipAddress;
     private Timestamp createdAt;
+    private String employeeName;
 
     public int getLogId() {
         return logId;
@@ -91,4 +92,15 @@ public class AuditLog {
     public void setCreatedAt(Timestamp createdAt) {
         this.createdAt = createdAt;
     }
+
+    /**
+     * @return Name of the employee, when read back by an audit search.
+     */
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
 }
@@ -0,0 +1,14 @@
+package com.revworkforce.model;
+
+import java.sql.Timestamp;
+
+/**
+ * Position in an audit log search, newest first: the next page starts with
+ * the entries that sort after this one on (created_at, log_id).
+ *
+ * @param createdAt Time of the last entry on the previous page.
+ * @param logId     ID of the last entry on the previous page.
+ * @author Gururaj Shetty
+ */
+public record AuditLogCursor(Timestamp createdAt, int logId) {
+}
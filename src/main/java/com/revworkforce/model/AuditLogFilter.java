@@ -0,0 +1,26 @@
+package com.revworkforce.model;
+
+import java.sql.Timestamp;
+
+/**
+ * Criteria for an audit log search. A null or blank field matches
+ * everything; the text fields match exactly.
+ *
+ * @param employeeId Employee who performed the action.
+ * @param action     Action, e.g. LOGIN or UPDATE.
+ * @param tableName  Table affected.
+ * @param recordId   ID of the affected record.
+ * @param from       Earliest entry time, inclusive.
+ * @param to         Latest entry time, exclusive.
+ * @author Gururaj Shetty
+ */
+public record AuditLogFilter(String employeeId, String action, String tableName, String recordId,
+        Timestamp from, Timestamp to) {
+
+    /**
+     * @return A filter matching every entry.
+     */
+    public static AuditLogFilter all() {
+        return new AuditLogFilter(null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.revworkforce.model;
+
+import java.util.List;
+
+/**
+ * One page of audit log search results, newest first.
+ *
+ * @param entries Entries on this page.
+ * @param next    Cursor for the following page, or null if this is the last.
+ * @author Gururaj Shetty
+ */
+public record AuditLogPage(List<AuditLog> entries, AuditLogCursor next) {
+
+    public boolean hasMore() {
+        return next != null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.revworkforce.model;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of one run of the daily birthday and anniversary notifications.
+ * A rerun for the same day reports zero rows, since employees who were
+ * already notified are skipped.
+ *
+ * @param day           Day the notifications are for.
+ * @param birthdays     Birthday notifications created.
+ * @param anniversaries Work anniversary notifications created.
+ * @param elapsedMillis Time taken by the run.
+ * @author Gururaj Shetty
+ */
+public record DailyNotificationRun(LocalDate day, int birthdays, int anniversaries, long elapsedMillis) {
+
+    public int total() {
+        return birthdays + anniversaries;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Daily notifications for %s: %d birthday(s), %d anniversary(ies) in %d ms",
+                day, birthdays, anniversaries, elapsedMillis);
+    }
+}
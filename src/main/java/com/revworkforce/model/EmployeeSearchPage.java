@@ -0,0 +1,21 @@
+package com.revworkforce.model;
+
+import java.util.List;
+
+/**
+ * One page of employee directory search results, best match first.
+ *
+ * @param results      Matches on this page.
+ * @param totalMatches Number of matches across all pages.
+ * @param offset       Position of the first result within all matches.
+ */
+public record EmployeeSearchPage(List<EmployeeSummary> results, int totalMatches, int offset) {
+
+    public static EmployeeSearchPage empty() {
+        return new EmployeeSearchPage(List.of(), 0, 0);
+    }
+
+    public boolean hasMore() {
+        return offset + results.size() < totalMatches;
+    }
+}
@@ -0,0 +1,18 @@
+package com.revworkforce.model;
+
+/**
+ * One row of an employee listing (team view, directory search): identity,
+ * contact and placement, without the rest of the employee record.
+ *
+ * @author Gururaj Shetty
+ */
+public record EmployeeSummary(String employeeId, String firstName, String lastName, String email,
+        String departmentName, String designationName) {
+
+    /**
+     * @return First and last name; the last name may be missing.
+     */
+    public String fullName() {
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
+}
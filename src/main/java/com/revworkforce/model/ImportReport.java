@@ -0,0 +1,76 @@
+package com.revworkforce.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk employee import.
+ * Lists the IDs that were created and, per rejected CSV line, why.
+ *
+ * @author Gururaj Shetty
+ */
+public class ImportReport {
+
+    /**
+     * A CSV line that was not imported.
+     */
+    public static class RowError {
+        private final int lineNumber;
+        private final String message;
+
+        public RowError(int lineNumber, String message) {
+            this.lineNumber = lineNumber;
+            this.message = message;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + ": " + message;
+        }
+    }
+
+    private int totalRows;
+    private final List<String> importedIds = new ArrayList<>();
+    private final List<RowError> errors = new ArrayList<>();
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public void addImported(String employeeId) {
+        importedIds.add(employeeId);
+    }
+
+    public void addError(int lineNumber, String message) {
+        errors.add(new RowError(lineNumber, message));
+    }
+
+    public List<String> getImportedIds() {
+        return Collections.unmodifiableList(importedIds);
+    }
+
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public int getImportedCount() {
+        return importedIds.size();
+    }
+
+    public int getErrorCount() {
+        return errors.size();
+    }
+}
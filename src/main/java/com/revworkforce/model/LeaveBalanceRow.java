@@ -0,0 +1,11 @@
+package com.revworkforce.model;
+
+/**
+ * Leave balance of one employee for one leave type, as shown on the balance
+ * screens. employeeId is null when the listing is for a single employee.
+ *
+ * @author Gururaj Shetty
+ */
+public record LeaveBalanceRow(String employeeId, String leaveTypeName, int totalAllocated, int usedLeaves,
+        int availableLeaves) {
+}
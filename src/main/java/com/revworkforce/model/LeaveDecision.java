@@ -0,0 +1,42 @@
+package com.revworkforce.model;
+
+/**
+ * Result of a status change requested through
+ * {@link com.revworkforce.dao.LeaveDecisionDAO}.
+ *
+ * @param leaveApplicationId The Leave Application ID.
+ * @param employeeId         Applicant, or null if the application was not found.
+ * @param previousStatus     Status before the request.
+ * @param newStatus          Requested status.
+ * @param balanceChange      Days taken from (positive) or given back to
+ *                           (negative) the leave balance; 0 if none.
+ * @param outcome            Whether the change was made, and if not, why.
+ * @author Gururaj Shetty
+ */
+public record LeaveDecision(int leaveApplicationId, String employeeId, String previousStatus, String newStatus,
+        int balanceChange, Outcome outcome) {
+
+    public enum Outcome {
+        APPLIED("Done"),
+        NOT_FOUND("Leave application not found"),
+        NOT_YOUR_TEAM("Leave application is not from a member of your team"),
+        NOT_ALLOWED("Cannot change a leave that is not yours or not in a suitable status"),
+        INSUFFICIENT_BALANCE("Not enough leave balance"),
+        NO_BALANCE("No leave quota assigned for that leave type and year"),
+        CONFLICT("Leave was changed by someone else; please retry");
+
+        private final String message;
+
+        Outcome(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    public boolean isApplied() {
+        return outcome == Outcome.APPLIED;
+    }
+}
@@ -0,0 +1,21 @@
+package com.revworkforce.model;
+
+import java.util.List;
+
+/**
+ * One page of an employee's unread notifications, newest first.
+ *
+ * @param notifications Notifications on this page.
+ * @param hasMore       Whether older unread notifications follow.
+ * @author Gururaj Shetty
+ */
+public record NotificationPage(List<Notification> notifications, boolean hasMore) {
+
+    /**
+     * @return Cursor for the next page: the ID of the oldest notification on
+     *         this page, or 0 if there are no more pages.
+     */
+    public int nextCursor() {
+        return hasMore ? notifications.get(notifications.size() - 1).getNotificationId() : 0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.revworkforce.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * First and last badge swipe of one employee on one day, collapsed from a
+ * swipe file before it is written to attendance.
+ *
+ * @param employeeId  The Employee ID.
+ * @param day         The attendance date.
+ * @param firstSwipe  Earliest swipe; becomes the check-in time.
+ * @param lastSwipe   Latest swipe; becomes the check-out time unless it is
+ *                    the same as the first (a single swipe).
+ * @author Gururaj Shetty
+ */
+public record SwipeDay(String employeeId, LocalDate day, LocalDateTime firstSwipe, LocalDateTime lastSwipe) {
+}
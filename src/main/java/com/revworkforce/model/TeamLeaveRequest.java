@@ -0,0 +1,20 @@
+package com.revworkforce.model;
+
+import java.sql.Date;
+
+/**
+ * A pending leave application from a manager's team, with the applicant's
+ * name and department for display.
+ *
+ * @author Gururaj Shetty
+ */
+public record TeamLeaveRequest(int leaveApplicationId, String employeeId, String firstName, String lastName,
+        String departmentName, Date startDate, Date endDate, String status) {
+
+    /**
+     * @return First and last name; the last name may be missing.
+     */
+    public String employeeName() {
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
+}
@@ -47,18 +47,11 @@ public class AdminConfigService {
                     }
                     case 2 -> {
                         System.out.println("\n--- ALL DEPARTMENTS ---");
-                        try (java.sql.ResultSet rs = departmentDAO.getAllDepartments();
-                                java.sql.Statement stmt = rs.getStatement();
-                                java.sql.Connection con = stmt.getConnection()) {
-
-                            System.out.printf("%-15s %-30s%n", "ID", "NAME");
-                            System.out.println("---------------------------------------------");
-                            while (rs.next()) {
-                                System.out.printf("%-15s %-30s%n",
-                                        rs.getString("department_id"),
-                                        rs.getString("department_name"));
-                            }
-                        }
+                        System.out.printf("%-15s %-30s%n", "ID", "NAME");
+                        System.out.println("---------------------------------------------");
+                        departmentDAO.getAllDepartments(rs -> System.out.printf("%-15s %-30s%n",
+                                rs.getString("department_id"),
+                                rs.getString("department_name")));
                     }
                     case 3 -> {
                         String id = InputUtil.readString("Department ID to Update: ");
@@ -107,18 +100,11 @@ public class AdminConfigService {
                     }
                     case 2 -> {
                         System.out.println("\n--- ALL DESIGNATIONS ---");
-                        try (java.sql.ResultSet rs = designationDAO.getAllDesignations();
-                                java.sql.Statement stmt = rs.getStatement();
-                                java.sql.Connection con = stmt.getConnection()) {
-
-                            System.out.printf("%-15s %-30s%n", "ID", "NAME");
-                            System.out.println("---------------------------------------------");
-                            while (rs.next()) {
-                                System.out.printf("%-15s %-30s%n",
-                                        rs.getString("designation_id"),
-                                        rs.getString("designation_name"));
-                            }
-                        }
+                        System.out.printf("%-15s %-30s%n", "ID", "NAME");
+                        System.out.println("---------------------------------------------");
+                        designationDAO.getAllDesignations(rs -> System.out.printf("%-15s %-30s%n",
+                                rs.getString("designation_id"),
+                                rs.getString("designation_name")));
                     }
                     case 3 -> {
                         System.out.println("\n--- UPDATE DESIGNATION ---");
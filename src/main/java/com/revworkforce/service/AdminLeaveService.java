@@ -3,8 +3,11 @@
  */
 package com.revworkforce.service;
 
+import com.revworkforce.config.AppConstants;
 import com.revworkforce.dao.LeaveDAO;
+import com.revworkforce.dao.LeaveDecisionDAO;
 import com.revworkforce.dao.LeavePolicyDAO;
+import com.revworkforce.model.LeaveDecision;
 import com.revworkforce.util.InputUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -21,6 +24,7 @@ public class AdminLeaveService {
 
     private static LeavePolicyDAO policyDAO = new LeavePolicyDAO();
     private static LeaveDAO leaveDAO = new LeaveDAO();
+    private static LeaveDecisionDAO leaveDecisionDAO = new LeaveDecisionDAO();
 
     private static String getAdminId() {
         return com.revworkforce.context.SessionContext.get() != null
@@ -85,7 +89,12 @@ public class AdminLeaveService {
         String reason = InputUtil.readString("Revocation Reason: ");
 
         try {
-            leaveDAO.updateLeaveStatus(leaveId, getAdminId(), "REVOKED", reason);
+            LeaveDecision decision = leaveDecisionDAO.decideAsAdmin(leaveId, getAdminId(), AppConstants.STATUS_REVOKED,
+                    reason);
+            if (!decision.isApplied()) {
+                System.out.println("Leave not revoked: " + decision.outcome().getMessage());
+                return;
+            }
             AuditService.log(getAdminId(), "REVOKE", "LEAVE_APPLICATIONS", String.valueOf(leaveId),
                     "Revoked by Admin. Reason: " + reason);
             System.out.println("Leave application " + leaveId + " has been REVOKED.");
@@ -100,14 +109,11 @@ public class AdminLeaveService {
     public static void viewLeaveStatistics() {
         try {
             System.out.println("\n--- LEAVE STATISTICS ---");
-            java.sql.ResultSet rs = leaveDAO.getLeaveStatistics();
             System.out.printf("%-15s | %-10s%n", "STATUS", "COUNT");
             System.out.println("-----------------------------");
-            while (rs.next()) {
-                System.out.printf("%-15s | %-10d%n",
-                        rs.getString("status"),
-                        rs.getInt("count"));
-            }
+            leaveDAO.getLeaveStatistics(rs -> System.out.printf("%-15s | %-10d%n",
+                    rs.getString("status"),
+                    rs.getInt("count")));
         } catch (Exception e) {
             logger.error("Failed to load statistics: " + e.getMessage(), e);
         }
@@ -128,34 +134,33 @@ public class AdminLeaveService {
                     case 1 -> viewLeaveStatistics();
                     case 2 -> {
                         System.out.println("\n--- DEPARTMENT LEAVE REPORT ---");
-                        java.sql.ResultSet rs = leaveDAO.getDepartmentLeaveReport();
                         System.out.printf("%-20s | %-20s | %-15s | %-10s%n", "Department", "Employee", "Leave Type",
                                 "Days");
                         System.out
                                 .println("--------------------------------------------------------------------------");
-                        while (rs.next()) {
-                            System.out.printf("%-20s | %-20s | %-15s | %-10d%n",
-                                    rs.getString("department_name"),
-                                    rs.getString("emp_name"),
-                                    rs.getString("leave_type_name"),
-                                    rs.getInt("days_taken") // Check if this is int or double in DB, int usually ok for
-                                                            // count
-                            );
-                        }
+                        leaveDAO.getDepartmentLeaveReport(rs -> System.out.printf("%-20s | %-20s | %-15s | %-10d%n",
+                                rs.getString("department_name"),
+                                rs.getString("emp_name"),
+                                rs.getString("leave_type_name"),
+                                rs.getInt("days_taken") // Check if this is int or double in DB, int usually ok for
+                                                        // count
+                        ));
                     }
                     case 3 -> {
                         String empId = InputUtil.readString("Enter Employee ID: ");
                         System.out.println("\n--- EMPLOYEE LEAVE HISTORY ---");
-                        java.sql.ResultSet rs = leaveDAO.getEmployeeLeaveReport(empId);
-                        System.out.printf("%-15s | %-12s | %-12s | %-10s%n", "Type", "Start", "End", "Status");
-                        System.out.println("-----------------------------------------------------------");
-                        while (rs.next()) {
-                            System.out.printf("%-15s | %-12s | %-12s | %-10s%n",
+                        System.out.printf("%-15s | %-12s | %-12s | %-5s | %-10s%n", "Type", "Start", "End", "Days",
+                                "Status");
+                        System.out.println("-------------------------------------------------------------------");
+                        leaveDAO.getEmployeeLeaveReport(empId, rs -> {
+                            int days = rs.getInt("total_days");
+                            System.out.printf("%-15s | %-12s | %-12s | %-5s | %-10s%n",
                                     rs.getString("leave_type_name"),
                                     rs.getDate("start_date"),
                                     rs.getDate("end_date"),
+                                    rs.wasNull() ? "-" : String.valueOf(days),
                                     rs.getString("status"));
-                        }
+                        });
                     }
                     case 4 -> {
                         return;
@@ -3,15 +3,23 @@
  */
 package com.revworkforce.service;
 
+import com.revworkforce.config.AppConstants;
 import com.revworkforce.dao.AuditLogDAO;
 import com.revworkforce.dao.EmployeeDAO;
+import com.revworkforce.model.AuditLog;
+import com.revworkforce.model.AuditLogCursor;
+import com.revworkforce.model.AuditLogFilter;
+import com.revworkforce.model.AuditLogPage;
 import com.revworkforce.util.DBConnection;
+import com.revworkforce.util.DateUtil;
 import com.revworkforce.util.InputUtil;
+import com.revworkforce.util.PasswordHasher;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.Timestamp;
 import com.revworkforce.model.Employee;
 
 /**
@@ -29,6 +37,7 @@ public class AdminService {
     private static AuditLogDAO auditDAO = new AuditLogDAO();
     private static com.revworkforce.dao.DepartmentDAO departmentDAO = new com.revworkforce.dao.DepartmentDAO();
     private static com.revworkforce.dao.DesignationDAO designationDAO = new com.revworkforce.dao.DesignationDAO();
+    private static EmployeeIdAllocator idAllocator = EmployeeIdAllocator.getInstance();
 
     /*
      * =============================================================================
@@ -51,12 +60,18 @@ public class AdminService {
     public static void addEmployee() {
         try {
             System.out.println("\n--- ADD NEW EMPLOYEE ---");
+            System.out.println("1. Single Employee  2. Bulk Import from CSV");
+            if (InputUtil.readInt("Select Option: ") == 2) {
+                bulkImportEmployees();
+                return;
+            }
+
             Employee emp = new Employee();
 
             // 1. Role & ID Generation
             boolean isManager = promptRole();
             String prefix = isManager ? "MGR" : "EMP";
-            emp.setEmployeeId(employeeDAO.getNextId(prefix));
+            emp.setEmployeeId(idAllocator.nextId(prefix));
             System.out.println("Generated Employee ID: " + emp.getEmployeeId());
 
             // 2. Personal Info
@@ -69,7 +84,7 @@ public class AdminService {
             promptProfessionalInfo(emp, isManager);
 
             // 5. Default Password & Salary
-            emp.setPasswordHash(com.revworkforce.util.PasswordUtil.hashPassword("password"));
+            emp.setPasswordHash(PasswordHasher.shared().hash("password"));
             emp.setSalary(promptSalary());
 
             employeeDAO.insertEmployee(emp);
@@ -86,6 +101,35 @@ public class AdminService {
         }
     }
 
+    /**
+     * Onboards employees in bulk from a CSV file and prints a per-row report.
+     * Every imported employee gets the default password, as with single
+     * onboarding.
+     */
+    private static void bulkImportEmployees() throws Exception {
+        String path = InputUtil.readValidatedString("CSV File Path: ", s -> !s.isEmpty(),
+                "File path cannot be empty.");
+
+        com.revworkforce.model.ImportReport report = EmployeeImportService.importFile(path);
+
+        String adminId = getAdminId();
+        for (String empId : report.getImportedIds()) {
+            AuditService.log(adminId, "CREATE", "EMPLOYEES", empId, "Admin bulk onboarding completed");
+        }
+        logger.info("Bulk onboarding from {}: {} imported, {} rejected", path,
+                report.getImportedCount(), report.getErrorCount());
+
+        System.out.println("Rows read: " + report.getTotalRows()
+                + " | Imported: " + report.getImportedCount()
+                + " | Rejected: " + report.getErrorCount());
+        if (report.getImportedCount() > 0) {
+            System.out.println("Default password for imported employees is 'password'.");
+        }
+        for (com.revworkforce.model.ImportReport.RowError error : report.getErrors()) {
+            System.out.println("  " + error);
+        }
+    }
+
     private static boolean promptRole() {
         String roleInput = InputUtil.readValidatedString(
                 "Is this employee a Manager? (Y/N): ",
@@ -467,7 +511,7 @@ public class AdminService {
                 return;
             }
 
-            String hash = com.revworkforce.util.PasswordUtil.hashPassword(newPass);
+            String hash = PasswordHasher.shared().hash(newPass);
             boolean updated = employeeDAO.updatePassword(empId, hash);
 
             if (updated) {
@@ -532,7 +576,74 @@ public class AdminService {
         AdminConfigService.manageSystemPolicies();
     }
 
+    /**
+     * Searches the audit log by actor, action, table, record and date range,
+     * showing one page at a time, newest first. Blank answers match
+     * everything.
+     */
     public static void viewAuditLogs() {
-        auditDAO.printAuditLogs();
+        System.out.println("\n--- SEARCH AUDIT LOGS (leave blank for any) ---");
+        AuditLogFilter filter;
+        try {
+            filter = new AuditLogFilter(
+                    InputUtil.readString("Employee ID: "),
+                    upperOrNull(InputUtil.readString("Action (e.g. LOGIN, UPDATE): ")),
+                    upperOrNull(InputUtil.readString("Table (e.g. EMPLOYEES): ")),
+                    InputUtil.readString("Record ID: "),
+                    startOfDay(InputUtil.readString("From date (yyyy-MM-dd): "), 0),
+                    startOfDay(InputUtil.readString("To date, inclusive (yyyy-MM-dd): "), 1));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return;
+        }
+        boolean archived = InputUtil.readString("Search archived entries instead? (Y/N): ").equalsIgnoreCase("Y");
+
+        try {
+            AuditLogCursor cursor = null;
+            do {
+                AuditLogPage page = archived
+                        ? auditDAO.findArchivedLogs(filter, cursor, AppConstants.AUDIT_PAGE_SIZE)
+                        : auditDAO.findLogs(filter, cursor, AppConstants.AUDIT_PAGE_SIZE);
+                printAuditPage(page, cursor == null);
+                cursor = page.next();
+            } while (cursor != null && InputUtil.readString("Show more? (Y/N): ").equalsIgnoreCase("Y"));
+        } catch (Exception e) {
+            logger.error("Unable to fetch audit logs: " + e.getMessage(), e);
+            System.out.println("Error: Failed to fetch audit logs. " + e.getMessage());
+        }
+    }
+
+    private static void printAuditPage(AuditLogPage page, boolean first) {
+        if (first) {
+            if (page.entries().isEmpty()) {
+                System.out.println("No matching audit entries.");
+                return;
+            }
+            System.out.printf("%-10s | %-15s | %-10s | %-15s | %-10s | %-30s | %-20s%n",
+                    "Emp ID", "Name", "Action", "Table", "Record ID", "Description", "Time");
+            System.out.println("-".repeat(125));
+        }
+        for (AuditLog entry : page.entries()) {
+            System.out.printf("%-10s | %-15s | %-10s | %-15s | %-10s | %-30s | %s%n",
+                    entry.getEmployeeId(),
+                    entry.getEmployeeName() == null ? "Unknown" : entry.getEmployeeName(),
+                    entry.getAction(),
+                    entry.getTableName(),
+                    entry.getRecordId(),
+                    entry.getNewValue(),
+                    DateUtil.formatTimestamp(entry.getCreatedAt()));
+        }
+    }
+
+    private static String upperOrNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toUpperCase();
+    }
+
+    // Midnight at the start of the date, plus extra days (1 makes a "to" date inclusive)
+    private static Timestamp startOfDay(String date, int plusDays) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        return Timestamp.valueOf(DateUtil.parseDate(date.trim()).toLocalDate().plusDays(plusDays).atStartOfDay());
     }
 }
\ No newline at end of file
@@ -0,0 +1,502 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.service;
+
+import com.revworkforce.config.AppConstants;
+import com.revworkforce.dao.AttendanceDAO;
+import com.revworkforce.dao.AttendanceDAO.IngestCheckpoint;
+import com.revworkforce.dao.EmployeeDAO;
+import com.revworkforce.model.AttendanceIngestReport;
+import com.revworkforce.model.ImportReport;
+import com.revworkforce.model.SwipeDay;
+import com.revworkforce.util.DBConnection;
+import com.revworkforce.util.MigrationRunner;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Loads badge-reader swipe files into attendance.
+ * <p>
+ * A file holds one swipe per line, {@code employee_id,yyyy-MM-dd HH:mm:ss}
+ * ('T' between date and time also works). Further comma-separated fields,
+ * such as a reader ID, are ignored; blank lines, lines starting with "#" and
+ * a first line starting with "employee_id" are skipped.
+ * <p>
+ * The file is read through one fixed buffer and parsed in place: employee
+ * IDs are matched against the IDs loaded once per run without building a
+ * String, and timestamps are read digit by digit. Each employee's swipes are
+ * collapsed per day into the first (check-in) and last (check-out) in a table
+ * of primitives, so memory depends on the employee-days held, not on the
+ * file size. Once {@code attendance.ingest.max.pending} are held, or every
+ * {@code attendance.ingest.checkpoint.lines} lines, they are merged into
+ * attendance with batched MERGEs and committed together with the byte offset
+ * reached; a run that stops resumes from there next time. The merge keeps
+ * the earliest and latest time seen, so a day split across two commits, or
+ * swipes merged twice, still ends up as the right row.
+ *
+ * @author Gururaj Shetty
+ */
+public class AttendanceIngestService {
+
+    private static final Logger logger = LogManager.getLogger(AttendanceIngestService.class);
+
+    private static final byte[] HEADER = "employee_id".getBytes(StandardCharsets.US_ASCII);
+
+    // yyyy-MM-dd HH:mm:ss
+    private static final int TIMESTAMP_LENGTH = 19;
+
+    // Bytes hashed to recognise a file again when resuming
+    private static final int FINGERPRINT_BYTES = 4096;
+
+    private static final int MIN_BUFFER_BYTES = 64;
+
+    private static AttendanceDAO attendanceDAO = new AttendanceDAO();
+    private static EmployeeDAO employeeDAO = new EmployeeDAO();
+
+    private AttendanceIngestService() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Ingests a swipe file from the command line:
+     * {@code AttendanceIngestService <file> [--restart]}. Without --restart a
+     * file ingested before continues from its checkpoint.
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: AttendanceIngestService <swipe-file> [--restart]");
+            return;
+        }
+        boolean resume = !(args.length > 1 && args[1].equals("--restart"));
+        try {
+            try (Connection con = DBConnection.getConnection()) {
+                // Merging swipes needs attendance_monthly; fill it for earlier months if V3 is new
+                MigrationRunner.migrateOnStartup(con, MigrationRunner.fromClasspath().afterMigration(
+                        AttendanceRollupJob.ROLLUP_MIGRATION, AttendanceRollupJob::backfill));
+            }
+            AttendanceIngestReport report = ingestFile(Paths.get(args[0]), resume);
+            System.out.println(report);
+            for (ImportReport.RowError error : report.getErrors()) {
+                System.out.println("  " + error);
+            }
+        } catch (Exception e) {
+            logger.error("Attendance ingestion failed: " + e.getMessage(), e);
+            System.out.println("Attendance ingestion failed: " + e.getMessage());
+        } finally {
+            DBConnection.shutdown();
+        }
+    }
+
+    /**
+     * Ingests a swipe file, resuming from its checkpoint if it was partly
+     * ingested before.
+     *
+     * @param file The swipe file.
+     * @return What was read, rejected and written.
+     * @throws Exception if the file cannot be read or a commit fails; the
+     *                   work committed so far is kept and resumed next time.
+     */
+    public static AttendanceIngestReport ingestFile(Path file) throws Exception {
+        return ingestFile(file, true);
+    }
+
+    /**
+     * Ingests a swipe file.
+     *
+     * @param file   The swipe file.
+     * @param resume false to read the file from the start even if it has a
+     *               checkpoint.
+     * @return What was read, rejected and written.
+     * @throws Exception if the file cannot be read or a commit fails; the
+     *                   work committed so far is kept and resumed next time.
+     */
+    public static AttendanceIngestReport ingestFile(Path file, boolean resume) throws Exception {
+        int bufferBytes = Math.max(MIN_BUFFER_BYTES,
+                Integer.getInteger("attendance.ingest.buffer.bytes", AppConstants.ATTENDANCE_INGEST_BUFFER_BYTES));
+        int maxPending = Math.max(1,
+                Integer.getInteger("attendance.ingest.max.pending", AppConstants.ATTENDANCE_INGEST_MAX_PENDING));
+        long checkpointLines = Math.max(1,
+                Long.getLong("attendance.ingest.checkpoint.lines", AppConstants.ATTENDANCE_INGEST_CHECKPOINT_LINES));
+        int batchSize = Math.max(1,
+                Integer.getInteger("attendance.ingest.batch.size", AppConstants.ATTENDANCE_INGEST_BATCH_SIZE));
+
+        String source = file.getFileName().toString();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            String fingerprint = fingerprint(channel);
+            IngestCheckpoint checkpoint = resume ? attendanceDAO.getIngestCheckpoint(source) : null;
+            if (checkpoint != null && (!checkpoint.fingerprint().equals(fingerprint)
+                    || checkpoint.byteOffset() > channel.size())) {
+                logger.warn("{} does not match its checkpoint (replaced or truncated); reading it from the start",
+                        source);
+                checkpoint = null;
+            }
+
+            Ingestion run = new Ingestion(source, fingerprint, checkpoint,
+                    new EmployeeIndex(employeeDAO.getEmployeeIds()), new DayTable(maxPending),
+                    batchSize, checkpointLines);
+            run.read(channel, bufferBytes);
+            logger.info("Attendance ingestion finished: {}", run.report);
+            return run.report;
+        }
+    }
+
+    private static String fingerprint(FileChannel channel) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate((int) Math.min(FINGERPRINT_BYTES, channel.size()));
+        // Positional reads leave the channel's own position at 0
+        while (head.hasRemaining()) {
+            if (channel.read(head, head.position()) < 0) {
+                break;
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(head.array(), 0, head.position());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * State of one pass over a file.
+     */
+    private static final class Ingestion {
+        private final String source;
+        private final String fingerprint;
+        private final EmployeeIndex employees;
+        private final DayTable days;
+        private final int batchSize;
+        private final long checkpointLines;
+        private final AttendanceIngestReport report;
+
+        private long lineNumber;
+        private long linesSinceCommit;
+        private long committedOffset;
+
+        // Last date parsed, as yyyymmdd, and its epoch day; swipe files are
+        // mostly a single day, so the date is rarely converted
+        private int lastDate = -1;
+        private long lastEpochDay;
+
+        private Ingestion(String source, String fingerprint, IngestCheckpoint checkpoint, EmployeeIndex employees,
+                DayTable days, int batchSize, long checkpointLines) {
+            this.source = source;
+            this.fingerprint = fingerprint;
+            this.employees = employees;
+            this.days = days;
+            this.batchSize = batchSize;
+            this.checkpointLines = checkpointLines;
+            this.committedOffset = checkpoint == null ? 0 : checkpoint.byteOffset();
+            this.lineNumber = checkpoint == null ? 0 : checkpoint.linesRead();
+            this.report = new AttendanceIngestReport(source, committedOffset);
+        }
+
+        private void read(FileChannel channel, int bufferBytes) throws Exception {
+            ByteBuffer buffer = ByteBuffer.allocate(bufferBytes);
+            byte[] bytes = buffer.array();
+            long bufferOffset = committedOffset; // file offset of bytes[0]
+            boolean skipping = false; // inside a line longer than the buffer
+            int scanned = 0;
+            channel.position(committedOffset);
+
+            while (true) {
+                int read = channel.read(buffer);
+                int end = buffer.position();
+                int start = 0;
+                for (int i = scanned; i < end; i++) {
+                    if (bytes[i] == '\n') {
+                        if (skipping) {
+                            skipping = false;
+                        } else {
+                            line(bytes, start, i);
+                        }
+                        start = i + 1;
+                        lineEnded(bufferOffset + start);
+                    }
+                }
+                if (read < 0) {
+                    if (start < end && !skipping) {
+                        line(bytes, start, end);
+                    }
+                    flush(bufferOffset + end);
+                    return;
+                }
+                if (start == 0 && end == bytes.length) {
+                    if (!skipping) {
+                        lineNumber++;
+                        linesSinceCommit++;
+                        report.addLineRead();
+                        report.addRejected(lineNumber, "Line longer than " + bytes.length + " bytes");
+                        skipping = true;
+                    }
+                    start = end;
+                }
+                System.arraycopy(bytes, start, bytes, 0, end - start);
+                buffer.position(end - start);
+                bufferOffset += start;
+                scanned = end - start;
+            }
+        }
+
+        private void lineEnded(long offset) throws Exception {
+            if (days.size() >= days.getMaxEntries() || linesSinceCommit >= checkpointLines) {
+                flush(offset);
+            }
+        }
+
+        private void flush(long offset) throws Exception {
+            if (offset == committedOffset && days.size() == 0) {
+                return;
+            }
+            List<SwipeDay> batch = days.drain(employees);
+            attendanceDAO.mergeSwipeDays(batch, AttendanceService.LATE_AFTER, batchSize, source,
+                    new IngestCheckpoint(fingerprint, offset, lineNumber));
+            committedOffset = offset;
+            linesSinceCommit = 0;
+            report.addFlush(batch.size());
+            report.setEndOffset(offset);
+            logger.debug("{}: committed {} employee-days up to byte {} (line {})",
+                    source, batch.size(), offset, lineNumber);
+        }
+
+        private void line(byte[] bytes, int from, int to) {
+            lineNumber++;
+            linesSinceCommit++;
+            report.addLineRead();
+            if (to > from && bytes[to - 1] == '\r') {
+                to--;
+            }
+            if (to == from || bytes[from] == '#' || (lineNumber == 1 && startsWith(bytes, from, to, HEADER))) {
+                return;
+            }
+
+            int comma = from;
+            while (comma < to && bytes[comma] != ',') {
+                comma++;
+            }
+            if (comma == to) {
+                report.addRejected(lineNumber, "Expected employee_id,yyyy-MM-dd HH:mm:ss");
+                return;
+            }
+            int employee = employees.indexOf(bytes, from, comma);
+            if (employee < 0) {
+                report.addRejected(lineNumber,
+                        "Unknown employee: " + new String(bytes, from, comma - from, StandardCharsets.UTF_8));
+                return;
+            }
+
+            int t = comma + 1;
+            if (to - t < TIMESTAMP_LENGTH || (to - t > TIMESTAMP_LENGTH && bytes[t + TIMESTAMP_LENGTH] != ',')
+                    || bytes[t + 4] != '-' || bytes[t + 7] != '-' || (bytes[t + 10] != ' ' && bytes[t + 10] != 'T')
+                    || bytes[t + 13] != ':' || bytes[t + 16] != ':') {
+                report.addRejected(lineNumber, "Expected timestamp yyyy-MM-dd HH:mm:ss");
+                return;
+            }
+            int year = digits(bytes, t, 4);
+            int month = digits(bytes, t + 5, 2);
+            int day = digits(bytes, t + 8, 2);
+            int hour = digits(bytes, t + 11, 2);
+            int minute = digits(bytes, t + 14, 2);
+            int second = digits(bytes, t + 17, 2);
+            if (year < 0 || month < 0 || day < 0 || hour < 0 || hour > 23 || minute < 0 || minute > 59
+                    || second < 0 || second > 59) {
+                report.addRejected(lineNumber, "Invalid timestamp");
+                return;
+            }
+
+            int date = year * 10000 + month * 100 + day;
+            if (date != lastDate) {
+                try {
+                    lastEpochDay = LocalDate.of(year, month, day).toEpochDay();
+                } catch (DateTimeException e) {
+                    report.addRejected(lineNumber, "Invalid date");
+                    return;
+                }
+                lastDate = date;
+            }
+            days.add(employee, lastEpochDay, hour * 3600 + minute * 60 + second);
+            report.addSwipeAccepted();
+        }
+
+        private static int digits(byte[] bytes, int from, int count) {
+            int value = 0;
+            for (int i = from; i < from + count; i++) {
+                int d = bytes[i] - '0';
+                if (d < 0 || d > 9) {
+                    return -1;
+                }
+                value = value * 10 + d;
+            }
+            return value;
+        }
+
+        private static boolean startsWith(byte[] bytes, int from, int to, byte[] prefix) {
+            if (to - from < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if (Character.toLowerCase(bytes[from + i]) != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Employee IDs by their bytes, so a swipe's ID is found without decoding
+     * it. Open addressing over an int array; built once per run.
+     */
+    static final class EmployeeIndex {
+        private final String[] ids;
+        private final byte[][] encoded;
+        private final int[] slots; // index + 1; 0 is empty
+        private final int mask;
+
+        EmployeeIndex(Collection<String> employeeIds) {
+            this.ids = employeeIds.toArray(new String[0]);
+            this.encoded = new byte[ids.length][];
+            this.slots = new int[tableSize(ids.length)];
+            this.mask = slots.length - 1;
+            for (int i = 0; i < ids.length; i++) {
+                encoded[i] = ids[i].getBytes(StandardCharsets.UTF_8);
+                int slot = hash(encoded[i], 0, encoded[i].length) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = i + 1;
+            }
+        }
+
+        /**
+         * @return The employee's index, or -1 if the ID is not known.
+         */
+        int indexOf(byte[] bytes, int from, int to) {
+            int slot = hash(bytes, from, to) & mask;
+            int entry;
+            while ((entry = slots[slot]) != 0) {
+                byte[] candidate = encoded[entry - 1];
+                if (Arrays.equals(candidate, 0, candidate.length, bytes, from, to)) {
+                    return entry - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        String idAt(int index) {
+            return ids[index];
+        }
+
+        private static int hash(byte[] bytes, int from, int to) {
+            int h = 0;
+            for (int i = from; i < to; i++) {
+                h = 31 * h + bytes[i];
+            }
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * First and last swipe (second of day) per employee-day, in parallel
+     * primitive arrays with open addressing. Holds at most maxEntries, kept
+     * at half the table size or less.
+     */
+    static final class DayTable {
+        private static final long EMPTY = -1L;
+
+        private final long[] keys;
+        private final int[] first;
+        private final int[] last;
+        private final int mask;
+        private final int maxEntries;
+        private int size;
+
+        DayTable(int maxEntries) {
+            this.maxEntries = maxEntries;
+            this.keys = new long[tableSize(maxEntries)];
+            this.first = new int[keys.length];
+            this.last = new int[keys.length];
+            this.mask = keys.length - 1;
+            Arrays.fill(keys, EMPTY);
+        }
+
+        void add(int employee, long epochDay, int secondOfDay) {
+            long key = ((long) employee << 32) | (epochDay & 0xFFFFFFFFL);
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    first[slot] = Math.min(first[slot], secondOfDay);
+                    last[slot] = Math.max(last[slot], secondOfDay);
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            first[slot] = secondOfDay;
+            last[slot] = secondOfDay;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int getMaxEntries() {
+            return maxEntries;
+        }
+
+        /**
+         * Empties the table.
+         *
+         * @return Its entries, ordered by employee and day so that concurrent
+         *         runs lock attendance rows in the same order.
+         */
+        List<SwipeDay> drain(EmployeeIndex employees) {
+            List<SwipeDay> entries = new ArrayList<>(size);
+            for (int slot = 0; slot < keys.length; slot++) {
+                long key = keys[slot];
+                if (key == EMPTY) {
+                    continue;
+                }
+                LocalDate day = LocalDate.ofEpochDay((int) key);
+                entries.add(new SwipeDay(employees.idAt((int) (key >>> 32)), day,
+                        day.atTime(LocalTime.ofSecondOfDay(first[slot])),
+                        day.atTime(LocalTime.ofSecondOfDay(last[slot]))));
+            }
+            entries.sort(Comparator.comparing(SwipeDay::employeeId).thenComparing(SwipeDay::day));
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            return entries;
+        }
+    }
+
+    private static int tableSize(int entries) {
+        int size = 2;
+        while (size < entries * 2L && size < (1 << 30)) {
+            size <<= 1;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.service;
+
+import com.revworkforce.dao.AttendanceDAO;
+import com.revworkforce.util.DBConnection;
+import com.revworkforce.util.MigrationRunner;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Backfills the attendance_monthly rollups from the attendance rows.
+ * <p>
+ * Check-ins, check-outs and swipe-file merges keep the rollups current as
+ * they write, so this only needs to run once after the V3 migration, to
+ * cover the months recorded before it, or to repair a month after attendance
+ * rows were edited by hand. Application startup does the first
+ * automatically, in the run that applies V3 (see
+ * {@link MigrationRunner#afterMigration}). Each month is recomputed in its own
+ * transaction and the job can be re-run safely.
+ *
+ * @author Gururaj Shetty
+ */
+public class AttendanceRollupJob {
+
+    private static final Logger logger = LogManager.getLogger(AttendanceRollupJob.class);
+
+    // The migration that creates attendance_monthly
+    public static final int ROLLUP_MIGRATION = 3;
+
+    private static AttendanceDAO attendanceDAO = new AttendanceDAO();
+
+    private AttendanceRollupJob() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Backfills from the command line:
+     * {@code AttendanceRollupJob [from-month [to-month]]}, months as yyyy-MM.
+     * Defaults to the month of the oldest attendance row through the current
+     * month.
+     */
+    public static void main(String[] args) {
+        try {
+            try (Connection con = DBConnection.getConnection()) {
+                MigrationRunner.migrateOnStartup(con);
+            }
+            int rows;
+            if (args.length == 0) {
+                rows = backfill();
+            } else {
+                YearMonth from = YearMonth.parse(args[0]);
+                rows = backfill(from, args.length > 1 ? YearMonth.parse(args[1]) : YearMonth.now());
+            }
+            System.out.println("Attendance rollups rebuilt: " + rows + " employee-month(s)");
+        } catch (DateTimeParseException e) {
+            System.out.println("Usage: AttendanceRollupJob [yyyy-MM [yyyy-MM]]");
+        } catch (Exception e) {
+            logger.error("Attendance rollup backfill failed: " + e.getMessage(), e);
+            System.out.println("Attendance rollup backfill failed: " + e.getMessage());
+        } finally {
+            DBConnection.shutdown();
+        }
+    }
+
+    /**
+     * Rebuilds every month from the oldest attendance row through the current
+     * month.
+     *
+     * @return Employee-months written.
+     * @throws Exception if a month cannot be rebuilt; earlier months stay done.
+     */
+    public static int backfill() throws Exception {
+        LocalDate first = attendanceDAO.getFirstAttendanceDate();
+        if (first == null) {
+            logger.info("No attendance recorded; nothing to backfill");
+            return 0;
+        }
+        return backfill(YearMonth.from(first), YearMonth.now());
+    }
+
+    /**
+     * Rebuilds the given months, oldest first.
+     *
+     * @param from First month.
+     * @param to   Last month, inclusive.
+     * @return Employee-months written.
+     * @throws Exception if a month cannot be rebuilt; earlier months stay done.
+     */
+    public static int backfill(YearMonth from, YearMonth to) throws Exception {
+        int total = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            int rows = attendanceDAO.rebuildMonth(month);
+            logger.info("Rebuilt attendance rollups for {}: {} employee(s)", month, rows);
+            total += rows;
+        }
+        return total;
+    }
+}
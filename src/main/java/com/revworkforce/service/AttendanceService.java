@@ -3,14 +3,20 @@
  */
 package com.revworkforce.service;
 
+import com.revworkforce.config.AppConstants;
 import com.revworkforce.dao.AttendanceDAO;
+import com.revworkforce.model.Attendance;
+import com.revworkforce.model.AttendanceMonth;
+import com.revworkforce.model.AttendanceOutcome;
 import com.revworkforce.util.DateUtil;
 import com.revworkforce.util.InputUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.sql.Date;
-import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
 
 /**
  * Service to handle Employee Attendance.
@@ -24,23 +30,27 @@ public class AttendanceService {
 
     private static AttendanceDAO dao = new AttendanceDAO();
 
+    // Shared with AttendanceIngestService so both mark LATE the same way
+    static final LocalTime LATE_AFTER = LocalTime.parse(
+            System.getProperty("attendance.late.after", AppConstants.ATTENDANCE_LATE_AFTER.toString()));
+
     /**
      * Records an employee's check-in time for the day.
-     * Prevents multiple check-ins on the same day.
+     * Prevents multiple check-ins on the same day; a check-in after the
+     * configured time (-Dattendance.late.after) is marked LATE.
      * 
      * @param empId The Employee ID.
+     * @return The outcome, or null if the check-in failed.
      */
-    public static void checkIn(String empId) {
+    public static AttendanceOutcome checkIn(String empId) {
         try {
-            if (dao.hasCheckedIn(empId, DateUtil.getCurrentDate())) {
-                System.out.println("You have already checked in today.");
-            } else {
-                dao.checkIn(empId);
-                AuditService.log(empId, "CREATE", "ATTENDANCE", "TODAY", "Employee checked in");
-                System.out.println("Check-in successful at " + DateUtil.getCurrentTimestamp());
-            }
+            LocalDateTime now = LocalDateTime.now();
+            AttendanceOutcome outcome = dao.checkIn(empId, now, LATE_AFTER);
+            report(empId, outcome, now);
+            return outcome;
         } catch (Exception e) {
             logger.error("Check-in failed: " + e.getMessage(), e);
+            return null;
         }
     }
 
@@ -49,42 +59,69 @@ public class AttendanceService {
      * Ensures an employee checks out only once per day.
      * 
      * @param empId The Employee ID.
+     * @return The outcome, or null if the check-out failed.
      */
-    public static void checkOut(String empId) {
+    public static AttendanceOutcome checkOut(String empId) {
         try {
-            if (dao.hasCheckedOut(empId, DateUtil.getCurrentDate())) {
-                System.out.println("You have already checked out today.");
-            } else {
-                dao.checkOut(empId);
-                AuditService.log(empId, "UPDATE", "ATTENDANCE", "TODAY", "Employee checked out");
-                System.out.println("Check-out successful at " + DateUtil.getCurrentTimestamp());
-            }
+            LocalDateTime now = LocalDateTime.now();
+            AttendanceOutcome outcome = dao.checkOut(empId, now);
+            report(empId, outcome, now);
+            return outcome;
         } catch (Exception e) {
             logger.error("Check-out failed: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static void report(String empId, AttendanceOutcome outcome, LocalDateTime at) {
+        if (!outcome.isRecorded()) {
+            System.out.println(outcome.getMessage());
+            return;
+        }
+        switch (outcome) {
+            case CHECKED_OUT -> AuditService.log(empId, "UPDATE", "ATTENDANCE", "TODAY", "Employee checked out");
+            case LATE -> AuditService.log(empId, "CREATE", "ATTENDANCE", "TODAY", "Employee checked in late");
+            default -> AuditService.log(empId, "CREATE", "ATTENDANCE", "TODAY", "Employee checked in");
         }
+        System.out.println(outcome.getMessage() + " at " + DateUtil.formatTimestamp(Timestamp.valueOf(at)));
     }
 
     /**
-     * Displays the attendance history for an employee.
-     * Shows dates, check-in/out times, and daily status.
+     * Displays an employee's attendance: one line per month from the monthly
+     * rollups, then the most recent days in detail. Neither part reads the
+     * whole history.
      * 
      * @param empId The Employee ID.
      */
     public static void viewMyAttendance(String empId) {
         try {
-            ResultSet rs = dao.getAttendanceHistory(empId);
-            System.out.println("\n--- ATTENDANCE HISTORY ---");
-            System.out.println(String.format("%-15s %-25s %-25s %-10s", "Date", "Check-In", "Check-Out", "Status"));
+            int months = Integer.getInteger("attendance.summary.months", AppConstants.ATTENDANCE_SUMMARY_MONTHS);
+            int recentDays = Integer.getInteger("attendance.recent.days", AppConstants.ATTENDANCE_RECENT_DAYS);
+
+            System.out.println("\n--- MONTHLY ATTENDANCE ---");
+            System.out.println(String.format("%-10s %-8s %-6s %-18s %-10s",
+                    "Month", "Present", "Late", "Missing Check-out", "Avg Hours"));
+            for (AttendanceMonth month : dao.getMonthlySummaries(empId, YearMonth.now().minusMonths(months - 1L))) {
+                System.out.println(String.format("%-10s %-8d %-6d %-18d %-10s",
+                        month.month(), month.presentDays(), month.lateDays(), month.missingCheckouts(),
+                        formatHours(month)));
+            }
 
-            while (rs.next()) {
+            System.out.println("\n--- RECENT DAYS ---");
+            System.out.println(String.format("%-15s %-25s %-25s %-10s", "Date", "Check-In", "Check-Out", "Status"));
+            for (Attendance day : dao.getAttendanceHistoryPage(empId, null, recentDays)) {
                 System.out.println(String.format("%-15s %-25s %-25s %-10s",
-                        rs.getDate("attendance_date"),
-                        DateUtil.formatTimestamp(rs.getTimestamp("check_in_time")),
-                        DateUtil.formatTimestamp(rs.getTimestamp("check_out_time")),
-                        rs.getString("status")));
+                        day.getAttendanceDate(),
+                        DateUtil.formatTimestamp(day.getCheckInTime()),
+                        DateUtil.formatTimestamp(day.getCheckOutTime()),
+                        day.getStatus()));
             }
         } catch (Exception e) {
             logger.error("Failed to fetch attendance.", e);
         }
     }
+
+    private static String formatHours(AttendanceMonth month) {
+        return month.completedDays() == 0 ? "-" : String.format("%.1f", month.averageHours());
+    }
 }
@@ -0,0 +1,286 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.service;
+
+import com.revworkforce.config.AppConstants;
+import com.revworkforce.model.AuditLog;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous, batching writer for audit entries.
+ * Callers enqueue entries into a bounded queue; a background daemon thread
+ * drains the queue and hands entries to the sink in batches.
+ * Batches that cannot be written are spilled to a local file so audit records
+ * are never silently lost.
+ *
+ * @author Gururaj Shetty
+ */
+public class AuditLogWriter {
+
+    private static final Logger logger = LogManager.getLogger(AuditLogWriter.class);
+
+    /**
+     * What to do when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Caller waits until the writer frees space. */
+        BLOCK,
+        /** Oldest queued entry is discarded (and logged) to make room. */
+        DROP_OLDEST,
+        /** New entry is appended to the spill file instead of being queued. */
+        SPILL_TO_FILE
+    }
+
+    /**
+     * Destination for drained batches.
+     */
+    @FunctionalInterface
+    public interface BatchSink {
+        void write(List<AuditLog> batch) throws Exception;
+    }
+
+    private final BlockingQueue<AuditLog> queue;
+    private final BatchSink sink;
+    private final OverflowPolicy policy;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Path spillFile;
+    private final Object spillLock = new Object();
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    // Entries accepted into the queue but not yet written or spilled
+    private final AtomicLong pending = new AtomicLong();
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    public AuditLogWriter(BatchSink sink, int capacity, int batchSize, long flushIntervalMs,
+            OverflowPolicy policy, Path spillFile) {
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.policy = policy;
+        this.spillFile = spillFile;
+
+        this.worker = new Thread(this::run, "audit-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Builds a writer configured from -Daudit.* system properties, falling back
+     * to the defaults in AppConstants.
+     *
+     * @param sink Destination for drained batches.
+     * @return A started writer.
+     */
+    public static AuditLogWriter fromSystemProperties(BatchSink sink) {
+        int capacity = Integer.getInteger("audit.queue.capacity", AppConstants.AUDIT_QUEUE_CAPACITY);
+        int batchSize = Integer.getInteger("audit.batch.size", AppConstants.AUDIT_BATCH_SIZE);
+        long interval = Long.getLong("audit.flush.interval.ms", AppConstants.AUDIT_FLUSH_INTERVAL_MS);
+        OverflowPolicy policy = OverflowPolicy.valueOf(
+                System.getProperty("audit.overflow.policy", AppConstants.AUDIT_OVERFLOW_POLICY).toUpperCase());
+        Path spill = Paths.get(System.getProperty("audit.spill.file", AppConstants.AUDIT_SPILL_FILE));
+        return new AuditLogWriter(sink, capacity, batchSize, interval, policy, spill);
+    }
+
+    /**
+     * Queues an entry for writing, applying the overflow policy if the queue is
+     * full. After shutdown, entries are written synchronously.
+     *
+     * @param entry The audit entry.
+     */
+    public void submit(AuditLog entry) {
+        if (!running) {
+            writeBatch(List.of(entry));
+            return;
+        }
+
+        pending.incrementAndGet();
+        switch (policy) {
+            case BLOCK -> {
+                try {
+                    queue.put(entry);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    pending.decrementAndGet();
+                    spill(List.of(entry));
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(entry)) {
+                    AuditLog oldest = queue.poll();
+                    if (oldest != null) {
+                        pending.decrementAndGet();
+                        dropped.incrementAndGet();
+                        logger.warn("Audit queue full, dropped oldest entry: {}", format(oldest));
+                    }
+                }
+            }
+            case SPILL_TO_FILE -> {
+                if (!queue.offer(entry)) {
+                    pending.decrementAndGet();
+                    spill(List.of(entry));
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes everything currently queued and waits for any in-flight batch.
+     */
+    public void flush() {
+        long deadline = System.currentTimeMillis() + flushIntervalMs * 5;
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (pending.get() > 0) {
+            if (queue.drainTo(batch, batchSize) > 0) {
+                writeQueued(batch);
+                batch = new ArrayList<>(batchSize);
+            } else if (System.currentTimeMillis() > deadline) {
+                logger.warn("Audit flush timed out with {} entries still in flight", pending.get());
+                return;
+            } else {
+                // The worker holds the remaining entries; give it time to finish
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the background thread and flushes remaining entries.
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            worker.join(flushIntervalMs * 5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        logger.info("Audit writer stopped: written={}, spilled={}, dropped={}, failedBatches={}",
+                written.get(), spilled.get(), dropped.get(), failedBatches.get());
+    }
+
+    private void run() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeQueued(batch);
+                batch = new ArrayList<>(batchSize);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeQueued(List<AuditLog> batch) {
+        try {
+            writeBatch(batch);
+        } finally {
+            pending.addAndGet(-batch.size());
+        }
+    }
+
+    private void writeBatch(List<AuditLog> batch) {
+        try {
+            sink.write(batch);
+            written.addAndGet(batch.size());
+        } catch (Exception e) {
+            failedBatches.incrementAndGet();
+            logger.error("Audit batch of " + batch.size() + " failed, spilling to file: " + e.getMessage(), e);
+            spill(batch);
+        }
+    }
+
+    private void spill(List<AuditLog> entries) {
+        synchronized (spillLock) {
+            try {
+                Path parent = spillFile.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (AuditLog entry : entries) {
+                        out.write(format(entry));
+                        out.newLine();
+                    }
+                }
+                spilled.addAndGet(entries.size());
+            } catch (IOException e) {
+                // Last resort: the log file still records the entry
+                for (AuditLog entry : entries) {
+                    logger.error("Audit entry lost from spill file, recorded here instead: {}", format(entry));
+                }
+            }
+        }
+    }
+
+    // Tab-separated; tabs and newlines inside values are flattened to spaces
+    private static String format(AuditLog entry) {
+        return String.join("\t",
+                String.valueOf(entry.getCreatedAt()),
+                clean(entry.getEmployeeId()),
+                clean(entry.getAction()),
+                clean(entry.getTableName()),
+                clean(entry.getRecordId()),
+                clean(entry.getNewValue()));
+    }
+
+    private static String clean(String value) {
+        return value == null ? "" : value.replaceAll("[\\t\\r\\n]", " ");
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    public long getFailedBatchCount() {
+        return failedBatches.get();
+    }
+}
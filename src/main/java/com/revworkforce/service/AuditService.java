@@ -3,14 +3,24 @@
  */
 package com.revworkforce.service;
 
+import com.revworkforce.config.AppConstants;
 import com.revworkforce.dao.AuditLogDAO;
+import com.revworkforce.model.AuditLog;
+import com.revworkforce.util.DBConnection;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Service class for logging system audits.
  * Records interactions such as profile updates, leave processing, and security
  * events.
+ * Entries are queued and written in batches by a background
+ * {@link AuditLogWriter}, so callers do not pay a database round-trip; the
+ * queue is flushed when {@link DBConnection#shutdown()} runs.
  * 
  * @author Gururaj Shetty
  */
@@ -20,6 +30,14 @@ public class AuditService {
 
     private static AuditLogDAO dao = new AuditLogDAO();
 
+    private static final AuditLogWriter writer = AuditLogWriter.fromSystemProperties(AuditService::writeBatch);
+
+    private static RetentionJob retentionJob;
+
+    static {
+        DBConnection.addShutdownHook(AuditService::shutdown);
+    }
+
     /**
      * Logs an action in the audit_logs table.
      *
@@ -49,11 +67,69 @@ public class AuditService {
             String description) {
         try {
             // IGNORE columnName as requested primarily
-            dao.log(employeeId, action, table, recordId, description);
+            AuditLog entry = new AuditLog();
+            entry.setEmployeeId(employeeId);
+            entry.setAction(action);
+            entry.setTableName(table);
+            entry.setRecordId(recordId);
+            entry.setNewValue(description);
+            entry.setCreatedAt(new Timestamp(System.currentTimeMillis()));
+            writer.submit(entry);
         } catch (Exception e) {
             // We do not wan't to throw exception here to avoid interrupting the main flow
             // just because logging failed.
             logger.error("Audit Log Failed: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Writes all queued audit entries before returning.
+     */
+    public static void flush() {
+        writer.flush();
+    }
+
+    /**
+     * Stops the background writer after flushing queued entries.
+     */
+    public static void shutdown() {
+        writer.shutdown();
+    }
+
+    /**
+     * Starts moving entries older than the retention period into
+     * audit_logs_archive in the background, unless disabled with
+     * -Daudit.retention.enabled=false. The first run is a minute after
+     * startup.
+     */
+    public static synchronized void startArchiving() {
+        if (retentionJob != null
+                || !Boolean.parseBoolean(System.getProperty("audit.retention.enabled", "true"))) {
+            return;
+        }
+        retentionJob = new RetentionJob("audit entries", dao::archiveLogs,
+                Integer.getInteger("audit.retention.days", AppConstants.AUDIT_RETENTION_DAYS),
+                Integer.getInteger("audit.retention.batch.size", AppConstants.AUDIT_ARCHIVE_BATCH_SIZE),
+                AppConstants.AUDIT_ARCHIVE_MAX_BATCHES);
+        retentionJob.start(TimeUnit.MINUTES.toMillis(1),
+                Long.getLong("audit.retention.interval.ms", AppConstants.AUDIT_ARCHIVE_INTERVAL_MS));
+    }
+
+    public static synchronized void stopArchiving() {
+        if (retentionJob != null) {
+            retentionJob.stop();
+            retentionJob = null;
+        }
+    }
+
+    /**
+     * @return Number of audit entries waiting to be written.
+     */
+    public static int getPendingCount() {
+        return writer.getQueueDepth();
+    }
+
+    private static void writeBatch(List<AuditLog> batch) throws Exception {
+        dao.logBatch(batch);
+    }
 }
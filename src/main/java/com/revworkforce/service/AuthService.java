@@ -5,8 +5,9 @@ package com.revworkforce.service;
 
 import com.revworkforce.context.SessionContext;
 import com.revworkforce.dao.EmployeeDAO;
+import com.revworkforce.exception.ServiceBusyException;
 import com.revworkforce.model.Employee;
-import com.revworkforce.util.PasswordUtil;
+import com.revworkforce.util.PasswordHasher;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -24,7 +25,9 @@ public class AuthService {
     private static final Logger logger = LogManager.getLogger(AuthService.class);
 
     private static final int MAX_ATTEMPTS = 3;
+    private static final String BUSY_MESSAGE = "The system is busy. Please try again in a moment.";
     private static EmployeeDAO dao = new EmployeeDAO();
+    private static PasswordHasher hasher = PasswordHasher.shared();
 
     /**
      * Authenticates a user based on Employee ID and Password.
@@ -63,13 +66,14 @@ public class AuthService {
             int failedAttempts = (int) authDetails.get("failed_login_attempts");
 
             // Verify Password
-            if (!PasswordUtil.verifyPassword(password, hash)) {
+            if (!hasher.verify(password, hash)) {
                 handleFailedLogin(empId, failedAttempts);
                 return false;
             }
 
             // SUCCESS
             dao.recordSuccessfulLogin(empId);
+            upgradeHash(empId, password, hash);
             Employee emp = dao.getEmployeeById(empId);
             SessionContext.set(emp);
             logger.info("User logged in successfully: {}", empId);
@@ -85,6 +89,10 @@ public class AuthService {
 
             return true;
 
+        } catch (ServiceBusyException e) {
+            System.out.println(BUSY_MESSAGE);
+            logger.warn("Login deferred, password hashing busy: {}", empId);
+            return false;
         } catch (Exception e) {
             logger.error("System Error during login: " + e.getMessage(), e);
             logger.error("System Error during login for user: {}", empId, e);
@@ -92,6 +100,24 @@ public class AuthService {
         }
     }
 
+    /*
+     * Re-hashes the password at the configured cost if the stored hash uses
+     * another one. Best effort: skipped when the hasher is busy, retried at
+     * the next login.
+     */
+    private static void upgradeHash(String empId, String password, String hash) {
+        if (!hasher.needsRehash(hash)) {
+            return;
+        }
+        try {
+            if (dao.upgradePasswordHash(empId, hash, hasher.hash(password))) {
+                logger.info("Password hash upgraded to cost {} for user: {}", hasher.getWorkFactor(), empId);
+            }
+        } catch (Exception e) {
+            logger.warn("Password hash upgrade skipped for user {}: {}", empId, e.getMessage());
+        }
+    }
+
     /*
      * private helper to handle failed login logic
      */
@@ -125,14 +151,14 @@ public class AuthService {
             java.util.Map<String, Object> authDetails = dao.getAuthDetails(empId);
             if (authDetails != null) {
                 String hash = (String) authDetails.get("password_hash");
-                if (!PasswordUtil.verifyPassword(oldPassword, hash)) {
+                if (!hasher.verify(oldPassword, hash)) {
                     System.out.println("Incorrect current password.");
                     logger.warn("Password change failed - Incorrect old password: {}", empId);
                     return false;
                 }
 
                 // 2. Hash New Password
-                String newHash = PasswordUtil.hashPassword(newPassword);
+                String newHash = hasher.hash(newPassword);
 
                 // 3. Update Password
                 dao.updatePassword(empId, newHash);
@@ -140,6 +166,10 @@ public class AuthService {
                 return true;
             }
             return false;
+        } catch (ServiceBusyException e) {
+            System.out.println(BUSY_MESSAGE);
+            logger.warn("Password change deferred, password hashing busy: {}", empId);
+            return false;
         } catch (Exception e) {
             logger.error("Error changing password: " + e.getMessage(), e);
             logger.error("Error changing password for user: {}", empId, e);
@@ -166,7 +196,7 @@ public class AuthService {
                 String answer = com.revworkforce.util.InputUtil.readString("Answer: ");
 
                 // Verify Answer
-                if (PasswordUtil.verifyPassword(answer, storedAnswerHash)) {
+                if (hasher.verify(answer, storedAnswerHash)) {
                     System.out.println("Answer Correct!");
 
                     String newPass = com.revworkforce.util.InputUtil.readString("Enter New Password: ");
@@ -178,7 +208,7 @@ public class AuthService {
                         return;
                     }
 
-                    String newHash = PasswordUtil.hashPassword(newPass);
+                    String newHash = hasher.hash(newPass);
                     dao.updatePassword(empId, newHash);
                     System.out.println("Password reset successfully. Please login.");
                     logger.info("Password recovered/reset successfully for user: {}", empId);
@@ -194,6 +224,9 @@ public class AuthService {
                 logger.warn("Password recovery failed - No security details found: {}", empId);
             }
 
+        } catch (ServiceBusyException e) {
+            System.out.println(BUSY_MESSAGE);
+            logger.warn("Password recovery deferred, password hashing busy");
         } catch (Exception e) {
             logger.error("Error during password recovery: " + e.getMessage(), e);
             logger.error("Error during password recovery flow", e);
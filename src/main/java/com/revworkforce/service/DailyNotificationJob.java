@@ -0,0 +1,123 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.service;
+
+import com.revworkforce.dao.NotificationDAO;
+import com.revworkforce.model.DailyNotificationRun;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the day's birthday and work anniversary notifications.
+ * <p>
+ * Each kind is one set-based insert, so a run costs two statements however
+ * many employees are affected. Runs are idempotent: employees who already
+ * have the day's notification are skipped, so rerunning a day (from the admin
+ * menu, or after a restart) creates no duplicates. Runs on one instance are
+ * serialized; runs in different processes are kept apart by a unique index
+ * on the notifications.
+ * <p>
+ * When started, the job catches up on today immediately and then runs every
+ * day at the configured time on a daemon thread.
+ *
+ * @author Gururaj Shetty
+ */
+public class DailyNotificationJob {
+
+    private static final Logger logger = LogManager.getLogger(DailyNotificationJob.class);
+
+    private final NotificationDAO dao;
+    private final LocalTime runAt;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param dao   Where notifications are written.
+     * @param runAt Local time of day for scheduled runs.
+     */
+    public DailyNotificationJob(NotificationDAO dao, LocalTime runAt) {
+        this.dao = dao;
+        this.runAt = runAt;
+    }
+
+    /**
+     * Creates the notifications for one day.
+     *
+     * @param day The day to generate for.
+     * @return Rows created and time taken.
+     * @throws Exception if either insert fails.
+     */
+    public synchronized DailyNotificationRun run(LocalDate day) throws Exception {
+        long start = System.nanoTime();
+        Date date = Date.valueOf(day);
+        int birthdays = dao.createBirthdayNotifications(date);
+        int anniversaries = dao.createAnniversaryNotifications(date);
+        DailyNotificationRun run = new DailyNotificationRun(day, birthdays, anniversaries,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        logger.info("{}", run);
+        return run;
+    }
+
+    /**
+     * Runs for today now, then daily at the configured time.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "daily-notifications");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.execute(this::runScheduled);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void runScheduled() {
+        try {
+            run(LocalDate.now());
+        } catch (Exception e) {
+            logger.error("Daily notification run failed: " + e.getMessage(), e);
+        } finally {
+            scheduleNext();
+        }
+    }
+
+    // Re-planned after every run so the time of day holds across DST changes
+    private synchronized void scheduleNext() {
+        if (scheduler != null && !scheduler.isShutdown()) {
+            long delay = millisUntilNextRun(LocalDateTime.now(), runAt);
+            scheduler.schedule(this::runScheduled, delay, TimeUnit.MILLISECONDS);
+            logger.debug("Next daily notification run in {} ms", delay);
+        }
+    }
+
+    /**
+     * @param now   Current local time.
+     * @param runAt Time of day to run at.
+     * @return Milliseconds until the next occurrence of runAt after now.
+     */
+    static long millisUntilNextRun(LocalDateTime now, LocalTime runAt) {
+        LocalDateTime next = now.toLocalDate().atTime(runAt);
+        if (!next.isAfter(now)) {
+            next = next.plusDays(1);
+        }
+        return Duration.between(now, next).toMillis();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.service;
+
+import com.revworkforce.config.AppConstants;
+import com.revworkforce.dao.EmployeeIdCounterDAO;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out employee IDs (EMP001, MGR012, ...) from blocks reserved in the
+ * employee_id_counters table.
+ * <p>
+ * Each prefix keeps one in-memory block; IDs are taken from it with a single
+ * atomic increment, and the database is only touched when a block runs out.
+ * Because the counter is persisted and advanced before a block is used, IDs
+ * stay unique across concurrent admins and restarts. A restart skips at most
+ * the unused tail of one block per prefix ({@code employee.id.block.size}).
+ *
+ * @author Gururaj Shetty
+ */
+public class EmployeeIdAllocator {
+
+    private static final EmployeeIdAllocator DEFAULT = new EmployeeIdAllocator(new EmployeeIdCounterDAO(),
+            Integer.getInteger("employee.id.block.size", AppConstants.EMPLOYEE_ID_BLOCK_SIZE));
+
+    private static final class IdBlock {
+        private final AtomicLong next;
+        private final long end;
+
+        private IdBlock(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    private final EmployeeIdCounterDAO counterDAO;
+    private final int blockSize;
+    private final ConcurrentMap<String, IdBlock> blocks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Object> refillLocks = new ConcurrentHashMap<>();
+
+    public EmployeeIdAllocator(EmployeeIdCounterDAO counterDAO, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        this.counterDAO = counterDAO;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * @return The allocator shared by the application's services.
+     */
+    public static EmployeeIdAllocator getInstance() {
+        return DEFAULT;
+    }
+
+    /**
+     * Formats an ID from its prefix and number, e.g. ("EMP", 7) -> EMP007.
+     *
+     * @param prefix ID prefix.
+     * @param number Numeric suffix.
+     * @return The employee ID.
+     */
+    public static String formatId(String prefix, long number) {
+        return prefix + String.format("%03d", number);
+    }
+
+    /**
+     * Returns the next unused ID for a prefix.
+     *
+     * @param prefix ID prefix (EMP or MGR).
+     * @return A new employee ID.
+     * @throws Exception if a new block cannot be reserved.
+     */
+    public String nextId(String prefix) throws Exception {
+        while (true) {
+            IdBlock block = blocks.get(prefix);
+            if (block != null) {
+                long number = block.next.getAndIncrement();
+                if (number < block.end) {
+                    return formatId(prefix, number);
+                }
+            }
+            refill(prefix, block);
+        }
+    }
+
+    /**
+     * Reserves a contiguous range of IDs directly from the counter, for bulk
+     * paths that assign many IDs at once.
+     *
+     * @param prefix ID prefix (EMP or MGR).
+     * @param count  Number of IDs needed.
+     * @return First number of the range; the range is [first, first + count).
+     * @throws Exception if the range cannot be reserved.
+     */
+    public long reserveRange(String prefix, int count) throws Exception {
+        return counterDAO.reserveBlock(prefix, count);
+    }
+
+    /**
+     * Drops the in-memory blocks; the next request reserves a fresh one.
+     */
+    public void reset() {
+        blocks.clear();
+    }
+
+    private void refill(String prefix, IdBlock exhausted) throws Exception {
+        synchronized (refillLocks.computeIfAbsent(prefix, k -> new Object())) {
+            // Another thread may have refilled while we waited
+            if (blocks.get(prefix) == exhausted) {
+                long start = counterDAO.reserveBlock(prefix, blockSize);
+                blocks.put(prefix, new IdBlock(start, start + blockSize));
+            }
+        }
+    }
+}
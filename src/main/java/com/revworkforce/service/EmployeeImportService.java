@@ -0,0 +1,454 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.service;
+
+import com.revworkforce.config.AppConstants;
+import com.revworkforce.dao.DepartmentDAO;
+import com.revworkforce.dao.DesignationDAO;
+import com.revworkforce.dao.EmployeeDAO;
+import com.revworkforce.exception.ServiceBusyException;
+import com.revworkforce.exception.ValidationException;
+import com.revworkforce.model.Employee;
+import com.revworkforce.model.ImportReport;
+import com.revworkforce.util.PasswordHasher;
+import com.revworkforce.util.ValidationUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for onboarding many employees at once from a CSV file.
+ * <p>
+ * The file is streamed in chunks of {@code import.batch.size} rows. Email,
+ * phone, department and designation checks run against sets loaded once per
+ * import, passwords are hashed in parallel on the shared {@link PasswordHasher}
+ * (backing off while logins keep it full), IDs come from a
+ * range reserved per chunk from {@link EmployeeIdAllocator}, and each chunk is inserted with JDBC batching and
+ * committed on its own. A bad row is reported and skipped; it never aborts
+ * the rest of the file.
+ * <p>
+ * Expected header (any order, case-insensitive): first_name, last_name, email,
+ * phone, address, emergency_contact, date_of_birth, department_id,
+ * designation_id, salary, and optionally role (EMP/MGR), manager_id and
+ * joining_date (defaults to today).
+ *
+ * @author Gururaj Shetty
+ */
+public class EmployeeImportService {
+
+    private static final Logger logger = LogManager.getLogger(EmployeeImportService.class);
+
+    private static final String[] REQUIRED_COLUMNS = {
+            "first_name", "last_name", "email", "phone", "address", "emergency_contact",
+            "date_of_birth", "department_id", "designation_id", "salary"
+    };
+
+    private static EmployeeDAO employeeDAO = new EmployeeDAO();
+    private static DepartmentDAO departmentDAO = new DepartmentDAO();
+    private static DesignationDAO designationDAO = new DesignationDAO();
+    private static EmployeeIdAllocator idAllocator = EmployeeIdAllocator.getInstance();
+    private static PasswordHasher hasher = PasswordHasher.shared();
+
+    private EmployeeImportService() {
+        // Prevent instantiation
+    }
+
+    /**
+     * A parsed, validated CSV line waiting to be inserted.
+     */
+    private static class PendingRow {
+        private final int lineNumber;
+        private final Employee employee;
+        private final boolean manager;
+
+        private PendingRow(int lineNumber, Employee employee, boolean manager) {
+            this.lineNumber = lineNumber;
+            this.employee = employee;
+            this.manager = manager;
+        }
+    }
+
+    /**
+     * Lookups loaded once per import so rows are validated without a query
+     * each.
+     */
+    private static class ImportContext {
+        private final Map<String, Integer> columns;
+        private final Set<String> emails;
+        private final Set<String> phones;
+        private final Set<String> departmentIds;
+        private final Map<String, String> designations;
+        private final Set<String> importedIds = new HashSet<>();
+
+        private ImportContext(Map<String, Integer> columns) throws Exception {
+            this.columns = columns;
+            this.emails = employeeDAO.getExistingEmails();
+            this.phones = employeeDAO.getExistingPhones();
+            this.departmentIds = departmentDAO.getDepartmentIds();
+            this.designations = designationDAO.getDesignationNames();
+        }
+    }
+
+    /**
+     * Imports employees from a CSV file on disk.
+     *
+     * @param path Path to the CSV file.
+     * @return Per-row outcome of the import.
+     * @throws Exception if the file cannot be read or the header is invalid.
+     */
+    public static ImportReport importFile(String path) throws Exception {
+        try (Reader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            return importCsv(reader);
+        }
+    }
+
+    /**
+     * Imports employees from CSV content.
+     *
+     * @param source CSV content, starting with the header line.
+     * @return Per-row outcome of the import.
+     * @throws Exception if the content cannot be read or the header is invalid.
+     */
+    public static ImportReport importCsv(Reader source) throws Exception {
+        int batchSize = Math.max(1, Integer.getInteger("import.batch.size", AppConstants.IMPORT_BATCH_SIZE));
+
+        BufferedReader reader = source instanceof BufferedReader br ? br : new BufferedReader(source);
+        ImportReport report = new ImportReport();
+
+        String header = reader.readLine();
+        if (header == null) {
+            throw new ValidationException("CSV file is empty.");
+        }
+        Map<String, Integer> columns = parseHeader(header);
+
+        ImportContext ctx = new ImportContext(columns);
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+        int lineNumber = 1;
+        int rows = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            rows++;
+            try {
+                chunk.add(parseRow(lineNumber, line, ctx));
+            } catch (ValidationException e) {
+                report.addError(lineNumber, e.getMessage());
+            }
+            if (chunk.size() >= batchSize) {
+                processChunk(chunk, ctx, report);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        processChunk(chunk, ctx, report);
+        report.setTotalRows(rows);
+
+        logger.info("Bulk import finished: {} rows, {} imported, {} rejected",
+                report.getTotalRows(), report.getImportedCount(), report.getErrorCount());
+        return report;
+    }
+
+    private static Map<String, Integer> parseHeader(String header) {
+        List<String> names = splitCsvLine(header.replace("\uFEFF", ""));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = new ArrayList<>();
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                missing.add(required);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new ValidationException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static PendingRow parseRow(int lineNumber, String line, ImportContext ctx) {
+        List<String> values = splitCsvLine(line);
+        Map<String, String> row = new HashMap<>();
+        for (Map.Entry<String, Integer> column : ctx.columns.entrySet()) {
+            int index = column.getValue();
+            row.put(column.getKey(), index < values.size() ? values.get(index).trim() : "");
+        }
+
+        String role = row.getOrDefault("role", "");
+        boolean isManager;
+        if (role.isEmpty() || role.equalsIgnoreCase("EMP")) {
+            isManager = false;
+        } else if (role.equalsIgnoreCase("MGR")) {
+            isManager = true;
+        } else {
+            throw new ValidationException("Role must be EMP or MGR.");
+        }
+
+        Employee emp = new Employee();
+        emp.setFirstName(required(row, "first_name", "First Name"));
+        emp.setLastName(required(row, "last_name", "Last Name"));
+        emp.setAddress(required(row, "address", "Address"));
+        emp.setEmergencyContact(required(row, "emergency_contact", "Emergency Contact"));
+
+        String email = row.get("email");
+        ValidationUtil.validateEmail(email);
+        String phone = row.get("phone");
+        ValidationUtil.validatePhone(phone);
+
+        emp.setDateOfBirth(parseDate(row.get("date_of_birth"), "DOB"));
+        String joining = row.getOrDefault("joining_date", "");
+        emp.setJoiningDate(joining.isEmpty()
+                ? java.sql.Date.valueOf(java.time.LocalDate.now())
+                : parseDate(joining, "Joining Date"));
+
+        String dept = row.get("department_id");
+        if (!ctx.departmentIds.contains(dept)) {
+            throw new ValidationException("Invalid Department ID: " + dept);
+        }
+        String desig = row.get("designation_id");
+        String desigName = ctx.designations.get(desig);
+        if (desigName == null) {
+            throw new ValidationException("Invalid Designation ID: " + desig);
+        }
+        if (desigName.toLowerCase().contains("manager") != isManager) {
+            throw new ValidationException("Invalid Designation for role.");
+        }
+        emp.setDepartmentId(Integer.parseInt(dept));
+        emp.setDesignationId(Integer.parseInt(desig));
+
+        try {
+            double salary = Double.parseDouble(row.get("salary"));
+            ValidationUtil.validatePositive(salary, "Salary");
+            emp.setSalary(salary);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid salary: " + row.get("salary"));
+        }
+
+        // Managers are not assigned a reporting manager, as in single onboarding
+        String mgr = row.getOrDefault("manager_id", "");
+        if (!isManager && !mgr.isEmpty()) {
+            if (!ctx.importedIds.contains(mgr) && !managerExists(mgr)) {
+                throw new ValidationException("Manager ID not found: " + mgr);
+            }
+            emp.setManagerId(mgr);
+        }
+
+        // Uniqueness last, so a row rejected for another reason does not claim
+        // its email/phone
+        if (!ctx.emails.add(email)) {
+            throw new ValidationException("Email already exists: " + email);
+        }
+        if (!ctx.phones.add(phone)) {
+            ctx.emails.remove(email);
+            throw new ValidationException("Phone number already exists: " + phone);
+        }
+        emp.setEmail(email);
+        emp.setPhone(phone);
+
+        return new PendingRow(lineNumber, emp, isManager);
+    }
+
+    private static boolean managerExists(String mgr) {
+        try {
+            return employeeDAO.isEmployeeExists(mgr);
+        } catch (Exception e) {
+            throw new ValidationException("Error validating manager: " + e.getMessage());
+        }
+    }
+
+    private static String required(Map<String, String> row, String column, String label) {
+        String value = row.get(column);
+        ValidationUtil.validateNotEmpty(value, label);
+        return value;
+    }
+
+    private static java.sql.Date parseDate(String value, String label) {
+        if (value == null || !value.matches("\\d{4}-\\d{2}-\\d{2}")) {
+            throw new ValidationException("Invalid " + label + " format. Use YYYY-MM-DD.");
+        }
+        try {
+            return java.sql.Date.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid " + label + ": " + value);
+        }
+    }
+
+    /**
+     * Hashes, assigns IDs to and inserts one chunk of validated rows.
+     */
+    private static void processChunk(List<PendingRow> chunk, ImportContext ctx, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // BCrypt dominates the cost of onboarding; spread it over the hashing threads
+        List<Future<String>> hashes = new ArrayList<>(chunk.size());
+        try {
+            for (int i = 0; i < chunk.size(); i++) {
+                hashes.add(submitHash());
+            }
+        } catch (ServiceBusyException e) {
+            logger.warn("Password hashing stayed busy; {} rows of the chunk not imported",
+                    chunk.size() - hashes.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<PendingRow> ready = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            PendingRow row = chunk.get(i);
+            if (i >= hashes.size()) {
+                report.addError(row.lineNumber, Thread.currentThread().isInterrupted()
+                        ? "Import interrupted." : "Password hashing is busy; import this row again later.");
+                continue;
+            }
+            try {
+                row.employee.setPasswordHash(hashes.get(i).get());
+                ready.add(row);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                report.addError(row.lineNumber, "Import interrupted.");
+            } catch (ExecutionException e) {
+                report.addError(row.lineNumber, "Password hashing failed: " + e.getCause().getMessage());
+            }
+        }
+
+        try {
+            assignIds(ready);
+        } catch (Exception e) {
+            logger.error("Unable to reserve employee IDs: " + e.getMessage(), e);
+            for (PendingRow row : ready) {
+                report.addError(row.lineNumber, "Unable to allocate employee ID: " + e.getMessage());
+            }
+            return;
+        }
+
+        List<Employee> employees = new ArrayList<>(ready.size());
+        for (PendingRow row : ready) {
+            employees.add(row.employee);
+        }
+
+        try {
+            employeeDAO.insertEmployees(employees);
+            for (PendingRow row : ready) {
+                recordImported(row, ctx, report);
+            }
+        } catch (Exception batchError) {
+            // The chunk was rolled back; retry row by row to pin down the bad ones
+            logger.warn("Batch insert of {} employees failed, retrying individually: {}",
+                    ready.size(), batchError.getMessage());
+            for (PendingRow row : ready) {
+                try {
+                    employeeDAO.insertEmployee(row.employee);
+                    recordImported(row, ctx, report);
+                } catch (Exception e) {
+                    report.addError(row.lineNumber, "Insert failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues one default-password hash, pausing while the hasher is full so
+     * logins keep their share of it.
+     *
+     * @throws ServiceBusyException if it stays full for
+     *                              {@code import.hash.busy.timeout.ms}.
+     */
+    private static Future<String> submitHash() throws InterruptedException {
+        long backoffMs = Long.getLong("import.hash.backoff.ms", AppConstants.IMPORT_HASH_BACKOFF_MS);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(
+                Long.getLong("import.hash.busy.timeout.ms", AppConstants.IMPORT_HASH_BUSY_TIMEOUT_MS));
+        while (true) {
+            try {
+                return hasher.submitHash(AppConstants.IMPORT_DEFAULT_PASSWORD);
+            } catch (ServiceBusyException e) {
+                if (System.nanoTime() - deadline >= 0) {
+                    throw e;
+                }
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, AppConstants.IMPORT_HASH_MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private static void assignIds(List<PendingRow> rows) throws Exception {
+        int managers = 0;
+        for (PendingRow row : rows) {
+            if (row.manager) {
+                managers++;
+            }
+        }
+        int employees = rows.size() - managers;
+
+        long nextMgr = managers > 0 ? idAllocator.reserveRange("MGR", managers) : 0;
+        long nextEmp = employees > 0 ? idAllocator.reserveRange("EMP", employees) : 0;
+        for (PendingRow row : rows) {
+            String id = row.manager
+                    ? EmployeeIdAllocator.formatId("MGR", nextMgr++)
+                    : EmployeeIdAllocator.formatId("EMP", nextEmp++);
+            row.employee.setEmployeeId(id);
+        }
+    }
+
+    private static void recordImported(PendingRow row, ImportContext ctx, ImportReport report) {
+        String id = row.employee.getEmployeeId();
+        ctx.importedIds.add(id);
+        report.addImported(id);
+    }
+
+    /**
+     * Splits one CSV line. Supports double-quoted fields containing commas and
+     * doubled quotes ("") as an escaped quote.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new ValidationException("Unterminated quoted field.");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
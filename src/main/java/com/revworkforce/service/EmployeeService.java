@@ -3,14 +3,17 @@
  */
 package com.revworkforce.service;
 
+import com.revworkforce.config.AppConstants;
 import com.revworkforce.dao.AnnouncementDAO;
 import com.revworkforce.dao.EmployeeDAO;
+import com.revworkforce.model.EmployeeSearchPage;
+import com.revworkforce.model.EmployeeSummary;
 import com.revworkforce.util.InputUtil;
 import com.revworkforce.util.MessageConstants;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.sql.ResultSet;
+import java.util.Map;
 
 /**
  * Service class for Employee-related operations.
@@ -33,16 +36,16 @@ public class EmployeeService {
      */
     public static void viewProfile(String empId) {
         try {
-            ResultSet rs = employeeDAO.getProfile(empId);
-            if (rs.next()) {
+            Map<String, Object> profile = employeeDAO.getProfile(empId);
+            if (profile != null) {
                 System.out.println("\n--- PROFILE ---");
-                System.out.println("ID: " + rs.getString("employee_id"));
-                System.out.println("Name: " + rs.getString("first_name") + " " + rs.getString("last_name"));
-                System.out.println("Email: " + rs.getString("email"));
-                System.out.println("Phone: " + rs.getString("phone"));
-                System.out.println("Address: " + rs.getString("address"));
-                System.out.println("Emergency Contact: " + rs.getString("emergency_contact"));
-                System.out.println("Manager ID: " + rs.getString("manager_id"));
+                System.out.println("ID: " + profile.get("employee_id"));
+                System.out.println("Name: " + profile.get("first_name") + " " + profile.get("last_name"));
+                System.out.println("Email: " + profile.get("email"));
+                System.out.println("Phone: " + profile.get("phone"));
+                System.out.println("Address: " + profile.get("address"));
+                System.out.println("Emergency Contact: " + profile.get("emergency_contact"));
+                System.out.println("Manager ID: " + profile.get("manager_id"));
             } else {
                 System.out.println("Employee not found.");
             }
@@ -60,15 +63,15 @@ public class EmployeeService {
     public static void updateProfile(String empId) {
         try {
             // Fetch current details
-            ResultSet rs = employeeDAO.getProfile(empId);
+            Map<String, Object> profile = employeeDAO.getProfile(empId);
             String currentPhone = "";
             String currentAddress = "";
             String currentEmergency = "";
 
-            if (rs.next()) {
-                currentPhone = rs.getString("phone");
-                currentAddress = rs.getString("address");
-                currentEmergency = rs.getString("emergency_contact");
+            if (profile != null) {
+                currentPhone = (String) profile.get("phone");
+                currentAddress = (String) profile.get("address");
+                currentEmergency = (String) profile.get("emergency_contact");
             }
 
             // Handle nulls for display
@@ -148,9 +151,9 @@ public class EmployeeService {
         try {
             // 1. Get Employee's Manager ID
             String managerId = null;
-            ResultSet empRs = employeeDAO.getProfile(empId);
-            if (empRs.next()) {
-                managerId = empRs.getString("manager_id");
+            Map<String, Object> empProfile = employeeDAO.getProfile(empId);
+            if (empProfile != null) {
+                managerId = (String) empProfile.get("manager_id");
             }
 
             if (managerId == null || managerId.isEmpty()) {
@@ -159,12 +162,12 @@ public class EmployeeService {
             }
 
             // 2. Get Manager's Profile
-            ResultSet mgrRs = employeeDAO.getProfile(managerId);
-            if (mgrRs.next()) {
+            Map<String, Object> mgrProfile = employeeDAO.getProfile(managerId);
+            if (mgrProfile != null) {
                 System.out.println("\n--- MANAGER DETAILS ---");
-                System.out.println("Name: " + mgrRs.getString("first_name") + " " + mgrRs.getString("last_name"));
-                System.out.println("Email: " + mgrRs.getString("email"));
-                System.out.println("Phone: " + mgrRs.getString("phone"));
+                System.out.println("Name: " + mgrProfile.get("first_name") + " " + mgrProfile.get("last_name"));
+                System.out.println("Email: " + mgrProfile.get("email"));
+                System.out.println("Phone: " + mgrProfile.get("phone"));
             } else {
                 System.out.println("Manager details not found.");
             }
@@ -181,18 +184,12 @@ public class EmployeeService {
      */
     public static void viewUpcomingBirthdays() {
         try {
-            ResultSet rs = employeeDAO.getUpcomingBirthdays();
-
             System.out.println("\n--- UPCOMING BIRTHDAYS (Next 30 Days) ---");
-            boolean found = false;
-            while (rs.next()) {
-                found = true;
-                System.out.println(
-                        rs.getString("first_name") +
-                                " | DOB: " + rs.getDate("date_of_birth") // Ideally format MM-DD
-                );
-            }
-            if (!found)
+            int found = employeeDAO.getUpcomingBirthdays(rs -> System.out.println(
+                    rs.getString("first_name") +
+                            " | DOB: " + rs.getDate("date_of_birth") // Ideally format MM-DD
+            ));
+            if (found == 0)
                 System.out.println("No upcoming birthdays.");
 
         } catch (Exception e) {
@@ -206,17 +203,11 @@ public class EmployeeService {
      */
     public static void viewWorkAnniversaries() {
         try {
-            ResultSet rs = employeeDAO.getWorkAnniversaries();
-
             System.out.println("\n--- WORK ANNIVERSARIES (Next 30 Days) ---");
-            boolean found = false;
-            while (rs.next()) {
-                found = true;
-                System.out.println(
-                        rs.getString("first_name") +
-                                " | Joined: " + rs.getDate("joining_date"));
-            }
-            if (!found)
+            int found = employeeDAO.getWorkAnniversaries(rs -> System.out.println(
+                    rs.getString("first_name") +
+                            " | Joined: " + rs.getDate("joining_date")));
+            if (found == 0)
                 System.out.println("No upcoming anniversaries.");
 
         } catch (Exception e) {
@@ -230,18 +221,14 @@ public class EmployeeService {
      */
     public static void viewAnnouncements() {
         try {
-            ResultSet rs = announcementDAO.getAllAnnouncements();
-
             System.out.println("\n--- ANNOUNCEMENTS ---");
-            boolean found = false;
-            while (rs.next()) {
-                found = true;
+            int found = announcementDAO.getAllAnnouncements(rs -> {
                 System.out.println("Date: " + rs.getDate("posted_date"));
                 System.out.println("Title: " + rs.getString("title"));
                 System.out.println("Content: " + rs.getString("content"));
                 System.out.println("-------------------------");
-            }
-            if (!found)
+            });
+            if (found == 0)
                 System.out.println("No announcements.");
 
         } catch (Exception e) {
@@ -251,30 +238,42 @@ public class EmployeeService {
     }
 
     /**
-     * Searches for employees in the directory by name, ID, or email.
-     * Displays a tabulated list of matching results.
-     */
-    /**
-     * Searches for employees in the directory by name, ID, or email.
-     * Displays a tabulated list of matching results.
+     * Searches for employees in the directory by name, ID, email, department or
+     * designation. Displays matches best first, one page at a time.
      */
     public static void employeeDirectory() {
         String keyword = InputUtil.readString("Enter Name, ID, or Email to search: ");
         try {
-            java.util.List<java.util.Map<String, Object>> list = employeeDAO.searchEmployees(keyword);
-
-            if (list.isEmpty()) { // Check if list is empty
-                System.out.println("No matching employees found.");
-            } else {
-                System.out.println("\n--- EMPLOYEE DIRECTORY ---");
-                for (java.util.Map<String, Object> row : list) {
+            int offset = 0;
+            while (true) {
+                EmployeeSearchPage page = employeeDAO.searchDirectory(keyword, offset,
+                        AppConstants.DIRECTORY_PAGE_SIZE);
+
+                if (page.totalMatches() == 0) {
+                    System.out.println("No matching employees found.");
+                    return;
+                }
+                if (offset == 0) {
+                    System.out.println("\n--- EMPLOYEE DIRECTORY ---");
+                }
+                for (EmployeeSummary row : page.results()) {
                     System.out.println(
-                            row.get("employee_id") + " | " +
-                                    row.get("first_name") + " "
-                                    + (row.get("last_name") != null ? row.get("last_name") : "") + " | " +
-                                    row.get("email") + " | " +
-                                    row.get("department_name") + " | " +
-                                    row.get("designation_name"));
+                            row.employeeId() + " | " +
+                                    row.fullName() + " | " +
+                                    row.email() + " | " +
+                                    row.departmentName() + " | " +
+                                    row.designationName());
+                }
+                if (!page.hasMore()) {
+                    return;
+                }
+
+                offset += page.results().size();
+                String answer = InputUtil.readString(String.format(
+                        "Showing %d of %d. Enter N for the next page, or press Enter to stop: ",
+                        offset, page.totalMatches()));
+                if (!"N".equalsIgnoreCase(answer)) {
+                    return;
                 }
             }
         } catch (Exception e) {
@@ -3,14 +3,17 @@
  */
 package com.revworkforce.service;
 
+import com.revworkforce.dao.HolidayDAO;
 import com.revworkforce.dao.LeaveDAO;
+import com.revworkforce.dao.LeaveDecisionDAO;
+import com.revworkforce.model.LeaveBalanceRow;
+import com.revworkforce.model.LeaveDecision;
 import com.revworkforce.util.InputUtil;
 import com.revworkforce.util.MessageConstants;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.Date;
-import java.sql.ResultSet;
 
 /**
  * Service class for Leave Management operations.
@@ -24,6 +27,8 @@ public class LeaveService {
     private static final Logger logger = LogManager.getLogger(LeaveService.class);
 
     private static LeaveDAO dao = new LeaveDAO();
+    private static LeaveDecisionDAO decisionDAO = new LeaveDecisionDAO();
+    private static HolidayDAO holidayDAO = new HolidayDAO();
 
     /**
      * View leave balance for the logged-in employee.
@@ -32,17 +37,17 @@ public class LeaveService {
      */
     public static void viewLeaveBalance(String empId) {
         try {
-            java.util.List<java.util.Map<String, Object>> list = dao.getLeaveBalances(empId);
+            java.util.List<LeaveBalanceRow> list = dao.getLeaveBalances(empId);
             System.out.println("\n--- LEAVE BALANCE ---");
             if (list.isEmpty()) {
                 System.out.println("No leave balance records found.");
             } else {
-                for (java.util.Map<String, Object> row : list) {
+                for (LeaveBalanceRow row : list) {
                     System.out.println(
-                            row.get("leave_type_name") +
-                                    " | Total: " + row.get("total_allocated") +
-                                    " | Used: " + row.get("used_leaves") +
-                                    " | Available: " + row.get("available_leaves"));
+                            row.leaveTypeName() +
+                                    " | Total: " + row.totalAllocated() +
+                                    " | Used: " + row.usedLeaves() +
+                                    " | Available: " + row.availableLeaves());
                 }
             }
         } catch (Exception e) {
@@ -54,7 +59,8 @@ public class LeaveService {
     /**
      * Applies for a new leave request.
      * Prompts user for Leave Type, Dates, and Reason.
-     * Validates date logic (End Date >= Start Date).
+     * Validates date logic (End Date >= Start Date) and records the number of
+     * working days, excluding weekends and company holidays.
      *
      * @param empId Employee ID of the applicant.
      */
@@ -77,12 +83,19 @@ public class LeaveService {
                 return;
             }
 
-            dao.applyLeave(empId, leaveType, start, end, reason);
+            int days = holidayDAO.countWorkingDays(start, end);
+            if (days == 0) {
+                System.out.println("Error: The selected dates fall on weekends or holidays only.");
+                return;
+            }
+
+            dao.applyLeave(empId, leaveType, start, end, reason, days);
             AuditService.log(empId, "CREATE", "LEAVE_APPLICATIONS", "NEW", "Leave applied");
 
-            logger.info("Leave applied by employee {}. Type: {}, Start: {}, End: {}", empId, leaveType, start, end);
+            logger.info("Leave applied by employee {}. Type: {}, Start: {}, End: {}, Days: {}", empId, leaveType,
+                    start, end, days);
 
-            System.out.println("Leave applied successfully. Status: PENDING");
+            System.out.println("Leave applied successfully for " + days + " working day(s). Status: PENDING");
         } catch (IllegalArgumentException e) {
             System.out.println("Invalid date format. Please use YYYY-MM-DD.");
         } catch (Exception e) {
@@ -108,6 +121,7 @@ public class LeaveService {
                             "ID: " + row.get("leave_application_id") +
                                     " | " + row.get("start_date") +
                                     " -> " + row.get("end_date") +
+                                    (row.get("total_days") != null ? " (" + row.get("total_days") + " days)" : "") +
                                     " | " + row.get("status"));
                 }
             }
@@ -127,10 +141,14 @@ public class LeaveService {
         viewMyLeaves(empId);
         int leaveId = InputUtil.readInt("Enter Leave Application ID to cancel: ");
         try {
-            dao.cancelLeave(leaveId, empId);
+            LeaveDecision decision = decisionDAO.cancel(leaveId, empId);
+            if (!decision.isApplied()) {
+                System.out.println("Leave not cancelled: " + decision.outcome().getMessage());
+                return;
+            }
             AuditService.log(empId, "CANCEL", "LEAVE_APPLICATIONS", String.valueOf(leaveId), "Leave cancelled");
             logger.info("Leave application {} cancelled by employee {}", leaveId, empId);
-            System.out.println("Leave cancelled (if it was pending).");
+            System.out.println("Leave cancelled.");
         } catch (Exception e) {
             logger.error("Cancel failed: " + e.getMessage(), e);
             System.out.println("Error: Cancel failed. " + e.getMessage());
@@ -143,18 +161,12 @@ public class LeaveService {
     public static void viewHolidays() {
         System.out.println("\n--- HOLIDAY CALENDAR ---");
         try {
-            com.revworkforce.dao.HolidayDAO holidayDao = new com.revworkforce.dao.HolidayDAO();
-            java.sql.ResultSet rs = holidayDao.getHolidays(java.time.Year.now().getValue());
-
-            boolean found = false;
-            while (rs.next()) {
-                found = true;
-                System.out.printf("%-20s | %s%n",
-                        rs.getString("holiday_name"),
-                        rs.getDate("holiday_date"));
-            }
+            int found = holidayDAO.getHolidays(java.time.Year.now().getValue(),
+                    rs -> System.out.printf("%-20s | %s%n",
+                            rs.getString("holiday_name"),
+                            rs.getDate("holiday_date")));
 
-            if (!found) {
+            if (found == 0) {
                 System.out.println("No holidays found for this year.");
             }
         } catch (Exception e) {
@@ -3,15 +3,20 @@
  */
 package com.revworkforce.service;
 
+import com.revworkforce.config.AppConstants;
 import com.revworkforce.dao.AttendanceDAO;
 import com.revworkforce.dao.EmployeeDAO;
 import com.revworkforce.dao.LeaveDAO;
+import com.revworkforce.dao.LeaveDecisionDAO;
 import com.revworkforce.dao.PerformanceDAO;
+import com.revworkforce.model.EmployeeSummary;
+import com.revworkforce.model.LeaveBalanceRow;
+import com.revworkforce.model.LeaveDecision;
+import com.revworkforce.model.TeamLeaveRequest;
 import com.revworkforce.util.MessageConstants;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.sql.ResultSet;
 
 /**
  * Service class for Manager-specific operations.
@@ -26,6 +31,7 @@ public class ManagerService {
 
     private static EmployeeDAO employeeDAO = new EmployeeDAO();
     private static LeaveDAO leaveDAO = new LeaveDAO();
+    private static LeaveDecisionDAO leaveDecisionDAO = new LeaveDecisionDAO();
     private static AttendanceDAO attendanceDAO = new AttendanceDAO();
     private static PerformanceDAO performanceDAO = new PerformanceDAO();
 
@@ -44,17 +50,16 @@ public class ManagerService {
      */
     public static void viewTeam(String managerId) {
         try {
-            java.util.List<java.util.Map<String, Object>> list = employeeDAO.getReportees(managerId);
+            java.util.List<EmployeeSummary> list = employeeDAO.getReportees(managerId);
             System.out.println("\n--- MY TEAM ---");
 
-            for (java.util.Map<String, Object> row : list) {
+            for (EmployeeSummary row : list) {
                 System.out.println(
-                        row.get("employee_id") + " | " +
-                                row.get("first_name") + " "
-                                + (row.get("last_name") != null ? row.get("last_name") : "") + " | " +
-                                row.get("designation_name") + " | " +
-                                row.get("department_name") + " | " +
-                                row.get("email"));
+                        row.employeeId() + " | " +
+                                row.fullName() + " | " +
+                                row.designationName() + " | " +
+                                row.departmentName() + " | " +
+                                row.email());
             }
         } catch (Exception e) {
             logger.error("Failed to fetch team: " + e.getMessage(), e);
@@ -79,15 +84,13 @@ public class ManagerService {
      */
     public static void viewTeamBasic(String managerId) {
         try {
-            java.util.List<java.util.Map<String, Object>> list = employeeDAO.getReportees(managerId);
+            java.util.List<EmployeeSummary> list = employeeDAO.getReportees(managerId);
             System.out.println("\n--- TEAM MEMBERS ---");
             System.out.printf("%-10s | %-20s%n", "ID", "Name");
             System.out.println("---------------------------------");
 
-            for (java.util.Map<String, Object> row : list) {
-                String name = row.get("first_name") + " " +
-                        (row.get("last_name") != null ? row.get("last_name") : "");
-                System.out.printf("%-10s | %-20s%n", row.get("employee_id"), name);
+            for (EmployeeSummary row : list) {
+                System.out.printf("%-10s | %-20s%n", row.employeeId(), row.fullName());
             }
         } catch (Exception e) {
             logger.error("Failed to fetch team: " + e.getMessage(), e);
@@ -127,22 +130,20 @@ public class ManagerService {
      */
     public static void viewTeamLeaveRequests(String managerId) {
         try {
-            java.util.List<java.util.Map<String, Object>> list = leaveDAO.getTeamLeaveRequests(managerId);
+            java.util.List<TeamLeaveRequest> list = leaveDAO.getTeamLeaveRequests(managerId);
             System.out.println("\n--- TEAM LEAVE REQUESTS ---");
 
             if (list.isEmpty()) {
                 System.out.println("No pending requests.");
             } else {
-                for (java.util.Map<String, Object> row : list) {
-                    String name = row.get("first_name") + " "
-                            + (row.get("last_name") != null ? row.get("last_name") : "");
-                    String dept = row.get("department_name") != null ? (String) row.get("department_name") : "N/A";
+                for (TeamLeaveRequest row : list) {
+                    String dept = row.departmentName() != null ? row.departmentName() : "N/A";
 
                     System.out.println(
-                            "ID: " + row.get("leave_application_id") + " | " +
-                                    "Emp: " + row.get("employee_id") + " (" + name + ", " + dept + ") | " +
-                                    row.get("start_date") + " -> " +
-                                    row.get("end_date") + " | Status: " + row.get("status"));
+                            "ID: " + row.leaveApplicationId() + " | " +
+                                    "Emp: " + row.employeeId() + " (" + row.employeeName() + ", " + dept + ") | " +
+                                    row.startDate() + " -> " +
+                                    row.endDate() + " | Status: " + row.status());
                 }
             }
 
@@ -162,12 +163,7 @@ public class ManagerService {
      */
     public static boolean isPendingLeave(String managerId, int leaveId) {
         try {
-            java.util.List<java.util.Map<String, Object>> list = leaveDAO.getTeamLeaveRequests(managerId);
-            for (java.util.Map<String, Object> row : list) {
-                if ((int) row.get("leave_application_id") == leaveId) {
-                    return true;
-                }
-            }
+            return leaveDAO.isPendingTeamLeave(managerId, leaveId);
         } catch (Exception e) {
             logger.error("Error checking reportee relationship", e);
             System.out.println("Error: " + e.getMessage());
@@ -177,7 +173,8 @@ public class ManagerService {
 
     /**
      * Processes a leave request by updating its status (Approve/Reject) and logging
-     * the action.
+     * the action. Approval debits the employee's leave balance in the same
+     * transaction.
      * Sends a notification to the employee regarding the decision.
      * 
      * @param managerId The Manager processing the request.
@@ -187,23 +184,15 @@ public class ManagerService {
      */
     public static void processLeave(String managerId, int leaveId, String status, String comments) {
         try {
-            String targetEmpId = leaveDAO.getEmployeeIdForLeave(leaveId); // Get target employee
-
-            leaveDAO.updateLeaveStatus(leaveId, managerId, status, comments);
-
-            if (targetEmpId != null) {
-                com.revworkforce.service.NotificationService.notifyLeaveUpdate(targetEmpId, status);
+            LeaveDecision decision = leaveDecisionDAO.decide(leaveId, managerId, status, comments);
+            if (!decision.isApplied()) {
+                logger.warn("Leave request {} not {} by manager {}: {}", leaveId, status, managerId,
+                        decision.outcome());
+                System.out.println("Error: Leave processing failed. " + decision.outcome().getMessage());
+                return;
             }
 
-            AuditService.log(
-                    managerId,
-                    status,
-                    "LEAVE_APPLICATIONS",
-                    String.valueOf(leaveId),
-                    "Manager processed leave");
-
-            logger.info("Leave request {} processed by manager {}. Status: {}", leaveId, managerId, status);
-
+            recordDecision(managerId, decision, status, "Manager processed leave");
             System.out.println("Leave " + status + " successfully");
 
         } catch (Exception e) {
@@ -212,6 +201,65 @@ public class ManagerService {
         }
     }
 
+    /**
+     * Approves every pending leave request of the manager's team in one
+     * transaction per batch. Requests that cannot be approved (e.g. not
+     * enough balance) are listed and left pending.
+     *
+     * @param managerId The Manager processing the requests.
+     * @param comments  Comments recorded on every approved request.
+     */
+    public static void approveAllPendingLeaves(String managerId, String comments) {
+        try {
+            java.util.List<Integer> ids = new java.util.ArrayList<>();
+            for (TeamLeaveRequest row : leaveDAO.getTeamLeaveRequests(managerId)) {
+                ids.add(row.leaveApplicationId());
+            }
+            if (ids.isEmpty()) {
+                System.out.println("No pending leave requests.");
+                return;
+            }
+
+            int approved = 0;
+            for (int from = 0; from < ids.size(); from += AppConstants.LEAVE_DECISION_MAX_BATCH) {
+                java.util.List<Integer> batch = ids.subList(from,
+                        Math.min(ids.size(), from + AppConstants.LEAVE_DECISION_MAX_BATCH));
+                for (LeaveDecision decision : leaveDecisionDAO.decideAll(batch, managerId,
+                        AppConstants.STATUS_APPROVED, comments)) {
+                    if (decision.isApplied()) {
+                        recordDecision(managerId, decision, AppConstants.STATUS_APPROVED,
+                                "Manager approved leave (bulk)");
+                        approved++;
+                    } else {
+                        System.out.println("Leave " + decision.leaveApplicationId() + " not approved: "
+                                + decision.outcome().getMessage());
+                    }
+                }
+            }
+            System.out.println(approved + " of " + ids.size() + " leave requests approved.");
+
+        } catch (Exception e) {
+            logger.error("Bulk leave approval failed: " + e.getMessage(), e);
+            System.out.println("Error: Bulk leave approval failed. " + e.getMessage());
+        }
+    }
+
+    // Notification and audit for a committed decision
+    private static void recordDecision(String managerId, LeaveDecision decision, String action, String details) {
+        com.revworkforce.service.NotificationService.notifyLeaveUpdate(decision.employeeId(),
+                decision.newStatus());
+
+        AuditService.log(
+                managerId,
+                action,
+                "LEAVE_APPLICATIONS",
+                String.valueOf(decision.leaveApplicationId()),
+                details);
+
+        logger.info("Leave request {} processed by manager {}. Status: {}, balance change: {}",
+                decision.leaveApplicationId(), managerId, decision.newStatus(), decision.balanceChange());
+    }
+
     public static void viewTeamLeaveCalendar(String managerId) {
         try {
             java.util.List<java.util.Map<String, Object>> list = leaveDAO.getTeamLeaveCalendar(managerId);
@@ -232,28 +280,18 @@ public class ManagerService {
 
     public static void revokeApprovedLeave(String managerId, int leaveId, String reason) {
         try {
-            // Verify if leave is approved and belongs to team
-            // (Simplified check: assuming ID is sufficient and trusted or checked below)
-
-            // Re-verify it is capable of being revoked (should be approved)
-            // Using generic update for now, ideally strictly check status
-
-            leaveDAO.updateLeaveStatus(leaveId, managerId, "REVOKED", reason);
-
-            String targetEmpId = leaveDAO.getEmployeeIdForLeave(leaveId);
-            if (targetEmpId != null) {
-                com.revworkforce.service.NotificationService.notifyLeaveUpdate(targetEmpId, "REVOKED");
+            // Only an APPROVED leave can be revoked; its days go back to the balance
+            LeaveDecision decision = leaveDecisionDAO.decide(leaveId, managerId, AppConstants.STATUS_REVOKED,
+                    reason);
+            if (!decision.isApplied()) {
+                logger.warn("Leave {} not revoked by manager {}: {}", leaveId, managerId, decision.outcome());
+                System.out.println("Error: Failed to revoke leave. " + decision.outcome().getMessage());
+                return;
             }
 
-            AuditService.log(
-                    managerId,
-                    "REVOKE",
-                    "LEAVE_APPLICATIONS",
-                    String.valueOf(leaveId),
+            recordDecision(managerId, decision, "REVOKE",
                     "Manager revoked approved leave. Reason: " + reason);
 
-            logger.info("Approved leave {} revoked by manager {}. Reason: {}", leaveId, managerId, reason);
-
             System.out.println("Leave revoked successfully.");
 
         } catch (Exception e) {
@@ -281,16 +319,16 @@ public class ManagerService {
 
     public static void viewTeamLeaveBalances(String managerId) {
         try {
-            java.util.List<java.util.Map<String, Object>> list = leaveDAO.getTeamLeaveBalances(managerId);
+            java.util.List<LeaveBalanceRow> list = leaveDAO.getTeamLeaveBalances(managerId);
 
             System.out.println("\n--- TEAM LEAVE BALANCES ---");
-            for (java.util.Map<String, Object> row : list) {
+            for (LeaveBalanceRow row : list) {
                 System.out.println(
-                        row.get("employee_id") +
-                                " | " + row.get("leave_type_name") +
-                                " | Total: " + row.get("total_allocated") +
-                                " | Used: " + row.get("used_leaves") +
-                                " | Available: " + row.get("available_leaves"));
+                        row.employeeId() +
+                                " | " + row.leaveTypeName() +
+                                " | Total: " + row.totalAllocated() +
+                                " | Used: " + row.usedLeaves() +
+                                " | Available: " + row.availableLeaves());
             }
         } catch (Exception e) {
             logger.error(MessageConstants.UNABLE_TO_FETCH_PREFIX + "team leave balances: " + e.getMessage(), e);
@@ -308,15 +346,18 @@ public class ManagerService {
 
     public static void viewTeamAttendance(String managerId) {
         try {
-            ResultSet rs = attendanceDAO.getTeamAttendanceSummary(managerId);
             System.out.println("\n--- TEAM ATTENDANCE SUMMARY ---");
-
-            while (rs.next()) {
+            attendanceDAO.getTeamAttendanceSummary(managerId, rs -> {
+                int completed = rs.getInt("completed_days");
                 System.out.println(
                         rs.getString("employee_id") +
                                 " | Present: " + rs.getInt("present_days") +
-                                " | Absent: " + rs.getInt("absent_days"));
-            }
+                                " | Late: " + rs.getInt("late_days") +
+                                " | Absent: " + rs.getInt("absent_days") +
+                                " | Missing check-outs: " + rs.getInt("missing_checkouts") +
+                                " | Avg hours: " + (completed == 0 ? "-"
+                                        : String.format("%.1f", rs.getLong("worked_seconds") / 3600.0 / completed)));
+            });
         } catch (Exception e) {
             logger.error(MessageConstants.UNABLE_TO_FETCH_PREFIX + "attendance: " + e.getMessage(), e);
             System.out.println("Error: Unable to fetch attendance. " + e.getMessage());
@@ -325,15 +366,11 @@ public class ManagerService {
 
     public static void viewTeamPerformance(String managerId) {
         try {
-            ResultSet rs = performanceDAO.getTeamReviews(managerId);
             System.out.println("\n--- TEAM PERFORMANCE REVIEWS ---");
-
-            while (rs.next()) {
-                System.out.println(
-                        rs.getInt("review_id") + " | " +
-                                rs.getString("employee_id") + " | " +
-                                rs.getString("status"));
-            }
+            performanceDAO.getTeamReviews(managerId, rs -> System.out.println(
+                    rs.getInt("review_id") + " | " +
+                            rs.getString("employee_id") + " | " +
+                            rs.getString("status")));
         } catch (Exception e) {
             logger.error(MessageConstants.UNABLE_TO_FETCH_PREFIX + "performance data: " + e.getMessage(), e);
             System.out.println("Error: Unable to fetch performance data. " + e.getMessage());
@@ -388,19 +425,15 @@ public class ManagerService {
 
     public static void viewTeamGoals(String managerId) {
         try {
-            ResultSet rs = performanceDAO.getTeamGoals(managerId);
-
             System.out.println("\n--- TEAM GOALS ---");
             System.out.println("ID | Employee ID | Priority | Progress | Deadline");
             System.out.println("---------------------------------------------------------");
-            while (rs.next()) {
-                System.out.println(
-                        rs.getInt("goal_id") +
-                                " | " + rs.getString("employee_id") +
-                                " | " + rs.getString("priority") +
-                                " | Progress: " + rs.getInt("progress_percentage") + "%" +
-                                " | Deadline: " + rs.getDate("deadline"));
-            }
+            performanceDAO.getTeamGoals(managerId, rs -> System.out.println(
+                    rs.getInt("goal_id") +
+                            " | " + rs.getString("employee_id") +
+                            " | " + rs.getString("priority") +
+                            " | Progress: " + rs.getInt("progress_percentage") + "%" +
+                            " | Deadline: " + rs.getDate("deadline")));
         } catch (Exception e) {
             logger.error(MessageConstants.UNABLE_TO_FETCH_PREFIX + "team goals: " + e.getMessage(), e);
             System.out.println("Error: Unable to fetch team goals. " + e.getMessage());
@@ -409,15 +442,11 @@ public class ManagerService {
 
     public static void viewGoalCompletionSummary(String managerId) {
         try {
-            ResultSet rs = performanceDAO.getGoalCompletionSummary(managerId);
-
             System.out.println("\n--- GOAL COMPLETION SUMMARY ---");
-            while (rs.next()) {
-                System.out.println(
-                        rs.getString("employee_id") +
-                                " | Completed: " + rs.getInt("completed_goals") +
-                                " / " + rs.getInt("total_goals"));
-            }
+            performanceDAO.getGoalCompletionSummary(managerId, rs -> System.out.println(
+                    rs.getString("employee_id") +
+                            " | Completed: " + rs.getInt("completed_goals") +
+                            " / " + rs.getInt("total_goals")));
         } catch (Exception e) {
             logger.error(MessageConstants.UNABLE_TO_FETCH_PREFIX + "goal summary: " + e.getMessage(), e);
             System.out.println("Error: Unable to fetch goal summary. " + e.getMessage());
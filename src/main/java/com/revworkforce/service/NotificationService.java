@@ -3,13 +3,16 @@
  */
 package com.revworkforce.service;
 
-import com.revworkforce.dao.EmployeeDAO;
+import com.revworkforce.config.AppConstants;
 import com.revworkforce.dao.NotificationDAO;
+import com.revworkforce.model.DailyNotificationRun;
 
-import java.sql.ResultSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Service class for handling system notifications.
  * Manages notification creation, retrieval, and daily generation tasks.
@@ -21,7 +24,8 @@ public class NotificationService {
     private static final Logger logger = LogManager.getLogger(NotificationService.class);
 
     private static NotificationDAO dao = new NotificationDAO();
-    private static EmployeeDAO employeeDAO = new EmployeeDAO();
+    private static DailyNotificationJob dailyJob;
+    private static RetentionJob retentionJob;
 
     public static int getUnreadCount(String empId) {
         try {
@@ -50,33 +54,87 @@ public class NotificationService {
     }
 
     /**
-     * Generates recurring daily notifications.
-     * triggers automated alerts for Birthdays and Work Anniversaries.
-     * Should be scheduled to run once per day.
+     * Generates today's birthday and work anniversary notifications and
+     * prints how many were created. Safe to rerun: employees already notified
+     * today are skipped. Runs on the same job instance as the schedule, so a
+     * manual run waits for a scheduled one in progress rather than overlapping
+     * it.
      */
     public static void generateDailyNotifications() {
         try {
-            logger.info("Generating daily notifications...");
-            // Birthdays
-            try (ResultSet rs = employeeDAO.getBirthdaysToday()) {
-                while (rs.next()) {
-                    String empId = rs.getString("employee_id");
-                    String name = rs.getString("first_name");
-                    dao.createNotification(empId, "BIRTHDAY", "Happy Birthday, " + name + "!");
-                }
-            }
-
-            // Anniversaries
-            try (ResultSet rs = employeeDAO.getWorkAnniversariesToday()) {
-                while (rs.next()) {
-                    String empId = rs.getString("employee_id");
-                    dao.createNotification(empId, "ANNIVERSARY", "Happy Work Anniversary!");
-                }
-            }
-            logger.info("Daily notifications generated.");
-
+            DailyNotificationRun run = dailyJob().run(LocalDate.now());
+            System.out.println(run + ".");
         } catch (Exception e) {
             logger.error("Error generating daily notifications: " + e.getMessage(), e);
+            System.out.println("Error: Daily notifications failed. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts the scheduled daily notification job, unless disabled with
+     * -Dnotifications.daily.enabled=false.
+     */
+    public static synchronized void startDailyNotifications() {
+        if (!Boolean.parseBoolean(System.getProperty("notifications.daily.enabled", "true"))) {
+            return;
+        }
+        dailyJob().start();
+    }
+
+    /**
+     * Stops the schedule. The job instance is kept for manual runs.
+     */
+    public static synchronized void stopDailyNotifications() {
+        if (dailyJob != null) {
+            dailyJob.stop();
+        }
+    }
+
+    // The one job instance both the schedule and the admin menu run on
+    private static synchronized DailyNotificationJob dailyJob() {
+        if (dailyJob == null) {
+            dailyJob = new DailyNotificationJob(dao, AppConstants.DAILY_NOTIFICATION_TIME);
+        }
+        return dailyJob;
+    }
+
+    /**
+     * Loads the unread notification counts and keeps reconciling them with
+     * the database in the background, so no login waits on the load.
+     */
+    public static void startUnreadCounter() {
+        long interval = Long.getLong("notifications.unread.reconcile.ms",
+                AppConstants.UNREAD_RECONCILE_INTERVAL_MS);
+        NotificationDAO.getUnreadCounter().startReconciling(interval);
+    }
+
+    public static void stopUnreadCounter() {
+        NotificationDAO.getUnreadCounter().stopReconciling();
+    }
+
+    /**
+     * Starts archiving old read notifications in the background, unless
+     * disabled with -Dnotifications.retention.enabled=false. The first run
+     * is a minute after startup.
+     */
+    public static synchronized void startRetention() {
+        if (retentionJob != null
+                || !Boolean.parseBoolean(System.getProperty("notifications.retention.enabled", "true"))) {
+            return;
+        }
+        retentionJob = new RetentionJob("read notifications", dao::archiveReadNotifications,
+                Integer.getInteger("notifications.retention.days", AppConstants.NOTIFICATION_RETENTION_DAYS),
+                Integer.getInteger("notifications.retention.batch.size",
+                        AppConstants.NOTIFICATION_ARCHIVE_BATCH_SIZE),
+                AppConstants.NOTIFICATION_ARCHIVE_MAX_BATCHES);
+        retentionJob.start(TimeUnit.MINUTES.toMillis(1), Long.getLong("notifications.retention.interval.ms",
+                AppConstants.NOTIFICATION_ARCHIVE_INTERVAL_MS));
+    }
+
+    public static synchronized void stopRetention() {
+        if (retentionJob != null) {
+            retentionJob.stop();
+            retentionJob = null;
         }
     }
 }
@@ -8,7 +8,6 @@ import com.revworkforce.util.InputUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.sql.ResultSet;
 
 /**
  * Service class for Performance Management.
@@ -32,15 +31,11 @@ public class PerformanceService {
     public static void reviewTeam(String managerId) {
 
         try {
-            ResultSet rs = dao.getTeamReviews(managerId);
             System.out.println("\n--- TEAM PERFORMANCE ---");
-
-            while (rs.next()) {
-                System.out.println(
-                        rs.getInt("review_id") +
-                                " | " + rs.getString("employee_id") +
-                                " | Status: " + rs.getString("status"));
-            }
+            dao.getTeamReviews(managerId, rs -> System.out.println(
+                    rs.getInt("review_id") +
+                            " | " + rs.getString("employee_id") +
+                            " | Status: " + rs.getString("status")));
 
             int reviewId = InputUtil.readInt("Review ID to process: ");
             String feedback = InputUtil.readString("Manager Feedback: ");
@@ -119,16 +114,12 @@ public class PerformanceService {
     public static void manageGoals(String empId) {
 
         try {
-            ResultSet rs = dao.getMyGoals(empId);
             System.out.println("\n--- MY GOALS ---");
-
-            while (rs.next()) {
-                System.out.println(
-                        rs.getInt("goal_id") + " | " +
-                                rs.getString("goal_description") +
-                                " | Progress: " +
-                                rs.getInt("progress_percentage") + "%");
-            }
+            dao.getMyGoals(empId, rs -> System.out.println(
+                    rs.getInt("goal_id") + " | " +
+                            rs.getString("goal_description") +
+                            " | Progress: " +
+                            rs.getInt("progress_percentage") + "%"));
 
             int goalId = InputUtil.readInt("Goal ID to update: ");
             int progress = InputUtil.readInt("New progress %: ");
@@ -157,14 +148,10 @@ public class PerformanceService {
     public static void viewManagerFeedback(String empId) {
 
         try {
-            ResultSet rs = dao.getMyFeedback(empId);
-
             System.out.println("\n--- MANAGER FEEDBACK ---");
-            while (rs.next()) {
-                System.out.println(
-                        "Rating: " + rs.getInt("manager_rating") +
-                                " | Feedback: " + rs.getString("manager_feedback"));
-            }
+            dao.getMyFeedback(empId, rs -> System.out.println(
+                    "Rating: " + rs.getInt("manager_rating") +
+                            " | Feedback: " + rs.getString("manager_feedback")));
         } catch (Exception e) {
             logger.error("No feedback available: " + e.getMessage(), e);
             System.out.println("Error: No feedback available. " + e.getMessage());
@@ -7,7 +7,6 @@ import com.revworkforce.dao.PerformanceDAO;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.sql.ResultSet;
 
 /**
  * Service class for generating reports.
@@ -29,14 +28,10 @@ public class ReportService {
     public static void teamPerformanceSummary(String managerId) {
 
         try {
-            ResultSet rs = dao.getTeamPerformanceSummary(managerId);
-
             System.out.println("\n--- TEAM PERFORMANCE SUMMARY ---");
-            while (rs.next()) {
-                System.out.println(
-                        rs.getString("employee_id") +
-                                " | Avg Rating: " + rs.getDouble("avg_rating"));
-            }
+            dao.getTeamPerformanceSummary(managerId, rs -> System.out.println(
+                    rs.getString("employee_id") +
+                            " | Avg Rating: " + rs.getDouble("avg_rating")));
         } catch (Exception e) {
             logger.error("Unable to generate performance report", e);
         }
@@ -0,0 +1,113 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves rows older than a retention period out of a hot table (read
+ * notifications, audit entries) into its archive table, so the live table
+ * only holds what everyday screens query.
+ * <p>
+ * Each batch is its own short transaction, and a run stops after a fixed
+ * number of batches; a large first backlog is therefore worked off over
+ * several runs instead of holding locks for one long delete.
+ *
+ * @author Gururaj Shetty
+ */
+public class RetentionJob {
+
+    private static final Logger logger = LogManager.getLogger(RetentionJob.class);
+
+    /** Moves up to batchSize rows created before the cutoff; returns how many moved. */
+    @FunctionalInterface
+    public interface Archiver {
+        int archive(Timestamp cutoff, int batchSize) throws Exception;
+    }
+
+    private final String name;
+    private final Archiver archiver;
+    private final int retentionDays;
+    private final int batchSize;
+    private final int maxBatches;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param name          What is archived, for logs and the thread name.
+     * @param archiver      Moves one batch.
+     * @param retentionDays Age after which rows are archived.
+     * @param batchSize     Rows moved per transaction.
+     * @param maxBatches    Most batches per run.
+     */
+    public RetentionJob(String name, Archiver archiver, int retentionDays, int batchSize, int maxBatches) {
+        this.name = name;
+        this.archiver = archiver;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * Archives rows older than the retention period as of now.
+     *
+     * @param now Current time.
+     * @return Number of rows archived.
+     * @throws Exception if a batch fails; earlier batches stay archived.
+     */
+    public synchronized int run(LocalDateTime now) throws Exception {
+        long start = System.nanoTime();
+        Timestamp cutoff = Timestamp.valueOf(now.minusDays(retentionDays));
+        int archived = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int moved = archiver.archive(cutoff, batchSize);
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        logger.info("Archived {} {} created before {} in {} ms", archived, name, cutoff,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return archived;
+    }
+
+    /**
+     * Runs on a daemon thread at a fixed interval.
+     *
+     * @param initialDelayMs Delay before the first run.
+     * @param intervalMs     Time between the end of one run and the next.
+     */
+    public synchronized void start(long initialDelayMs, long intervalMs) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, name.replace(' ', '-') + "-retention");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::runScheduled, initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void runScheduled() {
+        try {
+            run(LocalDateTime.now());
+        } catch (Exception e) {
+            logger.error("Retention run for " + name + " failed: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.util;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resizes the connection pool from observed acquire times.
+ * <p>
+ * Every interval it looks at the 95th percentile wait for a connection since
+ * the last check. If callers waited longer than the target, or any checkout
+ * timed out, the pool grows by a quarter (at least one connection) up to the
+ * adaptive maximum. If waits stayed well under the target and less than half
+ * the pool was busy, it shrinks by one connection, never below the
+ * configured size. Hikari applies a new maximum at runtime; surplus idle
+ * connections are retired as they are returned.
+ *
+ * @author Gururaj Shetty
+ */
+public class AdaptivePoolSizer {
+
+    private static final Logger logger = LogManager.getLogger(AdaptivePoolSizer.class);
+
+    // Waits below target / SHRINK_HEADROOM count as "well under" the target
+    private static final int SHRINK_HEADROOM = 4;
+
+    private final PoolMetrics metrics;
+    private final HikariConfigMXBean pool;
+    private final int minSize;
+    private final int maxSize;
+    private final long targetWaitMicros;
+    private long lastTimeouts;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param metrics      Pool telemetry.
+     * @param pool         Runtime view of the pool configuration.
+     * @param minSize      Smallest maximum pool size to shrink to.
+     * @param maxSize      Largest maximum pool size to grow to.
+     * @param targetWaitMs Acceptable 95th percentile acquire time.
+     */
+    public AdaptivePoolSizer(PoolMetrics metrics, HikariConfigMXBean pool, int minSize, int maxSize,
+            long targetWaitMs) {
+        this.metrics = metrics;
+        this.pool = pool;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetWaitMicros = TimeUnit.MILLISECONDS.toMicros(targetWaitMs);
+        this.lastTimeouts = metrics.getTimeouts();
+    }
+
+    /**
+     * Starts checking on a daemon thread.
+     *
+     * @param intervalMs Time between checks.
+     */
+    public synchronized void start(long intervalMs) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-sizer");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::adjustQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void adjustQuietly() {
+        try {
+            adjust();
+        } catch (RuntimeException e) {
+            logger.error("Pool resize check failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs one resize check.
+     *
+     * @return The pool's maximum size after the check.
+     */
+    public int adjust() {
+        LatencyHistogram.Snapshot waits = metrics.drainRecentAcquireTimes();
+        long timeouts = metrics.getTimeouts();
+        long newTimeouts = timeouts - lastTimeouts;
+        lastTimeouts = timeouts;
+
+        int current = pool.getMaximumPoolSize();
+        long p95 = waits.getPercentile(95);
+        int target = current;
+        if (newTimeouts > 0 || p95 > targetWaitMicros) {
+            target = Math.min(maxSize, current + Math.max(1, current / 4));
+        } else if (waits.getCount() > 0 && p95 < targetWaitMicros / SHRINK_HEADROOM
+                && metrics.getActiveConnections() * 2 < current) {
+            target = Math.max(minSize, current - 1);
+        }
+
+        if (target != current) {
+            if (pool.getMinimumIdle() > target) {
+                pool.setMinimumIdle(target);
+            }
+            pool.setMaximumPoolSize(target);
+            logger.info("Connection pool resized {} -> {} (p95 acquire {}us, {} timeouts, {} checkouts)",
+                    current, target, p95, newTimeouts, waits.getCount());
+        }
+        return target;
+    }
+}
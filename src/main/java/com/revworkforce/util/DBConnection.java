@@ -8,24 +8,39 @@ import org.apache.logging.log4j.Logger;
 import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Utility class for managing Database connections using HikariCP.
  * Loads configuration from db.properties and manages a connection pool.
+ * The pool is created on first use. Each db.* setting can be overridden with
+ * a system property of the same name (e.g. -Ddb.url=...) or an environment
+ * variable (DB_URL=...); the benchmarks use this to point the application at
+ * an embedded database. Pool sizing, timeouts, leak detection, metrics and
+ * adaptive sizing are described in {@link PoolSettings}.
  * 
  * @author Gururaj Shetty
  */
 public class DBConnection {
 
     private static final Logger logger = LogManager.getLogger(DBConnection.class);
-    private static HikariDataSource dataSource;
+    private static volatile HikariDataSource dataSource;
+    private static volatile PoolMetrics poolMetrics;
+    private static volatile AdaptivePoolSizer poolSizer;
+    private static final List<Runnable> shutdownHooks = new CopyOnWriteArrayList<>();
 
     private DBConnection() {
         // Private constructor
     }
 
-    static {
+    /**
+     * Creates the HikariCP pool from db.properties.
+     * Invoked lazily on first use so that classes which only register shutdown
+     * work do not force a database connection.
+     */
+    private static HikariDataSource createDataSource() {
         try {
             Properties props = new Properties();
             // Use absolute path for safety in static context
@@ -46,20 +61,31 @@ public class DBConnection {
             }
 
             HikariConfig config = new HikariConfig();
-            config.setJdbcUrl(props.getProperty("db.url"));
-            config.setUsername(props.getProperty("db.user"));
-            config.setPassword(props.getProperty("db.password"));
-            config.setDriverClassName(props.getProperty("db.driver"));
-
-            // Pool Configuration for Performance
-            config.setMaximumPoolSize(10); // Max connections in pool
-            config.setMinimumIdle(2); // Min idle connections
-            config.setIdleTimeout(30000); // 30 seconds
-            config.setConnectionTimeout(30000); // 30 seconds wait time
+            config.setJdbcUrl(PoolSettings.lookup(props, "db.url"));
+            config.setUsername(PoolSettings.lookup(props, "db.user"));
+            config.setPassword(PoolSettings.lookup(props, "db.password"));
+            config.setDriverClassName(PoolSettings.lookup(props, "db.driver"));
+
+            PoolSettings settings = PoolSettings.from(props);
+            settings.applyTo(config);
             config.setPoolName("RevWorkForcePool");
 
-            dataSource = new HikariDataSource(config);
-            logger.info("HikariCP Connection Pool initialized successfully.");
+            PoolMetrics metrics = null;
+            if (settings.isMetrics() || settings.isAdaptive()) {
+                metrics = new PoolMetrics();
+                config.setMetricsTrackerFactory(metrics);
+            }
+
+            HikariDataSource ds = new HikariDataSource(config);
+            poolMetrics = metrics;
+            if (settings.isAdaptive()) {
+                AdaptivePoolSizer sizer = new AdaptivePoolSizer(metrics, ds.getHikariConfigMXBean(),
+                        settings.getMaxSize(), settings.getAdaptiveMaxSize(), settings.getAdaptiveTargetWaitMs());
+                sizer.start(settings.getAdaptiveIntervalMs());
+                poolSizer = sizer;
+            }
+            logger.info("HikariCP Connection Pool initialized successfully: {}", settings);
+            return ds;
 
         } catch (Exception e) {
             logger.fatal("Failed to initialize database connection pool", e);
@@ -67,6 +93,30 @@ public class DBConnection {
         }
     }
 
+    private static HikariDataSource getDataSource() {
+        HikariDataSource ds = dataSource;
+        if (ds == null) {
+            synchronized (DBConnection.class) {
+                ds = dataSource;
+                if (ds == null) {
+                    ds = createDataSource();
+                    dataSource = ds;
+                }
+            }
+        }
+        return ds;
+    }
+
+    /**
+     * Registers work to run when the pool is shut down, before connections are
+     * closed (e.g. flushing buffered writes).
+     *
+     * @param hook Task to run on shutdown.
+     */
+    public static void addShutdownHook(Runnable hook) {
+        shutdownHooks.add(hook);
+    }
+
     /**
      * Gets a connection from the HikariCP pool.
      *
@@ -74,13 +124,38 @@ public class DBConnection {
      * @throws SQLException If a database access error occurs.
      */
     public static Connection getConnection() throws SQLException {
-        return dataSource.getConnection();
+        return getDataSource().getConnection();
+    }
+
+    /**
+     * Returns the pool telemetry.
+     *
+     * @return Metrics, or null if the pool has not been created or
+     *         db.pool.metrics is off.
+     */
+    public static PoolMetrics getPoolMetrics() {
+        return poolMetrics;
     }
 
     /**
      * Closes the connection pool. call strictly on application shutdown.
      */
     public static void shutdown() {
+        for (Runnable hook : shutdownHooks) {
+            try {
+                hook.run();
+            } catch (Exception e) {
+                logger.error("Shutdown hook failed: " + e.getMessage(), e);
+            }
+        }
+        AdaptivePoolSizer sizer = poolSizer;
+        if (sizer != null) {
+            sizer.stop();
+        }
+        PoolMetrics metrics = poolMetrics;
+        if (metrics != null) {
+            logger.info("Connection pool usage:{}{}", System.lineSeparator(), metrics);
+        }
         if (dataSource != null) {
             dataSource.close();
             logger.info("HikariCP Connection Pool closed.");
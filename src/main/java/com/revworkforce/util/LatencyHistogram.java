@@ -0,0 +1,155 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of non-negative durations.
+ * Buckets split each power of two into four, so a reported percentile is the
+ * upper edge of a bucket at most 25% wider than the values in it. Recording is
+ * a couple of atomic increments, cheap enough for every pool checkout.
+ *
+ * @author Gururaj Shetty
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+    private static final int BUCKETS = SUB_BUCKETS + 61 * SUB_BUCKETS;
+
+    private final String unit;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param unit Unit of the recorded values, used in {@link #toString()}.
+     */
+    public LatencyHistogram(String unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Records one value; negative values count as zero.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(bucketOf(v));
+        sum.addAndGet(v);
+        max.accumulateAndGet(v, Math::max);
+    }
+
+    /**
+     * Returns a consistent-enough copy for reporting. Values recorded while
+     * the copy is taken may or may not be included.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(unit, copy, sum.get(), max.get());
+    }
+
+    /**
+     * Returns the values recorded since the previous call and starts a new
+     * window. Used for decisions that should only see recent behaviour.
+     */
+    public Snapshot snapshotAndReset() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.getAndSet(i, 0);
+        }
+        return new Snapshot(unit, copy, sum.getAndSet(0), max.getAndSet(0));
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - 2)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - 2) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + 2;
+        long sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        long next = (SUB_BUCKETS + sub + 1) << (exponent - 2);
+        return next - 1;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * Immutable view of a histogram.
+     */
+    public static final class Snapshot {
+
+        private final String unit;
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(String unit, long[] counts, long sum, long max) {
+            this.unit = unit;
+            this.counts = counts;
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            this.count = total;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Returns the smallest bucket edge at or below which the given share of
+         * values fall, capped at the largest value seen.
+         *
+         * @param percentile Between 0 and 100.
+         * @return The percentile, or 0 if nothing was recorded.
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%.1f p50=%d p95=%d p99=%d max=%d %s", count, getMean(),
+                    getPercentile(50), getPercentile(95), getPercentile(99), max, unit);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Small in-process read-through cache with a bounded size, a time-to-live and
+ * least-recently-used eviction.
+ * Keeps hit/miss/eviction counters so cache effectiveness can be checked at
+ * runtime.
+ *
+ * @author Gururaj Shetty
+ */
+public class LruCache<K, V> {
+
+    /**
+     * Loads a value on a cache miss. Returning null means "do not cache".
+     */
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        V load(K key) throws Exception;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<K, Entry<V>> map;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Bumped on every invalidation so that a load racing with a write does not
+    // put a stale value back into the cache.
+    private long generation;
+
+    public LruCache(String name, int maxSize, long ttl, TimeUnit unit) {
+        this(name, maxSize, ttl, unit, System::nanoTime);
+    }
+
+    LruCache(String name, int maxSize, long ttl, TimeUnit unit, LongSupplier ticker) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.ticker = ticker;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value, or null if absent or expired.
+     *
+     * @param key Cache key.
+     * @return Cached value or null.
+     */
+    public V get(K key) {
+        synchronized (this) {
+            Entry<V> entry = map.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - ticker.getAsLong() > 0) {
+                    hits.incrementAndGet();
+                    return entry.value;
+                }
+                map.remove(key);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Returns the cached value, loading and caching it on a miss.
+     * The loader runs outside the cache lock.
+     *
+     * @param key    Cache key.
+     * @param loader Loader invoked on a miss.
+     * @return The cached or freshly loaded value (may be null).
+     * @throws Exception if the loader fails.
+     */
+    public V getOrLoad(K key, Loader<K, V> loader) throws Exception {
+        long startGeneration;
+        synchronized (this) {
+            Entry<V> entry = map.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - ticker.getAsLong() > 0) {
+                    hits.incrementAndGet();
+                    return entry.value;
+                }
+                map.remove(key);
+            }
+            startGeneration = generation;
+        }
+        misses.incrementAndGet();
+
+        V value = loader.load(key);
+        if (value != null) {
+            synchronized (this) {
+                if (generation == startGeneration) {
+                    map.put(key, new Entry<>(value, ticker.getAsLong() + ttlNanos));
+                }
+            }
+        }
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        map.put(key, new Entry<>(value, ticker.getAsLong() + ttlNanos));
+    }
+
+    /**
+     * Returns a marker to pass to {@link #putIfNotInvalidated} once a value
+     * read outside the cache is ready.
+     *
+     * @return The current invalidation count.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Caches a value read outside the cache unless an invalidation has
+     * happened since {@link #generation()} was taken, in which case the value
+     * may already be stale and is not cached.
+     *
+     * @param key        Cache key.
+     * @param value      Value to cache.
+     * @param generation Marker taken before the value was read.
+     * @return true if the value was cached.
+     */
+    public synchronized boolean putIfNotInvalidated(K key, V value, long generation) {
+        if (this.generation != generation) {
+            return false;
+        }
+        map.put(key, new Entry<>(value, ticker.getAsLong() + ttlNanos));
+        return true;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        map.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        map.clear();
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return Fraction of lookups served from the cache (0.0 when unused).
+     */
+    public double getHitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public void resetStats() {
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[size=%d/%d, hits=%d, misses=%d, evictions=%d, hitRatio=%.1f%%]",
+                name, size(), maxSize, getHits(), getMisses(), getEvictions(), getHitRatio() * 100);
+    }
+}
@@ -0,0 +1,471 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.util;
+
+import com.revworkforce.config.AppConstants;
+import com.revworkforce.exception.AppException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies versioned schema migrations (db/migration/V&lt;n&gt;__&lt;name&gt;.sql,
+ * listed in order in migrations.txt) and records each one in the
+ * schema_migrations table with a checksum of its script.
+ * <p>
+ * A migration already recorded is skipped; one whose script has changed since
+ * it was applied stops the run, since the database no longer matches what
+ * the script says. Oracle commits DDL as it runs, so a migration that fails
+ * halfway cannot be rolled back: to make the retry safe, a CREATE TABLE,
+ * CREATE INDEX or ALTER TABLE ... ADD whose table, index or columns already
+ * exist is skipped rather than failing. Other statements run again, so they
+ * have to be safe to repeat.
+ * <p>
+ * Work that has to follow a migration once, such as filling a new table from
+ * existing rows, is registered with {@link #afterMigration} and runs after the
+ * run that applies that migration.
+ *
+ * @author Gururaj Shetty
+ */
+public class MigrationRunner {
+
+    private static final Logger logger = LogManager.getLogger(MigrationRunner.class);
+
+    static final String HISTORY_TABLE = "SCHEMA_MIGRATIONS";
+    static final String MIGRATION_DIR = "/db/migration/";
+    static final String MIGRATION_LIST = MIGRATION_DIR + "migrations.txt";
+
+    private static final String SQL_CREATE_HISTORY = """
+                CREATE TABLE schema_migrations (
+                    version NUMBER(10) NOT NULL,
+                    description VARCHAR2(200) NOT NULL,
+                    checksum VARCHAR2(64) NOT NULL,
+                    applied_at TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
+                    execution_ms NUMBER(10) NOT NULL,
+                    CONSTRAINT pk_schema_migrations PRIMARY KEY (version)
+                )
+            """;
+
+    private static final String SQL_APPLIED = "SELECT version, checksum FROM schema_migrations";
+
+    private static final String SQL_RECORD = """
+                INSERT INTO schema_migrations (version, description, checksum, execution_ms)
+                VALUES (?, ?, ?, ?)
+            """;
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "^CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+(\\w+)\\s+ON\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CREATE_TABLE = Pattern.compile(
+            "^CREATE\\s+TABLE\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ADD_COLUMNS = Pattern.compile(
+            "^ALTER\\s+TABLE\\s+(\\w+)\\s+ADD\\s*(\\(?)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * One migration script.
+     *
+     * @param version     Order of application; unique.
+     * @param description Taken from the file name.
+     * @param script      SQL statements, each ending with ";".
+     */
+    public record Migration(int version, String description, String script) {
+
+        /**
+         * @return SHA-256 of the script, ignoring line-ending differences.
+         */
+        public String checksum() {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                byte[] hash = digest.digest(script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(hash);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+
+    /**
+     * Work to do once after a migration has been applied.
+     */
+    @FunctionalInterface
+    public interface AfterMigration {
+        void run() throws Exception;
+    }
+
+    private final List<Migration> migrations;
+    private final Map<Integer, AfterMigration> afterMigration = new HashMap<>();
+
+    public MigrationRunner(List<Migration> migrations) {
+        List<Migration> sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(Migration::version));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).version() == sorted.get(i - 1).version()) {
+                throw new IllegalArgumentException("Duplicate migration version " + sorted.get(i).version());
+            }
+        }
+        this.migrations = List.copyOf(sorted);
+    }
+
+    /**
+     * Loads the migrations listed in db/migration/migrations.txt.
+     *
+     * @return A runner for the application's migrations.
+     * @throws IOException if a listed script is missing or badly named.
+     */
+    public static MigrationRunner fromClasspath() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        for (String line : readResource(MIGRATION_LIST).split("\n")) {
+            String name = line.trim();
+            if (name.isEmpty() || name.startsWith("#")) {
+                continue;
+            }
+            Matcher m = FILE_NAME.matcher(name);
+            if (!m.matches()) {
+                throw new IOException("Migration file name must look like V1__description.sql: " + name);
+            }
+            migrations.add(new Migration(Integer.parseInt(m.group(1)), m.group(2).replace('_', ' '),
+                    readResource(MIGRATION_DIR + name)));
+        }
+        return new MigrationRunner(migrations);
+    }
+
+    /**
+     * Applies the application's migrations at startup, unless
+     * -Ddb.migrate.on.startup=false.
+     *
+     * @param con Connection to the application schema.
+     * @return Number of migrations applied.
+     * @throws Exception if a migration fails or was changed after it was applied.
+     */
+    public static int migrateOnStartup(Connection con) throws Exception {
+        return migrateOnStartup(con, fromClasspath());
+    }
+
+    /**
+     * Applies the given runner's migrations at startup, unless
+     * -Ddb.migrate.on.startup=false.
+     *
+     * @param con    Connection to the application schema.
+     * @param runner Migrations, with any work registered to follow them.
+     * @return Number of migrations applied.
+     * @throws Exception if a migration fails or was changed after it was applied.
+     */
+    public static int migrateOnStartup(Connection con, MigrationRunner runner) throws Exception {
+        boolean enabled = Boolean.parseBoolean(
+                System.getProperty("db.migrate.on.startup", String.valueOf(AppConstants.DB_MIGRATE_ON_STARTUP)));
+        if (!enabled) {
+            logger.info("Schema migrations skipped (db.migrate.on.startup=false)");
+            return 0;
+        }
+        return runner.migrate(con);
+    }
+
+    /**
+     * Applies pending migrations on demand.
+     */
+    public static void main(String[] args) {
+        try (Connection con = DBConnection.getConnection()) {
+            int applied = fromClasspath().migrate(con);
+            System.out.println("Schema migrations applied: " + applied);
+        } catch (Exception e) {
+            logger.error("Schema migration failed", e);
+            System.out.println("Schema migration failed: " + e.getMessage());
+        }
+    }
+
+    public List<Migration> getMigrations() {
+        return migrations;
+    }
+
+    /**
+     * Registers work to run once the given migration has been applied, e.g.
+     * a backfill of a table it creates. It runs only in the migrate call that
+     * applies the migration, after every pending migration is in. The
+     * migration is recorded before the work starts, so if the work fails it
+     * is logged and has to be run again by hand.
+     *
+     * @param version Migration the work follows.
+     * @param work    What to run.
+     * @return This runner.
+     */
+    public MigrationRunner afterMigration(int version, AfterMigration work) {
+        afterMigration.put(version, work);
+        return this;
+    }
+
+    /**
+     * Applies every migration not yet recorded, in version order.
+     *
+     * @param con Connection to the application schema.
+     * @return Number of migrations applied.
+     * @throws AppException if an applied migration's script has changed.
+     * @throws SQLException if a migration fails; later ones are not attempted.
+     */
+    public int migrate(Connection con) throws SQLException {
+        ensureHistoryTable(con);
+        Map<Integer, String> applied = loadApplied(con);
+
+        List<Migration> appliedNow = new ArrayList<>();
+        for (Migration migration : migrations) {
+            String recorded = applied.get(migration.version());
+            if (recorded == null) {
+                apply(con, migration);
+                appliedNow.add(migration);
+            } else if (!recorded.equals(migration.checksum())) {
+                throw new AppException("Migration V" + migration.version() + " (" + migration.description()
+                        + ") was changed after it was applied");
+            }
+        }
+        logger.info("Schema is at V{} ({} migration(s) applied now)",
+                migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version(), appliedNow.size());
+        for (Migration migration : appliedNow) {
+            runAfterMigration(migration);
+        }
+        return appliedNow.size();
+    }
+
+    private void runAfterMigration(Migration migration) {
+        AfterMigration work = afterMigration.get(migration.version());
+        if (work == null) {
+            return;
+        }
+        try {
+            work.run();
+            logger.info("Completed the work that follows V{} ({})", migration.version(), migration.description());
+        } catch (Exception e) {
+            logger.error("Work following V" + migration.version() + " (" + migration.description()
+                    + ") failed and must be run by hand: " + e.getMessage(), e);
+        }
+    }
+
+    private void apply(Connection con, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        try (Statement st = con.createStatement()) {
+            for (String sql : parseStatements(migration.script())) {
+                String existing = alreadyApplied(con, sql);
+                if (existing != null) {
+                    logger.info("V{}: {} already exists, skipped: {}", migration.version(), existing, sql);
+                    continue;
+                }
+                st.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Migration V" + migration.version() + " (" + migration.description()
+                    + ") failed: " + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        try (PreparedStatement ps = con.prepareStatement(SQL_RECORD)) {
+            ps.setInt(1, migration.version());
+            ps.setString(2, migration.description());
+            ps.setString(3, migration.checksum());
+            ps.setLong(4, elapsedMs);
+            ps.executeUpdate();
+        }
+        if (!con.getAutoCommit()) {
+            con.commit();
+        }
+        logger.info("Applied migration V{} ({}) in {} ms", migration.version(), migration.description(), elapsedMs);
+    }
+
+    private static void ensureHistoryTable(Connection con) throws SQLException {
+        DatabaseMetaData meta = con.getMetaData();
+        try (ResultSet rs = meta.getTables(null, con.getSchema(), HISTORY_TABLE, new String[] { "TABLE" })) {
+            if (rs.next()) {
+                return;
+            }
+        }
+        try (Statement st = con.createStatement()) {
+            st.execute(SQL_CREATE_HISTORY);
+        }
+        logger.info("Created schema migration history table");
+    }
+
+    private static Map<Integer, String> loadApplied(Connection con) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement st = con.createStatement();
+                ResultSet rs = st.executeQuery(SQL_APPLIED)) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Checks whether a statement's effect is already in the schema, as after
+     * a migration that failed partway.
+     *
+     * @return What already exists ("table", "index", "columns"), or null if
+     *         the statement has to run.
+     */
+    private static String alreadyApplied(Connection con, String sql) throws SQLException {
+        Matcher m = CREATE_INDEX.matcher(sql);
+        if (m.find()) {
+            return indexExists(con, m.group(2), m.group(1)) ? "index" : null;
+        }
+        m = CREATE_TABLE.matcher(sql);
+        if (m.find()) {
+            return tableExists(con, m.group(1)) ? "table" : null;
+        }
+        m = ADD_COLUMNS.matcher(sql);
+        if (m.find()) {
+            List<String> columns = addedColumns(sql.substring(m.end()), !m.group(2).isEmpty());
+            return columnsExist(con, m.group(1), columns) ? "columns" : null;
+        }
+        return null;
+    }
+
+    private static boolean indexExists(Connection con, String table, String index) throws SQLException {
+        try (ResultSet rs = con.getMetaData().getIndexInfo(null, con.getSchema(),
+                table.toUpperCase(Locale.ROOT), false, true)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean tableExists(Connection con, String table) throws SQLException {
+        try (ResultSet rs = con.getMetaData().getTables(null, con.getSchema(), table.toUpperCase(Locale.ROOT),
+                new String[] { "TABLE" })) {
+            return rs.next();
+        }
+    }
+
+    private static boolean columnsExist(Connection con, String table, List<String> columns) throws SQLException {
+        List<String> missing = new ArrayList<>(columns);
+        try (ResultSet rs = con.getMetaData().getColumns(null, con.getSchema(), table.toUpperCase(Locale.ROOT),
+                null)) {
+            while (rs.next()) {
+                String column = rs.getString("COLUMN_NAME");
+                missing.removeIf(column::equalsIgnoreCase);
+            }
+        }
+        return !columns.isEmpty() && missing.isEmpty();
+    }
+
+    /**
+     * Names of the columns in an ADD clause: the first word of each
+     * top-level, comma-separated definition when the list is in brackets,
+     * otherwise the first word.
+     *
+     * @param definitions Text after "ADD" (and its opening bracket).
+     * @param list        Whether the definitions are in brackets.
+     * @return Column names.
+     */
+    static List<String> addedColumns(String definitions, boolean list) {
+        List<String> columns = new ArrayList<>();
+        int depth = 0;
+        boolean expectName = true;
+        for (int i = 0; i < definitions.length(); i++) {
+            char c = definitions.charAt(i);
+            if (expectName && Character.isLetter(c)) {
+                int end = i;
+                while (end < definitions.length()
+                        && (Character.isLetterOrDigit(definitions.charAt(end)) || definitions.charAt(end) == '_')) {
+                    end++;
+                }
+                columns.add(definitions.substring(i, end));
+                if (!list) {
+                    break;
+                }
+                expectName = false;
+                i = end - 1;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                if (depth == 0) {
+                    break;
+                }
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                expectName = true;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Splits a script into statements. Statements end with ";" at the end of
+     * a line; a PL/SQL block (starting with BEGIN or DECLARE) ends with a line
+     * holding only "/". Lines starting with "--" are comments.
+     *
+     * @param script The script.
+     * @return Statements without their terminators.
+     */
+    static List<String> parseStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inBlock = false;
+        for (String line : script.split("\r?\n")) {
+            String trimmed = line.trim();
+            if (!inBlock && (trimmed.isEmpty() || trimmed.startsWith("--"))) {
+                continue;
+            }
+            if (current.length() == 0) {
+                String upper = trimmed.toUpperCase(Locale.ROOT);
+                inBlock = upper.startsWith("BEGIN") || upper.startsWith("DECLARE");
+            }
+            if (inBlock) {
+                if (trimmed.equals("/")) {
+                    statements.add(current.toString().trim());
+                    current.setLength(0);
+                    inBlock = false;
+                } else {
+                    current.append(line).append('\n');
+                }
+            } else if (trimmed.endsWith(";")) {
+                current.append(trimmed, 0, trimmed.length() - 1);
+                statements.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(trimmed).append('\n');
+            }
+        }
+        if (current.length() > 0) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    private static String readResource(String name) throws IOException {
+        InputStream in = MigrationRunner.class.getResourceAsStream(name);
+        if (in == null) {
+            throw new IOException(name + " not found on the classpath");
+        }
+        StringBuilder text = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                text.append(line).append('\n');
+            }
+        }
+        return text.toString();
+    }
+}
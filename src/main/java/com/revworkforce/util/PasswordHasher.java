@@ -0,0 +1,233 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.util;
+
+import com.revworkforce.config.AppConstants;
+import com.revworkforce.exception.AppException;
+import com.revworkforce.exception.ServiceBusyException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs BCrypt hashing and verification on a small dedicated pool.
+ * <p>
+ * BCrypt is deliberately CPU-heavy, so a burst of logins run on the callers'
+ * threads competes for every core at once and all of them slow down. Here at
+ * most {@code threads} hashes run together, a bounded queue holds the next
+ * ones, and anything beyond that is refused at once with a
+ * {@link ServiceBusyException} instead of piling up. A caller also stops
+ * waiting after a timeout.
+ *
+ * @author Gururaj Shetty
+ */
+public class PasswordHasher {
+
+    private static final Logger logger = LogManager.getLogger(PasswordHasher.class);
+
+    private static PasswordHasher shared;
+
+    private final ThreadPoolExecutor executor;
+    private final int workFactor;
+    private final long timeoutMs;
+
+    private final LatencyHistogram hashMillis = new LatencyHistogram("ms");
+    private final LatencyHistogram verifyMillis = new LatencyHistogram("ms");
+    private final LatencyHistogram queueWaitMillis = new LatencyHistogram("ms");
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    /**
+     * @param threads       Hashes that may run at once.
+     * @param queueCapacity Requests that may wait for a thread.
+     * @param workFactor    BCrypt cost of new hashes.
+     * @param timeoutMs     Longest a caller waits for its result.
+     */
+    public PasswordHasher(int threads, int queueCapacity, int workFactor, long timeoutMs) {
+        this.workFactor = workFactor;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "password-hasher-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Builds a hasher configured from -Dpassword.hash.* system properties,
+     * falling back to the defaults in AppConstants.
+     *
+     * @return A new hasher.
+     */
+    public static PasswordHasher fromSystemProperties() {
+        int threads = Integer.getInteger("password.hash.threads", AppConstants.PASSWORD_HASH_THREADS);
+        int capacity = Integer.getInteger("password.hash.queue.capacity", AppConstants.PASSWORD_HASH_QUEUE_CAPACITY);
+        long timeout = Long.getLong("password.hash.timeout.ms", AppConstants.PASSWORD_HASH_TIMEOUT_MS);
+        return new PasswordHasher(threads, capacity, PasswordUtil.getWorkFactor(), timeout);
+    }
+
+    /**
+     * @return The application-wide hasher, created on first use. Its metrics
+     *         are logged by {@link DBConnection#shutdown()}; its threads are
+     *         daemons and need no stopping.
+     */
+    public static synchronized PasswordHasher shared() {
+        if (shared == null) {
+            PasswordHasher hasher = fromSystemProperties();
+            DBConnection.addShutdownHook(() -> logger.info("Password hashing usage:{}{}",
+                    System.lineSeparator(), hasher));
+            shared = hasher;
+        }
+        return shared;
+    }
+
+    /**
+     * Hashes a password at the configured cost.
+     *
+     * @param plainPassword The password.
+     * @return The hash.
+     * @throws ServiceBusyException if the pool is saturated or the wait times out.
+     */
+    public String hash(String plainPassword) {
+        return call(() -> PasswordUtil.hashPassword(plainPassword, workFactor), hashMillis);
+    }
+
+    /**
+     * Queues a hash without waiting for it, so one caller with many passwords
+     * (a bulk import) can keep every hashing thread busy. It counts against
+     * the same bound and metrics as {@link #hash(String)}.
+     *
+     * @param plainPassword The password.
+     * @return The hash, once computed.
+     * @throws ServiceBusyException if the pool is saturated; nothing was queued.
+     */
+    public Future<String> submitHash(String plainPassword) {
+        return submit(() -> PasswordUtil.hashPassword(plainPassword, workFactor), hashMillis);
+    }
+
+    /**
+     * @param plainPassword The password.
+     * @param hash          The stored hash.
+     * @return true if the password matches.
+     * @throws ServiceBusyException if the pool is saturated or the wait times out.
+     */
+    public boolean verify(String plainPassword, String hash) {
+        return call(() -> PasswordUtil.verifyPassword(plainPassword, hash), verifyMillis);
+    }
+
+    /**
+     * @param hash A stored hash.
+     * @return true if it was made at a different cost than the configured one.
+     */
+    public boolean needsRehash(String hash) {
+        return PasswordUtil.workFactorOf(hash) != workFactor;
+    }
+
+    public int getWorkFactor() {
+        return workFactor;
+    }
+
+    /**
+     * @return Requests waiting for a hashing thread.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return Hashes running now.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getTimedOut() {
+        return timedOut.get();
+    }
+
+    public LatencyHistogram.Snapshot getHashTimes() {
+        return hashMillis.snapshot();
+    }
+
+    public LatencyHistogram.Snapshot getVerifyTimes() {
+        return verifyMillis.snapshot();
+    }
+
+    public LatencyHistogram.Snapshot getQueueWaitTimes() {
+        return queueWaitMillis.snapshot();
+    }
+
+    /**
+     * Stops the hashing threads; later requests are refused.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hasher[cost=%d, active=%d, queued=%d, rejected=%d, timedOut=%d]%n"
+                + "  hash:   %s%n  verify: %s%n  wait:   %s",
+                workFactor, getActiveCount(), getQueueDepth(), getRejected(), getTimedOut(),
+                hashMillis, verifyMillis, queueWaitMillis);
+    }
+
+    // Package-private so tests can occupy the pool with work they control
+    <T> T call(Callable<T> work, LatencyHistogram times) {
+        Future<T> future = submit(work, times);
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.incrementAndGet();
+            logger.warn("Password hashing request timed out after {} ms", timeoutMs);
+            throw new ServiceBusyException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AppException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new AppException("Password hashing failed", cause);
+        }
+    }
+
+    private <T> Future<T> submit(Callable<T> work, LatencyHistogram times) {
+        long queuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                long start = System.nanoTime();
+                queueWaitMillis.record(TimeUnit.NANOSECONDS.toMillis(start - queuedAt));
+                try {
+                    return work.call();
+                } finally {
+                    times.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            logger.warn("Password hashing request rejected ({} queued)", getQueueDepth());
+            throw new ServiceBusyException("Password hashing is busy", e);
+        }
+    }
+}
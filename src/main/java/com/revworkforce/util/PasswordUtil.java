@@ -3,12 +3,16 @@
  */
 package com.revworkforce.util;
 
+import com.revworkforce.config.AppConstants;
 import org.mindrot.jbcrypt.BCrypt;
 
 /**
  * Utility class for Password Hashing and Verification.
  * Wraps JBCrypt for secure password handling.
- * 
+ * <p>
+ * These methods run on the caller's thread; interactive code should go
+ * through {@link PasswordHasher}, which bounds how many hashes run at once.
+ *
  * @author Gururaj Shetty
  */
 public class PasswordUtil {
@@ -17,13 +21,51 @@ public class PasswordUtil {
         // Private constructor to prevent instantiation
     }
 
-    private static final int WORK_FACTOR = 12;
+    private static final int WORK_FACTOR = Integer.getInteger("password.hash.cost", AppConstants.PASSWORD_HASH_COST);
 
     public static String hashPassword(String plainPassword) {
-        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(WORK_FACTOR));
+        return hashPassword(plainPassword, WORK_FACTOR);
+    }
+
+    /**
+     * @param plainPassword The password.
+     * @param workFactor    BCrypt cost (log2 of the rounds), 4 to 31.
+     * @return The hash.
+     */
+    public static String hashPassword(String plainPassword, int workFactor) {
+        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(workFactor));
     }
 
     public static boolean verifyPassword(String plainPassword, String hash) {
         return BCrypt.checkpw(plainPassword, hash);
     }
+
+    /**
+     * @return The configured BCrypt cost for new hashes.
+     */
+    public static int getWorkFactor() {
+        return WORK_FACTOR;
+    }
+
+    /**
+     * Reads the cost from a BCrypt hash ("$2a$12$...").
+     *
+     * @param hash The stored hash.
+     * @return The cost, or -1 if the hash is not in BCrypt format.
+     */
+    public static int workFactorOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$') {
+            return -1;
+        }
+        int end = hash.indexOf('$', 1);
+        if (end < 0 || hash.length() < end + 4 || hash.charAt(end + 3) != '$') {
+            return -1;
+        }
+        char tens = hash.charAt(end + 1);
+        char ones = hash.charAt(end + 2);
+        if (!Character.isDigit(tens) || !Character.isDigit(ones)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.util;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection pool telemetry, fed by HikariCP through
+ * {@link MetricsTrackerFactory}. Tracks connection counts, how long callers
+ * wait for a connection (acquire time), how long they hold it (usage time),
+ * connection creation time and acquire timeouts.
+ * <p>
+ * Hikari refreshes the connection counts at most once a second, so they are
+ * approximate; the histograms see every checkout.
+ *
+ * @author Gururaj Shetty
+ */
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private final LatencyHistogram acquireMicros = new LatencyHistogram("us");
+    private final LatencyHistogram usageMillis = new LatencyHistogram("ms");
+    private final LatencyHistogram createMillis = new LatencyHistogram("ms");
+    // Acquire times since the adaptive sizer last looked
+    private final LatencyHistogram recentAcquireMicros = new LatencyHistogram("us");
+    private final AtomicLong timeouts = new AtomicLong();
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                createMillis.record(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                long micros = TimeUnit.NANOSECONDS.toMicros(elapsedAcquiredNanos);
+                acquireMicros.record(micros);
+                recentAcquireMicros.record(micros);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageMillis.record(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.incrementAndGet();
+            }
+        };
+    }
+
+    public int getActiveConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getActiveConnections();
+    }
+
+    public int getIdleConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getIdleConnections();
+    }
+
+    public int getPendingThreads() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getPendingThreads();
+    }
+
+    public int getTotalConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getTotalConnections();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public LatencyHistogram.Snapshot getAcquireTimes() {
+        return acquireMicros.snapshot();
+    }
+
+    public LatencyHistogram.Snapshot getUsageTimes() {
+        return usageMillis.snapshot();
+    }
+
+    public LatencyHistogram.Snapshot getCreationTimes() {
+        return createMillis.snapshot();
+    }
+
+    /**
+     * Returns acquire times recorded since the previous call.
+     */
+    LatencyHistogram.Snapshot drainRecentAcquireTimes() {
+        return recentAcquireMicros.snapshotAndReset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("connections[active=%d, idle=%d, total=%d, pending=%d, timeouts=%d]%n"
+                + "  acquire: %s%n  usage:   %s%n  create:  %s",
+                getActiveConnections(), getIdleConnections(), getTotalConnections(), getPendingThreads(),
+                getTimeouts(), acquireMicros, usageMillis, createMillis);
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Developed by Gururaj Shetty
+ */
+package com.revworkforce.util;
+
+import com.revworkforce.config.AppConstants;
+import com.zaxxer.hikari.HikariConfig;
+
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.UnaryOperator;
+
+/**
+ * Connection pool settings. Each key is looked up, in order, as a system
+ * property ({@code -Ddb.pool.max.size=20}), an environment variable
+ * ({@code DB_POOL_MAX_SIZE=20}), an entry in db.properties, and finally the
+ * default in {@link AppConstants}.
+ * <p>
+ * Keys: db.pool.max.size, db.pool.min.idle, db.pool.idle.timeout.ms,
+ * db.pool.connection.timeout.ms, db.pool.max.lifetime.ms,
+ * db.pool.leak.detection.ms (0 disables), db.pool.metrics,
+ * db.pool.adaptive, db.pool.adaptive.max.size, db.pool.adaptive.interval.ms
+ * and db.pool.adaptive.target.wait.ms.
+ *
+ * @author Gururaj Shetty
+ */
+public final class PoolSettings {
+
+    private final int maxSize;
+    private final int minIdle;
+    private final long idleTimeoutMs;
+    private final long connectionTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long leakDetectionMs;
+    private final boolean metrics;
+    private final boolean adaptive;
+    private final int adaptiveMaxSize;
+    private final long adaptiveIntervalMs;
+    private final long adaptiveTargetWaitMs;
+
+    private PoolSettings(Lookup lookup) {
+        maxSize = lookup.intValue("db.pool.max.size", AppConstants.DB_POOL_MAX_SIZE);
+        minIdle = lookup.intValue("db.pool.min.idle", AppConstants.DB_POOL_MIN_IDLE);
+        idleTimeoutMs = lookup.longValue("db.pool.idle.timeout.ms", AppConstants.DB_POOL_IDLE_TIMEOUT_MS);
+        connectionTimeoutMs = lookup.longValue("db.pool.connection.timeout.ms",
+                AppConstants.DB_POOL_CONNECTION_TIMEOUT_MS);
+        maxLifetimeMs = lookup.longValue("db.pool.max.lifetime.ms", AppConstants.DB_POOL_MAX_LIFETIME_MS);
+        leakDetectionMs = lookup.longValue("db.pool.leak.detection.ms", AppConstants.DB_POOL_LEAK_DETECTION_MS);
+        metrics = lookup.booleanValue("db.pool.metrics", AppConstants.DB_POOL_METRICS);
+        adaptive = lookup.booleanValue("db.pool.adaptive", AppConstants.DB_POOL_ADAPTIVE);
+        adaptiveMaxSize = lookup.intValue("db.pool.adaptive.max.size",
+                Math.max(maxSize, AppConstants.DB_POOL_ADAPTIVE_MAX_SIZE));
+        adaptiveIntervalMs = lookup.longValue("db.pool.adaptive.interval.ms",
+                AppConstants.DB_POOL_ADAPTIVE_INTERVAL_MS);
+        adaptiveTargetWaitMs = lookup.longValue("db.pool.adaptive.target.wait.ms",
+                AppConstants.DB_POOL_ADAPTIVE_TARGET_WAIT_MS);
+
+        require(maxSize >= 1, "db.pool.max.size must be at least 1");
+        require(minIdle >= 0 && minIdle <= maxSize, "db.pool.min.idle must be between 0 and db.pool.max.size");
+        require(leakDetectionMs == 0 || leakDetectionMs >= 2000,
+                "db.pool.leak.detection.ms must be 0 (off) or at least 2000");
+        require(adaptiveMaxSize >= maxSize, "db.pool.adaptive.max.size must not be below db.pool.max.size");
+        require(adaptiveIntervalMs > 0 && adaptiveTargetWaitMs > 0,
+                "db.pool.adaptive.interval.ms and db.pool.adaptive.target.wait.ms must be positive");
+    }
+
+    /**
+     * Reads the settings for the given db.properties.
+     *
+     * @param props Contents of db.properties.
+     * @return The resolved settings.
+     * @throws IllegalArgumentException if a value is malformed or out of range.
+     */
+    public static PoolSettings from(Properties props) {
+        return from(props, System::getenv);
+    }
+
+    static PoolSettings from(Properties props, UnaryOperator<String> env) {
+        return new PoolSettings(key -> lookup(props, env, key));
+    }
+
+    /**
+     * Resolves any db.* key (system property, environment variable, then
+     * db.properties).
+     *
+     * @param props Contents of db.properties.
+     * @param key   Property name, e.g. "db.url".
+     * @return The value, or null if it is not set anywhere.
+     */
+    public static String lookup(Properties props, String key) {
+        return lookup(props, System::getenv, key);
+    }
+
+    private static String lookup(Properties props, UnaryOperator<String> env, String key) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = env.apply(key.toUpperCase(Locale.ROOT).replace('.', '_'));
+        }
+        if (value == null) {
+            value = props.getProperty(key);
+        }
+        return value == null ? null : value.trim();
+    }
+
+    /**
+     * Copies the pool sizing, timeouts and leak detection onto a Hikari
+     * configuration.
+     */
+    public void applyTo(HikariConfig config) {
+        config.setMaximumPoolSize(maxSize);
+        config.setMinimumIdle(minIdle);
+        config.setIdleTimeout(idleTimeoutMs);
+        config.setConnectionTimeout(connectionTimeoutMs);
+        config.setMaxLifetime(maxLifetimeMs);
+        config.setLeakDetectionThreshold(leakDetectionMs);
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public long getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    public long getMaxLifetimeMs() {
+        return maxLifetimeMs;
+    }
+
+    public long getLeakDetectionMs() {
+        return leakDetectionMs;
+    }
+
+    public boolean isMetrics() {
+        return metrics;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public int getAdaptiveMaxSize() {
+        return adaptiveMaxSize;
+    }
+
+    public long getAdaptiveIntervalMs() {
+        return adaptiveIntervalMs;
+    }
+
+    public long getAdaptiveTargetWaitMs() {
+        return adaptiveTargetWaitMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pool[max=%d, minIdle=%d, connectionTimeout=%dms, leakDetection=%dms, metrics=%s, "
+                + "adaptive=%s (max %d, target wait %dms)]", maxSize, minIdle, connectionTimeoutMs,
+                leakDetectionMs, metrics, adaptive, adaptiveMaxSize, adaptiveTargetWaitMs);
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        String get(String key);
+
+        default int intValue(String key, int defaultValue) {
+            return Math.toIntExact(longValue(key, defaultValue));
+        }
+
+        default long longValue(String key, long defaultValue) {
+            String value = get(key);
+            if (value == null || value.isEmpty()) {
+                return defaultValue;
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(key + " must be a number, got '" + value + "'", e);
+            }
+        }
+
+        default boolean booleanValue(String key, boolean defaultValue) {
+            String value = get(key);
+            return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+-- Columns, tables and indexes added to the schema after the baseline in
+-- schema.sql, before versioned migrations existed. Runs ahead of V1 so a
+-- database created from the baseline reaches the same schema as one
+-- created later.
+
+-- Month and day as MMDD (e.g. 1225), so birthday/anniversary lookups are index range scans
+ALTER TABLE employees ADD (
+    birth_mmdd NUMBER(4) GENERATED ALWAYS AS (EXTRACT(MONTH FROM date_of_birth) * 100 + EXTRACT(DAY FROM date_of_birth)),
+    joining_mmdd NUMBER(4) GENERATED ALWAYS AS (EXTRACT(MONTH FROM joining_date) * 100 + EXTRACT(DAY FROM joining_date))
+);
+
+CREATE INDEX idx_employees_birth_mmdd ON employees (birth_mmdd);
+CREATE INDEX idx_employees_joining_mmdd ON employees (joining_mmdd);
+
+-- Next free numeric suffix per employee ID prefix (EMP, MGR); handed out in blocks
+CREATE TABLE employee_id_counters (
+    prefix VARCHAR2(10),
+    next_value NUMBER NOT NULL,
+
+    CONSTRAINT pk_employee_id_counters PRIMARY KEY (prefix)
+);
+
+-- debited_days: days taken from leave_balances on approval, given back on revoke/cancel.
+-- version: bumped on every status change (optimistic concurrency).
+ALTER TABLE leave_applications ADD (
+    debited_days NUMBER(3) DEFAULT 0 NOT NULL,
+    version NUMBER DEFAULT 0 NOT NULL
+);
+
+-- Leaves approved before debited_days existed took their total days
+UPDATE leave_applications SET debited_days = NVL(total_days, 0) WHERE status = 'APPROVED';
+
+-- Day a recurring notification (birthday, anniversary) is for; lets a
+-- rerun of the daily job skip employees already notified
+ALTER TABLE notifications ADD event_date DATE;
+
+-- Retention sweep over read notifications
+CREATE INDEX idx_notifications_read_age ON notifications (is_read, created_at);
+
+-- Read notifications past the retention period, moved out by the retention job
+CREATE TABLE notifications_archive (
+    notification_id NUMBER,
+    employee_id VARCHAR2(20),
+    notification_type VARCHAR2(50),
+    message VARCHAR2(1000),
+    is_read NUMBER(1),
+    created_at TIMESTAMP,
+    read_at TIMESTAMP,
+    event_date DATE,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_notifications_archive PRIMARY KEY (notification_id)
+);
+
+-- Audit search narrowed by actor, action or record, newest first
+CREATE INDEX idx_audit_logs_employee ON audit_logs (employee_id, created_at, log_id);
+CREATE INDEX idx_audit_logs_action ON audit_logs (action, created_at, log_id);
+CREATE INDEX idx_audit_logs_record ON audit_logs (table_name, record_id, created_at, log_id);
+
+-- Entries past the audit retention period, moved out in batches by the retention job.
+-- On Enterprise Edition this table can also be partitioned by month:
+--   PARTITION BY RANGE (created_at) INTERVAL (NUMTOYMINTERVAL(1, 'MONTH'))
+--   (PARTITION p_initial VALUES LESS THAN (TIMESTAMP '2024-01-01 00:00:00'))
+CREATE TABLE audit_logs_archive (
+    log_id NUMBER,
+    employee_id VARCHAR2(20),
+    action VARCHAR2(100),
+    table_name VARCHAR2(50),
+    column_name VARCHAR2(100),
+    record_id VARCHAR2(50),
+    old_value CLOB,
+    new_value CLOB,
+    ip_address VARCHAR2(50),
+    created_at TIMESTAMP,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_audit_logs_archive PRIMARY KEY (log_id)
+);
+
+CREATE INDEX idx_audit_archive_created ON audit_logs_archive (created_at, log_id);
+CREATE INDEX idx_audit_archive_employee ON audit_logs_archive (employee_id, created_at, log_id);
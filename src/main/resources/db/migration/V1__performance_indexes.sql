@@ -0,0 +1,24 @@
+-- Secondary indexes for the DAO queries that filter on columns without a
+-- primary/unique key.
+
+-- Team listings: every "WHERE e.manager_id = ?" join
+CREATE INDEX idx_employees_manager ON employees (manager_id);
+
+-- My leaves / leave reports by employee, and the pending/approved filters
+CREATE INDEX idx_leave_apps_emp_status ON leave_applications (employee_id, status);
+
+-- Daily attendance reports across all employees
+CREATE INDEX idx_attendance_date ON attendance (attendance_date);
+
+-- Reviews and goals of one employee (also the manager_id team joins)
+CREATE INDEX idx_perf_reviews_employee ON performance_reviews (employee_id, cycle_id);
+CREATE INDEX idx_goals_employee ON goals (employee_id);
+
+-- Security question lookup during password recovery
+CREATE INDEX idx_employee_security_emp ON employee_security (employee_id);
+
+-- Unread inbox pages: employee and read flag, keyset on notification_id
+CREATE INDEX idx_notifications_unread ON notifications (employee_id, is_read, notification_id);
+
+-- Audit search and retention: newest first on (created_at, log_id)
+CREATE INDEX idx_audit_logs_created ON audit_logs (created_at, log_id);
@@ -0,0 +1,11 @@
+-- Progress of badge-file ingestion (AttendanceIngestService): how far into
+-- each file the committed attendance rows reach, so an interrupted run can
+-- resume. Written in the same transaction as the attendance rows.
+CREATE TABLE attendance_ingest_checkpoints (
+    source_name VARCHAR2(255) NOT NULL,
+    fingerprint VARCHAR2(64) NOT NULL,
+    byte_offset NUMBER(19) NOT NULL,
+    lines_read NUMBER(19) NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_attendance_ingest PRIMARY KEY (source_name)
+);
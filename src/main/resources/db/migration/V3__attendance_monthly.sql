@@ -0,0 +1,17 @@
+-- Attendance rolled up per employee and month, so summaries read one row per
+-- month instead of one per day. Kept current by AttendanceDAO on every
+-- check-in, check-out and swipe-file merge; months that predate this table
+-- are filled by AttendanceRollupJob.
+CREATE TABLE attendance_monthly (
+    employee_id VARCHAR2(20) NOT NULL,
+    month_start DATE NOT NULL,
+    present_days NUMBER(5) DEFAULT 0 NOT NULL,
+    late_days NUMBER(5) DEFAULT 0 NOT NULL,
+    absent_days NUMBER(5) DEFAULT 0 NOT NULL,
+    completed_days NUMBER(5) DEFAULT 0 NOT NULL,
+    worked_seconds NUMBER(12) DEFAULT 0 NOT NULL,
+    missing_checkouts NUMBER(5) DEFAULT 0 NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_attendance_monthly PRIMARY KEY (employee_id, month_start),
+    CONSTRAINT fk_att_monthly_employee FOREIGN KEY (employee_id) REFERENCES employees(employee_id)
+);
@@ -0,0 +1,19 @@
+-- At most one birthday/anniversary notification per employee and day, even
+-- when two daily runs overlap (e.g. two application instances, or the admin
+-- menu racing the schedule). Only rows with an event_date get a key: a plain
+-- unique index on (employee_id, notification_type, event_date) would, on
+-- Oracle, treat the NULL event_date of two ordinary notifications of the same
+-- type as equal and reject the second.
+ALTER TABLE notifications ADD event_key VARCHAR2(80)
+    GENERATED ALWAYS AS (CASE WHEN event_date IS NOT NULL THEN notification_type || ':' || employee_id END);
+
+-- Keep the oldest of any duplicates written by overlapping runs before this script
+DELETE FROM notifications n
+WHERE n.event_date IS NOT NULL
+  AND n.notification_id > (SELECT MIN(d.notification_id)
+                           FROM notifications d
+                           WHERE d.employee_id = n.employee_id
+                             AND d.notification_type = n.notification_type
+                             AND d.event_date = n.event_date);
+
+CREATE UNIQUE INDEX uk_notifications_event ON notifications (event_key, event_date);
@@ -2,13 +2,22 @@ package com.revworkforce;
 
 import com.revworkforce.menu.MainMenu;
 import com.revworkforce.util.DBConnection;
+import com.revworkforce.util.H2Schema;
+import com.revworkforce.util.MigrationRunner;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class MainTest {
@@ -18,7 +27,8 @@ class MainTest {
         try (MockedStatic<DBConnection> mockDb = mockStatic(DBConnection.class);
                 MockedStatic<MainMenu> mockMenu = mockStatic(MainMenu.class);
                 MockedStatic<com.revworkforce.util.PasswordUtil> mockPass = mockStatic(
-                        com.revworkforce.util.PasswordUtil.class)) {
+                        com.revworkforce.util.PasswordUtil.class, CALLS_REAL_METHODS);
+                MockedStatic<MigrationRunner> mockMigrations = mockStatic(MigrationRunner.class)) {
 
             Connection mockCon = mock(Connection.class);
             PreparedStatement mockPs = mock(PreparedStatement.class);
@@ -26,6 +36,7 @@ class MainTest {
             mockDb.when(DBConnection::getConnection).thenReturn(mockCon);
             when(mockCon.prepareStatement(anyString())).thenReturn(mockPs);
             when(mockPs.executeUpdate()).thenReturn(1);
+            mockMigrations.when(MigrationRunner::fromClasspath).thenReturn(new MigrationRunner(List.of()));
 
             mockPass.when(() -> com.revworkforce.util.PasswordUtil.hashPassword("password")).thenReturn("hashed");
 
@@ -34,6 +45,7 @@ class MainTest {
 
             // Verify
             mockDb.verify(DBConnection::getConnection);
+            mockMigrations.verify(() -> MigrationRunner.migrateOnStartup(eq(mockCon), any(MigrationRunner.class)));
             mockMenu.verify(MainMenu::start);
             verify(mockPs).executeUpdate();
 
@@ -42,6 +54,28 @@ class MainTest {
         }
     }
 
+    @Test
+    void testMigrationsBackfillRollupsAfterV3() throws Exception {
+        String url = H2Schema.newUrl("main");
+        Connection con = H2Schema.createBaseline(url, true);
+        try (MockedStatic<DBConnection> mockDb = mockStatic(DBConnection.class);
+                Statement st = con.createStatement()) {
+            mockDb.when(DBConnection::getConnection).thenAnswer(inv -> H2Schema.connect(url));
+            H2Schema.addEmployee(con, "EMP001", null);
+            st.execute("INSERT INTO attendance (employee_id, attendance_date, status) "
+                    + "VALUES ('EMP001', DATE '2024-05-02', 'PRESENT')");
+
+            Main.migrations().migrate(con);
+
+            try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM attendance_monthly")) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+            }
+        } finally {
+            H2Schema.drop(con);
+        }
+    }
+
     @Test
     void testMain_DBConnectionFail() {
         try (MockedStatic<DBConnection> mockDb = mockStatic(DBConnection.class)) {
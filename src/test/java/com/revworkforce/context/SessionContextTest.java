@@ -0,0 +1,70 @@
+package com.revworkforce.context;
+
+import com.revworkforce.model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionContextTest {
+
+    @AfterEach
+    void tearDown() {
+        SessionContext.clear();
+    }
+
+    @Test
+    void testSetGetClear() {
+        Employee emp = new Employee();
+        String token = SessionContext.set(emp);
+
+        assertSame(emp, SessionContext.get());
+        assertTrue(SessionContext.registry().isActive(token));
+
+        SessionContext.clear();
+        assertNull(SessionContext.get());
+        assertFalse(SessionContext.registry().isActive(token));
+    }
+
+    @Test
+    void testSetReplacesPreviousSession() {
+        String first = SessionContext.set(new Employee());
+        String second = SessionContext.set(new Employee());
+
+        assertFalse(SessionContext.registry().isActive(first));
+        assertTrue(SessionContext.registry().isActive(second));
+    }
+
+    @Test
+    void testSessionsAreBoundPerThread() throws Exception {
+        Employee mine = new Employee();
+        String token = SessionContext.set(mine);
+
+        Employee other = new Employee();
+        Employee seenByOther = CompletableFuture.supplyAsync(() -> {
+            Employee before = SessionContext.get();
+            SessionContext.set(other);
+            Employee after = SessionContext.get();
+            SessionContext.clear();
+            return before == null ? after : null;
+        }).get();
+
+        assertSame(other, seenByOther);
+        assertSame(mine, SessionContext.get());
+
+        SessionContext.unbind();
+        assertNull(SessionContext.get());
+        SessionContext.bind(token);
+        assertSame(mine, SessionContext.get());
+    }
+
+    @Test
+    void testExpiredTokenIsDropped() {
+        SessionContext.bind("no-such-token");
+
+        assertNull(SessionContext.get());
+        assertNull(SessionContext.get());
+    }
+}
@@ -0,0 +1,174 @@
+package com.revworkforce.context;
+
+import com.revworkforce.exception.ServiceBusyException;
+import com.revworkforce.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionRegistryTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private SessionRegistry registry(long timeoutMs, int max) {
+        return new SessionRegistry(timeoutMs, max, now::get);
+    }
+
+    private static Employee employee(String id) {
+        Employee emp = new Employee();
+        emp.setEmployeeId(id);
+        return emp;
+    }
+
+    @Test
+    void testOpenGetClose() {
+        SessionRegistry registry = registry(1000, 10);
+        Employee emp = employee("EMP001");
+
+        String token = registry.open(emp);
+
+        assertSame(emp, registry.get(token));
+        assertTrue(registry.isActive(token));
+        registry.close(token);
+        assertNull(registry.get(token));
+        assertFalse(registry.isActive(token));
+        assertNull(registry.get(null));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testTokensAreDistinct() {
+        SessionRegistry registry = registry(1000, 10);
+        String a = registry.open(employee("EMP001"));
+        String b = registry.open(employee("EMP001"));
+
+        assertNotEquals(a, b);
+        assertTrue(a.length() >= 32);
+    }
+
+    @Test
+    void testIdleTimeoutAndTouch() {
+        SessionRegistry registry = registry(10000, 10);
+        String token = registry.open(employee("EMP001"));
+
+        now.addAndGet(9000);
+        assertNotNull(registry.get(token)); // touch resets the idle time
+        now.addAndGet(9000);
+        assertTrue(registry.isActive(token));
+        assertNotNull(registry.get(token));
+        now.addAndGet(10001);
+        assertFalse(registry.isActive(token));
+        assertNull(registry.get(token));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testTouchIsCoarse() {
+        SessionRegistry registry = registry(10000, 10);
+        String token = registry.open(employee("EMP001"));
+
+        // Accesses within the granularity do not extend the session
+        for (int i = 0; i < 10; i++) {
+            now.addAndGet(SessionRegistry.TOUCH_GRANULARITY_MS / 10 - 1);
+            assertNotNull(registry.get(token));
+        }
+        now.addAndGet(10000 - 10 * (SessionRegistry.TOUCH_GRANULARITY_MS / 10 - 1) + 1);
+        assertNull(registry.get(token));
+    }
+
+    @Test
+    void testSweepRemovesOnlyExpired() {
+        SessionRegistry registry = registry(1000, 10);
+        String idle = registry.open(employee("EMP001"));
+        now.addAndGet(600);
+        String recent = registry.open(employee("EMP002"));
+        now.addAndGet(600);
+
+        assertEquals(1, registry.sweep());
+        assertNull(registry.get(idle));
+        assertNotNull(registry.get(recent));
+    }
+
+    @Test
+    void testCapRefusesNewSessionsUnlessExpiredOnesCanGo() {
+        SessionRegistry registry = registry(1000, 2);
+        registry.open(employee("EMP001"));
+        registry.open(employee("EMP002"));
+
+        assertThrows(ServiceBusyException.class, () -> registry.open(employee("EMP003")));
+
+        now.addAndGet(1001);
+        assertNotNull(registry.open(employee("EMP003")));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testHundredThousandSessions() {
+        int count = 100_000;
+        SessionRegistry registry = registry(1000, count);
+        String[] tokens = new String[count];
+        for (int i = 0; i < count; i++) {
+            tokens[i] = registry.open(employee("EMP" + i));
+        }
+
+        assertEquals(count, registry.size());
+        assertThrows(ServiceBusyException.class, () -> registry.open(employee("ONE_TOO_MANY")));
+        for (int i = 0; i < count; i += 997) {
+            assertEquals("EMP" + i, registry.get(tokens[i]).getEmployeeId());
+        }
+
+        now.addAndGet(1001);
+        assertEquals(count, registry.sweep());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testConcurrentLookups() throws Exception {
+        SessionRegistry registry = new SessionRegistry(60000, 1000);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tokens.add(registry.open(employee("EMP" + i)));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Set<String>>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(pool.submit(() -> {
+                    Set<String> seen = new HashSet<>();
+                    for (int round = 0; round < 1000; round++) {
+                        for (String token : tokens) {
+                            seen.add(registry.get(token).getEmployeeId());
+                        }
+                    }
+                    return seen;
+                }));
+            }
+            for (Future<Set<String>> result : results) {
+                assertEquals(100, result.get(10, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSweeperStartStop() {
+        SessionRegistry registry = new SessionRegistry(1000, 10);
+        registry.startSweeping(60000);
+        registry.startSweeping(60000);
+        registry.stopSweeping();
+        registry.stopSweeping();
+        assertEquals(1000, registry.getIdleTimeoutMs());
+        assertEquals(10, registry.getMaxSessions());
+    }
+}
@@ -12,7 +12,10 @@ import org.mockito.MockitoAnnotations;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -50,9 +53,16 @@ class AnnouncementDAOTest {
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
         when(mockResultSet.next()).thenReturn(true, false);
 
-        announcementDAO.getAllAnnouncements();
+        List<String> titles = new ArrayList<>();
+        when(mockResultSet.getString("title")).thenReturn("Town Hall");
 
+        assertEquals(1, announcementDAO.getAllAnnouncements(rs -> titles.add(rs.getString("title"))));
+
+        assertEquals(List.of("Town Hall"), titles);
         verify(mockConnection).prepareStatement(anyString());
         verify(mockPreparedStatement).executeQuery();
+        verify(mockResultSet).close();
+        verify(mockPreparedStatement).close();
+        verify(mockConnection).close();
     }
 }
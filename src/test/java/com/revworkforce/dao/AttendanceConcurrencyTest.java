@@ -0,0 +1,143 @@
+package com.revworkforce.dao;
+
+import com.revworkforce.model.AttendanceOutcome;
+import com.revworkforce.util.H2Schema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the single-statement check-in and check-out against an embedded H2
+ * database (Oracle mode), with many threads, each on its own connection,
+ * checking the same employee in and out at the same moment.
+ */
+class AttendanceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 20;
+    private static final LocalTime LATE_AFTER = LocalTime.of(9, 30);
+
+    private final AttendanceDAO dao = new AttendanceDAO();
+    private String url;
+    private Connection con;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        url = H2Schema.newUrl("attendance");
+        con = H2Schema.createMigrated(url);
+        H2Schema.addEmployee(con, "EMP001", null);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        H2Schema.drop(con);
+    }
+
+    @Test
+    void testConcurrentCheckInsRecordOneRowPerDay() throws Exception {
+        for (int day = 1; day <= ROUNDS; day++) {
+            LocalDateTime at = LocalDateTime.of(2024, 1, day, 9, 0);
+            Map<AttendanceOutcome, Integer> outcomes = hammer(c -> dao.checkIn(c, "EMP001", at, LATE_AFTER));
+
+            assertEquals(1, outcomes.getOrDefault(AttendanceOutcome.CHECKED_IN, 0), "day " + day);
+            assertEquals(THREADS - 1, outcomes.getOrDefault(AttendanceOutcome.ALREADY_CHECKED_IN, 0), "day " + day);
+        }
+        assertEquals(ROUNDS, count("SELECT COUNT(*) FROM attendance WHERE employee_id = 'EMP001'"));
+        assertEquals(ROUNDS, count("SELECT present_days FROM attendance_monthly WHERE employee_id = 'EMP001'"));
+        assertEquals(ROUNDS, count("SELECT missing_checkouts FROM attendance_monthly"));
+    }
+
+    @Test
+    void testConcurrentCheckOutsRecordOnce() throws Exception {
+        for (int day = 1; day <= ROUNDS; day++) {
+            LocalDateTime in = LocalDateTime.of(2024, 1, day, 9, 45);
+            assertEquals(AttendanceOutcome.LATE, dao.checkIn(con, "EMP001", in, LATE_AFTER));
+
+            Map<AttendanceOutcome, Integer> outcomes = hammer(
+                    c -> dao.checkOut(c, "EMP001", in.withHour(18)));
+
+            assertEquals(1, outcomes.getOrDefault(AttendanceOutcome.CHECKED_OUT, 0), "day " + day);
+            assertEquals(THREADS - 1, outcomes.getOrDefault(AttendanceOutcome.ALREADY_CHECKED_OUT, 0), "day " + day);
+        }
+        assertEquals(ROUNDS, count("SELECT COUNT(*) FROM attendance WHERE status = 'LATE' "
+                + "AND check_out_time IS NOT NULL"));
+        assertEquals(ROUNDS, count("SELECT late_days FROM attendance_monthly"));
+        assertEquals(ROUNDS, count("SELECT completed_days FROM attendance_monthly"));
+        assertEquals(0, count("SELECT missing_checkouts FROM attendance_monthly"));
+        assertEquals(ROUNDS * 9 * 3600, count("SELECT worked_seconds FROM attendance_monthly"));
+    }
+
+    @Test
+    void testCheckOutWithoutCheckIn() throws Exception {
+        assertEquals(AttendanceOutcome.NOT_CHECKED_IN,
+                dao.checkOut(con, "EMP001", LocalDateTime.of(2024, 2, 1, 18, 0)));
+        assertEquals(0, count("SELECT COUNT(*) FROM attendance"));
+        assertEquals(0, count("SELECT COUNT(*) FROM attendance_monthly"));
+    }
+
+    @Test
+    void testUnknownEmployeeIsNotReportedAsDuplicate() {
+        assertThrows(SQLException.class,
+                () -> dao.checkIn(con, "NOBODY", LocalDateTime.of(2024, 2, 1, 9, 0), LATE_AFTER));
+    }
+
+    private interface Attempt {
+        AttendanceOutcome run(Connection c) throws SQLException;
+    }
+
+    // Every thread opens its connection first, then all fire together
+    private Map<AttendanceOutcome, Integer> hammer(Attempt attempt) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<AttendanceOutcome>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(pool.submit(() -> {
+                    try (Connection c = H2Schema.connect(url)) {
+                        ready.countDown();
+                        go.await();
+                        return attempt.run(c);
+                    }
+                }));
+            }
+            assertTrue(ready.await(10, TimeUnit.SECONDS));
+            go.countDown();
+
+            Map<AttendanceOutcome, Integer> outcomes = new EnumMap<>(AttendanceOutcome.class);
+            for (Future<AttendanceOutcome> result : results) {
+                outcomes.merge(result.get(30, TimeUnit.SECONDS), 1, Integer::sum);
+            }
+            return outcomes;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private int count(String sql) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
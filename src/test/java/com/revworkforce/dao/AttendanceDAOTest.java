@@ -1,5 +1,9 @@
 package com.revworkforce.dao;
 
+import com.revworkforce.model.Attendance;
+import com.revworkforce.model.AttendanceMonth;
+import com.revworkforce.model.AttendanceOutcome;
+import com.revworkforce.model.SwipeDay;
 import com.revworkforce.util.DBConnection;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,13 +13,23 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.*;
 
 class AttendanceDAOTest {
@@ -48,46 +62,205 @@ class AttendanceDAOTest {
     }
 
     @Test
-    void testHasCheckedIn() throws Exception {
-        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-        when(mockResultSet.next()).thenReturn(true);
+    void testCheckInMerge_New() throws Exception {
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
 
-        boolean result = attendanceDAO.hasCheckedIn("EMP001", Date.valueOf("2024-01-01"));
+        AttendanceOutcome outcome = attendanceDAO.checkIn("EMP001", LocalDateTime.of(2024, 1, 1, 9, 0),
+                LocalTime.of(9, 30));
 
-        assertTrue(result);
-        verify(mockPreparedStatement).setString(1, "EMP001");
-        verify(mockPreparedStatement).setDate(eq(2), any(Date.class));
+        assertEquals(AttendanceOutcome.CHECKED_IN, outcome);
+        verify(mockConnection).prepareStatement(contains("MERGE INTO attendance"));
+        verify(mockPreparedStatement).setDate(2, Date.valueOf("2024-01-01"));
+        verify(mockPreparedStatement).setString(6, "PRESENT");
+        verify(mockConnection).prepareStatement(contains("UPDATE attendance_monthly"));
+        verify(mockPreparedStatement).setInt(1, 0);
+        verify(mockPreparedStatement, times(2)).executeUpdate();
+        verify(mockPreparedStatement, never()).executeQuery();
+        verify(mockConnection).commit();
     }
 
     @Test
-    void testCheckIn() throws Exception {
-        attendanceDAO.checkIn("EMP001");
-        verify(mockPreparedStatement).setString(1, "EMP001");
-        verify(mockPreparedStatement).executeUpdate();
+    void testCheckInMerge_FirstDayOfMonthCreatesRollup() throws Exception {
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1, 0, 1);
+
+        attendanceDAO.checkIn("EMP001", LocalDateTime.of(2024, 1, 1, 9, 0), LocalTime.of(9, 30));
+
+        verify(mockConnection).prepareStatement(contains("MERGE INTO attendance_monthly"));
+        verify(mockPreparedStatement).setDate(3, Date.valueOf("2024-02-01"));
+        verify(mockPreparedStatement).setDate(5, Date.valueOf("2024-01-01"));
+        verify(mockPreparedStatement, times(3)).executeUpdate();
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    void testCheckInMerge_RollsBackWhenRollupFails() throws Exception {
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1).thenThrow(new SQLException("rollup failed"));
+
+        assertThrows(SQLException.class, () -> attendanceDAO.checkIn("EMP001",
+                LocalDateTime.of(2024, 1, 1, 9, 0), LocalTime.of(9, 30)));
+
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+        verify(mockConnection).setAutoCommit(true);
+    }
+
+    @Test
+    void testCheckInMerge_Late() throws Exception {
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+
+        AttendanceOutcome outcome = attendanceDAO.checkIn("EMP001", LocalDateTime.of(2024, 1, 1, 9, 31),
+                LocalTime.of(9, 30));
+
+        assertEquals(AttendanceOutcome.LATE, outcome);
+        verify(mockPreparedStatement).setString(6, "LATE");
+        verify(mockPreparedStatement).setInt(1, 1);
+    }
+
+    @Test
+    void testCheckInMerge_Duplicate() throws Exception {
+        when(mockPreparedStatement.executeUpdate()).thenReturn(0);
+
+        AttendanceOutcome outcome = attendanceDAO.checkIn("EMP001", LocalDateTime.of(2024, 1, 1, 10, 0),
+                LocalTime.of(9, 30));
+
+        assertEquals(AttendanceOutcome.ALREADY_CHECKED_IN, outcome);
+        verify(mockPreparedStatement, times(1)).executeUpdate();
+    }
+
+    @Test
+    void testCheckInMerge_LostRaceRetriesOnce() throws Exception {
+        when(mockPreparedStatement.executeUpdate())
+                .thenThrow(new SQLIntegrityConstraintViolationException("unique constraint violated"))
+                .thenReturn(0);
+
+        AttendanceOutcome outcome = attendanceDAO.checkIn("EMP001", LocalDateTime.of(2024, 1, 1, 9, 0),
+                LocalTime.of(9, 30));
+
+        assertEquals(AttendanceOutcome.ALREADY_CHECKED_IN, outcome);
+        verify(mockPreparedStatement, times(2)).executeUpdate();
+    }
+
+    @Test
+    void testCheckInMerge_OtherViolationIsThrown() throws Exception {
+        when(mockPreparedStatement.executeUpdate())
+                .thenThrow(new SQLIntegrityConstraintViolationException("parent key not found"));
+
+        assertThrows(SQLIntegrityConstraintViolationException.class, () -> attendanceDAO.checkIn("NOBODY",
+                LocalDateTime.of(2024, 1, 1, 9, 0), LocalTime.of(9, 30)));
+    }
+
+    @Test
+    void testCheckOutOnce_Updated() throws Exception {
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+
+        AttendanceOutcome outcome = attendanceDAO.checkOut("EMP001", LocalDateTime.of(2024, 1, 1, 18, 0));
+
+        assertEquals(AttendanceOutcome.CHECKED_OUT, outcome);
+        verify(mockConnection).prepareStatement(contains("check_out_time IS NULL"));
+        verify(mockConnection).prepareStatement(contains("completed_days = completed_days + 1"));
+        verify(mockPreparedStatement).setDate(4, Date.valueOf("2024-01-01"));
+        verify(mockPreparedStatement, never()).executeQuery();
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    void testCheckOutOnce_AlreadyCheckedOut() throws Exception {
+        when(mockPreparedStatement.executeUpdate()).thenReturn(0);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+
+        assertEquals(AttendanceOutcome.ALREADY_CHECKED_OUT,
+                attendanceDAO.checkOut("EMP001", LocalDateTime.of(2024, 1, 1, 18, 0)));
     }
 
     @Test
-    void testHasCheckedOut() throws Exception {
+    void testCheckOutOnce_NotCheckedIn() throws Exception {
+        when(mockPreparedStatement.executeUpdate()).thenReturn(0);
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
         when(mockResultSet.next()).thenReturn(false);
 
-        boolean result = attendanceDAO.hasCheckedOut("EMP001", Date.valueOf("2024-01-01"));
+        assertEquals(AttendanceOutcome.NOT_CHECKED_IN,
+                attendanceDAO.checkOut("EMP001", LocalDateTime.of(2024, 1, 1, 18, 0)));
+    }
+
+    @Test
+    void testMergeSwipeDays_BatchesAndCommitsWithCheckpoint() throws Exception {
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        List<SwipeDay> days = List.of(
+                swipeDay("EMP001", "08:50", "17:40"),
+                swipeDay("EMP002", "09:45", "18:00"),
+                swipeDay("EMP003", "09:00", "09:00"));
 
-        assertFalse(result);
-        verify(mockPreparedStatement).setString(1, "EMP001");
+        attendanceDAO.mergeSwipeDays(days, LocalTime.of(9, 30), 2, "swipes.csv",
+                new AttendanceDAO.IngestCheckpoint("abc", 1024, 40));
+
+        // 3 days, then 3 employee-months to recompute, in batches of 2
+        verify(mockPreparedStatement, times(6)).addBatch();
+        verify(mockPreparedStatement, times(4)).executeBatch();
+        verify(mockConnection).prepareStatement(contains("MERGE INTO attendance_monthly"));
+        verify(mockPreparedStatement).setString(5, "LATE");
+        verify(mockPreparedStatement, times(2)).setString(5, "PRESENT");
+        verify(mockPreparedStatement).setLong(3, 1024);
+        verify(mockPreparedStatement).setLong(7, 1024);
+        verify(mockConnection).commit();
+        verify(mockConnection).setAutoCommit(true);
     }
 
     @Test
-    void testCheckOut() throws Exception {
-        attendanceDAO.checkOut("EMP001");
-        verify(mockPreparedStatement).setString(1, "EMP001");
-        verify(mockPreparedStatement).executeUpdate();
+    void testMergeSwipeDays_RetriesOnceAfterBatchConflict() throws Exception {
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        when(mockPreparedStatement.executeBatch())
+                .thenThrow(new BatchUpdateException("unique constraint violated", new int[0]))
+                .thenReturn(new int[] { 1 });
+
+        attendanceDAO.mergeSwipeDays(List.of(swipeDay("EMP001", "08:50", "17:40")), LocalTime.of(9, 30), 100,
+                "swipes.csv", new AttendanceDAO.IngestCheckpoint("abc", 10, 1));
+
+        // Failed merge, then merge and rollup refresh
+        verify(mockPreparedStatement, times(3)).executeBatch();
+        verify(mockConnection).rollback();
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    void testMergeSwipeDays_RollsBackWhenRetryFails() throws Exception {
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        when(mockPreparedStatement.executeBatch())
+                .thenThrow(new BatchUpdateException("unique constraint violated", new int[0]));
+
+        assertThrows(BatchUpdateException.class, () -> attendanceDAO.mergeSwipeDays(
+                List.of(swipeDay("EMP001", "08:50", "17:40")), LocalTime.of(9, 30), 100, "swipes.csv",
+                new AttendanceDAO.IngestCheckpoint("abc", 10, 1)));
+
+        verify(mockConnection, times(2)).rollback();
+        verify(mockConnection, never()).commit();
+        verify(mockConnection).setAutoCommit(true);
+    }
+
+    @Test
+    void testGetIngestCheckpoint() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getString("fingerprint")).thenReturn("abc");
+        when(mockResultSet.getLong("byte_offset")).thenReturn(2048L);
+        when(mockResultSet.getLong("lines_read")).thenReturn(80L);
+
+        assertEquals(new AttendanceDAO.IngestCheckpoint("abc", 2048, 80),
+                attendanceDAO.getIngestCheckpoint("swipes.csv"));
+        assertNull(attendanceDAO.getIngestCheckpoint("other.csv"));
+    }
+
+    private static SwipeDay swipeDay(String empId, String first, String last) {
+        LocalDate day = LocalDate.of(2024, 6, 3);
+        return new SwipeDay(empId, day, day.atTime(LocalTime.parse(first)), day.atTime(LocalTime.parse(last)));
     }
 
     @Test
     void testGetAttendanceHistory() throws Exception {
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-        attendanceDAO.getAttendanceHistory("EMP001");
+        attendanceDAO.getAttendanceHistory("EMP001", rs -> {
+        });
         verify(mockPreparedStatement).setString(1, "EMP001");
         verify(mockPreparedStatement).executeQuery();
     }
@@ -95,8 +268,92 @@ class AttendanceDAOTest {
     @Test
     void testGetTeamAttendanceSummary() throws Exception {
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-        attendanceDAO.getTeamAttendanceSummary("MGR001");
+        attendanceDAO.getTeamAttendanceSummary("MGR001", rs -> {
+        });
         verify(mockPreparedStatement).setString(1, "MGR001");
         verify(mockPreparedStatement).executeQuery();
     }
+
+    @Test
+    void testGetMonthlySummaries() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getString("employee_id")).thenReturn("EMP001");
+        when(mockResultSet.getDate("month_start")).thenReturn(Date.valueOf("2024-03-01"));
+        when(mockResultSet.getInt("present_days")).thenReturn(20);
+        when(mockResultSet.getInt("late_days")).thenReturn(2);
+        when(mockResultSet.getInt("completed_days")).thenReturn(19);
+        when(mockResultSet.getLong("worked_seconds")).thenReturn(19 * 8 * 3600L);
+        when(mockResultSet.getInt("missing_checkouts")).thenReturn(1);
+
+        List<AttendanceMonth> months = attendanceDAO.getMonthlySummaries("EMP001", YearMonth.of(2023, 4));
+
+        assertEquals(1, months.size());
+        assertEquals(YearMonth.of(2024, 3), months.get(0).month());
+        assertEquals(20, months.get(0).presentDays());
+        assertEquals(8.0, months.get(0).averageHours(), 0.001);
+        verify(mockPreparedStatement).setString(1, "EMP001");
+        verify(mockPreparedStatement).setDate(2, Date.valueOf("2023-04-01"));
+    }
+
+    @Test
+    void testRebuildMonth() throws Exception {
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        when(mockPreparedStatement.executeUpdate()).thenReturn(12, 1);
+
+        assertEquals(12, attendanceDAO.rebuildMonth(YearMonth.of(2024, 12)));
+
+        verify(mockConnection).prepareStatement(contains("GROUP BY a.employee_id"));
+        verify(mockConnection).prepareStatement(contains("DELETE FROM attendance_monthly"));
+        verify(mockPreparedStatement).setDate(2, Date.valueOf("2025-01-01"));
+        verify(mockConnection).commit();
+        verify(mockConnection).setAutoCommit(true);
+    }
+
+    @Test
+    void testGetFirstAttendanceDate_None() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+        when(mockResultSet.getDate(1)).thenReturn(null);
+
+        assertNull(attendanceDAO.getFirstAttendanceDate());
+    }
+
+    @Test
+    void testGetAttendanceHistoryPage_FirstPage() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, false);
+        when(mockResultSet.getDate("attendance_date"))
+                .thenReturn(Date.valueOf("2024-03-02"), Date.valueOf("2024-03-01"));
+        when(mockResultSet.getString("status")).thenReturn("PRESENT");
+
+        List<Attendance> page = attendanceDAO.getAttendanceHistoryPage("EMP001", null, 2);
+
+        assertEquals(2, page.size());
+        assertEquals(Date.valueOf("2024-03-01"), page.get(1).getAttendanceDate());
+        verify(mockConnection).prepareStatement(argThat(sql -> !sql.contains("attendance_date < ?")));
+        verify(mockPreparedStatement).setString(1, "EMP001");
+        verify(mockPreparedStatement).setInt(2, 2);
+        verify(mockPreparedStatement).setFetchSize(anyInt());
+        verify(mockResultSet).close();
+        verify(mockConnection).close();
+    }
+
+    @Test
+    void testGetAttendanceHistoryPage_ContinuesBeforeCursor() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        Date cursor = Date.valueOf("2024-03-01");
+
+        assertTrue(attendanceDAO.getAttendanceHistoryPage("EMP001", cursor, 50).isEmpty());
+
+        verify(mockConnection).prepareStatement(contains("attendance_date < ?"));
+        verify(mockPreparedStatement).setDate(2, cursor);
+        verify(mockPreparedStatement).setInt(3, 50);
+    }
+
+    @Test
+    void testGetAttendanceHistoryPage_RejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> attendanceDAO.getAttendanceHistoryPage("EMP001", null, 0));
+    }
 }
@@ -1,9 +1,14 @@
 package com.revworkforce.dao;
 
+import com.revworkforce.model.AuditLog;
+import com.revworkforce.model.AuditLogCursor;
+import com.revworkforce.model.AuditLogFilter;
+import com.revworkforce.model.AuditLogPage;
 import com.revworkforce.util.DBConnection;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -12,8 +17,12 @@ import org.mockito.MockitoAnnotations;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.*;
 
 class AuditLogDAOTest {
@@ -58,16 +67,109 @@ class AuditLogDAOTest {
     }
 
     @Test
-    void testPrintAuditLogs() throws Exception {
+    void testLogBatch() throws Exception {
+        AuditLog first = new AuditLog();
+        first.setEmployeeId("EMP001");
+        first.setAction("UPDATE");
+        AuditLog second = new AuditLog();
+        second.setEmployeeId("EMP002");
+        second.setAction("LOGIN");
+
+        auditLogDAO.logBatch(List.of(first, second));
+
+        verify(mockPreparedStatement, times(2)).addBatch();
+        verify(mockPreparedStatement).executeBatch();
+        verify(mockConnection).commit();
+        verify(mockPreparedStatement, never()).executeUpdate();
+    }
+
+    @Test
+    void testFindLogs_NoFilters() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(false);
+
+        AuditLogPage page = auditLogDAO.findLogs(AuditLogFilter.all(), null, 25);
+
+        assertTrue(page.entries().isEmpty());
+        assertFalse(page.hasMore());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(mockConnection).prepareStatement(sql.capture());
+        assertTrue(sql.getValue().contains("FROM audit_logs a"));
+        assertFalse(sql.getValue().contains("a.employee_id = ?"));
+        assertTrue(sql.getValue().contains("ORDER BY a.created_at DESC, a.log_id DESC"));
+        verify(mockPreparedStatement).setObject(1, 26);
+    }
+
+    @Test
+    void testFindLogs_FiltersAndCursor() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(false);
+        Timestamp from = Timestamp.valueOf("2024-01-01 00:00:00");
+        Timestamp cursorTime = Timestamp.valueOf("2024-03-08 10:00:00");
+
+        auditLogDAO.findLogs(new AuditLogFilter(" EMP001 ", null, "EMPLOYEES", "", from, null),
+                new AuditLogCursor(cursorTime, 42), 10);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(mockConnection).prepareStatement(sql.capture());
+        assertTrue(sql.getValue().contains("a.employee_id = ?"));
+        assertTrue(sql.getValue().contains("a.table_name = ?"));
+        assertFalse(sql.getValue().contains("a.action = ?"));
+        assertFalse(sql.getValue().contains("a.record_id = ?"));
+        assertTrue(sql.getValue().contains("(a.created_at < ? OR (a.created_at = ? AND a.log_id < ?))"));
+        verify(mockPreparedStatement).setObject(1, "EMP001");
+        verify(mockPreparedStatement).setObject(2, "EMPLOYEES");
+        verify(mockPreparedStatement).setObject(3, from);
+        verify(mockPreparedStatement).setObject(4, cursorTime);
+        verify(mockPreparedStatement).setObject(5, cursorTime);
+        verify(mockPreparedStatement).setObject(6, 42);
+        verify(mockPreparedStatement).setObject(7, 11);
+    }
+
+    @Test
+    void testFindLogs_NextCursorFromLastEntry() throws Exception {
+        Timestamp t1 = Timestamp.valueOf("2024-03-08 10:00:00");
+        Timestamp t2 = Timestamp.valueOf("2024-03-08 09:00:00");
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, true, false);
+        when(mockResultSet.getInt("log_id")).thenReturn(9, 8, 7);
+        when(mockResultSet.getTimestamp("created_at")).thenReturn(t1, t2, t2);
+        when(mockResultSet.getString("first_name")).thenReturn("John", null, null);
+        when(mockResultSet.getString("last_name")).thenReturn("Doe", null, null);
+
+        AuditLogPage page = auditLogDAO.findLogs(AuditLogFilter.all(), null, 2);
+
+        assertEquals(2, page.entries().size());
+        assertEquals("John Doe", page.entries().get(0).getEmployeeName());
+        assertNull(page.entries().get(1).getEmployeeName());
+        assertEquals(new AuditLogCursor(t2, 8), page.next());
+    }
+
+    @Test
+    void testFindArchivedLogs() throws Exception {
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+
+        auditLogDAO.findArchivedLogs(AuditLogFilter.all(), null, 25);
+
+        verify(mockConnection).prepareStatement(contains("FROM audit_logs_archive a"));
+    }
+
+    @Test
+    void testArchiveLogs() throws Exception {
+        PreparedStatement psSelect = mock(PreparedStatement.class);
+        PreparedStatement psCopy = mock(PreparedStatement.class);
+        PreparedStatement psDelete = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(psSelect, psCopy, psDelete);
+        when(psSelect.executeQuery()).thenReturn(mockResultSet);
         when(mockResultSet.next()).thenReturn(true, false);
-        when(mockResultSet.getString("first_name")).thenReturn("John");
-        when(mockResultSet.getString("last_name")).thenReturn("Doe");
-        when(mockResultSet.getTimestamp("created_at")).thenReturn(new java.sql.Timestamp(System.currentTimeMillis()));
+        when(mockResultSet.getInt(1)).thenReturn(5);
+        when(psDelete.executeUpdate()).thenReturn(1);
 
-        auditLogDAO.printAuditLogs();
+        assertEquals(1, auditLogDAO.archiveLogs(Timestamp.valueOf("2024-01-01 00:00:00"), 500));
 
-        verify(mockPreparedStatement).executeQuery();
-        verify(mockResultSet, atLeastOnce()).getString("action");
+        verify(mockConnection).prepareStatement(contains("INSERT INTO audit_logs_archive"));
+        verify(psCopy).setInt(1, 5);
+        verify(psDelete).setInt(1, 5);
+        verify(mockConnection).commit();
     }
 }
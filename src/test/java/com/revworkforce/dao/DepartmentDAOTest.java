@@ -23,6 +23,7 @@ class DepartmentDAOTest {
 
     @BeforeEach
     void setUp() {
+        DepartmentDAO.clearCache();
         departmentDAO = new DepartmentDAO();
         mockConnection = mock(Connection.class);
         mockPreparedStatement = mock(PreparedStatement.class);
@@ -49,9 +50,9 @@ class DepartmentDAOTest {
             when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
             when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
 
-            ResultSet rs = departmentDAO.getAllDepartments();
-            assertNotNull(rs);
+            assertEquals(0, departmentDAO.getAllDepartments(rs -> fail("no rows expected")));
             verify(mockPreparedStatement).executeQuery();
+            verify(mockConnection).close();
         }
     }
 
@@ -88,12 +89,36 @@ class DepartmentDAOTest {
             mockedDB.when(DBConnection::getConnection).thenReturn(mockConnection);
             when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
             when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-            when(mockResultSet.next()).thenReturn(true);
+            when(mockResultSet.next()).thenReturn(true, false);
+            when(mockResultSet.getInt("department_id")).thenReturn(1);
+            when(mockResultSet.getString("department_name")).thenReturn("HR");
 
             boolean exists = departmentDAO.isDepartmentIdExists("1");
 
             assertTrue(exists);
-            verify(mockPreparedStatement).setString(1, "1");
+            assertTrue(departmentDAO.isDepartmentIdExists(" 1"));
+            assertFalse(departmentDAO.isDepartmentIdExists("2"));
+            assertFalse(departmentDAO.isDepartmentIdExists("HR"));
+            // Loaded once, then answered from memory
+            verify(mockPreparedStatement, times(1)).executeQuery();
+        }
+    }
+
+    @Test
+    void testWriteReloadsDepartments() throws Exception {
+        try (MockedStatic<DBConnection> mockedDB = Mockito.mockStatic(DBConnection.class)) {
+            mockedDB.when(DBConnection::getConnection).thenReturn(mockConnection);
+            when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+            when(mockResultSet.next()).thenReturn(true, false, true, true, false);
+            when(mockResultSet.getInt("department_id")).thenReturn(1, 1, 2);
+            when(mockResultSet.getString("department_name")).thenReturn("HR", "HR", "Finance");
+
+            assertFalse(departmentDAO.isDepartmentIdExists("2"));
+            departmentDAO.addDepartment("Finance");
+
+            assertTrue(departmentDAO.isDepartmentIdExists("2"));
+            verify(mockPreparedStatement, times(2)).executeQuery();
         }
     }
 }
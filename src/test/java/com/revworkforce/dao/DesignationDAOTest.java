@@ -23,6 +23,7 @@ class DesignationDAOTest {
 
     @BeforeEach
     void setUp() {
+        DesignationDAO.clearCache();
         designationDAO = new DesignationDAO();
         mockConnection = mock(Connection.class);
         mockPreparedStatement = mock(PreparedStatement.class);
@@ -48,7 +49,8 @@ class DesignationDAOTest {
             mockedDB.when(DBConnection::getConnection).thenReturn(mockConnection);
             when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
             when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-            when(mockResultSet.next()).thenReturn(true);
+            when(mockResultSet.next()).thenReturn(true, false);
+            when(mockResultSet.getInt("designation_id")).thenReturn(1);
             when(mockResultSet.getString("designation_name")).thenReturn("Project Manager");
 
             boolean match = designationDAO.isDesignationMatchRole("1", true);
@@ -62,7 +64,8 @@ class DesignationDAOTest {
             mockedDB.when(DBConnection::getConnection).thenReturn(mockConnection);
             when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
             when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-            when(mockResultSet.next()).thenReturn(true);
+            when(mockResultSet.next()).thenReturn(true, false);
+            when(mockResultSet.getInt("designation_id")).thenReturn(1);
             when(mockResultSet.getString("designation_name")).thenReturn("Software Engineer");
 
             boolean match = designationDAO.isDesignationMatchRole("1", false);
@@ -70,6 +73,10 @@ class DesignationDAOTest {
 
             boolean mismatch = designationDAO.isDesignationMatchRole("1", true);
             assertFalse(mismatch);
+
+            assertFalse(designationDAO.isDesignationMatchRole("9", false));
+            assertTrue(designationDAO.isDesignationIdExists("1"));
+            verify(mockPreparedStatement, times(1)).executeQuery();
         }
     }
 }
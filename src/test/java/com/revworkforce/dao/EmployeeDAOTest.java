@@ -13,9 +13,11 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Date;
 import java.sql.SQLException;
+import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.*;
 
 class EmployeeDAOTest {
@@ -29,6 +31,7 @@ class EmployeeDAOTest {
     @BeforeEach
     void setUp() {
         employeeDAO = new EmployeeDAO();
+        EmployeeDAO.clearCaches();
         mockConnection = mock(Connection.class);
         mockPreparedStatement = mock(PreparedStatement.class);
         mockResultSet = mock(ResultSet.class);
@@ -95,6 +98,37 @@ class EmployeeDAOTest {
         verify(mockPreparedStatement).executeUpdate();
     }
 
+    @Test
+    void testInsertEmployees_Batch() throws Exception {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+
+        Employee first = new Employee();
+        first.setEmployeeId("EMP001");
+        Employee second = new Employee();
+        second.setEmployeeId("EMP002");
+
+        employeeDAO.insertEmployees(java.util.List.of(first, second));
+
+        verify(mockPreparedStatement, times(2)).addBatch();
+        verify(mockPreparedStatement).executeBatch();
+        verify(mockConnection).commit();
+        verify(mockConnection).setAutoCommit(true);
+    }
+
+    @Test
+    void testInsertEmployees_RollsBackOnFailure() throws Exception {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeBatch()).thenThrow(new SQLException("ORA-00001"));
+
+        Employee emp = new Employee();
+        emp.setEmployeeId("EMP001");
+
+        assertThrows(SQLException.class, () -> employeeDAO.insertEmployees(java.util.List.of(emp)));
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+    }
+
     @Test
     void testInsertEmployee_WithNulls() throws Exception {
         setupMockUpdate();
@@ -122,26 +156,6 @@ class EmployeeDAOTest {
         assertTrue(employeeDAO.isPhoneExists("1234567890"));
     }
 
-    @Test
-    void testGetNextId() throws Exception {
-        setupMockQuery();
-
-        // Case 1: No previous ID
-        when(mockResultSet.next()).thenReturn(false);
-        assertEquals("EMP001", employeeDAO.getNextId("EMP"));
-
-        // Case 2: Max ID exists
-        when(mockResultSet.next()).thenReturn(true);
-        when(mockResultSet.getString(1)).thenReturn("EMP005");
-        assertEquals("EMP006", employeeDAO.getNextId("EMP"));
-
-        // Case 3: Malformed ID
-        when(mockResultSet.next()).thenReturn(true);
-        when(mockResultSet.getString(1)).thenReturn("EMPXXX");
-        // Fallback or retry? Logic says "EMP001" if fallback exception handled
-        assertEquals("EMP001", employeeDAO.getNextId("EMP"));
-    }
-
     @Test
     void testGetProfile() throws Exception {
         setupMockQuery();
@@ -159,8 +173,77 @@ class EmployeeDAOTest {
     @Test
     void testIsReportee() throws Exception {
         setupMockQuery();
-        when(mockResultSet.next()).thenReturn(true);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getString("employee_id")).thenReturn("EMP001");
+        when(mockResultSet.getString("manager_id")).thenReturn("MGR001");
+
         assertTrue(employeeDAO.isReportee("MGR001", "EMP001"));
+        assertFalse(employeeDAO.isReportee("MGR002", "EMP001"));
+        // Org chart is loaded once and answered from memory afterwards
+        verify(mockPreparedStatement, times(1)).executeQuery();
+    }
+
+    @Test
+    void testAssignManager_UpdatesOrgChart() throws Exception {
+        setupMockQuery();
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockResultSet.next()).thenReturn(true, true, false);
+        when(mockResultSet.getString("employee_id")).thenReturn("MGR001", "EMP001");
+        when(mockResultSet.getString("manager_id")).thenReturn("DIR001", "MGR001");
+
+        assertTrue(employeeDAO.isInReportingLine("DIR001", "EMP001"));
+
+        employeeDAO.assignManager("EMP001", "MGR002");
+
+        assertFalse(employeeDAO.isReportee("MGR001", "EMP001"));
+        assertTrue(employeeDAO.isReportee("MGR002", "EMP001"));
+        assertFalse(employeeDAO.isInReportingLine("DIR001", "EMP001"));
+        verify(mockPreparedStatement, times(1)).executeQuery();
+    }
+
+    @Test
+    void testGetEmployeeById_ServedFromCache() throws Exception {
+        setupMockQuery();
+        when(mockResultSet.next()).thenReturn(true);
+        when(mockResultSet.getString("employee_id")).thenReturn("EMP001");
+        when(mockResultSet.getString("first_name")).thenReturn("John");
+
+        Employee first = employeeDAO.getEmployeeById("EMP001");
+        Employee second = employeeDAO.getEmployeeById("EMP001");
+
+        assertEquals("John", second.getFirstName());
+        assertNotSame(first, second);
+        verify(mockPreparedStatement, times(1)).executeQuery();
+    }
+
+    @Test
+    void testUpdateProfile_InvalidatesCache() throws Exception {
+        setupMockQuery();
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockResultSet.next()).thenReturn(true);
+
+        assertTrue(employeeDAO.isEmployeeExists("EMP001"));
+        assertTrue(employeeDAO.isEmployeeExists("EMP001"));
+        verify(mockPreparedStatement, times(1)).executeQuery();
+
+        employeeDAO.updateProfile("EMP001", "123", "Addr", "Mom");
+        employeeDAO.isEmployeeExists("EMP001");
+        verify(mockPreparedStatement, times(2)).executeQuery();
+    }
+
+    @Test
+    void testAssignManager_InvalidatesReportees() throws Exception {
+        setupMockQuery();
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockResultSet.next()).thenReturn(false);
+
+        employeeDAO.getReportees("MGR001");
+        employeeDAO.getReportees("MGR001");
+        verify(mockPreparedStatement, times(1)).executeQuery();
+
+        employeeDAO.assignManager("EMP001", "MGR001");
+        employeeDAO.getReportees("MGR001");
+        verify(mockPreparedStatement, times(2)).executeQuery();
     }
 
     @Test
@@ -180,26 +263,65 @@ class EmployeeDAOTest {
     @Test
     void testBirthdayAnniversaryQueries() throws Exception {
         setupMockQuery();
-        employeeDAO.getUpcomingBirthdays();
+        employeeDAO.getUpcomingBirthdays(rs -> {
+        });
         verify(mockPreparedStatement, times(1)).executeQuery();
 
-        employeeDAO.getBirthdaysToday();
+        employeeDAO.getBirthdaysToday(rs -> {
+        });
         verify(mockPreparedStatement, times(2)).executeQuery(); // called again
 
-        employeeDAO.getWorkAnniversaries();
+        employeeDAO.getWorkAnniversaries(rs -> {
+        });
         verify(mockPreparedStatement, times(3)).executeQuery();
 
-        employeeDAO.getWorkAnniversariesToday();
+        employeeDAO.getWorkAnniversariesToday(rs -> {
+        });
         verify(mockPreparedStatement, times(4)).executeQuery();
     }
 
     @Test
-    void testSearchEmployees() throws Exception {
+    void testBirthdaysBetween_WrapsAtNewYear() throws Exception {
         setupMockQuery();
-        employeeDAO.searchEmployees("keyword");
-        // Verify multiple setStrings for the keyword params
-        verify(mockPreparedStatement, atLeast(6)).setString(anyInt(), contains("%keyword%"));
-        verify(mockPreparedStatement).executeQuery();
+
+        employeeDAO.getBirthdaysBetween(LocalDate.of(2024, 12, 20), LocalDate.of(2025, 1, 19), rs -> {
+        });
+
+        verify(mockConnection).prepareStatement(contains("birth_mmdd BETWEEN ? AND ?"));
+        verify(mockPreparedStatement).setInt(1, 1220);
+        verify(mockPreparedStatement).setInt(2, 1231);
+        verify(mockPreparedStatement).setInt(3, 101);
+        verify(mockPreparedStatement).setInt(4, 119);
+    }
+
+    @Test
+    void testWorkAnniversariesBetween_ExcludesNewJoiners() throws Exception {
+        setupMockQuery();
+
+        employeeDAO.getWorkAnniversariesBetween(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30), rs -> {
+        });
+
+        verify(mockConnection).prepareStatement(contains("joining_mmdd BETWEEN ? AND ? AND joining_date < ?"));
+        verify(mockPreparedStatement).setInt(1, 601);
+        verify(mockPreparedStatement).setInt(2, 630);
+        verify(mockPreparedStatement).setDate(3, Date.valueOf("2024-06-01"));
+        verify(mockPreparedStatement).setInt(4, 101);
+        verify(mockPreparedStatement).setInt(5, 100);
+        verify(mockPreparedStatement).setDate(6, Date.valueOf("2024-06-01"));
+    }
+
+    @Test
+    void testSearchDirectory_LoadsIndexOnce() throws Exception {
+        setupMockQuery();
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.findColumn(anyString())).thenReturn(1, 2, 3, 4, 5, 6);
+        when(mockResultSet.getString(1)).thenReturn("EMP001");
+        when(mockResultSet.getString(2)).thenReturn("John");
+
+        assertEquals(1, employeeDAO.searchDirectory("john", 0, 10).totalMatches());
+        assertEquals(0, employeeDAO.searchDirectory("jane", 0, 10).totalMatches());
+
+        verify(mockPreparedStatement, times(1)).executeQuery();
     }
 
     @Test
@@ -222,6 +344,19 @@ class EmployeeDAOTest {
         verify(mockPreparedStatement, times(4)).executeUpdate();
     }
 
+    @Test
+    void testUpgradePasswordHash() throws Exception {
+        setupMockUpdate();
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1, 0);
+
+        assertTrue(employeeDAO.upgradePasswordHash("EMP001", "oldHash", "newHash"));
+        verify(mockConnection).prepareStatement(contains("AND password_hash = ?"));
+        verify(mockPreparedStatement).setString(1, "newHash");
+        verify(mockPreparedStatement).setString(3, "oldHash");
+
+        assertFalse(employeeDAO.upgradePasswordHash("EMP001", "changedMeanwhile", "newHash"));
+    }
+
     @Test
     void testGetSecurityDetails() throws Exception {
         setupMockQuery();
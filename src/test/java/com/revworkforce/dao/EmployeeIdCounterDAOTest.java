@@ -0,0 +1,105 @@
+package com.revworkforce.dao;
+
+import com.revworkforce.util.DBConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+class EmployeeIdCounterDAOTest {
+
+    private EmployeeIdCounterDAO dao;
+    private Connection mockConnection;
+    private PreparedStatement mockLock;
+    private PreparedStatement mockUpdate;
+    private PreparedStatement mockInsert;
+    private PreparedStatement mockMax;
+    private ResultSet mockLockRs;
+    private MockedStatic<DBConnection> mockedDB;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dao = new EmployeeIdCounterDAO();
+        mockConnection = mock(Connection.class);
+        mockLock = mock(PreparedStatement.class);
+        mockUpdate = mock(PreparedStatement.class);
+        mockInsert = mock(PreparedStatement.class);
+        mockMax = mock(PreparedStatement.class);
+        mockLockRs = mock(ResultSet.class);
+
+        mockedDB = Mockito.mockStatic(DBConnection.class);
+        mockedDB.when(DBConnection::getConnection).thenReturn(mockConnection);
+
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        when(mockConnection.prepareStatement(contains("FOR UPDATE"))).thenReturn(mockLock);
+        when(mockConnection.prepareStatement(contains("UPDATE employee_id_counters"))).thenReturn(mockUpdate);
+        when(mockConnection.prepareStatement(contains("INSERT INTO employee_id_counters"))).thenReturn(mockInsert);
+        when(mockConnection.prepareStatement(contains("MAX("))).thenReturn(mockMax);
+        when(mockLock.executeQuery()).thenReturn(mockLockRs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (mockedDB != null) {
+            mockedDB.close();
+        }
+    }
+
+    @Test
+    void testReserveBlock_AdvancesExistingCounter() throws Exception {
+        when(mockLockRs.next()).thenReturn(true);
+        when(mockLockRs.getLong(1)).thenReturn(120L);
+
+        assertEquals(120L, dao.reserveBlock("EMP", 20));
+
+        verify(mockUpdate).setLong(1, 140L);
+        verify(mockUpdate).setString(2, "EMP");
+        verify(mockConnection).commit();
+        verify(mockConnection).setAutoCommit(true);
+        verify(mockConnection, never()).prepareStatement(contains("MAX("));
+    }
+
+    @Test
+    void testReserveBlock_SeedsCounterFromExistingIds() throws Exception {
+        ResultSet maxRs = mock(ResultSet.class);
+        when(mockLockRs.next()).thenReturn(false);
+        when(mockMax.executeQuery()).thenReturn(maxRs);
+        when(maxRs.next()).thenReturn(true);
+        when(maxRs.getLong(1)).thenReturn(1000L);
+
+        assertEquals(1001L, dao.reserveBlock("EMP", 5));
+
+        verify(mockMax).setString(1, "EMP%");
+        verify(mockInsert).setLong(2, 1001L);
+        verify(mockUpdate).setLong(1, 1006L);
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    void testReserveBlock_RollsBackOnFailure() throws Exception {
+        when(mockLockRs.next()).thenReturn(true);
+        when(mockLockRs.getLong(1)).thenReturn(1L);
+        when(mockUpdate.executeUpdate()).thenThrow(new SQLException("ORA-00060: deadlock"));
+
+        assertThrows(SQLException.class, () -> dao.reserveBlock("MGR", 10));
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+    }
+
+    @Test
+    void testReserveBlock_RejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> dao.reserveBlock("EMP", 0));
+        mockedDB.verify(DBConnection::getConnection, never());
+    }
+}
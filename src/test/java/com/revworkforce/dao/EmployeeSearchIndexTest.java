@@ -0,0 +1,133 @@
+package com.revworkforce.dao;
+
+import com.revworkforce.model.EmployeeSearchPage;
+import com.revworkforce.model.EmployeeSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSearchIndexTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<EmployeeSummary> employees = List.of(
+                new EmployeeSummary("EMP001", "John", "Doe", "john.doe@rev.com", "Engineering", "Developer"),
+                new EmployeeSummary("EMP002", "Johnny", "Walker", "jwalker@rev.com", "Sales", "Executive"),
+                new EmployeeSummary("EMP003", "Priya", "Johnson", "priya@rev.com", "Engineering", "Team Lead"),
+                new EmployeeSummary("MGR001", "Anita", "Sharma", "anita@rev.com", "Human Resources", "Manager"));
+        index = new EmployeeSearchIndex(() -> {
+            loads.incrementAndGet();
+            return employees;
+        });
+    }
+
+    private List<String> ids(EmployeeSearchPage page) {
+        return page.results().stream().map(EmployeeSummary::employeeId).toList();
+    }
+
+    @Test
+    void testExactMatchRanksAbovePrefix() throws Exception {
+        EmployeeSearchPage page = index.search("john", 0, 10);
+
+        // Exact first name, then prefix first name, then prefix last name
+        assertEquals(List.of("EMP001", "EMP002", "EMP003"), ids(page));
+        assertEquals(3, page.totalMatches());
+        assertFalse(page.hasMore());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testAllTermsMustMatch() throws Exception {
+        assertEquals(List.of("EMP003"), ids(index.search("engineering priya", 0, 10)));
+        assertEquals(List.of("EMP001"), ids(index.search("John Doe", 0, 10)));
+        assertEquals(0, index.search("john sales manager", 0, 10).totalMatches());
+    }
+
+    @Test
+    void testIdEmailDepartmentAndDesignation() throws Exception {
+        assertEquals(List.of("EMP001", "EMP002", "EMP003"), ids(index.search("emp00", 0, 10)));
+        assertEquals(List.of("EMP001", "MGR001"), ids(index.search("001", 0, 10)));
+        assertEquals(List.of("EMP001"), ids(index.search("john.doe@rev.com", 0, 10)));
+        assertEquals(List.of("MGR001"), ids(index.search("human res", 0, 10)));
+        assertEquals(List.of("EMP003"), ids(index.search("lead", 0, 10)));
+    }
+
+    @Test
+    void testFuzzyMatchesTypos() throws Exception {
+        assertEquals(List.of("MGR001"), ids(index.search("Sharna", 0, 10)));
+        assertEquals(List.of("EMP003"), ids(index.search("Jonhson", 0, 10)));
+        // Short terms are not matched fuzzily
+        assertEquals(0, index.search("Doa", 0, 10).totalMatches());
+    }
+
+    @Test
+    void testPaging() throws Exception {
+        EmployeeSearchPage first = index.search("rev", 0, 3);
+        EmployeeSearchPage second = index.search("rev", 3, 3);
+
+        assertEquals(4, first.totalMatches());
+        assertEquals(3, first.results().size());
+        assertTrue(first.hasMore());
+        assertEquals(List.of("MGR001"), ids(second));
+        assertFalse(second.hasMore());
+        assertThrows(IllegalArgumentException.class, () -> index.search("rev", -1, 3));
+        assertThrows(IllegalArgumentException.class, () -> index.search("rev", 0, 0));
+    }
+
+    @Test
+    void testBlankQuery_DoesNotLoad() throws Exception {
+        assertEquals(0, index.search("  ", 0, 10).totalMatches());
+        assertEquals(0, index.search(null, 0, 10).totalMatches());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void testPutAndRemove_KeepIndexCurrent() throws Exception {
+        index.search("john", 0, 10);
+
+        index.put(new EmployeeSummary("EMP001", "Jonathan", "Doe", "jon.doe@rev.com", "Sales", "Developer"));
+        index.put(new EmployeeSummary("EMP004", "John", "Smith", "jsmith@rev.com", "Sales", "Analyst"));
+        index.remove("EMP002");
+
+        assertEquals(List.of("EMP004", "EMP003"), ids(index.search("john", 0, 10)));
+        assertEquals(List.of("EMP001"), ids(index.search("jonathan", 0, 10)));
+        assertEquals(0, index.search("walker", 0, 10).totalMatches());
+        assertEquals(4, index.size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testPutBeforeLoad_IsIgnored() throws Exception {
+        index.put(new EmployeeSummary("EMP009", "Zed", null, null, null, null));
+        assertFalse(index.isLoaded());
+
+        assertEquals(0, index.search("zed", 0, 10).totalMatches());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testInvalidate_Reloads() throws Exception {
+        index.search("john", 0, 10);
+        index.invalidate();
+        assertFalse(index.isLoaded());
+
+        index.search("john", 0, 10);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testWithinEditDistance() {
+        assertTrue(EmployeeSearchIndex.withinEditDistance("kitten", "sitten", 1));
+        assertFalse(EmployeeSearchIndex.withinEditDistance("kitten", "sitting", 2));
+        assertTrue(EmployeeSearchIndex.withinEditDistance("kitten", "sitting", 3));
+        assertFalse(EmployeeSearchIndex.withinEditDistance("abc", "abcdef", 2));
+        assertTrue(EmployeeSearchIndex.withinEditDistance("jonhson", "johnson", 1));
+    }
+}
@@ -14,6 +14,7 @@ import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -37,6 +38,7 @@ class HolidayDAOTest {
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
 
         holidayDAO = new HolidayDAO();
+        HolidayDAO.getCalendar().invalidateAll();
     }
 
     @AfterEach
@@ -60,9 +62,44 @@ class HolidayDAOTest {
     @Test
     void testGetHolidays() throws Exception {
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-        holidayDAO.getHolidays(2024);
+        holidayDAO.getHolidays(2024, rs -> {
+        });
 
         verify(mockPreparedStatement).setInt(1, 2024);
         verify(mockPreparedStatement).executeQuery();
     }
+
+    @Test
+    void testCountWorkingDays_ReloadsAfterAddHoliday() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        Date monday = Date.valueOf("2024-03-04");
+        Date friday = Date.valueOf("2024-03-08");
+
+        assertEquals(5, holidayDAO.countWorkingDays(monday, friday));
+
+        holidayDAO.addHoliday("Founders Day", friday, 2024);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getDate("holiday_date")).thenReturn(friday);
+
+        assertEquals(4, holidayDAO.countWorkingDays(monday, friday));
+        verify(mockPreparedStatement, times(2)).executeQuery();
+    }
+
+    @Test
+    void testAddHoliday_ReloadsYearOfDate() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        Date newYear = Date.valueOf("2025-01-01");
+        Date friday = Date.valueOf("2025-01-03");
+
+        assertEquals(3, holidayDAO.countWorkingDays(newYear, friday));
+
+        // Filed under the 2024 holiday list, but it falls in 2025
+        holidayDAO.addHoliday("New Year", newYear, 2024);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getDate("holiday_date")).thenReturn(newYear);
+
+        assertEquals(2, holidayDAO.countWorkingDays(newYear, friday));
+        verify(mockPreparedStatement, times(2)).setDate(1, Date.valueOf("2025-01-01"));
+        verify(mockPreparedStatement, times(2)).setDate(2, Date.valueOf("2026-01-01"));
+    }
 }
@@ -15,8 +15,12 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.*;
 
 class LeaveDAOTest {
@@ -41,6 +45,7 @@ class LeaveDAOTest {
         when(mockPreparedStatement.executeUpdate()).thenReturn(1);
 
         leaveDAO = new LeaveDAO();
+        LeaveDAO.invalidatePendingLeaves();
     }
 
     @AfterEach
@@ -54,24 +59,14 @@ class LeaveDAOTest {
     void testApplyLeave() throws Exception {
         Date start = Date.valueOf("2024-01-01");
         Date end = Date.valueOf("2024-01-05");
-        leaveDAO.applyLeave("EMP1", 1, start, end, "Medical");
+        leaveDAO.applyLeave("EMP1", 1, start, end, "Medical", 5);
 
         verify(mockPreparedStatement).setString(1, "EMP1");
         verify(mockPreparedStatement).setInt(2, 1);
         verify(mockPreparedStatement).setDate(3, start);
         verify(mockPreparedStatement).setDate(4, end);
         verify(mockPreparedStatement).setString(5, "Medical");
-        verify(mockPreparedStatement).executeUpdate();
-    }
-
-    @Test
-    void testUpdateLeaveStatus() throws Exception {
-        leaveDAO.updateLeaveStatus(100, "MGR1", "APPROVED", "Okay");
-
-        verify(mockPreparedStatement).setString(1, "APPROVED");
-        verify(mockPreparedStatement).setString(2, "Okay");
-        verify(mockPreparedStatement).setString(3, "MGR1");
-        verify(mockPreparedStatement).setInt(4, 100);
+        verify(mockPreparedStatement).setInt(6, 5);
         verify(mockPreparedStatement).executeUpdate();
     }
 
@@ -141,6 +136,53 @@ class LeaveDAOTest {
         verify(mockPreparedStatement).executeQuery();
     }
 
+    @Test
+    void testIsPendingTeamLeave_ProbesWithoutListing() throws Exception {
+        when(mockResultSet.next()).thenReturn(true);
+
+        assertTrue(leaveDAO.isPendingTeamLeave("MGR1", 100));
+
+        verify(mockPreparedStatement).setInt(1, 100);
+        verify(mockPreparedStatement).setString(2, "MGR1");
+        verify(mockConnection, never()).prepareStatement(contains("ORDER BY"));
+    }
+
+    @Test
+    void testIsPendingTeamLeave_ServedFromTeamListing() throws Exception {
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getInt(anyInt())).thenReturn(101);
+        leaveDAO.getTeamLeaveRequests("MGR1");
+
+        assertTrue(leaveDAO.isPendingTeamLeave("MGR1", 101));
+        assertFalse(leaveDAO.isPendingTeamLeave("MGR1", 102));
+
+        verify(mockPreparedStatement, times(1)).executeQuery();
+    }
+
+    @Test
+    void testIsPendingTeamLeave_InvalidatedByNewApplication() throws Exception {
+        leaveDAO.getTeamLeaveRequests("MGR1");
+        leaveDAO.applyLeave("EMP1", 1, Date.valueOf("2024-01-01"), Date.valueOf("2024-01-02"), "Trip", 2);
+        when(mockResultSet.next()).thenReturn(true);
+
+        assertTrue(leaveDAO.isPendingTeamLeave("MGR1", 100));
+        verify(mockPreparedStatement, times(2)).executeQuery();
+    }
+
+    @Test
+    void testIsPendingTeamLeave_ListingRacingDecisionNotCached() throws Exception {
+        // A leave is decided while the listing is being read
+        when(mockPreparedStatement.executeQuery()).thenAnswer(inv -> {
+            LeaveDAO.invalidatePendingLeaves();
+            return mockResultSet;
+        });
+        when(mockResultSet.next()).thenReturn(false, true);
+        leaveDAO.getTeamLeaveRequests("MGR1");
+
+        assertTrue(leaveDAO.isPendingTeamLeave("MGR1", 100));
+        verify(mockPreparedStatement, times(2)).executeQuery();
+    }
+
     @Test
     void testGetMyLeaves() throws Exception {
         leaveDAO.getMyLeaves("EMP1");
@@ -150,30 +192,25 @@ class LeaveDAOTest {
 
     @Test
     void testGetLeaveStatistics() throws Exception {
-        leaveDAO.getLeaveStatistics();
+        leaveDAO.getLeaveStatistics(rs -> {
+        });
         verify(mockPreparedStatement).executeQuery();
     }
 
     @Test
     void testGetDepartmentLeaveReport() throws Exception {
-        leaveDAO.getDepartmentLeaveReport();
+        leaveDAO.getDepartmentLeaveReport(rs -> {
+        });
         verify(mockPreparedStatement).executeQuery();
     }
 
     @Test
     void testGetEmployeeLeaveReport() throws Exception {
-        leaveDAO.getEmployeeLeaveReport("EMP1");
+        leaveDAO.getEmployeeLeaveReport("EMP1", rs -> {
+        });
         verify(mockPreparedStatement).executeQuery();
     }
 
-    @Test
-    void testCancelLeave() throws Exception {
-        leaveDAO.cancelLeave(100, "EMP1");
-        verify(mockPreparedStatement).setInt(1, 100);
-        verify(mockPreparedStatement).setString(2, "EMP1");
-        verify(mockPreparedStatement).executeUpdate();
-    }
-
     @Test
     void testGetTeamLeaveCalendar() throws Exception {
         leaveDAO.getTeamLeaveCalendar("MGR1");
@@ -192,13 +229,6 @@ class LeaveDAOTest {
         verify(mockPreparedStatement).executeQuery();
     }
 
-    @Test
-    void testRevokeApprovedLeave() throws Exception {
-        leaveDAO.revokeApprovedLeave(100);
-        verify(mockPreparedStatement).setInt(1, 100);
-        verify(mockPreparedStatement).executeUpdate();
-    }
-
     @Test
     void testAddHoliday() throws Exception {
         Date date = Date.valueOf("2024-12-25");
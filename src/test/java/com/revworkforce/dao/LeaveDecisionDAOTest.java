@@ -0,0 +1,380 @@
+package com.revworkforce.dao;
+
+import com.revworkforce.model.LeaveDecision;
+import com.revworkforce.model.LeaveDecision.Outcome;
+import com.revworkforce.util.DBConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+class LeaveDecisionDAOTest {
+
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private PreparedStatement lockApplications;
+    @Mock
+    private PreparedStatement lockBalances;
+    @Mock
+    private PreparedStatement updateApplications;
+    @Mock
+    private PreparedStatement updateBalances;
+    @Mock
+    private ResultSet applications;
+    @Mock
+    private ResultSet balances;
+
+    private MockedStatic<DBConnection> mockedDBConnection;
+    private LeaveDecisionDAO dao;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        mockedDBConnection = Mockito.mockStatic(DBConnection.class);
+        mockedDBConnection.when(DBConnection::getConnection).thenReturn(mockConnection);
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        when(mockConnection.prepareStatement(contains("FROM leave_applications"))).thenReturn(lockApplications);
+        when(mockConnection.prepareStatement(contains("FROM leave_balances"))).thenReturn(lockBalances);
+        when(mockConnection.prepareStatement(contains("UPDATE leave_applications"))).thenReturn(updateApplications);
+        when(mockConnection.prepareStatement(contains("UPDATE leave_balances"))).thenReturn(updateBalances);
+        when(lockApplications.executeQuery()).thenReturn(applications);
+        when(lockBalances.executeQuery()).thenReturn(balances);
+        when(updateApplications.executeBatch()).thenReturn(new int[] { 1 });
+
+        // 2024-03-08 is a holiday
+        dao = new LeaveDecisionDAO(new WorkingDayCalendar(year -> List.of(LocalDate.of(2024, 3, 8))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (mockedDBConnection != null) {
+            mockedDBConnection.close();
+        }
+    }
+
+    // One 3-day application of EMP1 (type 1, 2024, reporting to the manager) in the given status
+    private void givenApplication(String status, int debitedDays) throws SQLException {
+        when(applications.next()).thenReturn(true, false);
+        when(applications.getInt("leave_application_id")).thenReturn(100);
+        when(applications.getString("employee_id")).thenReturn("EMP1");
+        when(applications.getString("team_member")).thenReturn("EMP1");
+        when(applications.getInt("leave_type_id")).thenReturn(1);
+        when(applications.getDate("start_date")).thenReturn(Date.valueOf("2024-03-04"));
+        when(applications.getDate("end_date")).thenReturn(Date.valueOf("2024-03-06"));
+        when(applications.getInt("debited_days")).thenReturn(debitedDays);
+        when(applications.getString("status")).thenReturn(status);
+        when(applications.getLong("version")).thenReturn(4L);
+    }
+
+    private void givenBalance(int available) throws SQLException {
+        when(balances.next()).thenReturn(true, false);
+        when(balances.getInt("leave_balance_id")).thenReturn(7);
+        when(balances.getString("employee_id")).thenReturn("EMP1");
+        when(balances.getInt("leave_type_id")).thenReturn(1);
+        when(balances.getInt("year")).thenReturn(2024);
+        when(balances.getInt("available_leaves")).thenReturn(available);
+    }
+
+    @Test
+    void testApprove_DebitsBalance() throws Exception {
+        givenApplication("PENDING", 0);
+        givenBalance(10);
+
+        LeaveDecision decision = dao.decide(100, "MGR1", "APPROVED", "Okay");
+
+        assertTrue(decision.isApplied());
+        assertEquals("EMP1", decision.employeeId());
+        assertEquals(3, decision.balanceChange());
+        verify(updateApplications).setString(1, "APPROVED");
+        verify(updateApplications).setString(2, "Okay");
+        verify(updateApplications).setString(3, "MGR1");
+        verify(updateApplications).setInt(4, 3);
+        verify(updateApplications).setInt(5, 100);
+        verify(updateApplications).setLong(6, 4L);
+        verify(updateBalances).setInt(1, 3);
+        verify(updateBalances).setInt(2, 3);
+        verify(updateBalances).setInt(3, 7);
+        verify(updateBalances).executeBatch();
+        verify(mockConnection).commit();
+        verify(mockConnection).setAutoCommit(true);
+    }
+
+    @Test
+    void testApprove_DebitsWorkingDaysOnly() throws Exception {
+        givenApplication("PENDING", 0);
+        // Thursday to Monday, with Friday a holiday
+        when(applications.getDate("start_date")).thenReturn(Date.valueOf("2024-03-07"));
+        when(applications.getDate("end_date")).thenReturn(Date.valueOf("2024-03-11"));
+        givenBalance(10);
+
+        assertEquals(2, dao.decide(100, "MGR1", "APPROVED", "Okay").balanceChange());
+    }
+
+    @Test
+    void testApprove_InsufficientBalance() throws Exception {
+        givenApplication("PENDING", 0);
+        givenBalance(2);
+
+        LeaveDecision decision = dao.decide(100, "MGR1", "APPROVED", "Okay");
+
+        assertEquals(Outcome.INSUFFICIENT_BALANCE, decision.outcome());
+        assertEquals(0, decision.balanceChange());
+        verify(mockConnection, never()).prepareStatement(contains("UPDATE leave_applications"));
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    void testApprove_NoBalanceRow() throws Exception {
+        givenApplication("PENDING", 0);
+
+        assertEquals(Outcome.NO_BALANCE, dao.decide(100, "MGR1", "APPROVED", "Okay").outcome());
+    }
+
+    @Test
+    void testReject_LeavesBalanceAlone() throws Exception {
+        givenApplication("PENDING", 0);
+
+        LeaveDecision decision = dao.decide(100, "MGR1", "REJECTED", "No");
+
+        assertTrue(decision.isApplied());
+        verify(mockConnection, never()).prepareStatement(contains("FROM leave_balances"));
+        verify(mockConnection, never()).prepareStatement(contains("UPDATE leave_balances"));
+        verify(updateApplications).setInt(4, 0);
+    }
+
+    @Test
+    void testRevoke_CreditsDebitedDays() throws Exception {
+        givenApplication("APPROVED", 2);
+        givenBalance(5);
+
+        LeaveDecision decision = dao.decideAsAdmin(100, "ADM1", "REVOKED", "Business need");
+
+        assertTrue(decision.isApplied());
+        assertEquals(-2, decision.balanceChange());
+        verify(updateApplications).setInt(4, 0);
+        verify(updateBalances).setInt(1, -2);
+        verify(updateBalances).setInt(2, -2);
+    }
+
+    // Monday 2024-12-30 to Friday 2025-01-03: 2 working days in 2024, 3 in 2025
+    private void givenNewYearApplication(String status, int debitedDays) throws SQLException {
+        givenApplication(status, debitedDays);
+        when(applications.getDate("start_date")).thenReturn(Date.valueOf("2024-12-30"));
+        when(applications.getDate("end_date")).thenReturn(Date.valueOf("2025-01-03"));
+    }
+
+    private void givenBalances(int available2024, int available2025) throws SQLException {
+        when(balances.next()).thenReturn(true, true, false);
+        when(balances.getInt("leave_balance_id")).thenReturn(7, 8);
+        when(balances.getString("employee_id")).thenReturn("EMP1");
+        when(balances.getInt("leave_type_id")).thenReturn(1);
+        when(balances.getInt("year")).thenReturn(2024, 2025);
+        when(balances.getInt("available_leaves")).thenReturn(available2024, available2025);
+    }
+
+    @Test
+    void testApprove_SplitsDebitAcrossYears() throws Exception {
+        givenNewYearApplication("PENDING", 0);
+        givenBalances(10, 10);
+
+        LeaveDecision decision = dao.decide(100, "MGR1", "APPROVED", "Okay");
+
+        assertTrue(decision.isApplied());
+        assertEquals(5, decision.balanceChange());
+        verify(lockBalances).setInt(3, 2024);
+        verify(lockBalances).setInt(6, 2025);
+        verify(updateApplications).setInt(4, 5);
+        verify(updateBalances).setInt(1, 2);
+        verify(updateBalances).setInt(3, 7);
+        verify(updateBalances).setInt(1, 3);
+        verify(updateBalances).setInt(3, 8);
+        verify(updateBalances, times(2)).addBatch();
+    }
+
+    @Test
+    void testApprove_AcrossYearsNeedsEveryYear() throws Exception {
+        givenNewYearApplication("PENDING", 0);
+        givenBalances(10, 2);
+
+        LeaveDecision decision = dao.decide(100, "MGR1", "APPROVED", "Okay");
+
+        assertEquals(Outcome.INSUFFICIENT_BALANCE, decision.outcome());
+        verify(mockConnection, never()).prepareStatement(contains("UPDATE leave_balances"));
+    }
+
+    @Test
+    void testRevoke_CreditsEachYear() throws Exception {
+        givenNewYearApplication("APPROVED", 5);
+        givenBalances(0, 0);
+
+        LeaveDecision decision = dao.decide(100, "ADM1", "REVOKED", "Business need");
+
+        assertEquals(-5, decision.balanceChange());
+        verify(updateBalances).setInt(1, -2);
+        verify(updateBalances).setInt(3, 7);
+        verify(updateBalances).setInt(1, -3);
+        verify(updateBalances).setInt(3, 8);
+    }
+
+    @Test
+    void testNotAllowedTransition() throws Exception {
+        givenApplication("REJECTED", 0);
+
+        LeaveDecision decision = dao.decide(100, "MGR1", "APPROVED", "Okay");
+
+        assertEquals(Outcome.NOT_ALLOWED, decision.outcome());
+        assertEquals("REJECTED", decision.previousStatus());
+        verify(mockConnection, never()).prepareStatement(contains("UPDATE leave_applications"));
+    }
+
+    @Test
+    void testManagerChecksTeamUnderLock() throws Exception {
+        givenApplication("APPROVED", 3);
+
+        dao.decide(100, "MGR1", "REVOKED", "Business need");
+
+        verify(mockConnection).prepareStatement(contains("e.manager_id = ?"));
+        verify(lockApplications).setString(1, "MGR1");
+        verify(lockApplications).setInt(2, 100);
+    }
+
+    @Test
+    void testNotYourTeam() throws Exception {
+        givenApplication("APPROVED", 3);
+        when(applications.getString("team_member")).thenReturn(null);
+
+        LeaveDecision decision = dao.decide(100, "MGR2", "REVOKED", "Business need");
+
+        assertEquals(Outcome.NOT_YOUR_TEAM, decision.outcome());
+        assertEquals(0, decision.balanceChange());
+        verify(mockConnection, never()).prepareStatement(contains("UPDATE leave_applications"));
+        verify(mockConnection, never()).prepareStatement(contains("UPDATE leave_balances"));
+    }
+
+    @Test
+    void testAdminIsNotLimitedToATeam() throws Exception {
+        givenApplication("APPROVED", 3);
+        givenBalance(0);
+        when(applications.getString("team_member")).thenReturn(null);
+
+        assertTrue(dao.decideAsAdmin(100, "ADM1", "REVOKED", "Business need").isApplied());
+        verify(mockConnection, never()).prepareStatement(contains("manager_id"));
+        verify(lockApplications).setInt(1, 100);
+    }
+
+    @Test
+    void testNotFound() throws Exception {
+        LeaveDecision decision = dao.decide(100, "MGR1", "APPROVED", "Okay");
+
+        assertEquals(Outcome.NOT_FOUND, decision.outcome());
+        assertNull(decision.employeeId());
+    }
+
+    @Test
+    void testCancel_OwnPendingLeave() throws Exception {
+        givenApplication("PENDING", 0);
+
+        assertTrue(dao.cancel(100, "EMP1").isApplied());
+        verify(updateApplications).setString(1, "CANCELLED");
+        verify(updateApplications).setInt(2, 0);
+        verify(updateApplications).setInt(3, 100);
+        verify(updateApplications).setLong(4, 4L);
+    }
+
+    @Test
+    void testCancel_SomeoneElsesLeave() throws Exception {
+        givenApplication("PENDING", 0);
+
+        assertEquals(Outcome.NOT_ALLOWED, dao.cancel(100, "EMP2").outcome());
+        verify(mockConnection, never()).prepareStatement(contains("UPDATE leave_applications"));
+    }
+
+    @Test
+    void testConflict_WhenVersionMoved() throws Exception {
+        givenApplication("PENDING", 0);
+        givenBalance(10);
+        when(updateApplications.executeBatch()).thenReturn(new int[] { 0 });
+
+        LeaveDecision decision = dao.decide(100, "MGR1", "APPROVED", "Okay");
+
+        assertEquals(Outcome.CONFLICT, decision.outcome());
+        verify(mockConnection, never()).prepareStatement(contains("UPDATE leave_balances"));
+    }
+
+    @Test
+    void testSuccessNoInfo_CountsAsApplied() throws Exception {
+        givenApplication("PENDING", 0);
+        givenBalance(10);
+        when(updateApplications.executeBatch()).thenReturn(new int[] { Statement.SUCCESS_NO_INFO });
+
+        assertTrue(dao.decide(100, "MGR1", "APPROVED", "Okay").isApplied());
+    }
+
+    @Test
+    void testDecideAll_ServesEarlierRequestsFirst() throws Exception {
+        when(applications.next()).thenReturn(true, true, false);
+        when(applications.getInt("leave_application_id")).thenReturn(100, 101);
+        when(applications.getString("employee_id")).thenReturn("EMP1");
+        when(applications.getString("team_member")).thenReturn("EMP1");
+        when(applications.getInt("leave_type_id")).thenReturn(1);
+        when(applications.getDate("start_date")).thenReturn(Date.valueOf("2024-03-04"));
+        when(applications.getDate("end_date")).thenReturn(Date.valueOf("2024-03-06"));
+        when(applications.getString("status")).thenReturn("PENDING");
+        givenBalance(4);
+
+        List<LeaveDecision> decisions = dao.decideAll(List.of(101, 100, 101), "MGR1", "APPROVED", "Okay");
+
+        assertEquals(2, decisions.size());
+        assertEquals(101, decisions.get(0).leaveApplicationId());
+        assertTrue(decisions.get(0).isApplied());
+        assertEquals(Outcome.INSUFFICIENT_BALANCE, decisions.get(1).outcome());
+        verify(updateApplications, times(1)).addBatch();
+        verify(updateBalances).setInt(1, 3);
+    }
+
+    @Test
+    void testRollbackOnFailure() throws Exception {
+        givenApplication("PENDING", 0);
+        givenBalance(10);
+        when(updateBalances.executeBatch()).thenThrow(new SQLException("DB Error"));
+
+        assertThrows(SQLException.class, () -> dao.decide(100, "MGR1", "APPROVED", "Okay"));
+
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+        verify(mockConnection).setAutoCommit(true);
+    }
+
+    @Test
+    void testBatchLimit() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i <= 501; i++) {
+            ids.add(i);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> dao.decideAll(ids, "MGR1", "APPROVED", "Okay"));
+        assertTrue(dao.decideAll(Collections.emptyList(), "MGR1", "APPROVED", "Okay").isEmpty());
+        mockedDBConnection.verify(DBConnection::getConnection, never());
+        verify(mockConnection, never()).prepareStatement(anyString());
+    }
+}
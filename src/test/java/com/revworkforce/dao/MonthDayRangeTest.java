@@ -0,0 +1,67 @@
+package com.revworkforce.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthDayRangeTest {
+
+    private static MonthDayRange range(String first, String last) {
+        return MonthDayRange.of(LocalDate.parse(first), LocalDate.parse(last));
+    }
+
+    @Test
+    void testKey() {
+        assertEquals(101, MonthDayRange.key(LocalDate.of(2024, 1, 1)));
+        assertEquals(1225, MonthDayRange.key(LocalDate.of(2024, 12, 25)));
+    }
+
+    @Test
+    void testSingleDay() {
+        MonthDayRange r = range("2024-03-08", "2024-03-08");
+
+        assertEquals(308, r.from());
+        assertEquals(308, r.to());
+        assertFalse(r.wraps());
+    }
+
+    @Test
+    void testWithinYear() {
+        MonthDayRange r = range("2024-06-15", "2024-07-15");
+
+        assertEquals(new MonthDayRange(615, 715, 101, 100), r);
+        assertFalse(r.wraps());
+    }
+
+    @Test
+    void testWrapsAtNewYear() {
+        MonthDayRange r = range("2024-12-20", "2025-01-19");
+
+        assertEquals(new MonthDayRange(1220, 1231, 101, 119), r);
+        assertTrue(r.wraps());
+    }
+
+    @Test
+    void testLeapDayCoveredOnFeb28InNonLeapYear() {
+        assertEquals(229, range("2025-02-28", "2025-02-28").to());
+        assertEquals(228, range("2024-02-28", "2024-02-28").to());
+        assertEquals(229, range("2024-02-29", "2024-02-29").to());
+        assertEquals(229, range("2024-12-31", "2025-02-28").wrapTo());
+    }
+
+    @Test
+    void testYearOrMoreCoversEveryKey() {
+        MonthDayRange r = range("2024-03-08", "2025-03-07");
+
+        assertEquals(101, r.from());
+        assertEquals(1231, r.to());
+        assertFalse(r.wraps());
+    }
+
+    @Test
+    void testEndBeforeStart() {
+        assertThrows(IllegalArgumentException.class, () -> range("2024-03-08", "2024-03-07"));
+    }
+}
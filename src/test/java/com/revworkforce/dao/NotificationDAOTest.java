@@ -1,5 +1,6 @@
 package com.revworkforce.dao;
 
+import com.revworkforce.model.NotificationPage;
 import com.revworkforce.util.DBConnection;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,11 +11,18 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Timestamp;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.*;
 
 class NotificationDAOTest {
@@ -37,6 +45,7 @@ class NotificationDAOTest {
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
 
         notificationDAO = new NotificationDAO();
+        NotificationDAO.getUnreadCounter().invalidate();
     }
 
     @AfterEach
@@ -59,13 +68,42 @@ class NotificationDAOTest {
     @Test
     void testGetUnreadCount() throws Exception {
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-        when(mockResultSet.next()).thenReturn(true);
-        when(mockResultSet.getInt(1)).thenReturn(5);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getString("employee_id")).thenReturn("EMP1");
+        when(mockResultSet.getInt("unread")).thenReturn(5);
 
         int count = notificationDAO.getUnreadCount("EMP1");
 
         assertEquals(5, count);
-        verify(mockPreparedStatement).setString(1, "EMP1");
+        assertEquals(0, notificationDAO.getUnreadCount("EMP2"));
+        // One grouped query loads everyone; later lookups stay in memory
+        verify(mockConnection).prepareStatement(contains("GROUP BY employee_id"));
+        verify(mockPreparedStatement, times(1)).executeQuery();
+    }
+
+    @Test
+    void testGetUnreadCount_LoadFailureReturnsZero() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenThrow(new java.sql.SQLException("DB Error"));
+
+        assertEquals(0, notificationDAO.getUnreadCount("EMP1"));
+        assertFalse(NotificationDAO.getUnreadCounter().isLoaded());
+    }
+
+    private void loadEmptyUnreadCounts() throws Exception {
+        ResultSet empty = mock(ResultSet.class);
+        when(mockPreparedStatement.executeQuery()).thenReturn(empty);
+        NotificationDAO.getUnreadCounter().reload();
+    }
+
+    @Test
+    void testCreateNotification_IncrementsUnreadCount() throws Exception {
+        loadEmptyUnreadCounts();
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+
+        notificationDAO.createNotification("EMP1", "INFO", "Hello");
+        notificationDAO.createNotification("EMP1", "INFO", "Again");
+
+        assertEquals(2, notificationDAO.getUnreadCount("EMP1"));
     }
 
     @Test
@@ -84,7 +122,8 @@ class NotificationDAOTest {
         when(mockResultSet.next()).thenReturn(true, false);
         when(mockResultSet.getInt("notification_id")).thenReturn(10);
         when(mockResultSet.getString("message")).thenReturn("Msg");
-        when(mockResultSet.getString("created_at")).thenReturn("2024-01-01");
+        when(mockResultSet.getTimestamp("created_at")).thenReturn(Timestamp.valueOf("2024-01-01 09:00:00"));
+        when(psUpdate.executeBatch()).thenReturn(new int[] { 1 });
 
         notificationDAO.printAndMarkRead("EMP1");
 
@@ -93,4 +132,170 @@ class NotificationDAOTest {
         verify(psUpdate).addBatch();
         verify(psUpdate).executeBatch();
     }
+
+    @Test
+    void testPrintAndMarkRead_DecrementsUnreadCount() throws Exception {
+        loadEmptyUnreadCounts();
+        NotificationDAO.getUnreadCounter().increment("EMP1", 3);
+
+        PreparedStatement psSelect = mock(PreparedStatement.class);
+        PreparedStatement psUpdate = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(psSelect).thenReturn(psUpdate);
+        when(psSelect.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, false);
+        when(psUpdate.executeBatch()).thenReturn(new int[] { 1, PreparedStatement.SUCCESS_NO_INFO });
+
+        notificationDAO.printAndMarkRead("EMP1");
+
+        assertEquals(1, notificationDAO.getUnreadCount("EMP1"));
+    }
+
+    @Test
+    void testCreateBirthdayNotifications() throws Exception {
+        Date day = Date.valueOf("2024-03-08");
+        when(mockPreparedStatement.executeUpdate()).thenReturn(4);
+
+        int created = notificationDAO.createBirthdayNotifications(day);
+
+        assertEquals(4, created);
+        verify(mockConnection).prepareStatement(contains("INSERT INTO notifications"));
+        verify(mockPreparedStatement, times(2)).setDate(anyInt(), eq(day));
+        verify(mockPreparedStatement).setInt(2, 308);
+        verify(mockPreparedStatement).setInt(3, 308);
+        verify(mockPreparedStatement).executeUpdate();
+    }
+
+    @Test
+    void testCreateBirthdayNotifications_LeapDayOnFeb28() throws Exception {
+        notificationDAO.createBirthdayNotifications(Date.valueOf("2025-02-28"));
+
+        verify(mockPreparedStatement).setInt(2, 228);
+        verify(mockPreparedStatement).setInt(3, 229);
+    }
+
+    @Test
+    void testCreateAnniversaryNotifications() throws Exception {
+        Date day = Date.valueOf("2024-03-08");
+        when(mockPreparedStatement.executeUpdate()).thenReturn(0);
+
+        int created = notificationDAO.createAnniversaryNotifications(day);
+
+        assertEquals(0, created);
+        verify(mockConnection).prepareStatement(contains("'ANNIVERSARY'"));
+        verify(mockPreparedStatement, times(3)).setDate(anyInt(), eq(day));
+        verify(mockPreparedStatement).setInt(2, 308);
+        verify(mockPreparedStatement).setInt(3, 308);
+        verify(mockPreparedStatement).executeUpdate();
+    }
+
+    @Test
+    void testCreateBirthdayNotifications_OverlappingRunRetried() throws Exception {
+        when(mockPreparedStatement.executeUpdate())
+                .thenThrow(new SQLIntegrityConstraintViolationException("ORA-00001: unique constraint violated"))
+                .thenReturn(2);
+
+        assertEquals(2, notificationDAO.createBirthdayNotifications(Date.valueOf("2024-03-08")));
+        verify(mockPreparedStatement, times(2)).executeUpdate();
+    }
+
+    @Test
+    void testCreateAnniversaryNotifications_AlreadyBeingGenerated() throws Exception {
+        when(mockPreparedStatement.executeUpdate())
+                .thenThrow(new SQLIntegrityConstraintViolationException("ORA-00001: unique constraint violated"));
+
+        assertEquals(0, notificationDAO.createAnniversaryNotifications(Date.valueOf("2024-03-08")));
+        verify(mockPreparedStatement, times(2)).executeUpdate();
+    }
+
+    @Test
+    void testGetUnreadPage_FirstPage() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, true, false);
+        when(mockResultSet.getInt("notification_id")).thenReturn(30, 20, 10);
+
+        NotificationPage page = notificationDAO.getUnreadPage("EMP1", 0, 2);
+
+        assertEquals(2, page.notifications().size());
+        assertEquals(30, page.notifications().get(0).getNotificationId());
+        assertTrue(page.hasMore());
+        assertEquals(20, page.nextCursor());
+        verify(mockConnection).prepareStatement(contains("notification_id < ?"));
+        verify(mockPreparedStatement).setString(1, "EMP1");
+        verify(mockPreparedStatement).setInt(2, Integer.MAX_VALUE);
+        verify(mockPreparedStatement).setInt(3, 3);
+    }
+
+    @Test
+    void testGetUnreadPage_LastPage() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getInt("notification_id")).thenReturn(10);
+
+        NotificationPage page = notificationDAO.getUnreadPage("EMP1", 20, 2);
+
+        assertEquals(1, page.notifications().size());
+        assertFalse(page.hasMore());
+        assertEquals(0, page.nextCursor());
+        verify(mockPreparedStatement).setInt(2, 20);
+    }
+
+    @Test
+    void testArchiveReadNotifications() throws Exception {
+        PreparedStatement psSelect = mock(PreparedStatement.class);
+        PreparedStatement psCopy = mock(PreparedStatement.class);
+        PreparedStatement psDelete = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(psSelect, psCopy, psDelete);
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        when(psSelect.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, false);
+        when(mockResultSet.getInt(1)).thenReturn(4, 7);
+        when(psCopy.executeUpdate()).thenReturn(2);
+        when(psDelete.executeUpdate()).thenReturn(2);
+        Timestamp cutoff = Timestamp.valueOf("2024-01-01 00:00:00");
+
+        int moved = notificationDAO.archiveReadNotifications(cutoff, 100);
+
+        assertEquals(2, moved);
+        verify(psSelect).setTimestamp(1, cutoff);
+        verify(psSelect).setInt(2, 100);
+        verify(mockConnection).prepareStatement(contains("INSERT INTO notifications_archive"));
+        verify(psCopy).setInt(1, 4);
+        verify(psCopy).setInt(2, 7);
+        verify(psDelete).setInt(1, 4);
+        verify(psDelete).setInt(2, 7);
+        verify(mockConnection).setAutoCommit(false);
+        verify(mockConnection).commit();
+        verify(mockConnection).setAutoCommit(true);
+    }
+
+    @Test
+    void testArchiveReadNotifications_NothingEligible() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(false);
+
+        assertEquals(0, notificationDAO.archiveReadNotifications(Timestamp.valueOf("2024-01-01 00:00:00"), 100));
+        verify(mockConnection, times(1)).prepareStatement(anyString());
+        verify(mockPreparedStatement, never()).executeUpdate();
+    }
+
+    @Test
+    void testArchiveReadNotifications_FailureRollsBack() throws Exception {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getInt(1)).thenReturn(4);
+        when(mockPreparedStatement.executeUpdate()).thenThrow(new java.sql.SQLException("DB Error"));
+
+        assertThrows(java.sql.SQLException.class,
+                () -> notificationDAO.archiveReadNotifications(Timestamp.valueOf("2024-01-01 00:00:00"), 100));
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+    }
+
+    @Test
+    void testArchiveReadNotifications_BatchSizeBounded() {
+        Timestamp cutoff = Timestamp.valueOf("2024-01-01 00:00:00");
+
+        assertThrows(IllegalArgumentException.class, () -> notificationDAO.archiveReadNotifications(cutoff, 0));
+        assertThrows(IllegalArgumentException.class, () -> notificationDAO.archiveReadNotifications(cutoff, 1001));
+    }
 }
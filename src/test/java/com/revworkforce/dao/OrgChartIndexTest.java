@@ -0,0 +1,93 @@
+package com.revworkforce.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrgChartIndexTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private OrgChartIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // CEO -> DIR1 -> MGR1 -> EMP1, EMP2 ; CEO -> DIR2
+        Map<String, String> lines = new HashMap<>();
+        lines.put("CEO", null);
+        lines.put("DIR1", "CEO");
+        lines.put("DIR2", "CEO");
+        lines.put("MGR1", "DIR1");
+        lines.put("EMP1", "MGR1");
+        lines.put("EMP2", "MGR1");
+        index = new OrgChartIndex(() -> {
+            loads.incrementAndGet();
+            return lines;
+        });
+    }
+
+    @Test
+    void testDirectAndSkipLevelChecks() throws Exception {
+        assertTrue(index.isDirectReport("MGR1", "EMP1"));
+        assertFalse(index.isDirectReport("DIR1", "EMP1"));
+        assertTrue(index.isInReportingLine("DIR1", "EMP1"));
+        assertTrue(index.isInReportingLine("CEO", "EMP1"));
+        assertFalse(index.isInReportingLine("DIR2", "EMP1"));
+        assertFalse(index.isInReportingLine("EMP1", "EMP1"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testReportingChainAndSubtree() throws Exception {
+        assertEquals(List.of("MGR1", "DIR1", "CEO"), index.getReportingChain("EMP1"));
+        assertTrue(index.getReportingChain("CEO").isEmpty());
+
+        List<String> subtree = index.getSubtree("DIR1");
+        assertEquals(3, subtree.size());
+        assertEquals("MGR1", subtree.get(0));
+        assertTrue(subtree.containsAll(List.of("EMP1", "EMP2")));
+        assertEquals(5, index.getSubtree("CEO").size());
+        assertTrue(index.getSubtree("EMP1").isEmpty());
+    }
+
+    @Test
+    void testMoveEmployee_UpdatesBothDirections() throws Exception {
+        index.getManager("EMP1");
+        index.moveEmployee("MGR1", "DIR2");
+
+        assertEquals(List.of("MGR1", "DIR2", "CEO"), index.getReportingChain("EMP1"));
+        assertTrue(index.getSubtree("DIR1").isEmpty());
+        assertEquals(List.of("MGR1"), index.getDirectReports("DIR2"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testMoveBeforeLoad_IsIgnored() throws Exception {
+        index.moveEmployee("EMP1", "DIR2");
+        assertFalse(index.isLoaded());
+        assertEquals("MGR1", index.getManager("EMP1"));
+    }
+
+    @Test
+    void testInvalidate_ReloadsFromSource() throws Exception {
+        index.getManager("EMP1");
+        index.invalidate();
+        index.getManager("EMP1");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testCycleDoesNotLoop() throws Exception {
+        index.getManager("EMP1");
+        index.moveEmployee("CEO", "EMP1");
+
+        assertFalse(index.isInReportingLine("DIR2", "EMP1"));
+        assertEquals(List.of("MGR1", "DIR1", "CEO", "EMP1"), index.getReportingChain("EMP1"));
+        assertEquals(5, index.getSubtree("CEO").size());
+    }
+}
@@ -69,7 +69,8 @@ class PerformanceCycleDAOTest {
     @Test
     void testGetAllCycles() throws Exception {
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-        cycleDAO.getAllCycles();
+        cycleDAO.getAllCycles(rs -> {
+        });
         verify(mockPreparedStatement).executeQuery();
     }
 }
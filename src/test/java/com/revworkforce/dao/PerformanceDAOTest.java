@@ -72,7 +72,8 @@ class PerformanceDAOTest {
     @Test
     void testGetTeamGoals() throws Exception {
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-        performanceDAO.getTeamGoals("MGR1");
+        performanceDAO.getTeamGoals("MGR1", rs -> {
+        });
         verify(mockPreparedStatement).setString(1, "MGR1");
         verify(mockPreparedStatement).executeQuery();
     }
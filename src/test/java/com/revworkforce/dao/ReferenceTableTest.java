@@ -0,0 +1,156 @@
+package com.revworkforce.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceTableTest {
+
+    private final AtomicReference<Map<Integer, String>> rows = new AtomicReference<>(
+            Map.of(2, "Finance", 1, "HR"));
+    private final ReferenceTable table = new ReferenceTable("departments", rows::get);
+
+    @Test
+    void testLoadsOnceAndServesFromMemory() throws Exception {
+        assertFalse(table.isLoaded());
+
+        assertTrue(table.contains("1"));
+        assertTrue(table.contains(" 2 "));
+        assertFalse(table.contains("3"));
+        assertFalse(table.contains("HR"));
+        assertFalse(table.contains(null));
+        assertEquals("Finance", table.getName("2"));
+        assertNull(table.getName("x"));
+        assertEquals(List.of(1, 2), new ArrayList<>(table.rows().keySet()));
+
+        assertTrue(table.isLoaded());
+        assertEquals(1, table.getLoads());
+    }
+
+    @Test
+    void testSnapshotIsImmutable() throws Exception {
+        SortedMap<Integer, String> snapshot = table.rows();
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.put(3, "IT"));
+    }
+
+    @Test
+    void testReloadSwapsWholeSnapshot() throws Exception {
+        SortedMap<Integer, String> before = table.rows();
+        rows.set(Map.of(1, "Human Resources", 3, "IT"));
+
+        table.reload();
+
+        assertEquals(Map.of(1, "Human Resources", 3, "IT"), table.rows());
+        assertFalse(table.contains("2"));
+        // Readers holding the old snapshot keep a consistent view of it
+        assertEquals(Map.of(1, "HR", 2, "Finance"), before);
+        assertEquals(2, table.getLoads());
+    }
+
+    @Test
+    void testFailedReloadDropsSnapshot() throws Exception {
+        AtomicBoolean failing = new AtomicBoolean();
+        ReferenceTable flaky = new ReferenceTable("flaky", () -> {
+            if (failing.get()) {
+                throw new IllegalStateException("database down");
+            }
+            return rows.get();
+        });
+        assertTrue(flaky.contains("1"));
+
+        failing.set(true);
+        flaky.reload();
+
+        assertFalse(flaky.isLoaded());
+        assertThrows(IllegalStateException.class, () -> flaky.contains("1"));
+        failing.set(false);
+        assertTrue(flaky.contains("1"));
+    }
+
+    @Test
+    void testLoadOlderThanReloadIsNotInstalled() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        ReferenceTable slow = new ReferenceTable("slow", () -> {
+            Map<Integer, String> current = rows.get();
+            if (first.getAndSet(false)) {
+                loading.countDown();
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            }
+            return current;
+        });
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<SortedMap<Integer, String>> reader = pool.submit(slow::rows);
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+            rows.set(Map.of(1, "HR", 2, "Finance", 3, "IT"));
+            slow.reload();
+            release.countDown();
+
+            assertEquals(2, reader.get(10, TimeUnit.SECONDS).size());
+            assertEquals(3, slow.rows().size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testReadersNeverSeeHalfUpdatedTable() throws Exception {
+        table.rows();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        AtomicBoolean done = new AtomicBoolean();
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                readers.add(pool.submit(() -> {
+                    while (!done.get()) {
+                        // Each snapshot is all old names or all new ones
+                        SortedMap<Integer, String> snapshot = table.rows();
+                        boolean renamed = snapshot.get(1).endsWith("'");
+                        for (String name : snapshot.values()) {
+                            assertEquals(renamed, name.endsWith("'"));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < 200; i++) {
+                rows.set(i % 2 == 0 ? Map.of(1, "HR'", 2, "Finance'") : Map.of(1, "HR", 2, "Finance"));
+                table.reload();
+            }
+            done.set(true);
+            for (Future<?> reader : readers) {
+                reader.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            done.set(true);
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testInvalidateForcesLoad() throws Exception {
+        table.rows();
+        table.invalidate();
+
+        assertFalse(table.isLoaded());
+        assertTrue(table.contains("2"));
+        assertEquals(2, table.getLoads());
+    }
+}
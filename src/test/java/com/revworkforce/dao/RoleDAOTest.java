@@ -15,6 +15,7 @@ import java.sql.ResultSet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.*;
 
 class RoleDAOTest {
@@ -25,6 +26,10 @@ class RoleDAOTest {
     private PreparedStatement mockPreparedStatement;
     @Mock
     private ResultSet mockResultSet;
+    @Mock
+    private PreparedStatement mockRolesStatement;
+    @Mock
+    private ResultSet mockRolesResultSet;
 
     private MockedStatic<DBConnection> mockedDBConnection;
     private RoleDAO roleDAO;
@@ -35,7 +40,15 @@ class RoleDAOTest {
         mockedDBConnection = Mockito.mockStatic(DBConnection.class);
         mockedDBConnection.when(DBConnection::getConnection).thenReturn(mockConnection);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockConnection.prepareStatement(contains("FROM roles"))).thenReturn(mockRolesStatement);
 
+        // roles table: 1 Employee, 2 Manager, 3 Admin
+        when(mockRolesStatement.executeQuery()).thenReturn(mockRolesResultSet);
+        when(mockRolesResultSet.next()).thenReturn(true, true, true, false);
+        when(mockRolesResultSet.getInt("role_id")).thenReturn(1, 2, 3);
+        when(mockRolesResultSet.getString("role_name")).thenReturn("Employee", "Manager", "Admin");
+
+        RoleDAO.clearCache();
         roleDAO = new RoleDAO();
     }
 
@@ -49,23 +62,26 @@ class RoleDAOTest {
     @Test
     void testGetEmployeeRole_Admin() throws Exception {
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-        when(mockResultSet.next()).thenReturn(true, false);
-        when(mockResultSet.getString("role_name")).thenReturn("Admin");
+        when(mockResultSet.next()).thenReturn(true, true, false);
+        when(mockResultSet.getString("role_id")).thenReturn("1", "3");
 
         String role = roleDAO.getEmployeeRole("EMP001");
 
         assertEquals("Admin", role);
+        verify(mockPreparedStatement).setString(1, "EMP001");
     }
 
     @Test
     void testGetEmployeeRole_Manager() throws Exception {
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-        when(mockResultSet.next()).thenReturn(true, false);
-        when(mockResultSet.getString("role_name")).thenReturn("Manager");
+        when(mockResultSet.next()).thenReturn(true, false, true, false);
+        when(mockResultSet.getString("role_id")).thenReturn("2");
 
-        String role = roleDAO.getEmployeeRole("EMP001");
+        assertEquals("Manager", roleDAO.getEmployeeRole("EMP001"));
+        assertEquals("Manager", roleDAO.getEmployeeRole("MGR001"));
 
-        assertEquals("Manager", role);
+        // Role names loaded once, then read from memory
+        verify(mockRolesStatement, times(1)).executeQuery();
     }
 
     @Test
@@ -0,0 +1,87 @@
+package com.revworkforce.dao;
+
+import com.revworkforce.model.EmployeeSummary;
+import com.revworkforce.model.LeaveBalanceRow;
+import com.revworkforce.model.TeamLeaveRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RowMappersTest {
+
+    private ResultSet rs;
+
+    @BeforeEach
+    void setUp() {
+        rs = mock(ResultSet.class);
+    }
+
+    @Test
+    void testEmployeeSummary_ResolvesColumnsOnce() throws SQLException {
+        when(rs.findColumn("employee_id")).thenReturn(1);
+        when(rs.findColumn("first_name")).thenReturn(2);
+        when(rs.findColumn("last_name")).thenReturn(3);
+        when(rs.findColumn("email")).thenReturn(4);
+        when(rs.findColumn("department_name")).thenReturn(5);
+        when(rs.findColumn("designation_name")).thenReturn(6);
+        when(rs.getString(1)).thenReturn("EMP001", "EMP002");
+        when(rs.getString(2)).thenReturn("Ann", "Bob");
+        when(rs.getString(3)).thenReturn("Lee", (String) null);
+
+        RowMapper<EmployeeSummary> mapper = RowMappers.EMPLOYEE_SUMMARY.forResultSet(rs);
+        EmployeeSummary first = mapper.mapRow(rs);
+        EmployeeSummary second = mapper.mapRow(rs);
+
+        assertEquals("EMP001", first.employeeId());
+        assertEquals("Ann Lee", first.fullName());
+        assertEquals("Bob", second.fullName());
+        verify(rs, times(1)).findColumn("employee_id");
+        verify(rs, never()).getString(anyString());
+    }
+
+    @Test
+    void testLeaveBalance_OwnAndTeam() throws SQLException {
+        when(rs.findColumn("employee_id")).thenReturn(1);
+        when(rs.findColumn("leave_type_name")).thenReturn(2);
+        when(rs.findColumn("total_allocated")).thenReturn(3);
+        when(rs.findColumn("used_leaves")).thenReturn(4);
+        when(rs.findColumn("available_leaves")).thenReturn(5);
+        when(rs.getString(1)).thenReturn("EMP001");
+        when(rs.getString(2)).thenReturn("Casual");
+        when(rs.getInt(3)).thenReturn(12);
+        when(rs.getInt(4)).thenReturn(2);
+        when(rs.getInt(5)).thenReturn(10);
+
+        assertEquals(new LeaveBalanceRow(null, "Casual", 12, 2, 10),
+                RowMappers.LEAVE_BALANCE.forResultSet(rs).mapRow(rs));
+        assertEquals(new LeaveBalanceRow("EMP001", "Casual", 12, 2, 10),
+                RowMappers.TEAM_LEAVE_BALANCE.forResultSet(rs).mapRow(rs));
+    }
+
+    @Test
+    void testTeamLeaveRequest() throws SQLException {
+        String[] columns = { "leave_application_id", "employee_id", "first_name", "last_name",
+                "department_name", "start_date", "end_date", "status" };
+        for (int i = 0; i < columns.length; i++) {
+            when(rs.findColumn(columns[i])).thenReturn(i + 1);
+        }
+        when(rs.getInt(1)).thenReturn(101);
+        when(rs.getString(2)).thenReturn("EMP002");
+        when(rs.getDate(6)).thenReturn(Date.valueOf("2024-01-01"));
+        when(rs.getString(8)).thenReturn("PENDING");
+
+        TeamLeaveRequest row = RowMappers.TEAM_LEAVE_REQUEST.forResultSet(rs).mapRow(rs);
+
+        assertEquals(101, row.leaveApplicationId());
+        assertEquals("EMP002", row.employeeId());
+        assertEquals(Date.valueOf("2024-01-01"), row.startDate());
+        assertEquals("PENDING", row.status());
+    }
+}
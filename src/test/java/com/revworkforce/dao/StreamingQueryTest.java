@@ -0,0 +1,81 @@
+package com.revworkforce.dao;
+
+import com.revworkforce.util.DBConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class StreamingQueryTest {
+
+    private Connection mockConnection;
+    private PreparedStatement mockPreparedStatement;
+    private ResultSet mockResultSet;
+    private MockedStatic<DBConnection> mockedDB;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        mockConnection = mock(Connection.class);
+        mockPreparedStatement = mock(PreparedStatement.class);
+        mockResultSet = mock(ResultSet.class);
+
+        mockedDB = Mockito.mockStatic(DBConnection.class);
+        mockedDB.when(DBConnection::getConnection).thenReturn(mockConnection);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (mockedDB != null) {
+            mockedDB.close();
+        }
+    }
+
+    @Test
+    void testForEachRow_PassesEveryRowAndCloses() throws Exception {
+        when(mockResultSet.next()).thenReturn(true, true, true, false);
+        when(mockResultSet.getString(1)).thenReturn("a", "b", "c");
+        List<String> seen = new ArrayList<>();
+
+        int rows = StreamingQuery.forEachRow("SELECT x FROM t WHERE y = ?",
+                ps -> ps.setString(1, "y"),
+                rs -> seen.add(rs.getString(1)));
+
+        assertEquals(3, rows);
+        assertEquals(List.of("a", "b", "c"), seen);
+        verify(mockPreparedStatement).setString(1, "y");
+        verify(mockPreparedStatement).setFetchSize(anyInt());
+        verify(mockResultSet).close();
+        verify(mockPreparedStatement).close();
+        verify(mockConnection).close();
+    }
+
+    @Test
+    void testForEachRow_ClosesWhenCallbackFails() throws Exception {
+        when(mockResultSet.next()).thenReturn(true);
+
+        assertThrows(SQLException.class, () -> StreamingQuery.forEachRow("SELECT 1 FROM dual",
+                StreamingQuery.NO_PARAMETERS,
+                rs -> {
+                    throw new SQLException("bad row");
+                }));
+
+        verify(mockResultSet).close();
+        verify(mockPreparedStatement).close();
+        verify(mockConnection).close();
+    }
+}
@@ -76,7 +76,8 @@ class SystemPolicyDAOTest {
     @Test
     void testGetAllPolicies() throws Exception {
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-        policyDAO.getAllPolicies();
+        policyDAO.getAllPolicies(rs -> {
+        });
         verify(mockPreparedStatement).executeQuery();
     }
 }
@@ -0,0 +1,143 @@
+package com.revworkforce.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnreadCounterTest {
+
+    private final Map<String, Integer> database = new HashMap<>(Map.of("EMP1", 2, "EMP2", 1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final UnreadCounter counter = new UnreadCounter(() -> {
+        loads.incrementAndGet();
+        return new HashMap<>(database);
+    });
+
+    @Test
+    void testLoadsOnceOnFirstGet() throws Exception {
+        assertFalse(counter.isLoaded());
+
+        assertEquals(2, counter.get("EMP1"));
+        assertEquals(1, counter.get("EMP2"));
+        assertEquals(0, counter.get("EMP3"));
+
+        assertTrue(counter.isLoaded());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testIncrementAndMarkedRead() throws Exception {
+        counter.get("EMP1");
+
+        counter.increment("EMP1", 1);
+        counter.increment("EMP3", 2);
+        assertEquals(3, counter.get("EMP1"));
+        assertEquals(2, counter.get("EMP3"));
+
+        counter.markedRead("EMP1", 1);
+        assertEquals(2, counter.get("EMP1"));
+
+        // Never below zero
+        counter.markedRead("EMP3", 5);
+        assertEquals(0, counter.get("EMP3"));
+    }
+
+    @Test
+    void testUpdatesBeforeLoadAreIgnored() throws Exception {
+        counter.increment("EMP1", 5);
+        counter.markedRead("EMP2", 1);
+
+        assertEquals(2, counter.get("EMP1"));
+        assertEquals(1, counter.get("EMP2"));
+    }
+
+    @Test
+    void testReloadReconcilesDrift() throws Exception {
+        counter.get("EMP1");
+        counter.increment("EMP1", 10);
+        database.put("EMP1", 4);
+        database.remove("EMP2");
+
+        counter.reload();
+
+        assertEquals(4, counter.get("EMP1"));
+        assertEquals(0, counter.get("EMP2"));
+    }
+
+    @Test
+    void testUpdatesDuringReloadAreKept() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean slow = new AtomicBoolean();
+        UnreadCounter racing = new UnreadCounter(() -> {
+            Map<String, Integer> snapshot = new HashMap<>(database);
+            if (slow.get()) {
+                loading.countDown();
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            }
+            return snapshot;
+        });
+        racing.get("EMP1");
+        slow.set(true);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> reload = pool.submit(() -> {
+                racing.reload();
+                return null;
+            });
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+            // Written after the load read the table
+            database.put("EMP1", 3);
+            racing.increment("EMP1", 1);
+            database.put("EMP2", 0);
+            racing.markedRead("EMP2", 1);
+            racing.increment("EMP3", 2);
+            release.countDown();
+            reload.get(10, TimeUnit.SECONDS);
+
+            assertEquals(3, racing.get("EMP1"));
+            assertEquals(0, racing.get("EMP2"));
+            assertEquals(2, racing.get("EMP3"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedReloadKeepsCounts() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        UnreadCounter flaky = new UnreadCounter(() -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException("DB Error");
+            }
+            return Map.of("EMP1", 3);
+        });
+        flaky.get("EMP1");
+
+        assertThrows(IllegalStateException.class, flaky::reload);
+        assertEquals(3, flaky.get("EMP1"));
+    }
+
+    @Test
+    void testInvalidateForcesReload() throws Exception {
+        counter.get("EMP1");
+        counter.invalidate();
+
+        counter.get("EMP1");
+
+        assertEquals(2, loads.get());
+    }
+}
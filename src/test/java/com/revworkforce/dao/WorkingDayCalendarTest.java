@@ -0,0 +1,96 @@
+package com.revworkforce.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkingDayCalendarTest {
+
+    private final List<Integer> loads = new ArrayList<>();
+
+    private final Map<Integer, List<LocalDate>> holidays = Map.of(
+            2024, List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 25)),
+            2025, List.of(LocalDate.of(2025, 1, 1)));
+
+    private final WorkingDayCalendar calendar = new WorkingDayCalendar(year -> {
+        loads.add(year);
+        return holidays.getOrDefault(year, List.of());
+    });
+
+    private int days(String start, String end) throws Exception {
+        return calendar.workingDays(LocalDate.parse(start), LocalDate.parse(end));
+    }
+
+    @Test
+    void testSkipsWeekends() throws Exception {
+        // Monday 2024-03-04 to Sunday 2024-03-17
+        assertEquals(10, days("2024-03-04", "2024-03-17"));
+        assertEquals(0, days("2024-03-09", "2024-03-10"));
+        assertEquals(1, days("2024-03-08", "2024-03-08"));
+    }
+
+    @Test
+    void testSkipsHolidays() throws Exception {
+        // New Year's Day 2024 was a Monday
+        assertEquals(4, days("2024-01-01", "2024-01-05"));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2024, 1, 1)));
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2024, 1, 2)));
+    }
+
+    @Test
+    void testWholeLeapYear() throws Exception {
+        // 262 weekdays in 2024, less two holidays
+        assertEquals(260, days("2024-01-01", "2024-12-31"));
+        assertEquals(1, days("2024-02-29", "2024-02-29"));
+    }
+
+    @Test
+    void testSpansYears() throws Exception {
+        // Mon 2024-12-23 .. Fri 2025-01-03: 10 weekdays, less 25 Dec and 1 Jan
+        assertEquals(8, days("2024-12-23", "2025-01-03"));
+        // 2023 (260 weekdays) through 2025 (261 weekdays, less 1 Jan)
+        assertEquals(260 + 260 + 260, days("2023-01-01", "2025-12-31"));
+    }
+
+    @Test
+    void testEndBeforeStart() throws Exception {
+        assertEquals(0, days("2024-03-05", "2024-03-04"));
+        assertTrue(loads.isEmpty());
+    }
+
+    @Test
+    void testLoadsEachYearOnce() throws Exception {
+        days("2024-01-01", "2024-06-30");
+        days("2024-07-01", "2024-12-31");
+        days("2024-12-01", "2025-01-31");
+
+        assertEquals(List.of(2024, 2025), loads);
+        assertEquals(2, calendar.size());
+    }
+
+    @Test
+    void testInvalidateReloadsOnlyThatYear() throws Exception {
+        days("2024-12-01", "2025-01-31");
+        calendar.invalidate(2025);
+
+        days("2024-12-01", "2025-01-31");
+
+        assertEquals(List.of(2024, 2025, 2025), loads);
+    }
+
+    @Test
+    void testLoadFailurePropagates() {
+        WorkingDayCalendar failing = new WorkingDayCalendar(year -> {
+            throw new IllegalStateException("DB Error");
+        });
+
+        assertThrows(IllegalStateException.class,
+                () -> failing.workingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2)));
+        assertEquals(0, failing.size());
+    }
+}
@@ -21,4 +21,14 @@ class ExceptionTest {
         ValidationException ex = new ValidationException("Invalid input");
         assertEquals("Invalid input", ex.getMessage());
     }
+
+    @Test
+    void testServiceBusyException() {
+        ServiceBusyException ex = new ServiceBusyException("Busy");
+        assertEquals("Busy", ex.getMessage());
+        assertInstanceOf(AppException.class, ex);
+
+        Exception cause = new RuntimeException("Cause");
+        assertEquals(cause, new ServiceBusyException("Busy", cause).getCause());
+    }
 }
@@ -89,19 +89,14 @@ class AdminConfigServiceTest {
                                 .thenReturn(5);
 
                 // Mock result set for view
-                java.sql.Statement mockStmt = mock(java.sql.Statement.class);
-                java.sql.Connection mockCon = mock(java.sql.Connection.class);
-
-                when(mockDeptDao.getAllDepartments()).thenReturn(mockResultSet);
-                when(mockResultSet.getStatement()).thenReturn(mockStmt);
-                when(mockStmt.getConnection()).thenReturn(mockCon);
+                doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(mockDeptDao).getAllDepartments(any());
                 when(mockResultSet.next()).thenReturn(true, false);
                 when(mockResultSet.getString("department_id")).thenReturn("1");
                 when(mockResultSet.getString("department_name")).thenReturn("HR");
 
                 AdminConfigService.manageDepartments();
 
-                verify(mockDeptDao).getAllDepartments();
+                verify(mockDeptDao).getAllDepartments(any());
         }
 
         @Test
@@ -1,7 +1,11 @@
 package com.revworkforce.service;
 
+import com.revworkforce.context.SessionContext;
 import com.revworkforce.dao.LeaveDAO;
+import com.revworkforce.dao.LeaveDecisionDAO;
 import com.revworkforce.dao.LeavePolicyDAO;
+import com.revworkforce.model.Employee;
+import com.revworkforce.model.LeaveDecision;
 import com.revworkforce.util.InputUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +28,8 @@ class AdminLeaveServiceTest {
     private LeavePolicyDAO mockPolicyDao;
     @Mock
     private LeaveDAO mockLeaveDao;
+    @Mock
+    private LeaveDecisionDAO mockDecisionDao;
 
     private MockedStatic<InputUtil> mockedInputUtil;
     private MockedStatic<AuditService> mockedAuditService;
@@ -34,9 +40,15 @@ class AdminLeaveServiceTest {
 
         setStaticField(AdminLeaveService.class, "policyDAO", mockPolicyDao);
         setStaticField(AdminLeaveService.class, "leaveDAO", mockLeaveDao);
+        setStaticField(AdminLeaveService.class, "leaveDecisionDAO", mockDecisionDao);
 
         mockedInputUtil = Mockito.mockStatic(InputUtil.class);
         mockedAuditService = Mockito.mockStatic(AuditService.class);
+
+        // Other tests may leave a session bound to this thread
+        Employee admin = new Employee();
+        admin.setEmployeeId("ADMIN001");
+        SessionContext.set(admin);
     }
 
     @AfterEach
@@ -45,9 +57,11 @@ class AdminLeaveServiceTest {
             mockedInputUtil.close();
         if (mockedAuditService != null)
             mockedAuditService.close();
+        SessionContext.clear();
 
         setStaticField(AdminLeaveService.class, "policyDAO", new LeavePolicyDAO());
         setStaticField(AdminLeaveService.class, "leaveDAO", new LeaveDAO());
+        setStaticField(AdminLeaveService.class, "leaveDecisionDAO", new LeaveDecisionDAO());
     }
 
     @Test
@@ -92,9 +106,28 @@ class AdminLeaveServiceTest {
         mockedInputUtil.when(() -> InputUtil.readInt(contains("Leave Application ID"))).thenReturn(100);
         mockedInputUtil.when(() -> InputUtil.readString(contains("Reason"))).thenReturn("Admin Action");
 
+        when(mockDecisionDao.decideAsAdmin(eq(100), anyString(), eq("REVOKED"), eq("Admin Action")))
+                .thenReturn(new LeaveDecision(100, "EMP1", "APPROVED", "REVOKED", -2,
+                        LeaveDecision.Outcome.APPLIED));
+
+        AdminLeaveService.revokeLeave();
+
+        verify(mockDecisionDao).decideAsAdmin(eq(100), anyString(), eq("REVOKED"), eq("Admin Action"));
+        mockedAuditService.verify(() -> AuditService.log(anyString(), eq("REVOKE"), anyString(), eq("100"),
+                anyString()));
+    }
+
+    @Test
+    void testRevokeLeave_NotApproved() throws Exception {
+        mockedInputUtil.when(() -> InputUtil.readInt(contains("Leave Application ID"))).thenReturn(100);
+        mockedInputUtil.when(() -> InputUtil.readString(contains("Reason"))).thenReturn("Admin Action");
+        when(mockDecisionDao.decideAsAdmin(anyInt(), anyString(), anyString(), anyString()))
+                .thenReturn(new LeaveDecision(100, "EMP1", "PENDING", "REVOKED", 0,
+                        LeaveDecision.Outcome.NOT_ALLOWED));
+
         AdminLeaveService.revokeLeave();
 
-        verify(mockLeaveDao).updateLeaveStatus(eq(100), anyString(), eq("REVOKED"), eq("Admin Action"));
+        mockedAuditService.verifyNoInteractions();
     }
 
     @Test
@@ -121,7 +154,7 @@ class AdminLeaveServiceTest {
 
         AdminLeaveService.leaveReportsMenu();
 
-        verify(mockLeaveDao).getEmployeeLeaveReport("EMP1");
+        verify(mockLeaveDao).getEmployeeLeaveReport(eq("EMP1"), any());
     }
 
     @Test
@@ -155,25 +188,25 @@ class AdminLeaveServiceTest {
         mockedInputUtil.when(() -> InputUtil.readInt(contains("Leave Application ID"))).thenReturn(100);
         mockedInputUtil.when(() -> InputUtil.readString(contains("Reason"))).thenReturn("Admin Action");
 
-        doThrow(new RuntimeException("DB Error")).when(mockLeaveDao).updateLeaveStatus(anyInt(), anyString(),
+        doThrow(new RuntimeException("DB Error")).when(mockDecisionDao).decideAsAdmin(anyInt(), anyString(),
                 anyString(), anyString());
 
         AdminLeaveService.revokeLeave();
 
-        verify(mockLeaveDao).updateLeaveStatus(eq(100), anyString(), eq("REVOKED"), eq("Admin Action"));
+        verify(mockDecisionDao).decideAsAdmin(eq(100), anyString(), eq("REVOKED"), eq("Admin Action"));
     }
 
     @Test
     void testViewLeaveStatistics() throws Exception {
         AdminLeaveService.viewLeaveStatistics();
-        verify(mockLeaveDao).getLeaveStatistics();
+        verify(mockLeaveDao).getLeaveStatistics(any());
     }
 
     @Test
     void testViewLeaveStatistics_Failure() throws Exception {
-        doThrow(new RuntimeException("DB Error")).when(mockLeaveDao).getLeaveStatistics();
+        doThrow(new RuntimeException("DB Error")).when(mockLeaveDao).getLeaveStatistics(any());
         AdminLeaveService.viewLeaveStatistics();
-        verify(mockLeaveDao).getLeaveStatistics();
+        verify(mockLeaveDao).getLeaveStatistics(any());
     }
 
     @Test
@@ -184,7 +217,7 @@ class AdminLeaveServiceTest {
 
         AdminLeaveService.leaveReportsMenu();
 
-        verify(mockLeaveDao).getLeaveStatistics();
+        verify(mockLeaveDao).getLeaveStatistics(any());
     }
 
     @Test
@@ -195,7 +228,7 @@ class AdminLeaveServiceTest {
 
         AdminLeaveService.leaveReportsMenu();
 
-        verify(mockLeaveDao).getDepartmentLeaveReport();
+        verify(mockLeaveDao).getDepartmentLeaveReport(any());
     }
 
     @Test
@@ -213,11 +246,11 @@ class AdminLeaveServiceTest {
                 .thenReturn(1) // Statistics
                 .thenReturn(4); // Back
 
-        doThrow(new RuntimeException("DB Error")).when(mockLeaveDao).getLeaveStatistics();
+        doThrow(new RuntimeException("DB Error")).when(mockLeaveDao).getLeaveStatistics(any());
 
         AdminLeaveService.leaveReportsMenu();
 
-        verify(mockLeaveDao).getLeaveStatistics();
+        verify(mockLeaveDao).getLeaveStatistics(any());
     }
 
     private void setStaticField(Class<?> clazz, String fieldName, Object value) throws Exception {
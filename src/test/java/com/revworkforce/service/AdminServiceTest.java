@@ -1,6 +1,12 @@
 package com.revworkforce.service;
 
+import com.revworkforce.dao.AuditLogDAO;
+import com.revworkforce.model.AuditLog;
+import com.revworkforce.model.AuditLogCursor;
+import com.revworkforce.model.AuditLogFilter;
+import com.revworkforce.model.AuditLogPage;
 import com.revworkforce.model.Employee;
+import com.revworkforce.model.EmployeeSearchPage;
 import com.revworkforce.dao.EmployeeDAO;
 import com.revworkforce.dao.DepartmentDAO;
 import com.revworkforce.dao.DesignationDAO;
@@ -13,12 +19,16 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Field;
+import java.sql.Timestamp;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class AdminServiceTest {
@@ -26,6 +36,7 @@ class AdminServiceTest {
         private EmployeeDAO mockEmpDao;
         private DepartmentDAO mockDeptDao;
         private DesignationDAO mockDesigDao;
+        private EmployeeIdAllocator mockIdAllocator;
         private MockedStatic<InputUtil> mockInputUtil;
 
         @BeforeEach
@@ -34,6 +45,7 @@ class AdminServiceTest {
                 mockEmpDao = Mockito.mock(EmployeeDAO.class);
                 mockDeptDao = Mockito.mock(DepartmentDAO.class);
                 mockDesigDao = Mockito.mock(DesignationDAO.class);
+                mockIdAllocator = Mockito.mock(EmployeeIdAllocator.class);
 
                 // Inject Mocks into AdminService:
                 // AdminService uses multiple DAOs (Employee, Department, Designation), all must
@@ -41,6 +53,7 @@ class AdminServiceTest {
                 setPrivateStaticField(AdminService.class, "employeeDAO", mockEmpDao);
                 setPrivateStaticField(AdminService.class, "departmentDAO", mockDeptDao);
                 setPrivateStaticField(AdminService.class, "designationDAO", mockDesigDao);
+                setPrivateStaticField(AdminService.class, "idAllocator", mockIdAllocator);
 
                 // Inject into EmployeeService as well since AdminService delegates some checks
                 setPrivateStaticField(EmployeeService.class, "employeeDAO", mockEmpDao);
@@ -78,7 +91,7 @@ class AdminServiceTest {
                                 .thenReturn("N");
 
                 // Mock ID Generation
-                when(mockEmpDao.getNextId("EMP")).thenReturn("EMP001");
+                when(mockIdAllocator.nextId("EMP")).thenReturn("EMP001");
 
                 // 2-6. Personal Details (First, Last, Email, Phone, Address)
                 mockInputUtil.when(() -> InputUtil.readValidatedString(contains("First Name"), any(),
@@ -244,12 +257,11 @@ class AdminServiceTest {
         @Test
         void testSearchEmployees() throws Exception {
                 mockInputUtil.when(() -> InputUtil.readString(contains("search"))).thenReturn("John");
-                java.util.List<java.util.Map<String, Object>> mockList = new java.util.ArrayList<>();
-                when(mockEmpDao.searchEmployees("John")).thenReturn(mockList);
+                when(mockEmpDao.searchDirectory(eq("John"), eq(0), anyInt())).thenReturn(EmployeeSearchPage.empty());
 
                 AdminService.searchEmployees();
 
-                verify(mockEmpDao).searchEmployees("John");
+                verify(mockEmpDao).searchDirectory(eq("John"), eq(0), anyInt());
         }
 
         @Test
@@ -382,6 +394,48 @@ class AdminServiceTest {
                 verify(mockEmpDao, never()).updatePassword(anyString(), anyString());
         }
 
+        @Test
+        void testViewAuditLogs_FiltersAndPages() throws Exception {
+                AuditLogDAO mockAuditDao = Mockito.mock(AuditLogDAO.class);
+                setPrivateStaticField(AdminService.class, "auditDAO", mockAuditDao);
+                mockInputUtil.when(() -> InputUtil.readString(anyString())).thenReturn("");
+                mockInputUtil.when(() -> InputUtil.readString(contains("Employee ID"))).thenReturn("EMP001");
+                mockInputUtil.when(() -> InputUtil.readString(contains("Action"))).thenReturn("login");
+                mockInputUtil.when(() -> InputUtil.readString(contains("To date"))).thenReturn("2024-03-08");
+                mockInputUtil.when(() -> InputUtil.readString(contains("Show more"))).thenReturn("Y");
+
+                AuditLog entry = new AuditLog();
+                entry.setEmployeeId("EMP001");
+                AuditLogCursor cursor = new AuditLogCursor(Timestamp.valueOf("2024-03-01 00:00:00"), 7);
+                when(mockAuditDao.findLogs(any(), isNull(), anyInt()))
+                                .thenReturn(new AuditLogPage(List.of(entry), cursor));
+                when(mockAuditDao.findLogs(any(), eq(cursor), anyInt()))
+                                .thenReturn(new AuditLogPage(List.of(entry), null));
+
+                AdminService.viewAuditLogs();
+
+                ArgumentCaptor<AuditLogFilter> filter = ArgumentCaptor.forClass(AuditLogFilter.class);
+                verify(mockAuditDao, times(2)).findLogs(filter.capture(), any(), eq(25));
+                assertEquals("EMP001", filter.getValue().employeeId());
+                assertEquals("LOGIN", filter.getValue().action());
+                assertNull(filter.getValue().tableName());
+                assertNull(filter.getValue().from());
+                assertEquals(Timestamp.valueOf("2024-03-09 00:00:00"), filter.getValue().to());
+                verify(mockAuditDao, never()).findArchivedLogs(any(), any(), anyInt());
+        }
+
+        @Test
+        void testViewAuditLogs_InvalidDate() throws Exception {
+                AuditLogDAO mockAuditDao = Mockito.mock(AuditLogDAO.class);
+                setPrivateStaticField(AdminService.class, "auditDAO", mockAuditDao);
+                mockInputUtil.when(() -> InputUtil.readString(anyString())).thenReturn("");
+                mockInputUtil.when(() -> InputUtil.readString(contains("From date"))).thenReturn("08/03/2024");
+
+                AdminService.viewAuditLogs();
+
+                verifyNoInteractions(mockAuditDao);
+        }
+
         private void setPrivateStaticField(Class<?> clazz, String fieldName, Object value) throws Exception {
                 Field field = clazz.getDeclaredField(fieldName);
                 field.setAccessible(true);
@@ -0,0 +1,323 @@
+package com.revworkforce.service;
+
+import com.revworkforce.dao.AttendanceDAO;
+import com.revworkforce.dao.AttendanceDAO.IngestCheckpoint;
+import com.revworkforce.dao.EmployeeDAO;
+import com.revworkforce.model.AttendanceIngestReport;
+import com.revworkforce.model.SwipeDay;
+import com.revworkforce.util.DBConnection;
+import com.revworkforce.util.H2Schema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Ingests swipe files into an embedded H2 database (Oracle mode) built from
+ * schema.sql and the migrations, so the attendance tables, the V2 checkpoint
+ * table and the V3 monthly rollup table are the real ones.
+ */
+class AttendanceIngestServiceTest {
+
+    private static final String[] PROPERTIES = {
+            "attendance.ingest.buffer.bytes", "attendance.ingest.max.pending",
+            "attendance.ingest.checkpoint.lines", "attendance.ingest.batch.size"
+    };
+
+    @TempDir
+    Path dir;
+
+    private String url;
+    private Connection con;
+    private MockedStatic<DBConnection> mockedDBConnection;
+    private EmployeeDAO mockEmployeeDao;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        url = H2Schema.newUrl("ingest");
+        con = H2Schema.createMigrated(url);
+        H2Schema.addEmployee(con, "MGR001", null);
+        H2Schema.addEmployee(con, "EMP001", "MGR001");
+        H2Schema.addEmployee(con, "EMP002", "MGR001");
+
+        mockedDBConnection = Mockito.mockStatic(DBConnection.class);
+        mockedDBConnection.when(DBConnection::getConnection)
+                .thenAnswer(inv -> H2Schema.connect(url));
+
+        mockEmployeeDao = mock(EmployeeDAO.class);
+        when(mockEmployeeDao.getEmployeeIds()).thenReturn(Set.of("EMP001", "EMP002", "MGR001"));
+        setStaticField("employeeDAO", mockEmployeeDao);
+        setStaticField("attendanceDAO", new AttendanceDAO());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mockedDBConnection.close();
+        setStaticField("employeeDAO", new EmployeeDAO());
+        setStaticField("attendanceDAO", new AttendanceDAO());
+        for (String property : PROPERTIES) {
+            System.clearProperty(property);
+        }
+        H2Schema.drop(con);
+    }
+
+    @Test
+    void testCollapsesFirstInLastOutPerEmployeeDay() throws Exception {
+        Path file = write("swipes.csv", """
+                employee_id,swiped_at,reader
+                EMP001,2024-06-03 12:30:00,R2
+                EMP001,2024-06-03 09:05:10,R1
+                EMP002,2024-06-03 09:45:00,R1
+                EMP001,2024-06-03 18:02:00,R1
+                EMP001,2024-06-04T08:59:59
+                EMP002,2024-06-03 17:00:00
+                EMP001,2024-06-03 10:00:00
+                """);
+
+        AttendanceIngestReport report = AttendanceIngestService.ingestFile(file);
+
+        assertEquals(8, report.getLinesRead());
+        assertEquals(7, report.getSwipesAccepted());
+        assertEquals(0, report.getLinesRejected());
+        assertEquals(3, report.getDaysWritten());
+        assertEquals(1, report.getFlushes());
+        assertEquals(Files.size(file), report.getEndOffset());
+
+        assertRow("EMP001", "2024-06-03", "09:05:10", "18:02", "PRESENT");
+        assertRow("EMP001", "2024-06-04", "08:59:59", null, "PRESENT");
+        assertRow("EMP002", "2024-06-03", "09:45", "17:00", "LATE");
+        assertEquals(3, count("SELECT COUNT(*) FROM attendance"));
+    }
+
+    @Test
+    void testRejectsBadLinesAndKeepsGoing() throws Exception {
+        Path file = write("bad.csv", "# reader export\r\n"
+                + "EMP001,2024-06-03 09:00:00\r\n"
+                + "\r\n"
+                + "NOBODY,2024-06-03 09:00:00\r\n"
+                + "EMP001 2024-06-03 09:00:00\r\n"
+                + "EMP002,2024-06-03 9:00:00\r\n"
+                + "EMP002,2024-02-30 09:00:00\r\n"
+                + "EMP002,2024-06-03 24:00:00\r\n"
+                + "EMP002,2024-06-03 09:00:00X\r\n"
+                + "MGR001,2024-06-03 08:00:00\r\n");
+
+        AttendanceIngestReport report = AttendanceIngestService.ingestFile(file);
+
+        assertEquals(10, report.getLinesRead());
+        assertEquals(2, report.getSwipesAccepted());
+        assertEquals(6, report.getLinesRejected());
+        assertEquals(List.of(4, 5, 6, 7, 8, 9),
+                report.getErrors().stream().map(e -> e.getLineNumber()).toList());
+        assertTrue(report.getErrors().get(0).getMessage().contains("NOBODY"));
+        assertRow("EMP001", "2024-06-03", "09:00", null, "PRESENT");
+        assertRow("MGR001", "2024-06-03", "08:00", null, "PRESENT");
+    }
+
+    @Test
+    void testSmallBufferAndFrequentCommitsGiveSameRows() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int day = 1; day <= 20; day++) {
+            for (String emp : new String[] { "EMP001", "EMP002", "MGR001" }) {
+                text.append(emp).append(String.format(",2024-07-%02d 17:%02d:00%n", day, day));
+                text.append(emp).append(String.format(",2024-07-%02d 09:%02d:00%n", day, day));
+                text.append(emp).append(String.format(",2024-07-%02d 13:00:00%n", day));
+            }
+        }
+        Path file = write("july.csv", text.toString());
+        System.setProperty("attendance.ingest.buffer.bytes", "64");
+        System.setProperty("attendance.ingest.max.pending", "4");
+        System.setProperty("attendance.ingest.batch.size", "3");
+
+        AttendanceIngestReport report = AttendanceIngestService.ingestFile(file);
+
+        assertEquals(180, report.getSwipesAccepted());
+        assertTrue(report.getFlushes() > 10, "flushes: " + report.getFlushes());
+        assertEquals(60, count("SELECT COUNT(*) FROM attendance"));
+        assertEquals(0, count("SELECT COUNT(*) FROM attendance WHERE check_out_time IS NULL"));
+        assertRow("EMP002", "2024-07-07", "09:07", "17:07", "PRESENT");
+        assertRow("MGR001", "2024-07-20", "09:20", "17:20", "PRESENT");
+        assertEquals(Files.size(file), checkpoint("july.csv").byteOffset());
+        assertEquals(180, checkpoint("july.csv").linesRead());
+    }
+
+    @Test
+    void testLineLongerThanBufferIsRejected() throws Exception {
+        System.setProperty("attendance.ingest.buffer.bytes", "64");
+        Path file = write("long.csv", "EMP001,2024-06-03 09:00:00\n"
+                + "EMP002,2024-06-03 09:00:00," + "x".repeat(200) + "\n"
+                + "EMP002,2024-06-03 10:00:00\n");
+
+        AttendanceIngestReport report = AttendanceIngestService.ingestFile(file);
+
+        assertEquals(3, report.getLinesRead());
+        assertEquals(1, report.getLinesRejected());
+        assertEquals(2, report.getErrors().get(0).getLineNumber());
+        assertRow("EMP002", "2024-06-03", "10:00", null, "LATE");
+    }
+
+    @Test
+    void testResumesFromLastCommitAfterFailure() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int day = 1; day <= 10; day++) {
+            text.append(String.format("EMP001,2024-08-%02d 09:00:00%nEMP001,2024-08-%02d 18:00:00%n", day, day));
+        }
+        Path file = write("august.csv", text.toString());
+        System.setProperty("attendance.ingest.checkpoint.lines", "4");
+
+        AttendanceDAO failing = spy(new AttendanceDAO());
+        doCallRealMethod().doCallRealMethod().doThrow(new SQLException("connection reset")).when(failing)
+                .mergeSwipeDays(anyList(), any(LocalTime.class), anyInt(), anyString(), any(IngestCheckpoint.class));
+        setStaticField("attendanceDAO", failing);
+
+        assertThrows(SQLException.class, () -> AttendanceIngestService.ingestFile(file));
+        IngestCheckpoint interrupted = checkpoint("august.csv");
+        assertEquals(8, interrupted.linesRead());
+        assertEquals(4, count("SELECT COUNT(*) FROM attendance"));
+
+        setStaticField("attendanceDAO", new AttendanceDAO());
+        AttendanceIngestReport report = AttendanceIngestService.ingestFile(file);
+
+        assertTrue(report.isResumed());
+        assertEquals(interrupted.byteOffset(), report.getStartOffset());
+        assertEquals(12, report.getLinesRead());
+        assertEquals(10, count("SELECT COUNT(*) FROM attendance WHERE check_out_time IS NOT NULL"));
+
+        AttendanceIngestReport again = AttendanceIngestService.ingestFile(file);
+        assertEquals(0, again.getLinesRead());
+        assertEquals(0, again.getFlushes());
+    }
+
+    @Test
+    void testReplacedFileOrRestartReadsFromStart() throws Exception {
+        Path file = write("daily.csv", "EMP001,2024-06-03 09:00:00\n");
+        AttendanceIngestService.ingestFile(file);
+
+        write("daily.csv", "EMP001,2024-06-04 09:00:00\nEMP001,2024-06-04 17:00:00\n");
+        AttendanceIngestReport replaced = AttendanceIngestService.ingestFile(file);
+        assertFalse(replaced.isResumed());
+        assertEquals(2, replaced.getLinesRead());
+
+        AttendanceIngestReport restarted = AttendanceIngestService.ingestFile(file, false);
+        assertEquals(2, restarted.getLinesRead());
+        assertEquals(2, count("SELECT COUNT(*) FROM attendance"));
+        assertRow("EMP001", "2024-06-04", "09:00", "17:00", "PRESENT");
+    }
+
+    @Test
+    void testMergesWithInteractiveCheckIns() throws Exception {
+        try (Statement st = con.createStatement()) {
+            st.execute("INSERT INTO attendance (employee_id, attendance_date, check_in_time, status) "
+                    + "VALUES ('EMP001', DATE '2024-06-03', TIMESTAMP '2024-06-03 09:40:00', 'LATE')");
+            st.execute("INSERT INTO attendance (employee_id, attendance_date, check_in_time, status) "
+                    + "VALUES ('EMP002', DATE '2024-06-03', TIMESTAMP '2024-06-03 08:00:00', 'PRESENT')");
+        }
+        Path file = write("merge.csv", """
+                EMP001,2024-06-03 08:55:00
+                EMP001,2024-06-03 17:30:00
+                EMP002,2024-06-03 09:50:00
+                """);
+
+        AttendanceIngestService.ingestFile(file);
+
+        assertRow("EMP001", "2024-06-03", "08:55", "17:30", "PRESENT");
+        assertRow("EMP002", "2024-06-03", "08:00", "09:50", "PRESENT");
+        assertEquals(2, count("SELECT COUNT(*) FROM attendance"));
+    }
+
+    @Test
+    void testDayTableCollapsesAndDrainsInOrder() {
+        AttendanceIngestService.EmployeeIndex employees = new AttendanceIngestService.EmployeeIndex(
+                List.of("EMP002", "EMP001"));
+        AttendanceIngestService.DayTable table = new AttendanceIngestService.DayTable(8);
+        long day = LocalDate.of(2024, 6, 3).toEpochDay();
+        table.add(0, day, 40000);
+        table.add(1, day, 36000);
+        table.add(0, day, 30000);
+        table.add(0, day + 1, 50000);
+
+        assertEquals(3, table.size());
+        List<SwipeDay> drained = table.drain(employees);
+        assertEquals(0, table.size());
+        assertEquals(List.of("EMP001", "EMP002", "EMP002"), drained.stream().map(SwipeDay::employeeId).toList());
+        assertEquals(LocalTime.ofSecondOfDay(30000), drained.get(1).firstSwipe().toLocalTime());
+        assertEquals(LocalTime.ofSecondOfDay(40000), drained.get(1).lastSwipe().toLocalTime());
+    }
+
+    @Test
+    void testEmployeeIndexMatchesBytes() {
+        AttendanceIngestService.EmployeeIndex index = new AttendanceIngestService.EmployeeIndex(
+                List.of("EMP001", "EMP0010", "MGR001"));
+        byte[] line = "xxEMP0010,yy".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals("EMP0010", index.idAt(index.indexOf(line, 2, 9)));
+        assertEquals("EMP001", index.idAt(index.indexOf(line, 2, 8)));
+        assertEquals(-1, index.indexOf(line, 2, 7));
+        assertEquals(-1, new AttendanceIngestService.EmployeeIndex(List.of()).indexOf(line, 2, 9));
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    private void assertRow(String empId, String date, String checkIn, String checkOut, String status)
+            throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("SELECT check_in_time, check_out_time, status "
+                + "FROM attendance WHERE employee_id = ? AND attendance_date = ?")) {
+            ps.setString(1, empId);
+            ps.setDate(2, java.sql.Date.valueOf(date));
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next(), empId + " " + date);
+                assertEquals(time(date, checkIn), rs.getTimestamp("check_in_time"));
+                assertEquals(checkOut == null ? null : time(date, checkOut), rs.getTimestamp("check_out_time"));
+                assertEquals(status, rs.getString("status"));
+            }
+        }
+    }
+
+    private static Timestamp time(String date, String time) {
+        return Timestamp.valueOf(LocalDate.parse(date).atTime(LocalTime.parse(time)));
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement st = con.createStatement();
+                ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private IngestCheckpoint checkpoint(String source) throws Exception {
+        return new AttendanceDAO().getIngestCheckpoint(source);
+    }
+
+    private static void setStaticField(String name, Object value) throws Exception {
+        Field field = AttendanceIngestService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(null, value);
+    }
+}
@@ -0,0 +1,167 @@
+package com.revworkforce.service;
+
+import com.revworkforce.dao.AttendanceDAO;
+import com.revworkforce.model.AttendanceMonth;
+import com.revworkforce.model.SwipeDay;
+import com.revworkforce.util.DBConnection;
+import com.revworkforce.util.H2Schema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keeps the monthly rollups current through check-ins, check-outs and swipe
+ * merges against an embedded H2 database (Oracle mode), and checks they
+ * match what the backfill job computes from the attendance rows.
+ */
+class AttendanceRollupJobTest {
+
+    private static final LocalTime LATE_AFTER = LocalTime.of(9, 30);
+
+    private final AttendanceDAO dao = new AttendanceDAO();
+    private String url;
+    private Connection con;
+    private MockedStatic<DBConnection> mockedDBConnection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        url = H2Schema.newUrl("rollup");
+        con = H2Schema.createMigrated(url);
+        H2Schema.addEmployee(con, "MGR001", null);
+        H2Schema.addEmployee(con, "EMP001", "MGR001");
+        H2Schema.addEmployee(con, "EMP002", "MGR001");
+
+        mockedDBConnection = Mockito.mockStatic(DBConnection.class);
+        mockedDBConnection.when(DBConnection::getConnection)
+                .thenAnswer(inv -> H2Schema.connect(url));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mockedDBConnection.close();
+        H2Schema.drop(con);
+    }
+
+    @Test
+    void testIncrementalRollupsMatchBackfill() throws Exception {
+        // Two months by check-in/out, one late day, one day never checked out
+        dao.checkIn("EMP001", LocalDateTime.of(2024, 5, 30, 9, 0), LATE_AFTER);
+        dao.checkOut("EMP001", LocalDateTime.of(2024, 5, 30, 17, 30));
+        dao.checkIn("EMP001", LocalDateTime.of(2024, 5, 31, 9, 45), LATE_AFTER);
+        dao.checkOut("EMP001", LocalDateTime.of(2024, 5, 31, 18, 0));
+        dao.checkOut("EMP001", LocalDateTime.of(2024, 5, 31, 19, 0));
+        dao.checkIn("EMP001", LocalDateTime.of(2024, 6, 3, 9, 10), LATE_AFTER);
+        dao.checkIn("EMP001", LocalDateTime.of(2024, 6, 3, 9, 20), LATE_AFTER);
+        // Swipes across the month boundary, one of them completing a day above
+        dao.mergeSwipeDays(List.of(
+                swipeDay("EMP002", LocalDate.of(2024, 5, 31), "08:55", "17:05"),
+                swipeDay("EMP002", LocalDate.of(2024, 6, 3), "10:00", "16:00"),
+                swipeDay("EMP001", LocalDate.of(2024, 6, 3), "08:50", "18:20")),
+                LATE_AFTER, 2, "swipes.csv", new AttendanceDAO.IngestCheckpoint("abc", 100, 6));
+
+        Map<String, List<Object>> incremental = rollups();
+        assertEquals(4, incremental.size());
+        // On time by the 08:50 swipe, 9h30m worked
+        assertEquals(List.of(1, 0, 1, 34200L, 0), incremental.get("EMP001 2024-06"));
+        assertEquals(List.of(2, 1, 2, 8 * 3600L + 30 * 60 + 8 * 3600L + 15 * 60, 0),
+                incremental.get("EMP001 2024-05"));
+
+        try (Statement st = con.createStatement()) {
+            st.execute("DELETE FROM attendance_monthly");
+        }
+        assertEquals(4, AttendanceRollupJob.backfill(YearMonth.of(2024, 4), YearMonth.of(2024, 7)));
+        assertEquals(incremental, rollups());
+    }
+
+    @Test
+    void testCheckInRecomputesMonthRecordedBeforeRollups() throws Exception {
+        try (Statement st = con.createStatement()) {
+            st.execute("INSERT INTO attendance (employee_id, attendance_date, check_in_time, check_out_time, status) "
+                    + "VALUES ('EMP001', DATE '2024-03-01', TIMESTAMP '2024-03-01 09:40:00', "
+                    + "TIMESTAMP '2024-03-01 17:40:00', 'LATE')");
+            st.execute("INSERT INTO attendance (employee_id, attendance_date, status) "
+                    + "VALUES ('EMP001', DATE '2024-03-04', 'ABSENT')");
+        }
+
+        dao.checkIn("EMP001", LocalDateTime.of(2024, 3, 5, 9, 0), LATE_AFTER);
+
+        AttendanceMonth march = dao.getMonthlySummaries("EMP001", YearMonth.of(2024, 1)).get(0);
+        assertEquals(new AttendanceMonth("EMP001", YearMonth.of(2024, 3), 2, 1, 1, 1, 8 * 3600L, 1), march);
+    }
+
+    @Test
+    void testBackfillDropsMonthsWithoutAttendance() throws Exception {
+        dao.checkIn("EMP001", LocalDateTime.of(2024, 2, 1, 9, 0), LATE_AFTER);
+        dao.checkIn("EMP002", LocalDateTime.of(2024, 2, 1, 9, 0), LATE_AFTER);
+        try (Statement st = con.createStatement()) {
+            st.execute("DELETE FROM attendance WHERE employee_id = 'EMP002'");
+        }
+
+        assertEquals(1, AttendanceRollupJob.backfill(YearMonth.of(2024, 2), YearMonth.of(2024, 2)));
+        assertEquals(List.of("EMP001 2024-02"), new ArrayList<>(rollups().keySet()));
+    }
+
+    @Test
+    void testBackfillWithoutAttendance() throws Exception {
+        assertNull(dao.getFirstAttendanceDate());
+        assertEquals(0, AttendanceRollupJob.backfill());
+    }
+
+    @Test
+    void testMonthlySummariesAndTeamSummary() throws Exception {
+        dao.checkIn("EMP001", LocalDateTime.of(2024, 1, 10, 9, 0), LATE_AFTER);
+        dao.checkOut("EMP001", LocalDateTime.of(2024, 1, 10, 17, 0));
+        dao.checkIn("EMP001", LocalDateTime.of(2024, 2, 12, 9, 45), LATE_AFTER);
+        dao.checkOut("EMP001", LocalDateTime.of(2024, 2, 12, 19, 45));
+        dao.checkIn("EMP002", LocalDateTime.of(2024, 2, 12, 9, 0), LATE_AFTER);
+
+        List<AttendanceMonth> months = dao.getMonthlySummaries("EMP001", YearMonth.of(2024, 1));
+        assertEquals(List.of(YearMonth.of(2024, 2), YearMonth.of(2024, 1)),
+                months.stream().map(AttendanceMonth::month).toList());
+        assertEquals(10.0, months.get(0).averageHours(), 0.001);
+        assertEquals(1, dao.getMonthlySummaries("EMP001", YearMonth.of(2024, 2)).size());
+
+        Map<String, String> team = new HashMap<>();
+        assertEquals(2, dao.getTeamAttendanceSummary("MGR001", rs -> team.put(rs.getString("employee_id"),
+                rs.getInt("present_days") + "/" + rs.getInt("late_days") + "/" + rs.getInt("completed_days")
+                        + "/" + rs.getLong("worked_seconds") + "/" + rs.getInt("missing_checkouts"))));
+        assertEquals("2/1/2/64800/0", team.get("EMP001"));
+        assertEquals("1/0/0/0/1", team.get("EMP002"));
+    }
+
+    private static SwipeDay swipeDay(String empId, LocalDate day, String first, String last) {
+        return new SwipeDay(empId, day, day.atTime(LocalTime.parse(first)), day.atTime(LocalTime.parse(last)));
+    }
+
+    // "employee month" -> present, late, completed, worked seconds, missing check-outs
+    private Map<String, List<Object>> rollups() throws Exception {
+        Map<String, List<Object>> rows = new HashMap<>();
+        try (PreparedStatement ps = con.prepareStatement("SELECT * FROM attendance_monthly ORDER BY employee_id");
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows.put(rs.getString("employee_id") + " "
+                        + YearMonth.from(rs.getDate("month_start").toLocalDate()), List.of(
+                                rs.getInt("present_days"), rs.getInt("late_days"), rs.getInt("completed_days"),
+                                rs.getLong("worked_seconds"), rs.getInt("missing_checkouts")));
+            }
+        }
+        return rows;
+    }
+}
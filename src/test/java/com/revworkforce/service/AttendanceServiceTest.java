@@ -1,6 +1,10 @@
 package com.revworkforce.service;
 
+import com.revworkforce.config.AppConstants;
 import com.revworkforce.dao.AttendanceDAO;
+import com.revworkforce.model.Attendance;
+import com.revworkforce.model.AttendanceMonth;
+import com.revworkforce.model.AttendanceOutcome;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,8 +15,16 @@ import org.mockito.MockitoAnnotations;
 
 import java.lang.reflect.Field;
 import java.sql.Date;
-
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -56,89 +68,117 @@ class AttendanceServiceTest {
 
     @Test
     void testCheckIn_Success() throws Exception {
-        when(mockDao.hasCheckedIn(anyString(), any(Date.class))).thenReturn(false);
+        when(mockDao.checkIn(eq("EMP1"), any(LocalDateTime.class), any(LocalTime.class)))
+                .thenReturn(AttendanceOutcome.CHECKED_IN);
 
-        AttendanceService.checkIn("EMP1");
+        assertEquals(AttendanceOutcome.CHECKED_IN, AttendanceService.checkIn("EMP1"));
 
-        verify(mockDao).checkIn("EMP1");
+        verify(mockDao).checkIn(eq("EMP1"), any(LocalDateTime.class), any(LocalTime.class));
+        verifyNoMoreInteractions(mockDao);
         mockedAuditService
-                .verify(() -> AuditService.log(eq("EMP1"), anyString(), anyString(), anyString(), anyString()));
+                .verify(() -> AuditService.log(eq("EMP1"), anyString(), anyString(), anyString(), eq("Employee checked in")));
+    }
+
+    @Test
+    void testCheckIn_Late() throws Exception {
+        when(mockDao.checkIn(eq("EMP1"), any(LocalDateTime.class), any(LocalTime.class)))
+                .thenReturn(AttendanceOutcome.LATE);
+
+        assertEquals(AttendanceOutcome.LATE, AttendanceService.checkIn("EMP1"));
+
+        mockedAuditService.verify(
+                () -> AuditService.log(eq("EMP1"), anyString(), anyString(), anyString(), eq("Employee checked in late")));
     }
 
     @Test
     void testCheckIn_AlreadyCheckedIn() throws Exception {
-        when(mockDao.hasCheckedIn(anyString(), any(Date.class))).thenReturn(true);
+        when(mockDao.checkIn(eq("EMP1"), any(LocalDateTime.class), any(LocalTime.class)))
+                .thenReturn(AttendanceOutcome.ALREADY_CHECKED_IN);
 
-        AttendanceService.checkIn("EMP1");
+        assertEquals(AttendanceOutcome.ALREADY_CHECKED_IN, AttendanceService.checkIn("EMP1"));
 
-        verify(mockDao, never()).checkIn(anyString());
+        mockedAuditService.verifyNoInteractions();
     }
 
     @Test
     void testCheckOut_Success() throws Exception {
-        when(mockDao.hasCheckedOut(anyString(), any(Date.class))).thenReturn(false);
+        when(mockDao.checkOut(eq("EMP1"), any(LocalDateTime.class))).thenReturn(AttendanceOutcome.CHECKED_OUT);
 
-        AttendanceService.checkOut("EMP1");
+        assertEquals(AttendanceOutcome.CHECKED_OUT, AttendanceService.checkOut("EMP1"));
 
-        verify(mockDao).checkOut("EMP1");
+        verify(mockDao).checkOut(eq("EMP1"), any(LocalDateTime.class));
+        verifyNoMoreInteractions(mockDao);
+        mockedAuditService
+                .verify(() -> AuditService.log(eq("EMP1"), eq("UPDATE"), anyString(), anyString(), anyString()));
     }
 
     @Test
     void testCheckIn_Failure() throws Exception {
-        when(mockDao.hasCheckedIn(anyString(), any(Date.class))).thenReturn(false);
-        doThrow(new RuntimeException("DB Error")).when(mockDao).checkIn("EMP1");
+        doThrow(new RuntimeException("DB Error")).when(mockDao)
+                .checkIn(eq("EMP1"), any(LocalDateTime.class), any(LocalTime.class));
 
-        AttendanceService.checkIn("EMP1");
+        assertNull(AttendanceService.checkIn("EMP1"));
 
-        verify(mockDao).checkIn("EMP1");
+        verify(mockDao).checkIn(eq("EMP1"), any(LocalDateTime.class), any(LocalTime.class));
+        mockedAuditService.verifyNoInteractions();
     }
 
     @Test
     void testViewMyAttendance() throws Exception {
-        // Need to mock ResultSet for getAttendanceHistory
-        java.sql.ResultSet mockRS = mock(java.sql.ResultSet.class);
-        when(mockDao.getAttendanceHistory("EMP1")).thenReturn(mockRS);
+        when(mockDao.getMonthlySummaries(eq("EMP1"), any(YearMonth.class))).thenReturn(List.of(
+                new AttendanceMonth("EMP1", YearMonth.of(2024, 3), 20, 2, 0, 19, 19 * 8 * 3600L, 1),
+                new AttendanceMonth("EMP1", YearMonth.of(2024, 2), 1, 0, 0, 0, 0, 1)));
+        Attendance today = new Attendance();
+        today.setEmployeeId("EMP1");
+        today.setAttendanceDate(Date.valueOf("2024-03-29"));
+        today.setCheckInTime(Timestamp.valueOf("2024-03-29 09:00:00"));
+        today.setStatus("PRESENT");
+        when(mockDao.getAttendanceHistoryPage("EMP1", null, AppConstants.ATTENDANCE_RECENT_DAYS))
+                .thenReturn(List.of(today));
 
         AttendanceService.viewMyAttendance("EMP1");
 
-        verify(mockDao).getAttendanceHistory("EMP1");
+        verify(mockDao).getMonthlySummaries("EMP1",
+                YearMonth.now().minusMonths(AppConstants.ATTENDANCE_SUMMARY_MONTHS - 1L));
+        verify(mockDao).getAttendanceHistoryPage("EMP1", null, AppConstants.ATTENDANCE_RECENT_DAYS);
+        verify(mockDao, never()).getAttendanceHistory(anyString(), any());
     }
 
     @Test
     void testCheckOut_AlreadyCheckedOut() throws Exception {
-        when(mockDao.hasCheckedOut(anyString(), any(Date.class))).thenReturn(true);
+        when(mockDao.checkOut(eq("EMP1"), any(LocalDateTime.class))).thenReturn(AttendanceOutcome.ALREADY_CHECKED_OUT);
 
-        AttendanceService.checkOut("EMP1");
+        assertEquals(AttendanceOutcome.ALREADY_CHECKED_OUT, AttendanceService.checkOut("EMP1"));
 
-        verify(mockDao, never()).checkOut(anyString());
+        mockedAuditService.verifyNoInteractions();
     }
 
     @Test
-    void testCheckOut_Failure() throws Exception {
-        when(mockDao.hasCheckedOut(anyString(), any(Date.class))).thenReturn(false);
-        doThrow(new RuntimeException("DB Error")).when(mockDao).checkOut("EMP1");
+    void testCheckOut_NotCheckedIn() throws Exception {
+        when(mockDao.checkOut(eq("EMP1"), any(LocalDateTime.class))).thenReturn(AttendanceOutcome.NOT_CHECKED_IN);
 
-        AttendanceService.checkOut("EMP1");
+        assertEquals(AttendanceOutcome.NOT_CHECKED_IN, AttendanceService.checkOut("EMP1"));
 
-        verify(mockDao).checkOut("EMP1");
+        mockedAuditService.verifyNoInteractions();
     }
 
     @Test
-    void testCheckIn_HasCheckedInFailure() throws Exception {
-        doThrow(new RuntimeException("DB Error")).when(mockDao).hasCheckedIn(anyString(), any(Date.class));
+    void testCheckOut_Failure() throws Exception {
+        doThrow(new RuntimeException("DB Error")).when(mockDao).checkOut(eq("EMP1"), any(LocalDateTime.class));
 
-        AttendanceService.checkIn("EMP1");
+        assertNull(AttendanceService.checkOut("EMP1"));
 
-        verify(mockDao).hasCheckedIn(anyString(), any(Date.class));
+        verify(mockDao).checkOut(eq("EMP1"), any(LocalDateTime.class));
     }
 
     @Test
     void testViewMyAttendance_Failure() throws Exception {
-        doThrow(new RuntimeException("DB Error")).when(mockDao).getAttendanceHistory("EMP1");
+        doThrow(new RuntimeException("DB Error")).when(mockDao).getMonthlySummaries(eq("EMP1"), any(YearMonth.class));
 
         AttendanceService.viewMyAttendance("EMP1");
 
-        verify(mockDao).getAttendanceHistory("EMP1");
+        verify(mockDao).getMonthlySummaries(eq("EMP1"), any(YearMonth.class));
+        verify(mockDao, never()).getAttendanceHistoryPage(anyString(), any(), anyInt());
     }
 
     // Helper method for reflection
@@ -0,0 +1,144 @@
+package com.revworkforce.service;
+
+import com.revworkforce.model.AuditLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static AuditLog entry(String recordId) {
+        AuditLog log = new AuditLog();
+        log.setEmployeeId("EMP001");
+        log.setAction("UPDATE");
+        log.setTableName("EMPLOYEES");
+        log.setRecordId(recordId);
+        log.setNewValue("desc\twith tab");
+        return log;
+    }
+
+    @Test
+    void testEntriesAreWrittenInBatches() {
+        List<List<AuditLog>> batches = Collections.synchronizedList(new ArrayList<>());
+        AuditLogWriter writer = new AuditLogWriter(batch -> batches.add(new ArrayList<>(batch)), 100, 10, 20,
+                AuditLogWriter.OverflowPolicy.BLOCK, tempDir.resolve("spill.log"));
+
+        for (int i = 0; i < 35; i++) {
+            writer.submit(entry(String.valueOf(i)));
+        }
+        writer.shutdown();
+
+        assertEquals(35, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.stream().allMatch(b -> b.size() <= 10));
+        assertEquals(35, writer.getWrittenCount());
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    void testSpillFileFromSystemProperty() throws Exception {
+        Path spill = tempDir.resolve("configured-spill.log");
+        System.setProperty("audit.spill.file", spill.toString());
+        AuditLogWriter writer;
+        try {
+            writer = AuditLogWriter.fromSystemProperties(batch -> {
+                throw new IllegalStateException("DB down");
+            });
+        } finally {
+            System.clearProperty("audit.spill.file");
+        }
+
+        writer.submit(entry("1"));
+        writer.shutdown();
+
+        assertEquals(1, Files.readAllLines(spill).size());
+    }
+
+    @Test
+    void testFailedBatchIsSpilledToFile() throws Exception {
+        Path spill = tempDir.resolve("spill.log");
+        AuditLogWriter writer = new AuditLogWriter(batch -> {
+            throw new IllegalStateException("DB down");
+        }, 100, 10, 20, AuditLogWriter.OverflowPolicy.BLOCK, spill);
+
+        writer.submit(entry("1"));
+        writer.submit(entry("2"));
+        writer.shutdown();
+
+        List<String> lines = Files.readAllLines(spill);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("EMP001\tUPDATE\tEMPLOYEES\t1\tdesc with tab"));
+        assertEquals(2, writer.getSpilledCount());
+        assertTrue(writer.getFailedBatchCount() >= 1);
+    }
+
+    @Test
+    void testSpillPolicyWhenQueueFull() throws Exception {
+        Path spill = tempDir.resolve("spill.log");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AuditLogWriter writer = new AuditLogWriter(batch -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        }, 1, 1, 10, AuditLogWriter.OverflowPolicy.SPILL_TO_FILE, spill);
+
+        writer.submit(entry("held")); // taken by the worker, which then blocks
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        writer.submit(entry("queued")); // fills the single slot
+        writer.submit(entry("overflow")); // must spill
+
+        release.countDown();
+        writer.shutdown();
+
+        List<String> lines = Files.readAllLines(spill);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("overflow"));
+        assertEquals(2, writer.getWrittenCount());
+    }
+
+    @Test
+    void testDropOldestPolicyWhenQueueFull() throws Exception {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AuditLogWriter writer = new AuditLogWriter(batch -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            batch.forEach(e -> written.add(e.getRecordId()));
+        }, 1, 1, 10, AuditLogWriter.OverflowPolicy.DROP_OLDEST, tempDir.resolve("spill.log"));
+
+        writer.submit(entry("held"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        writer.submit(entry("old"));
+        writer.submit(entry("new")); // evicts "old"
+
+        release.countDown();
+        writer.shutdown();
+
+        assertEquals(List.of("held", "new"), written);
+        assertEquals(1, writer.getDroppedCount());
+    }
+
+    @Test
+    void testSubmitAfterShutdownWritesSynchronously() {
+        List<AuditLog> written = Collections.synchronizedList(new ArrayList<>());
+        AuditLogWriter writer = new AuditLogWriter(written::addAll, 10, 10, 10,
+                AuditLogWriter.OverflowPolicy.BLOCK, tempDir.resolve("spill.log"));
+        writer.shutdown();
+
+        writer.submit(entry("late"));
+
+        assertEquals(1, written.size());
+    }
+}
@@ -1,12 +1,16 @@
 package com.revworkforce.service;
 
 import com.revworkforce.dao.AuditLogDAO;
+import com.revworkforce.model.AuditLog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Field;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 
 class AuditServiceTest {
@@ -15,6 +19,7 @@ class AuditServiceTest {
 
     @BeforeEach
     void setUp() throws Exception {
+        AuditService.flush();
         mockDao = Mockito.mock(AuditLogDAO.class);
         setPrivateStaticField(AuditService.class, "dao", mockDao);
     }
@@ -25,25 +30,40 @@ class AuditServiceTest {
         field.set(null, value);
     }
 
+    private static boolean containsEntry(List<AuditLog> batch, String empId, String action, String table,
+            String recordId, String description) {
+        return batch.stream().anyMatch(e -> empId.equals(e.getEmployeeId())
+                && action.equals(e.getAction())
+                && table.equals(e.getTableName())
+                && recordId.equals(e.getRecordId())
+                && description.equals(e.getNewValue())
+                && e.getCreatedAt() != null);
+    }
+
     @Test
     void testLog_ShortMethod() throws Exception {
         AuditService.log("EMP1", "UPDATE", "USERS", "101", "Changed name");
-        verify(mockDao).log("EMP1", "UPDATE", "USERS", "101", "Changed name");
+        AuditService.flush();
+        verify(mockDao).logBatch(argThat(batch -> containsEntry(batch, "EMP1", "UPDATE", "USERS", "101",
+                "Changed name")));
     }
 
     @Test
     void testLog_LongMethod() throws Exception {
         AuditService.log("EMP1", "INSERT", "USERS", "ColName", "102", "New User");
-        verify(mockDao).log("EMP1", "INSERT", "USERS", "102", "New User");
+        AuditService.flush();
+        verify(mockDao).logBatch(argThat(batch -> containsEntry(batch, "EMP1", "INSERT", "USERS", "102",
+                "New User")));
     }
 
     @Test
     void testLog_Failure() throws Exception {
-        Mockito.doThrow(new RuntimeException("DB Error")).when(mockDao).log(Mockito.anyString(), Mockito.anyString(),
-                Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+        Mockito.doThrow(new RuntimeException("DB Error")).when(mockDao).logBatch(anyList());
 
         AuditService.log("EMP1", "UPDATE", "USERS", "101", "Changed name");
+        AuditService.flush();
 
-        verify(mockDao).log("EMP1", "UPDATE", "USERS", "101", "Changed name");
+        verify(mockDao).logBatch(argThat(batch -> containsEntry(batch, "EMP1", "UPDATE", "USERS", "101",
+                "Changed name")));
     }
 }
@@ -1,8 +1,10 @@
 package com.revworkforce.service;
 
 import com.revworkforce.dao.EmployeeDAO;
+import com.revworkforce.exception.ServiceBusyException;
 import com.revworkforce.model.Employee;
 import com.revworkforce.util.InputUtil;
+import com.revworkforce.util.PasswordHasher;
 import com.revworkforce.util.PasswordUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,17 +24,22 @@ class AuthServiceTest {
 
     private EmployeeDAO mockDao;
     private MockedStatic<InputUtil> mockInputUtil;
+    private Object originalHasher;
 
     @BeforeEach
     void setUp() throws Exception {
         mockDao = mock(EmployeeDAO.class);
         setPrivateStaticField(AuthService.class, "dao", mockDao);
         mockInputUtil = mockStatic(InputUtil.class);
+        Field hasherField = AuthService.class.getDeclaredField("hasher");
+        hasherField.setAccessible(true);
+        originalHasher = hasherField.get(null);
     }
 
     @AfterEach
-    void tearDown() {
+    void tearDown() throws Exception {
         mockInputUtil.close();
+        setPrivateStaticField(AuthService.class, "hasher", originalHasher);
     }
 
     private void setPrivateStaticField(Class<?> clazz, String fieldName, Object value) throws Exception {
@@ -169,4 +176,81 @@ class AuthServiceTest {
         verify(mockDao).recordFailedLogin("EMP001");
         verify(mockDao).lockAccount("EMP001");
     }
+
+    @Test
+    void testLogin_UpgradesHashWithOtherCost() throws Exception {
+        PasswordHasher hasher = new PasswordHasher(1, 4, 5, 5000);
+        setPrivateStaticField(AuthService.class, "hasher", hasher);
+        String oldHash = PasswordUtil.hashPassword("password", 4);
+        when(mockDao.getAuthDetails("EMP001")).thenReturn(authDetails(oldHash));
+        when(mockDao.getEmployeeById("EMP001")).thenReturn(new Employee());
+
+        assertTrue(AuthService.login("EMP001", "password"));
+
+        org.mockito.ArgumentCaptor<String> newHash = org.mockito.ArgumentCaptor.forClass(String.class);
+        verify(mockDao).upgradePasswordHash(eq("EMP001"), eq(oldHash), newHash.capture());
+        assertEquals(5, PasswordUtil.workFactorOf(newHash.getValue()));
+        assertTrue(PasswordUtil.verifyPassword("password", newHash.getValue()));
+        hasher.shutdown();
+    }
+
+    @Test
+    void testLogin_KeepsHashWithTargetCost() throws Exception {
+        PasswordHasher hasher = new PasswordHasher(1, 4, 4, 5000);
+        setPrivateStaticField(AuthService.class, "hasher", hasher);
+        when(mockDao.getAuthDetails("EMP001")).thenReturn(authDetails(PasswordUtil.hashPassword("password", 4)));
+        when(mockDao.getEmployeeById("EMP001")).thenReturn(new Employee());
+
+        assertTrue(AuthService.login("EMP001", "password"));
+
+        verify(mockDao, never()).upgradePasswordHash(anyString(), anyString(), anyString());
+        hasher.shutdown();
+    }
+
+    @Test
+    void testLogin_UpgradeFailureDoesNotFailLogin() throws Exception {
+        PasswordHasher hasher = new PasswordHasher(1, 4, 5, 5000);
+        setPrivateStaticField(AuthService.class, "hasher", hasher);
+        when(mockDao.getAuthDetails("EMP001")).thenReturn(authDetails(PasswordUtil.hashPassword("password", 4)));
+        when(mockDao.getEmployeeById("EMP001")).thenReturn(new Employee());
+        when(mockDao.upgradePasswordHash(anyString(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("DB Error"));
+
+        assertTrue(AuthService.login("EMP001", "password"));
+        hasher.shutdown();
+    }
+
+    @Test
+    void testLogin_HasherBusy() throws Exception {
+        PasswordHasher hasher = mock(PasswordHasher.class);
+        when(hasher.verify(anyString(), anyString())).thenThrow(new ServiceBusyException("busy"));
+        setPrivateStaticField(AuthService.class, "hasher", hasher);
+        when(mockDao.getAuthDetails("EMP001")).thenReturn(authDetails("$2a$04$x"));
+
+        assertFalse(AuthService.login("EMP001", "password"));
+
+        verify(mockDao, never()).recordFailedLogin(anyString());
+        verify(mockDao, never()).recordSuccessfulLogin(anyString());
+    }
+
+    @Test
+    void testChangePassword_HasherBusy() throws Exception {
+        PasswordHasher hasher = mock(PasswordHasher.class);
+        when(hasher.verify(anyString(), anyString())).thenReturn(true);
+        when(hasher.hash(anyString())).thenThrow(new ServiceBusyException("busy"));
+        setPrivateStaticField(AuthService.class, "hasher", hasher);
+        when(mockDao.getAuthDetails("EMP001")).thenReturn(authDetails("$2a$04$x"));
+
+        assertFalse(AuthService.changePassword("EMP001", "oldPass", "newPass"));
+
+        verify(mockDao, never()).updatePassword(anyString(), anyString());
+    }
+
+    private static Map<String, Object> authDetails(String hash) {
+        Map<String, Object> authDetails = new HashMap<>();
+        authDetails.put("account_locked", 0);
+        authDetails.put("failed_login_attempts", 0);
+        authDetails.put("password_hash", hash);
+        return authDetails;
+    }
 }
@@ -0,0 +1,62 @@
+package com.revworkforce.service;
+
+import com.revworkforce.dao.NotificationDAO;
+import com.revworkforce.model.DailyNotificationRun;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DailyNotificationJobTest {
+
+    private final NotificationDAO dao = mock(NotificationDAO.class);
+    private final DailyNotificationJob job = new DailyNotificationJob(dao, LocalTime.of(0, 5));
+
+    @Test
+    void testRunReportsCounts() throws Exception {
+        LocalDate day = LocalDate.of(2024, 3, 8);
+        when(dao.createBirthdayNotifications(Date.valueOf(day))).thenReturn(3);
+        when(dao.createAnniversaryNotifications(Date.valueOf(day))).thenReturn(2);
+
+        DailyNotificationRun run = job.run(day);
+
+        assertEquals(day, run.day());
+        assertEquals(3, run.birthdays());
+        assertEquals(2, run.anniversaries());
+        assertEquals(5, run.total());
+        assertTrue(run.elapsedMillis() >= 0);
+    }
+
+    @Test
+    void testRunFailurePropagates() throws Exception {
+        when(dao.createBirthdayNotifications(any())).thenThrow(new RuntimeException("DB Error"));
+
+        assertThrows(RuntimeException.class, () -> job.run(LocalDate.of(2024, 3, 8)));
+        verify(dao, never()).createAnniversaryNotifications(any());
+    }
+
+    @Test
+    void testMillisUntilNextRunLaterToday() {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 8, 0, 0);
+
+        assertEquals(TimeUnit.MINUTES.toMillis(5),
+                DailyNotificationJob.millisUntilNextRun(now, LocalTime.of(0, 5)));
+    }
+
+    @Test
+    void testMillisUntilNextRunTomorrow() {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 8, 0, 5);
+
+        assertEquals(TimeUnit.DAYS.toMillis(1),
+                DailyNotificationJob.millisUntilNextRun(now, LocalTime.of(0, 5)));
+        assertEquals(TimeUnit.HOURS.toMillis(12),
+                DailyNotificationJob.millisUntilNextRun(now.withHour(12), LocalTime.of(0, 5)));
+    }
+}
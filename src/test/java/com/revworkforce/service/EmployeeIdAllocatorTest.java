@@ -0,0 +1,107 @@
+package com.revworkforce.service;
+
+import com.revworkforce.dao.EmployeeIdCounterDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class EmployeeIdAllocatorTest {
+
+    private EmployeeIdCounterDAO mockCounterDao;
+
+    @BeforeEach
+    void setUp() {
+        mockCounterDao = Mockito.mock(EmployeeIdCounterDAO.class);
+    }
+
+    @Test
+    void testNextId_ServesFromBlockUntilExhausted() throws Exception {
+        when(mockCounterDao.reserveBlock("EMP", 3)).thenReturn(10L, 20L);
+        EmployeeIdAllocator allocator = new EmployeeIdAllocator(mockCounterDao, 3);
+
+        assertEquals("EMP010", allocator.nextId("EMP"));
+        assertEquals("EMP011", allocator.nextId("EMP"));
+        assertEquals("EMP012", allocator.nextId("EMP"));
+        assertEquals("EMP020", allocator.nextId("EMP"));
+
+        verify(mockCounterDao, times(2)).reserveBlock("EMP", 3);
+    }
+
+    @Test
+    void testNextId_PrefixesAreIndependent() throws Exception {
+        when(mockCounterDao.reserveBlock("EMP", 5)).thenReturn(1L);
+        when(mockCounterDao.reserveBlock("MGR", 5)).thenReturn(1000L);
+        EmployeeIdAllocator allocator = new EmployeeIdAllocator(mockCounterDao, 5);
+
+        assertEquals("EMP001", allocator.nextId("EMP"));
+        assertEquals("MGR1000", allocator.nextId("MGR"));
+        assertEquals("EMP002", allocator.nextId("EMP"));
+    }
+
+    @Test
+    void testNextId_ConcurrentCallersGetUniqueIds() throws Exception {
+        AtomicLong counter = new AtomicLong(1);
+        when(mockCounterDao.reserveBlock(anyString(), anyInt()))
+                .thenAnswer(inv -> counter.getAndAdd(inv.getArgument(1, Integer.class)));
+        EmployeeIdAllocator allocator = new EmployeeIdAllocator(mockCounterDao, 7);
+
+        int threads = 8;
+        int perThread = 250;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                List<String> ids = new ArrayList<>();
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(allocator.nextId("EMP"));
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+
+        Set<String> all = Collections.synchronizedSet(new HashSet<>());
+        for (Future<List<String>> result : results) {
+            all.addAll(result.get(10, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        assertEquals(threads * perThread, all.size());
+        // Blocks are only fetched when exhausted, so almost none are wasted
+        assertTrue(counter.get() - 1 < threads * perThread + 7 * threads);
+    }
+
+    @Test
+    void testReserveRange_GoesStraightToCounter() throws Exception {
+        when(mockCounterDao.reserveBlock("EMP", 500)).thenReturn(42L);
+        EmployeeIdAllocator allocator = new EmployeeIdAllocator(mockCounterDao, 20);
+
+        assertEquals(42L, allocator.reserveRange("EMP", 500));
+        verify(mockCounterDao, never()).reserveBlock("EMP", 20);
+        assertEquals("EMP007", EmployeeIdAllocator.formatId("EMP", 7));
+    }
+
+    @Test
+    void testInvalidBlockSize() {
+        assertThrows(IllegalArgumentException.class, () -> new EmployeeIdAllocator(mockCounterDao, 0));
+    }
+}
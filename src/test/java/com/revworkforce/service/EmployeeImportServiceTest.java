@@ -0,0 +1,204 @@
+package com.revworkforce.service;
+
+import com.revworkforce.dao.DepartmentDAO;
+import com.revworkforce.dao.DesignationDAO;
+import com.revworkforce.dao.EmployeeDAO;
+import com.revworkforce.exception.ServiceBusyException;
+import com.revworkforce.exception.ValidationException;
+import com.revworkforce.model.Employee;
+import com.revworkforce.model.ImportReport;
+import com.revworkforce.util.PasswordHasher;
+import com.revworkforce.util.PasswordUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class EmployeeImportServiceTest {
+
+    private static final String HEADER = "first_name,last_name,email,phone,address,emergency_contact,"
+            + "date_of_birth,department_id,designation_id,salary,role,manager_id\n";
+
+    private EmployeeDAO mockEmpDao;
+    private DepartmentDAO mockDeptDao;
+    private DesignationDAO mockDesigDao;
+    private EmployeeIdAllocator mockIdAllocator;
+    private PasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockEmpDao = Mockito.mock(EmployeeDAO.class);
+        mockDeptDao = Mockito.mock(DepartmentDAO.class);
+        mockDesigDao = Mockito.mock(DesignationDAO.class);
+        mockIdAllocator = Mockito.mock(EmployeeIdAllocator.class);
+
+        setPrivateStaticField(EmployeeImportService.class, "employeeDAO", mockEmpDao);
+        setPrivateStaticField(EmployeeImportService.class, "departmentDAO", mockDeptDao);
+        setPrivateStaticField(EmployeeImportService.class, "designationDAO", mockDesigDao);
+        setPrivateStaticField(EmployeeImportService.class, "idAllocator", mockIdAllocator);
+        // Low cost keeps the real hashing fast
+        hasher = new PasswordHasher(2, 4, 4, 5000);
+        setPrivateStaticField(EmployeeImportService.class, "hasher", hasher);
+
+        when(mockEmpDao.getExistingEmails()).thenReturn(new HashSet<>(Set.of("taken@example.com")));
+        when(mockEmpDao.getExistingPhones()).thenReturn(new HashSet<>());
+        when(mockDeptDao.getDepartmentIds()).thenReturn(Set.of("1"));
+        Map<String, String> designations = new HashMap<>();
+        designations.put("10", "Developer");
+        designations.put("20", "Engineering Manager");
+        when(mockDesigDao.getDesignationNames()).thenReturn(designations);
+        when(mockIdAllocator.reserveRange("EMP", 2)).thenReturn(41L);
+        when(mockIdAllocator.reserveRange("MGR", 1)).thenReturn(7L);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        System.clearProperty("import.batch.size");
+        System.clearProperty("import.hash.busy.timeout.ms");
+        hasher.shutdown();
+        setPrivateStaticField(EmployeeImportService.class, "hasher", PasswordHasher.shared());
+    }
+
+    private void setPrivateStaticField(Class<?> clazz, String fieldName, Object value) throws Exception {
+        Field field = clazz.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(null, value);
+    }
+
+    private static String row(String first, String email, String phone, String dept, String desig, String role) {
+        return first + ",Doe," + email + "," + phone + ",\"12 Main St, Pune\",Jane,1990-01-01,"
+                + dept + "," + desig + ",50000," + role + ",\n";
+    }
+
+    @Test
+    void testImport_ValidRowsBatchedAndBadRowsReported() throws Exception {
+        String csv = HEADER
+                + row("Ann", "ann@example.com", "9000000001", "1", "10", "EMP")
+                + row("Bob", "bob@example.com", "9000000002", "1", "20", "MGR")
+                + row("Cat", "ann@example.com", "9000000003", "1", "10", "EMP") // duplicate email in file
+                + row("Dan", "taken@example.com", "9000000004", "1", "10", "EMP") // already on file
+                + row("Eve", "eve@example.com", "123", "1", "10", "EMP") // bad phone
+                + row("Fay", "fay@example.com", "9000000006", "9", "10", "EMP") // unknown department
+                + row("Gus", "gus@example.com", "9000000007", "1", "20", "EMP") // designation/role mismatch
+                + row("Hal", "hal@example.com", "9000000008", "1", "10", "EMP");
+
+        ImportReport report = EmployeeImportService.importCsv(new StringReader(csv));
+
+        assertEquals(8, report.getTotalRows());
+        assertEquals(List.of("EMP041", "MGR007", "EMP042"), report.getImportedIds());
+        assertEquals(5, report.getErrorCount());
+        assertEquals(4, report.getErrors().get(0).getLineNumber());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Employee>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mockEmpDao).insertEmployees(captor.capture());
+        List<Employee> inserted = captor.getValue();
+        assertEquals(3, inserted.size());
+        assertEquals("12 Main St, Pune", inserted.get(0).getAddress());
+        assertTrue(PasswordUtil.verifyPassword("password", inserted.get(0).getPasswordHash()));
+        verify(mockEmpDao, never()).isEmailExists(any());
+        verify(mockEmpDao, never()).insertEmployee(any());
+    }
+
+    @Test
+    void testImport_BatchFailureFallsBackToSingleRows() throws Exception {
+        doThrow(new RuntimeException("ORA-00001")).when(mockEmpDao).insertEmployees(anyList());
+        doThrow(new RuntimeException("constraint violated"))
+                .when(mockEmpDao).insertEmployee(argThat(e -> "EMP042".equals(e.getEmployeeId())));
+
+        String csv = HEADER
+                + row("Ann", "ann@example.com", "9000000001", "1", "10", "EMP")
+                + row("Hal", "hal@example.com", "9000000008", "1", "10", "EMP");
+
+        ImportReport report = EmployeeImportService.importCsv(new StringReader(csv));
+
+        assertEquals(List.of("EMP041"), report.getImportedIds());
+        assertEquals(1, report.getErrorCount());
+        assertEquals(3, report.getErrors().get(0).getLineNumber());
+        verify(mockEmpDao, times(2)).insertEmployee(any(Employee.class));
+    }
+
+    @Test
+    void testImport_CommitsPerBatch() throws Exception {
+        System.setProperty("import.batch.size", "1");
+        when(mockIdAllocator.reserveRange("EMP", 1)).thenReturn(1L, 2L);
+
+        String csv = HEADER
+                + row("Ann", "ann@example.com", "9000000001", "1", "10", "EMP")
+                + row("Hal", "hal@example.com", "9000000008", "1", "10", "EMP");
+
+        ImportReport report = EmployeeImportService.importCsv(new StringReader(csv));
+
+        assertEquals(List.of("EMP001", "EMP002"), report.getImportedIds());
+        verify(mockEmpDao, times(2)).insertEmployees(anyList());
+    }
+
+    @Test
+    void testImport_BacksOffWhileHasherBusy() throws Exception {
+        PasswordHasher busy = mock(PasswordHasher.class);
+        when(busy.submitHash("password"))
+                .thenThrow(new ServiceBusyException("Password hashing is busy"))
+                .thenReturn(CompletableFuture.completedFuture("hash1"))
+                .thenReturn(CompletableFuture.completedFuture("hash2"));
+        setPrivateStaticField(EmployeeImportService.class, "hasher", busy);
+
+        String csv = HEADER
+                + row("Ann", "ann@example.com", "9000000001", "1", "10", "EMP")
+                + row("Hal", "hal@example.com", "9000000008", "1", "10", "EMP");
+
+        ImportReport report = EmployeeImportService.importCsv(new StringReader(csv));
+
+        assertEquals(List.of("EMP041", "EMP042"), report.getImportedIds());
+        verify(busy, times(3)).submitHash("password");
+    }
+
+    @Test
+    void testImport_GivesUpWhenHasherStaysBusy() throws Exception {
+        System.setProperty("import.hash.busy.timeout.ms", "50");
+        PasswordHasher busy = mock(PasswordHasher.class);
+        when(busy.submitHash("password"))
+                .thenReturn(CompletableFuture.completedFuture("hash1"))
+                .thenThrow(new ServiceBusyException("Password hashing is busy"));
+        setPrivateStaticField(EmployeeImportService.class, "hasher", busy);
+        when(mockIdAllocator.reserveRange("EMP", 1)).thenReturn(41L);
+
+        String csv = HEADER
+                + row("Ann", "ann@example.com", "9000000001", "1", "10", "EMP")
+                + row("Hal", "hal@example.com", "9000000008", "1", "10", "EMP");
+
+        ImportReport report = EmployeeImportService.importCsv(new StringReader(csv));
+
+        assertEquals(List.of("EMP041"), report.getImportedIds());
+        assertEquals(1, report.getErrorCount());
+        assertTrue(report.getErrors().get(0).getMessage().contains("busy"));
+    }
+
+    @Test
+    void testImport_MissingColumns() {
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> EmployeeImportService.importCsv(new StringReader("first_name,email\n")));
+        assertTrue(e.getMessage().contains("phone"));
+    }
+
+    @Test
+    void testSplitCsvLine_QuotedFields() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""),
+                EmployeeImportService.splitCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+        assertThrows(ValidationException.class, () -> EmployeeImportService.splitCsvLine("\"open"));
+    }
+}
@@ -2,6 +2,8 @@ package com.revworkforce.service;
 
 import com.revworkforce.dao.AnnouncementDAO;
 import com.revworkforce.dao.EmployeeDAO;
+import com.revworkforce.model.EmployeeSearchPage;
+import com.revworkforce.model.EmployeeSummary;
 import com.revworkforce.util.InputUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +12,8 @@ import org.mockito.MockedStatic;
 
 import java.sql.ResultSet;
 import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -46,12 +50,20 @@ class EmployeeServiceTest {
         field.set(null, value);
     }
 
+    private static Map<String, Object> contactProfile() {
+        Map<String, Object> profile = new HashMap<>();
+        profile.put("phone", "123");
+        profile.put("address", "Addr");
+        profile.put("emergency_contact", "Emg");
+        return profile;
+    }
+
     @Test
     void testViewProfile_Found() throws Exception {
-        ResultSet rs = mock(ResultSet.class);
-        when(mockEmpDao.getProfile("EMP001")).thenReturn(rs);
-        when(rs.next()).thenReturn(true);
-        when(rs.getString(anyString())).thenReturn("Test Value");
+        Map<String, Object> profile = new HashMap<>();
+        profile.put("employee_id", "EMP001");
+        profile.put("first_name", "Test");
+        when(mockEmpDao.getProfile("EMP001")).thenReturn(profile);
 
         EmployeeService.viewProfile("EMP001");
 
@@ -60,12 +72,7 @@ class EmployeeServiceTest {
 
     @Test
     void testUpdateProfile() throws Exception {
-        ResultSet rs = mock(ResultSet.class);
-        when(mockEmpDao.getProfile("EMP001")).thenReturn(rs);
-        when(rs.next()).thenReturn(true);
-        when(rs.getString("phone")).thenReturn("123");
-        when(rs.getString("address")).thenReturn("Addr");
-        when(rs.getString("emergency_contact")).thenReturn("Emg");
+        when(mockEmpDao.getProfile("EMP001")).thenReturn(contactProfile());
 
         mockInputUtil.when(() -> InputUtil.readString(contains("Phone"))).thenReturn("999");
         mockInputUtil.when(() -> InputUtil.readString(contains("Address"))).thenReturn("");
@@ -127,29 +134,46 @@ class EmployeeServiceTest {
     @Test
     void testViewUpcomingBirthdays() throws Exception {
         ResultSet rs = mock(ResultSet.class);
-        when(mockEmpDao.getUpcomingBirthdays()).thenReturn(rs);
+        doAnswer(RowCallbackStubs.replaying(rs)).when(mockEmpDao).getUpcomingBirthdays(any());
 
         EmployeeService.viewUpcomingBirthdays();
 
-        verify(mockEmpDao).getUpcomingBirthdays();
+        verify(mockEmpDao).getUpcomingBirthdays(any());
     }
 
     @Test
     void testEmployeeDirectory() throws Exception {
         mockInputUtil.when(() -> InputUtil.readString(contains("search"))).thenReturn("John");
-        java.util.List<java.util.Map<String, Object>> mockList = new java.util.ArrayList<>();
-        when(mockEmpDao.searchEmployees("John")).thenReturn(mockList);
+        when(mockEmpDao.searchDirectory(eq("John"), eq(0), anyInt())).thenReturn(new EmployeeSearchPage(
+                java.util.List.of(new EmployeeSummary("EMP002", "John", null, "john@example.com", "IT", "Developer")),
+                1, 0));
 
         EmployeeService.employeeDirectory();
 
-        verify(mockEmpDao).searchEmployees("John");
+        verify(mockEmpDao).searchDirectory(eq("John"), eq(0), anyInt());
+        mockInputUtil.verify(() -> InputUtil.readString(contains("next page")), never());
+    }
+
+    @Test
+    void testEmployeeDirectory_Paging() throws Exception {
+        EmployeeSummary first = new EmployeeSummary("EMP002", "John", null, null, null, null);
+        EmployeeSummary second = new EmployeeSummary("EMP003", "Johnny", null, null, null, null);
+        mockInputUtil.when(() -> InputUtil.readString(contains("search"))).thenReturn("John");
+        mockInputUtil.when(() -> InputUtil.readString(contains("next page"))).thenReturn("n");
+        when(mockEmpDao.searchDirectory(eq("John"), eq(0), anyInt()))
+                .thenReturn(new EmployeeSearchPage(java.util.List.of(first), 2, 0));
+        when(mockEmpDao.searchDirectory(eq("John"), eq(1), anyInt()))
+                .thenReturn(new EmployeeSearchPage(java.util.List.of(second), 2, 1));
+
+        EmployeeService.employeeDirectory();
+
+        verify(mockEmpDao).searchDirectory(eq("John"), eq(1), anyInt());
+        mockInputUtil.verify(() -> InputUtil.readString(contains("next page")), times(1));
     }
 
     @Test
     void testViewProfile_NotFound() throws Exception {
-        ResultSet rs = mock(ResultSet.class);
-        when(mockEmpDao.getProfile("EMP001")).thenReturn(rs);
-        when(rs.next()).thenReturn(false); // Not found
+        when(mockEmpDao.getProfile("EMP001")).thenReturn(null); // Not found
 
         EmployeeService.viewProfile("EMP001");
 
@@ -159,12 +183,7 @@ class EmployeeServiceTest {
     @Test
     void testUpdateProfile_Failure() throws Exception {
         // First getProfile mock needed
-        ResultSet rs = mock(ResultSet.class);
-        when(mockEmpDao.getProfile("EMP001")).thenReturn(rs);
-        when(rs.next()).thenReturn(true);
-        when(rs.getString("phone")).thenReturn("123");
-        when(rs.getString("address")).thenReturn("Addr");
-        when(rs.getString("emergency_contact")).thenReturn("Emg");
+        when(mockEmpDao.getProfile("EMP001")).thenReturn(contactProfile());
 
         mockInputUtil.when(() -> InputUtil.readString(contains("Phone"))).thenReturn("999");
         mockInputUtil.when(() -> InputUtil.readString(contains("Address"))).thenReturn("");
@@ -181,12 +200,12 @@ class EmployeeServiceTest {
     @Test
     void testViewWorkAnniversaries() throws Exception {
         ResultSet mockRs = mock(ResultSet.class);
-        when(mockEmpDao.getWorkAnniversaries()).thenReturn(mockRs);
+        doAnswer(RowCallbackStubs.replaying(mockRs)).when(mockEmpDao).getWorkAnniversaries(any());
         when(mockRs.next()).thenReturn(true, false);
 
         EmployeeService.viewWorkAnniversaries();
 
-        verify(mockEmpDao).getWorkAnniversaries();
+        verify(mockEmpDao).getWorkAnniversaries(any());
     }
 
     @Test
@@ -195,29 +214,26 @@ class EmployeeServiceTest {
         setPrivateStaticField(EmployeeService.class, "announcementDAO", mockAnnounceDao);
 
         ResultSet mockRs = mock(ResultSet.class);
-        when(mockAnnounceDao.getAllAnnouncements()).thenReturn(mockRs);
+        doAnswer(RowCallbackStubs.replaying(mockRs)).when(mockAnnounceDao).getAllAnnouncements(any());
         when(mockRs.next()).thenReturn(true, false);
 
         EmployeeService.viewAnnouncements();
 
-        verify(mockAnnounceDao).getAllAnnouncements();
+        verify(mockAnnounceDao).getAllAnnouncements(any());
     }
 
     @Test
     void testViewManagerDetails_Success() throws Exception {
-        ResultSet empRs = mock(ResultSet.class);
-        ResultSet mgrRs = mock(ResultSet.class);
-
-        when(mockEmpDao.getProfile("EMP001")).thenReturn(empRs);
-        when(empRs.next()).thenReturn(true);
-        when(empRs.getString("manager_id")).thenReturn("MGR001");
+        Map<String, Object> empProfile = new HashMap<>();
+        empProfile.put("manager_id", "MGR001");
+        Map<String, Object> mgrProfile = new HashMap<>();
+        mgrProfile.put("first_name", "Boss");
+        mgrProfile.put("last_name", "Manager");
+        mgrProfile.put("email", "boss@example.com");
+        mgrProfile.put("phone", "1234567890");
 
-        when(mockEmpDao.getProfile("MGR001")).thenReturn(mgrRs);
-        when(mgrRs.next()).thenReturn(true);
-        when(mgrRs.getString("first_name")).thenReturn("Boss");
-        when(mgrRs.getString("last_name")).thenReturn("Manager");
-        when(mgrRs.getString("email")).thenReturn("boss@example.com");
-        when(mgrRs.getString("phone")).thenReturn("1234567890");
+        when(mockEmpDao.getProfile("EMP001")).thenReturn(empProfile);
+        when(mockEmpDao.getProfile("MGR001")).thenReturn(mgrProfile);
 
         EmployeeService.viewManagerDetails("EMP001");
 
@@ -227,11 +243,10 @@ class EmployeeServiceTest {
 
     @Test
     void testViewManagerDetails_NoManager() throws Exception {
-        ResultSet empRs = mock(ResultSet.class);
+        Map<String, Object> empProfile = new HashMap<>();
+        empProfile.put("manager_id", null);
 
-        when(mockEmpDao.getProfile("EMP001")).thenReturn(empRs);
-        when(empRs.next()).thenReturn(true);
-        when(empRs.getString("manager_id")).thenReturn(null);
+        when(mockEmpDao.getProfile("EMP001")).thenReturn(empProfile);
 
         EmployeeService.viewManagerDetails("EMP001");
 
@@ -241,15 +256,11 @@ class EmployeeServiceTest {
 
     @Test
     void testViewManagerDetails_ManagerNotFound() throws Exception {
-        ResultSet empRs = mock(ResultSet.class);
-        ResultSet mgrRs = mock(ResultSet.class);
-
-        when(mockEmpDao.getProfile("EMP001")).thenReturn(empRs);
-        when(empRs.next()).thenReturn(true);
-        when(empRs.getString("manager_id")).thenReturn("MGR001");
+        Map<String, Object> empProfile = new HashMap<>();
+        empProfile.put("manager_id", "MGR001");
 
-        when(mockEmpDao.getProfile("MGR001")).thenReturn(mgrRs);
-        when(mgrRs.next()).thenReturn(false);
+        when(mockEmpDao.getProfile("EMP001")).thenReturn(empProfile);
+        when(mockEmpDao.getProfile("MGR001")).thenReturn(null);
 
         EmployeeService.viewManagerDetails("EMP001");
 
@@ -1,6 +1,9 @@
 package com.revworkforce.service;
 
+import com.revworkforce.dao.HolidayDAO;
 import com.revworkforce.dao.LeaveDAO;
+import com.revworkforce.dao.LeaveDecisionDAO;
+import com.revworkforce.model.LeaveDecision;
 import com.revworkforce.util.InputUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +26,10 @@ class LeaveServiceTest {
 
     @Mock
     private LeaveDAO mockDao;
+    @Mock
+    private LeaveDecisionDAO mockDecisionDao;
+    @Mock
+    private HolidayDAO mockHolidayDao;
 
     private MockedStatic<InputUtil> mockedInputUtil;
     private MockedStatic<AuditService> mockedAuditService;
@@ -36,6 +43,9 @@ class LeaveServiceTest {
         // This allows us to intercept DAO calls without needing dependency injection
         // framework
         setStaticField(LeaveService.class, "dao", mockDao);
+        setStaticField(LeaveService.class, "decisionDAO", mockDecisionDao);
+        setStaticField(LeaveService.class, "holidayDAO", mockHolidayDao);
+        when(mockHolidayDao.countWorkingDays(any(Date.class), any(Date.class))).thenReturn(5);
 
         // Mock statics: InputUtil and AuditService are static utilities
         // We mock them to control user input and verify audit logging without side
@@ -54,6 +64,8 @@ class LeaveServiceTest {
         // Reset the static DAO field to a fresh instance or null to clean up state
         setStaticField(LeaveService.class, "dao", null);
         setStaticField(LeaveService.class, "dao", new LeaveDAO());
+        setStaticField(LeaveService.class, "decisionDAO", new LeaveDecisionDAO());
+        setStaticField(LeaveService.class, "holidayDAO", new HolidayDAO());
     }
 
     /**
@@ -81,7 +93,7 @@ class LeaveServiceTest {
 
         // Verification:
         // Ensure DAO received the correct ID, Dates, and Reason
-        verify(mockDao).applyLeave(eq("EMP1"), eq(1), any(Date.class), any(Date.class), eq("Sick"));
+        verify(mockDao).applyLeave(eq("EMP1"), eq(1), any(Date.class), any(Date.class), eq("Sick"), eq(5));
         // Ensure action was logged
         mockedAuditService
                 .verify(() -> AuditService.log(eq("EMP1"), anyString(), anyString(), anyString(), anyString()));
@@ -97,7 +109,22 @@ class LeaveServiceTest {
         LeaveService.applyLeave("EMP1");
 
         // Should NOT call DAO
-        verify(mockDao, never()).applyLeave(anyString(), anyInt(), any(), any(), anyString());
+        verify(mockDao, never()).applyLeave(anyString(), anyInt(), any(), any(), anyString(), anyInt());
+    }
+
+    @Test
+    void testApplyLeave_NoWorkingDays() throws Exception {
+        mockedInputUtil.when(() -> InputUtil.readInt(anyString())).thenReturn(1);
+        // A Saturday and Sunday
+        mockedInputUtil.when(() -> InputUtil.readString(contains("Start"))).thenReturn("2024-01-06");
+        mockedInputUtil.when(() -> InputUtil.readString(contains("End"))).thenReturn("2024-01-07");
+        mockedInputUtil.when(() -> InputUtil.readString(contains("Reason"))).thenReturn("Trip");
+        when(mockHolidayDao.countWorkingDays(Date.valueOf("2024-01-06"), Date.valueOf("2024-01-07")))
+                .thenReturn(0);
+
+        LeaveService.applyLeave("EMP1");
+
+        verify(mockDao, never()).applyLeave(anyString(), anyInt(), any(), any(), anyString(), anyInt());
     }
 
     @Test
@@ -129,22 +156,35 @@ class LeaveServiceTest {
     @Test
     void testCancelLeave() throws Exception {
         mockedInputUtil.when(() -> InputUtil.readInt(anyString())).thenReturn(100);
+        when(mockDecisionDao.cancel(100, "EMP1")).thenReturn(
+                new LeaveDecision(100, "EMP1", "PENDING", "CANCELLED", 0, LeaveDecision.Outcome.APPLIED));
 
         LeaveService.cancelLeave("EMP1");
 
-        verify(mockDao).cancelLeave(100, "EMP1");
+        verify(mockDecisionDao).cancel(100, "EMP1");
         mockedAuditService
                 .verify(() -> AuditService.log(eq("EMP1"), eq("CANCEL"), anyString(), anyString(), anyString()));
     }
 
+    @Test
+    void testCancelLeave_NotPending() throws Exception {
+        mockedInputUtil.when(() -> InputUtil.readInt(anyString())).thenReturn(100);
+        when(mockDecisionDao.cancel(100, "EMP1")).thenReturn(
+                new LeaveDecision(100, "EMP1", "APPROVED", "CANCELLED", 0, LeaveDecision.Outcome.NOT_ALLOWED));
+
+        LeaveService.cancelLeave("EMP1");
+
+        mockedAuditService.verifyNoInteractions();
+    }
+
     @Test
     void testCancelLeave_Failure() throws Exception {
         mockedInputUtil.when(() -> InputUtil.readInt(anyString())).thenReturn(100);
-        doThrow(new RuntimeException("DB Error")).when(mockDao).cancelLeave(100, "EMP1");
+        doThrow(new RuntimeException("DB Error")).when(mockDecisionDao).cancel(100, "EMP1");
 
         LeaveService.cancelLeave("EMP1");
 
-        verify(mockDao).cancelLeave(100, "EMP1");
+        verify(mockDecisionDao).cancel(100, "EMP1");
     }
 
     @Test
@@ -155,7 +195,7 @@ class LeaveServiceTest {
         LeaveService.applyLeave("EMP1");
 
         // Should NOT call DAO due to date parse error
-        verify(mockDao, never()).applyLeave(anyString(), anyInt(), any(), any(), anyString());
+        verify(mockDao, never()).applyLeave(anyString(), anyInt(), any(), any(), anyString(), anyInt());
     }
 
     @Test
@@ -166,11 +206,11 @@ class LeaveServiceTest {
         mockedInputUtil.when(() -> InputUtil.readString(contains("Reason"))).thenReturn("Sick");
 
         doThrow(new RuntimeException("DB Error")).when(mockDao).applyLeave(anyString(), anyInt(), any(Date.class),
-                any(Date.class), anyString());
+                any(Date.class), anyString(), anyInt());
 
         LeaveService.applyLeave("EMP1");
 
-        verify(mockDao).applyLeave(anyString(), anyInt(), any(Date.class), any(Date.class), anyString());
+        verify(mockDao).applyLeave(anyString(), anyInt(), any(Date.class), any(Date.class), anyString(), anyInt());
     }
 
     @Test
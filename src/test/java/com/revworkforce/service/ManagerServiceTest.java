@@ -3,7 +3,13 @@ package com.revworkforce.service;
 import com.revworkforce.dao.AttendanceDAO;
 import com.revworkforce.dao.EmployeeDAO;
 import com.revworkforce.dao.LeaveDAO;
+import com.revworkforce.dao.LeaveDecisionDAO;
 import com.revworkforce.dao.PerformanceDAO;
+import com.revworkforce.model.EmployeeSummary;
+import com.revworkforce.model.LeaveBalanceRow;
+import com.revworkforce.model.LeaveDecision;
+import com.revworkforce.model.LeaveDecision.Outcome;
+import com.revworkforce.model.TeamLeaveRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -23,6 +29,7 @@ class ManagerServiceTest {
 
     private EmployeeDAO mockEmpDao;
     private LeaveDAO mockLeaveDao;
+    private LeaveDecisionDAO mockDecisionDao;
     private AttendanceDAO mockAttendanceDao;
     private PerformanceDAO mockPerformanceDao;
 
@@ -30,11 +37,13 @@ class ManagerServiceTest {
     void setUp() throws Exception {
         mockEmpDao = Mockito.mock(EmployeeDAO.class);
         mockLeaveDao = Mockito.mock(LeaveDAO.class);
+        mockDecisionDao = Mockito.mock(LeaveDecisionDAO.class);
         mockAttendanceDao = Mockito.mock(AttendanceDAO.class);
         mockPerformanceDao = Mockito.mock(PerformanceDAO.class);
 
         setPrivateStaticField(ManagerService.class, "employeeDAO", mockEmpDao);
         setPrivateStaticField(ManagerService.class, "leaveDAO", mockLeaveDao);
+        setPrivateStaticField(ManagerService.class, "leaveDecisionDAO", mockDecisionDao);
         setPrivateStaticField(ManagerService.class, "attendanceDAO", mockAttendanceDao);
         setPrivateStaticField(ManagerService.class, "performanceDAO", mockPerformanceDao);
 
@@ -54,11 +63,8 @@ class ManagerServiceTest {
 
     @Test
     void testViewTeam_Success() throws Exception {
-        List<Map<String, Object>> mockList = new ArrayList<>();
-        Map<String, Object> row = new HashMap<>();
-        row.put("employee_id", "EMP001");
-        row.put("first_name", "Alice");
-        mockList.add(row);
+        List<EmployeeSummary> mockList = List.of(
+                new EmployeeSummary("EMP001", "Alice", null, null, null, null));
 
         when(mockEmpDao.getReportees("MGR001")).thenReturn(mockList);
 
@@ -85,24 +91,52 @@ class ManagerServiceTest {
 
     @Test
     void testProcessLeave_Approve() throws Exception {
-        when(mockLeaveDao.getEmployeeIdForLeave(100)).thenReturn("EMP001");
+        when(mockDecisionDao.decide(100, "MGR001", "APPROVED", "Good to go"))
+                .thenReturn(new LeaveDecision(100, "EMP001", "PENDING", "APPROVED", 2, Outcome.APPLIED));
 
         ManagerService.processLeave("MGR001", 100, "APPROVED", "Good to go");
 
-        verify(mockLeaveDao).updateLeaveStatus(100, "MGR001", "APPROVED", "Good to go");
+        verify(mockDecisionDao).decide(100, "MGR001", "APPROVED", "Good to go");
+    }
+
+    @Test
+    void testProcessLeave_InsufficientBalance() throws Exception {
+        when(mockDecisionDao.decide(100, "MGR001", "APPROVED", "Good to go")).thenReturn(
+                new LeaveDecision(100, "EMP001", "PENDING", "APPROVED", 0, Outcome.INSUFFICIENT_BALANCE));
+
+        ManagerService.processLeave("MGR001", 100, "APPROVED", "Good to go");
+
+        verify(mockDecisionDao).decide(100, "MGR001", "APPROVED", "Good to go");
+    }
+
+    @Test
+    void testApproveAllPendingLeaves() throws Exception {
+        List<TeamLeaveRequest> pending = List.of(
+                new TeamLeaveRequest(101, "EMP002", "Bob", null, null, null, null, "PENDING"),
+                new TeamLeaveRequest(102, "EMP003", "Cat", null, null, null, null, "PENDING"));
+        when(mockLeaveDao.getTeamLeaveRequests("MGR001")).thenReturn(pending);
+        when(mockDecisionDao.decideAll(List.of(101, 102), "MGR001", "APPROVED", "Enjoy")).thenReturn(List.of(
+                new LeaveDecision(101, "EMP002", "PENDING", "APPROVED", 2, Outcome.APPLIED),
+                new LeaveDecision(102, "EMP003", "PENDING", "APPROVED", 0, Outcome.INSUFFICIENT_BALANCE)));
+
+        ManagerService.approveAllPendingLeaves("MGR001", "Enjoy");
+
+        verify(mockDecisionDao).decideAll(List.of(101, 102), "MGR001", "APPROVED", "Enjoy");
+    }
+
+    @Test
+    void testApproveAllPendingLeaves_NonePending() throws Exception {
+        when(mockLeaveDao.getTeamLeaveRequests("MGR001")).thenReturn(List.of());
+
+        ManagerService.approveAllPendingLeaves("MGR001", "Enjoy");
+
+        verify(mockDecisionDao, never()).decideAll(any(), anyString(), anyString(), anyString());
     }
 
     @Test
     void testViewTeamLeaveRequests() throws Exception {
-        List<Map<String, Object>> mockList = new ArrayList<>();
-        Map<String, Object> row = new HashMap<>();
-        row.put("leave_application_id", 101);
-        row.put("employee_id", "EMP002");
-        row.put("first_name", "Bob");
-        row.put("start_date", java.sql.Date.valueOf("2024-01-01"));
-        row.put("end_date", java.sql.Date.valueOf("2024-01-02"));
-        row.put("status", "PENDING");
-        mockList.add(row);
+        List<TeamLeaveRequest> mockList = List.of(new TeamLeaveRequest(101, "EMP002", "Bob", null, null,
+                java.sql.Date.valueOf("2024-01-01"), java.sql.Date.valueOf("2024-01-02"), "PENDING"));
 
         when(mockLeaveDao.getTeamLeaveRequests("MGR001")).thenReturn(mockList);
 
@@ -124,11 +158,24 @@ class ManagerServiceTest {
 
     @Test
     void testRevokeApprovedLeave() throws Exception {
-        when(mockLeaveDao.getEmployeeIdForLeave(200)).thenReturn("EMP004");
+        when(mockDecisionDao.decide(200, "MGR001", "REVOKED", "Project Critical"))
+                .thenReturn(new LeaveDecision(200, "EMP004", "APPROVED", "REVOKED", -3, Outcome.APPLIED));
 
         ManagerService.revokeApprovedLeave("MGR001", 200, "Project Critical");
 
-        verify(mockLeaveDao).updateLeaveStatus(200, "MGR001", "REVOKED", "Project Critical");
+        verify(mockDecisionDao).decide(200, "MGR001", "REVOKED", "Project Critical");
+    }
+
+    @Test
+    void testRevokeApprovedLeave_OtherTeam() throws Exception {
+        com.revworkforce.dao.NotificationDAO mockNotifDao = Mockito.mock(com.revworkforce.dao.NotificationDAO.class);
+        setPrivateStaticField(NotificationService.class, "dao", mockNotifDao);
+        when(mockDecisionDao.decide(200, "MGR002", "REVOKED", "Project Critical"))
+                .thenReturn(new LeaveDecision(200, "EMP004", "APPROVED", "REVOKED", 0, Outcome.NOT_YOUR_TEAM));
+
+        ManagerService.revokeApprovedLeave("MGR002", 200, "Project Critical");
+
+        verifyNoInteractions(mockNotifDao);
     }
 
     @Test
@@ -142,23 +189,18 @@ class ManagerServiceTest {
 
     @Test
     void testProcessLeave_Failure() throws Exception {
-        when(mockLeaveDao.getEmployeeIdForLeave(100)).thenReturn("EMP001");
-        doThrow(new RuntimeException("DB Error")).when(mockLeaveDao).updateLeaveStatus(anyInt(), anyString(),
+        doThrow(new RuntimeException("DB Error")).when(mockDecisionDao).decide(anyInt(), anyString(),
                 anyString(), anyString());
 
         ManagerService.processLeave("MGR001", 100, "APPROVED", "Good");
 
-        verify(mockLeaveDao).updateLeaveStatus(100, "MGR001", "APPROVED", "Good");
+        verify(mockDecisionDao).decide(100, "MGR001", "APPROVED", "Good");
     }
 
     @Test
     void testViewTeamBasic() throws Exception {
-        List<Map<String, Object>> mockList = new ArrayList<>();
-        Map<String, Object> row = new HashMap<>();
-        row.put("employee_id", "EMP001");
-        row.put("first_name", "Bob");
-        row.put("designation_name", "Dev"); // Added as likely used
-        mockList.add(row);
+        List<EmployeeSummary> mockList = List.of(
+                new EmployeeSummary("EMP001", "Bob", null, null, null, "Dev"));
 
         when(mockEmpDao.getReportees("MGR001")).thenReturn(mockList);
 
@@ -170,45 +212,45 @@ class ManagerServiceTest {
     @Test
     void testViewTeamAttendance() throws Exception {
         ResultSet mockRs = Mockito.mock(ResultSet.class);
-        when(mockAttendanceDao.getTeamAttendanceSummary("MGR001")).thenReturn(mockRs);
+        doAnswer(RowCallbackStubs.replaying(mockRs)).when(mockAttendanceDao).getTeamAttendanceSummary(eq("MGR001"), any());
         when(mockRs.next()).thenReturn(true, false);
 
         ManagerService.viewTeamAttendance("MGR001");
 
-        verify(mockAttendanceDao).getTeamAttendanceSummary("MGR001");
+        verify(mockAttendanceDao).getTeamAttendanceSummary(eq("MGR001"), any());
     }
 
     @Test
     void testViewTeamPerformance() throws Exception {
         ResultSet mockRs = Mockito.mock(ResultSet.class);
-        when(mockPerformanceDao.getTeamReviews("MGR001")).thenReturn(mockRs);
+        doAnswer(RowCallbackStubs.replaying(mockRs)).when(mockPerformanceDao).getTeamReviews(eq("MGR001"), any());
         when(mockRs.next()).thenReturn(true, false);
 
         ManagerService.viewTeamPerformance("MGR001");
 
-        verify(mockPerformanceDao).getTeamReviews("MGR001");
+        verify(mockPerformanceDao).getTeamReviews(eq("MGR001"), any());
     }
 
     @Test
     void testViewTeamGoals() throws Exception {
         ResultSet mockRs = Mockito.mock(ResultSet.class);
-        when(mockPerformanceDao.getTeamGoals("MGR001")).thenReturn(mockRs);
+        doAnswer(RowCallbackStubs.replaying(mockRs)).when(mockPerformanceDao).getTeamGoals(eq("MGR001"), any());
         when(mockRs.next()).thenReturn(true, false);
 
         ManagerService.viewTeamGoals("MGR001");
 
-        verify(mockPerformanceDao).getTeamGoals("MGR001");
+        verify(mockPerformanceDao).getTeamGoals(eq("MGR001"), any());
     }
 
     @Test
     void testViewGoalCompletionSummary() throws Exception {
         ResultSet mockRs = Mockito.mock(ResultSet.class);
-        when(mockPerformanceDao.getGoalCompletionSummary("MGR001")).thenReturn(mockRs);
+        doAnswer(RowCallbackStubs.replaying(mockRs)).when(mockPerformanceDao).getGoalCompletionSummary(eq("MGR001"), any());
         when(mockRs.next()).thenReturn(true, false);
 
         ManagerService.viewGoalCompletionSummary("MGR001");
 
-        verify(mockPerformanceDao).getGoalCompletionSummary("MGR001");
+        verify(mockPerformanceDao).getGoalCompletionSummary(eq("MGR001"), any());
     }
 
     @Test
@@ -227,9 +269,7 @@ class ManagerServiceTest {
 
     @Test
     void testViewTeamLeaveBalances() throws Exception {
-        List<Map<String, Object>> mockList = new ArrayList<>();
-        Map<String, Object> row = new HashMap<>();
-        mockList.add(row);
+        List<LeaveBalanceRow> mockList = List.of(new LeaveBalanceRow("EMP001", "Casual", 12, 2, 10));
 
         when(mockLeaveDao.getTeamLeaveBalances("MGR001")).thenReturn(mockList);
 
@@ -253,16 +293,19 @@ class ManagerServiceTest {
 
     @Test
     void testIsPendingLeave_NotPending() throws Exception {
-        List<Map<String, Object>> mockList = new ArrayList<>();
-        Map<String, Object> row = new HashMap<>();
-        row.put("leave_application_id", 999);
-        mockList.add(row);
-
-        when(mockLeaveDao.getTeamLeaveRequests("MGR001")).thenReturn(mockList);
+        when(mockLeaveDao.isPendingTeamLeave("MGR001", 100)).thenReturn(false);
 
         boolean result = ManagerService.isPendingLeave("MGR001", 100);
 
         assertFalse(result);
+        verify(mockLeaveDao, never()).getTeamLeaveRequests(anyString());
+    }
+
+    @Test
+    void testIsPendingLeave_Pending() throws Exception {
+        when(mockLeaveDao.isPendingTeamLeave("MGR001", 100)).thenReturn(true);
+
+        assertTrue(ManagerService.isPendingLeave("MGR001", 100));
     }
 
     @Test
@@ -1,7 +1,7 @@
 package com.revworkforce.service;
 
-import com.revworkforce.dao.EmployeeDAO;
 import com.revworkforce.dao.NotificationDAO;
+import com.revworkforce.model.DailyNotificationRun;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,9 +9,11 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.lang.reflect.Field;
-import java.sql.ResultSet;
+import java.sql.Date;
+import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -20,22 +22,18 @@ class NotificationServiceTest {
 
     @Mock
     private NotificationDAO mockNotifDao;
-    @Mock
-    private EmployeeDAO mockEmpDao;
-    @Mock
-    private ResultSet mockResultSet;
 
     @BeforeEach
     void setUp() throws Exception {
         MockitoAnnotations.openMocks(this);
         setStaticField(NotificationService.class, "dao", mockNotifDao);
-        setStaticField(NotificationService.class, "employeeDAO", mockEmpDao);
+        setStaticField(NotificationService.class, "dailyJob", null);
     }
 
     @AfterEach
     void tearDown() throws Exception {
         setStaticField(NotificationService.class, "dao", null);
-        setStaticField(NotificationService.class, "employeeDAO", null);
+        setStaticField(NotificationService.class, "dailyJob", null);
         // ideally reset to new instances but for tests ok
     }
 
@@ -54,33 +52,27 @@ class NotificationServiceTest {
 
     @Test
     void testGenerateDailyNotifications() throws Exception {
-        when(mockEmpDao.getBirthdaysToday()).thenReturn(mockResultSet);
-        when(mockEmpDao.getWorkAnniversariesToday()).thenReturn(mockResultSet);
-
-        // Mock one birthday
-        when(mockResultSet.next()).thenReturn(true, false); // for first loop
-        when(mockResultSet.getString("employee_id")).thenReturn("EMP1");
-        when(mockResultSet.getString("first_name")).thenReturn("John");
+        Date today = Date.valueOf(LocalDate.now());
+        when(mockNotifDao.createBirthdayNotifications(today)).thenReturn(3);
+        when(mockNotifDao.createAnniversaryNotifications(today)).thenReturn(1);
 
-        // Note: the same mockResultSet is used for both calls in this simplified setup.
-        // It might cause issues if the second call expects fresh iterator.
-        // Better:
-        ResultSet birthdayRS = mock(ResultSet.class);
-        ResultSet anniversaryRS = mock(ResultSet.class);
-        when(mockEmpDao.getBirthdaysToday()).thenReturn(birthdayRS);
-        when(mockEmpDao.getWorkAnniversariesToday()).thenReturn(anniversaryRS);
+        NotificationService.generateDailyNotifications();
 
-        when(birthdayRS.next()).thenReturn(true, false);
-        when(birthdayRS.getString("employee_id")).thenReturn("EMP1");
-        when(birthdayRS.getString("first_name")).thenReturn("John");
+        verify(mockNotifDao).createBirthdayNotifications(today);
+        verify(mockNotifDao).createAnniversaryNotifications(today);
+        verify(mockNotifDao, never()).createNotification(anyString(), anyString(), anyString());
+    }
 
-        when(anniversaryRS.next()).thenReturn(true, false);
-        when(anniversaryRS.getString("employee_id")).thenReturn("EMP2");
+    @Test
+    void testGenerateDailyNotificationsRunsOnScheduledJob() throws Exception {
+        DailyNotificationJob scheduled = mock(DailyNotificationJob.class);
+        when(scheduled.run(any())).thenReturn(new DailyNotificationRun(LocalDate.now(), 0, 0, 1));
+        setStaticField(NotificationService.class, "dailyJob", scheduled);
 
         NotificationService.generateDailyNotifications();
 
-        verify(mockNotifDao).createNotification(eq("EMP1"), eq("BIRTHDAY"), contains("Happy Birthday"));
-        verify(mockNotifDao).createNotification(eq("EMP2"), eq("ANNIVERSARY"), contains("Anniversary"));
+        verify(scheduled).run(LocalDate.now());
+        verify(mockNotifDao, never()).createBirthdayNotifications(any());
     }
 
     @Test
@@ -102,11 +94,12 @@ class NotificationServiceTest {
 
     @Test
     void testGenerateDailyNotifications_Failure() throws Exception {
-        when(mockEmpDao.getBirthdaysToday()).thenThrow(new RuntimeException("DB Error"));
+        when(mockNotifDao.createBirthdayNotifications(any())).thenThrow(new RuntimeException("DB Error"));
 
         NotificationService.generateDailyNotifications();
 
-        verify(mockEmpDao).getBirthdaysToday();
+        verify(mockNotifDao).createBirthdayNotifications(any());
+        verify(mockNotifDao, never()).createAnniversaryNotifications(any());
     }
 
     private void setStaticField(Class<?> clazz, String fieldName, Object value) throws Exception {
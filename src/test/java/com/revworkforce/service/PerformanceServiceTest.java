@@ -67,7 +67,7 @@ class PerformanceServiceTest {
     @Test
     void testReviewTeam() throws Exception {
         // Setup: Mock DAO to return ONE valid row to enter the loop, then false
-        when(mockDao.getTeamReviews("MGR1")).thenReturn(mockResultSet);
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(mockDao).getTeamReviews(eq("MGR1"), any());
         when(mockResultSet.next()).thenReturn(true, false);
         when(mockResultSet.getInt("review_id")).thenReturn(10);
         when(mockResultSet.getString("employee_name")).thenReturn("John Doe");
@@ -117,7 +117,7 @@ class PerformanceServiceTest {
 
     @Test
     void testManageGoals() throws Exception {
-        when(mockDao.getMyGoals("EMP1")).thenReturn(mockResultSet);
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(mockDao).getMyGoals(eq("EMP1"), any());
         when(mockResultSet.next()).thenReturn(false);
 
         mockedInputUtil.when(() -> InputUtil.readInt(contains("Goal ID"))).thenReturn(100);
@@ -130,29 +130,29 @@ class PerformanceServiceTest {
 
     @Test
     void testViewManagerFeedback_Failure() throws Exception {
-        when(mockDao.getMyFeedback("EMP1")).thenThrow(new RuntimeException("DB Error"));
+        when(mockDao.getMyFeedback(eq("EMP1"), any())).thenThrow(new RuntimeException("DB Error"));
 
         PerformanceService.viewManagerFeedback("EMP1");
 
-        verify(mockDao).getMyFeedback("EMP1");
+        verify(mockDao).getMyFeedback(eq("EMP1"), any());
     }
 
     @Test
     void testViewManagerFeedback() throws Exception {
-        when(mockDao.getMyFeedback("EMP1")).thenReturn(mockResultSet);
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(mockDao).getMyFeedback(eq("EMP1"), any());
 
         PerformanceService.viewManagerFeedback("EMP1");
 
-        verify(mockDao).getMyFeedback("EMP1");
+        verify(mockDao).getMyFeedback(eq("EMP1"), any());
     }
 
     @Test
     void testReviewTeam_Failure() throws Exception {
-        doThrow(new RuntimeException("DB Error")).when(mockDao).getTeamReviews("MGR1");
+        doThrow(new RuntimeException("DB Error")).when(mockDao).getTeamReviews(eq("MGR1"), any());
 
         PerformanceService.reviewTeam("MGR1");
 
-        verify(mockDao).getTeamReviews("MGR1");
+        verify(mockDao).getTeamReviews(eq("MGR1"), any());
     }
 
     @Test
@@ -191,11 +191,11 @@ class PerformanceServiceTest {
 
     @Test
     void testManageGoals_Failure() throws Exception {
-        doThrow(new RuntimeException("DB Error")).when(mockDao).getMyGoals("EMP1");
+        doThrow(new RuntimeException("DB Error")).when(mockDao).getMyGoals(eq("EMP1"), any());
 
         PerformanceService.manageGoals("EMP1");
 
-        verify(mockDao).getMyGoals("EMP1");
+        verify(mockDao).getMyGoals(eq("EMP1"), any());
     }
 
     private void setStaticField(Class<?> clazz, String fieldName, Object value) throws Exception {
@@ -33,34 +33,34 @@ class ReportServiceTest {
 
     @Test
     void testTeamPerformanceSummary() throws Exception {
-        when(mockDao.getTeamPerformanceSummary("MGR1")).thenReturn(mockResultSet);
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(mockDao).getTeamPerformanceSummary(eq("MGR1"), any());
         when(mockResultSet.next()).thenReturn(true, false);
         when(mockResultSet.getString("employee_id")).thenReturn("EMP1");
         when(mockResultSet.getDouble("avg_rating")).thenReturn(4.5);
 
         ReportService.teamPerformanceSummary("MGR1");
 
-        verify(mockDao).getTeamPerformanceSummary("MGR1");
+        verify(mockDao).getTeamPerformanceSummary(eq("MGR1"), any());
         verify(mockResultSet, atLeastOnce()).getString("employee_id");
     }
 
     @Test
     void testTeamPerformanceSummary_Failure() throws Exception {
-        doThrow(new RuntimeException("DB Error")).when(mockDao).getTeamPerformanceSummary("MGR1");
+        doThrow(new RuntimeException("DB Error")).when(mockDao).getTeamPerformanceSummary(eq("MGR1"), any());
 
         ReportService.teamPerformanceSummary("MGR1");
 
-        verify(mockDao).getTeamPerformanceSummary("MGR1");
+        verify(mockDao).getTeamPerformanceSummary(eq("MGR1"), any());
     }
 
     @Test
     void testTeamPerformanceSummary_NoResults() throws Exception {
-        when(mockDao.getTeamPerformanceSummary("MGR1")).thenReturn(mockResultSet);
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(mockDao).getTeamPerformanceSummary(eq("MGR1"), any());
         when(mockResultSet.next()).thenReturn(false); // No records
 
         ReportService.teamPerformanceSummary("MGR1");
 
-        verify(mockDao).getTeamPerformanceSummary("MGR1");
+        verify(mockDao).getTeamPerformanceSummary(eq("MGR1"), any());
         verify(mockResultSet, never()).getString(anyString());
     }
 
@@ -0,0 +1,46 @@
+package com.revworkforce.service;
+
+import com.revworkforce.dao.NotificationDAO;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class RetentionJobTest {
+
+    private final NotificationDAO dao = mock(NotificationDAO.class);
+    private final RetentionJob job = new RetentionJob("read notifications", dao::archiveReadNotifications, 90, 100, 3);
+    private final LocalDateTime now = LocalDateTime.of(2024, 6, 1, 2, 0);
+
+    @Test
+    void testRunArchivesUntilPartialBatch() throws Exception {
+        when(dao.archiveReadNotifications(any(), anyInt())).thenReturn(100, 40);
+
+        assertEquals(140, job.run(now));
+
+        verify(dao, times(2)).archiveReadNotifications(Timestamp.valueOf(now.minusDays(90)), 100);
+    }
+
+    @Test
+    void testRunStopsAfterMaxBatches() throws Exception {
+        when(dao.archiveReadNotifications(any(), anyInt())).thenReturn(100);
+
+        assertEquals(300, job.run(now));
+
+        verify(dao, times(3)).archiveReadNotifications(any(), anyInt());
+    }
+
+    @Test
+    void testRunFailurePropagates() throws Exception {
+        when(dao.archiveReadNotifications(any(), anyInt())).thenReturn(100)
+                .thenThrow(new RuntimeException("DB Error"));
+
+        assertThrows(RuntimeException.class, () -> job.run(now));
+        verify(dao, times(2)).archiveReadNotifications(any(), anyInt());
+    }
+}
@@ -0,0 +1,29 @@
+package com.revworkforce.service;
+
+import com.revworkforce.dao.RowCallback;
+import org.mockito.stubbing.Answer;
+
+import java.sql.ResultSet;
+
+/**
+ * Stubs for the streaming DAO methods: replays a mocked ResultSet through the
+ * RowCallback passed as the last argument, the way the real DAO would.
+ */
+final class RowCallbackStubs {
+
+    private RowCallbackStubs() {
+    }
+
+    static Answer<Integer> replaying(ResultSet rs) {
+        return invocation -> {
+            Object[] args = invocation.getArguments();
+            RowCallback callback = (RowCallback) args[args.length - 1];
+            int rows = 0;
+            while (rs.next()) {
+                callback.processRow(rs);
+                rows++;
+            }
+            return rows;
+        };
+    }
+}
@@ -1,6 +1,10 @@
 package com.revworkforce.service;
 
 import com.revworkforce.dao.*;
+import com.revworkforce.model.EmployeeSearchPage;
+import com.revworkforce.model.EmployeeSummary;
+import com.revworkforce.model.LeaveBalanceRow;
+import com.revworkforce.model.TeamLeaveRequest;
 import com.revworkforce.util.InputUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,8 +18,11 @@ import java.lang.reflect.Field;
 import java.sql.ResultSet;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 /**
@@ -63,31 +70,37 @@ class ServiceViewCoverageTest {
         mockList.add(row);
 
         // EmployeeDAO partial updates
-        when(employeeDAO.getReportees(anyString())).thenReturn(mockList);
-        when(employeeDAO.getProfile(anyString())).thenReturn(mockResultSet);
-        when(employeeDAO.searchEmployees(anyString())).thenReturn(mockList);
-        when(employeeDAO.getUpcomingBirthdays()).thenReturn(mockResultSet);
-        when(employeeDAO.getWorkAnniversaries()).thenReturn(mockResultSet);
-        when(employeeDAO.getBirthdaysToday()).thenReturn(mockResultSet);
-        when(employeeDAO.getWorkAnniversariesToday()).thenReturn(mockResultSet);
+        java.util.List<EmployeeSummary> employees = java.util.List.of(
+                new EmployeeSummary("1", "Test", null, null, null, null));
+        when(employeeDAO.getReportees(anyString())).thenReturn(employees);
+        when(employeeDAO.getProfile(anyString())).thenReturn(row);
+        when(employeeDAO.searchDirectory(anyString(), anyInt(), anyInt()))
+                .thenReturn(new EmployeeSearchPage(employees, employees.size(), 0));
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(employeeDAO).getUpcomingBirthdays(any());
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(employeeDAO).getWorkAnniversaries(any());
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(employeeDAO).getBirthdaysToday(any());
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(employeeDAO).getWorkAnniversariesToday(any());
 
         // LeaveDAO updates
-        when(leaveDAO.getLeaveBalances(anyString())).thenReturn(mockList);
+        when(leaveDAO.getLeaveBalances(anyString()))
+                .thenReturn(java.util.List.of(new LeaveBalanceRow(null, "Casual", 12, 2, 10)));
         when(leaveDAO.getMyLeaves(anyString())).thenReturn(mockList);
-        when(leaveDAO.getTeamLeaveRequests(anyString())).thenReturn(mockList);
+        when(leaveDAO.getTeamLeaveRequests(anyString())).thenReturn(java.util.List.of(
+                new TeamLeaveRequest(1, "1", "Test", null, null, null, null, "PENDING")));
         when(leaveDAO.getTeamLeaveCalendar(anyString())).thenReturn(mockList);
-        when(leaveDAO.getTeamLeaveBalances(anyString())).thenReturn(mockList);
+        when(leaveDAO.getTeamLeaveBalances(anyString()))
+                .thenReturn(java.util.List.of(new LeaveBalanceRow("1", "Casual", 12, 2, 10)));
 
-        when(attendanceDAO.getAttendanceHistory(anyString())).thenReturn(mockResultSet);
-        when(attendanceDAO.getTeamAttendanceSummary(anyString())).thenReturn(mockResultSet);
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(attendanceDAO).getAttendanceHistory(anyString(), any());
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(attendanceDAO).getTeamAttendanceSummary(anyString(), any());
 
-        when(performanceDAO.getMyFeedback(anyString())).thenReturn(mockResultSet); // My Reviews
-        when(performanceDAO.getTeamReviews(anyString())).thenReturn(mockResultSet);
-        when(performanceDAO.getTeamGoals(anyString())).thenReturn(mockResultSet);
-        when(performanceDAO.getGoalCompletionSummary(anyString())).thenReturn(mockResultSet);
-        when(performanceDAO.getTeamPerformanceSummary(anyString())).thenReturn(mockResultSet);
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(performanceDAO).getMyFeedback(anyString(), any()); // My Reviews
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(performanceDAO).getTeamReviews(anyString(), any());
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(performanceDAO).getTeamGoals(anyString(), any());
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(performanceDAO).getGoalCompletionSummary(anyString(), any());
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(performanceDAO).getTeamPerformanceSummary(anyString(), any());
 
-        when(announcementDAO.getAllAnnouncements()).thenReturn(mockResultSet);
+        doAnswer(RowCallbackStubs.replaying(mockResultSet)).when(announcementDAO).getAllAnnouncements(any());
         // NotificationDAO does not return ResultSet for viewing, it prints directly via
         // printAndMarkRead
 
@@ -116,7 +129,6 @@ class ServiceViewCoverageTest {
 
         // NotificationService has static DAOs
         injectMock(NotificationService.class, "dao", notificationDAO);
-        injectMock(NotificationService.class, "employeeDAO", employeeDAO);
     }
 
     @AfterEach
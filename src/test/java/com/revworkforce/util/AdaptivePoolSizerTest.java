@@ -0,0 +1,114 @@
+package com.revworkforce.util;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdaptivePoolSizerTest {
+
+    private PoolMetrics metrics;
+    private IMetricsTracker tracker;
+    private HikariConfigMXBean pool;
+    private int active;
+    private int pending;
+    private int maxSize = 10;
+    private int minIdle = 10;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new PoolMetrics();
+        tracker = metrics.create("test", new PoolStats(0) {
+            @Override
+            protected void update() {
+                activeConnections = active;
+                pendingThreads = pending;
+            }
+        });
+        pool = mock(HikariConfigMXBean.class);
+        when(pool.getMaximumPoolSize()).thenAnswer(inv -> maxSize);
+        when(pool.getMinimumIdle()).thenAnswer(inv -> minIdle);
+        doAnswer(inv -> maxSize = inv.getArgument(0)).when(pool).setMaximumPoolSize(anyInt());
+        doAnswer(inv -> minIdle = inv.getArgument(0)).when(pool).setMinimumIdle(anyInt());
+    }
+
+    private void acquired(long millis, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    @Test
+    void testGrowsWhenWaitsExceedTarget() {
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(metrics, pool, 10, 14, 5);
+        acquired(20, 100);
+
+        assertEquals(12, sizer.adjust());
+        acquired(20, 100);
+        assertEquals(14, sizer.adjust());
+        acquired(20, 100);
+        assertEquals(14, sizer.adjust()); // capped
+        verify(pool, times(2)).setMaximumPoolSize(anyInt());
+    }
+
+    @Test
+    void testGrowsOnTimeout() {
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(metrics, pool, 10, 20, 5);
+        tracker.recordConnectionTimeout();
+
+        assertEquals(12, sizer.adjust());
+        assertEquals(12, sizer.adjust()); // already counted
+    }
+
+    @Test
+    void testShrinksWhenIdleButNotBelowMinimum() {
+        maxSize = 12;
+        minIdle = 12;
+        active = 1;
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(metrics, pool, 10, 20, 5);
+
+        acquired(0, 50);
+        assertEquals(11, sizer.adjust());
+        assertEquals(11, minIdle);
+        acquired(0, 50);
+        assertEquals(10, sizer.adjust());
+        acquired(0, 50);
+        assertEquals(10, sizer.adjust());
+    }
+
+    @Test
+    void testKeepsSizeWithoutTraffic() {
+        maxSize = 12;
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(metrics, pool, 10, 20, 5);
+
+        assertEquals(12, sizer.adjust());
+        verify(pool, never()).setMaximumPoolSize(anyInt());
+    }
+
+    @Test
+    void testKeepsSizeWhenBusy() {
+        active = 8;
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(metrics, pool, 5, 20, 5);
+        acquired(0, 50);
+
+        assertEquals(10, sizer.adjust());
+    }
+
+    @Test
+    void testMetricsSummary() {
+        tracker.recordConnectionUsageMillis(7);
+        tracker.recordConnectionCreatedMillis(30);
+        acquired(1, 1);
+
+        assertEquals(1, metrics.getAcquireTimes().getCount());
+        assertEquals(7, metrics.getUsageTimes().getMax());
+        assertEquals(30, metrics.getCreationTimes().getMax());
+        assertTrue(metrics.toString().contains("acquire: count=1"));
+    }
+}
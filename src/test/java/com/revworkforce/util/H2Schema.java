@@ -0,0 +1,112 @@
+package com.revworkforce.util;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded H2 databases (Oracle mode) holding the application schema: the
+ * baseline in schema.sql plus the versioned migrations, as a new install
+ * gets them. Each database is named uniquely and lives until
+ * {@link #drop(Connection)}, so tests can open further connections to the
+ * same URL.
+ */
+public final class H2Schema {
+
+    private static final Pattern FOREIGN_KEY = Pattern.compile(
+            ",\\s*CONSTRAINT\\s+\\w+\\s+FOREIGN\\s+KEY\\s*\\([^)]*\\)\\s*REFERENCES\\s+\\w+\\s*\\([^)]*\\)",
+            Pattern.CASE_INSENSITIVE);
+
+    private H2Schema() {
+    }
+
+    /**
+     * @param name Prefix that shows which test the database belongs to.
+     * @return URL of a new, empty in-memory database.
+     */
+    public static String newUrl(String name) {
+        return "jdbc:h2:mem:" + name + "_" + UUID.randomUUID() + ";MODE=Oracle;DB_CLOSE_DELAY=-1;"
+                + "NON_KEYWORDS=YEAR,MONTH,DAY,VALUE,KEY";
+    }
+
+    public static Connection connect(String url) throws SQLException {
+        return DriverManager.getConnection(url, "sa", "");
+    }
+
+    /**
+     * Creates the full schema with all migrations applied.
+     *
+     * @param url From {@link #newUrl(String)}.
+     * @return Connection to the new database.
+     * @throws Exception if schema.sql or a migration fails.
+     */
+    public static Connection createMigrated(String url) throws Exception {
+        Connection con = createBaseline(url, true);
+        MigrationRunner.fromClasspath().migrate(con);
+        return con;
+    }
+
+    /**
+     * Creates the schema.sql baseline without running any migration.
+     *
+     * @param url         From {@link #newUrl(String)}.
+     * @param foreignKeys false to leave the foreign keys out. H2 indexes every
+     *                    foreign key by itself, which Oracle does not, so
+     *                    query plan tests drop them to see only the indexes
+     *                    the schema declares.
+     * @return Connection to the new database.
+     * @throws Exception if schema.sql fails.
+     */
+    public static Connection createBaseline(String url, boolean foreignKeys) throws Exception {
+        Connection con = connect(url);
+        String schema = Files.readString(Paths.get("schema.sql"), StandardCharsets.UTF_8);
+        try (Statement st = con.createStatement()) {
+            for (String sql : MigrationRunner.parseStatements(schema)) {
+                // The PL/SQL blocks only drop tables, which a new database does not have
+                if (!sql.startsWith("BEGIN")) {
+                    st.execute(foreignKeys ? sql : FOREIGN_KEY.matcher(sql).replaceAll(""));
+                }
+            }
+        }
+        return con;
+    }
+
+    /**
+     * Adds an employee with placeholder values for the required columns.
+     *
+     * @param con        Connection to the database.
+     * @param employeeId The employee ID.
+     * @param managerId  The manager, already added; null for none.
+     * @throws SQLException if the insert fails.
+     */
+    public static void addEmployee(Connection con, String employeeId, String managerId) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("INSERT INTO employees (employee_id, first_name, email, "
+                + "password_hash, manager_id, joining_date) VALUES (?, ?, ?, 'x', ?, DATE '2020-01-01')")) {
+            ps.setString(1, employeeId);
+            ps.setString(2, employeeId);
+            ps.setString(3, employeeId.toLowerCase() + "@example.com");
+            ps.setString(4, managerId);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Drops everything in the database and closes the connection.
+     *
+     * @param con Connection from one of the create methods.
+     * @throws SQLException if the drop fails.
+     */
+    public static void drop(Connection con) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+        }
+        con.close();
+    }
+}
@@ -0,0 +1,53 @@
+package com.revworkforce.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsCoverEveryValue() {
+        for (long v : new long[] { 0, 1, 3, 4, 5, 7, 8, 9, 10, 100, 1000, 123456789, Long.MAX_VALUE }) {
+            int bucket = LatencyHistogram.bucketOf(v);
+            assertTrue(LatencyHistogram.upperBound(bucket) >= v, "upper bound of " + v);
+            if (bucket > 0) {
+                assertTrue(LatencyHistogram.upperBound(bucket - 1) < v, "lower bound of " + v);
+            }
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram("us");
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(100, snapshot.getMax());
+        assertEquals(50.5, snapshot.getMean(), 0.001);
+        long p50 = snapshot.getPercentile(50);
+        assertTrue(p50 >= 50 && p50 <= 63, "p50 was " + p50);
+        long p95 = snapshot.getPercentile(95);
+        assertTrue(p95 >= 95 && p95 <= 100, "p95 was " + p95);
+        assertEquals(100, snapshot.getPercentile(100));
+    }
+
+    @Test
+    void testSnapshotAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram("ms");
+        histogram.record(5);
+        histogram.record(-3);
+
+        LatencyHistogram.Snapshot first = histogram.snapshotAndReset();
+        assertEquals(2, first.getCount());
+        assertEquals(5, first.getMax());
+
+        LatencyHistogram.Snapshot second = histogram.snapshot();
+        assertEquals(0, second.getCount());
+        assertEquals(0, second.getPercentile(95));
+        assertTrue(second.toString().contains("count=0"));
+    }
+}
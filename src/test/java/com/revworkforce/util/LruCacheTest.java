@@ -0,0 +1,112 @@
+package com.revworkforce.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private LruCache<String, String> newCache(int maxSize) {
+        return new LruCache<>("test", maxSize, 10, TimeUnit.SECONDS, clock::get);
+    }
+
+    @Test
+    void testGetOrLoad_HitsAndMisses() throws Exception {
+        LruCache<String, String> cache = newCache(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.getOrLoad("k1", k -> {
+            loads.incrementAndGet();
+            return "v1";
+        }));
+        assertEquals("v1", cache.getOrLoad("k1", k -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRatio(), 0.0001);
+    }
+
+    @Test
+    void testNullValuesAreNotCached() throws Exception {
+        LruCache<String, String> cache = newCache(10);
+        assertNull(cache.getOrLoad("missing", k -> null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testTtlExpiry() throws Exception {
+        LruCache<String, String> cache = newCache(10);
+        cache.put("k1", "v1");
+        assertEquals("v1", cache.get("k1"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+
+        assertNull(cache.get("k1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testLruEviction() {
+        LruCache<String, String> cache = newCache(2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a"); // "b" becomes least recently used
+        cache.put("c", "3");
+
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void testInvalidateDuringLoadDiscardsStaleValue() throws Exception {
+        LruCache<String, String> cache = newCache(10);
+
+        String value = cache.getOrLoad("k1", k -> {
+            cache.invalidate("k1"); // concurrent write while loading
+            return "stale";
+        });
+
+        assertEquals("stale", value);
+        assertNull(cache.get("k1"));
+    }
+
+    @Test
+    void testPutIfNotInvalidated() {
+        LruCache<String, String> cache = newCache(10);
+
+        long before = cache.generation();
+        cache.invalidateAll(); // write while the value was being read
+        assertFalse(cache.putIfNotInvalidated("k1", "stale", before));
+        assertNull(cache.get("k1"));
+
+        assertTrue(cache.putIfNotInvalidated("k1", "fresh", cache.generation()));
+        assertEquals("fresh", cache.get("k1"));
+    }
+
+    @Test
+    void testInvalidateAll() {
+        LruCache<String, String> cache = newCache(10);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertTrue(cache.toString().startsWith("test[size=0/10"));
+    }
+
+    @Test
+    void testInvalidMaxSize() {
+        assertThrows(IllegalArgumentException.class, () -> newCache(0));
+    }
+}
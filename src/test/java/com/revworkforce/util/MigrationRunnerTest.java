@@ -0,0 +1,237 @@
+package com.revworkforce.util;
+
+import com.revworkforce.exception.AppException;
+import com.revworkforce.util.MigrationRunner.Migration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MigrationRunnerTest {
+
+    private static final String CREATE_TABLE = "CREATE TABLE items (id NUMBER(10) PRIMARY KEY, name VARCHAR2(50));\n";
+
+    private Connection con;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        con = DriverManager.getConnection("jdbc:h2:mem:migrations_" + UUID.randomUUID() + ";MODE=Oracle", "sa", "");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        con.close();
+    }
+
+    @Test
+    void testParseStatements() {
+        String script = """
+                -- comment
+                CREATE TABLE a (
+                    id NUMBER
+                );
+
+                CREATE INDEX idx_a ON a (id);
+                BEGIN
+                   EXECUTE IMMEDIATE 'DROP TABLE b';
+                END;
+                /
+                INSERT INTO a VALUES (1)
+                """;
+
+        List<String> statements = MigrationRunner.parseStatements(script);
+
+        assertEquals(4, statements.size());
+        assertEquals("CREATE TABLE a (\nid NUMBER\n)", statements.get(0));
+        assertEquals("CREATE INDEX idx_a ON a (id)", statements.get(1));
+        assertTrue(statements.get(2).startsWith("BEGIN"));
+        assertTrue(statements.get(2).contains("DROP TABLE b';"));
+        assertEquals("INSERT INTO a VALUES (1)", statements.get(3));
+    }
+
+    @Test
+    void testMigrateAppliesInOrderAndRecordsHistory() throws Exception {
+        MigrationRunner runner = new MigrationRunner(List.of(
+                new Migration(2, "add index", "CREATE INDEX idx_items_name ON items (name);"),
+                new Migration(1, "create items", CREATE_TABLE)));
+
+        assertEquals(2, runner.migrate(con));
+
+        try (Statement st = con.createStatement();
+                ResultSet rs = st.executeQuery(
+                        "SELECT version, description, checksum FROM schema_migrations ORDER BY version")) {
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+            assertEquals("create items", rs.getString(2));
+            assertEquals(runner.getMigrations().get(0).checksum(), rs.getString(3));
+            assertTrue(rs.next());
+            assertEquals(2, rs.getInt(1));
+            assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    void testMigrateIsIdempotent() throws Exception {
+        MigrationRunner runner = new MigrationRunner(List.of(new Migration(1, "create items", CREATE_TABLE)));
+
+        assertEquals(1, runner.migrate(con));
+        assertEquals(0, runner.migrate(con));
+
+        MigrationRunner next = new MigrationRunner(List.of(new Migration(1, "create items", CREATE_TABLE),
+                new Migration(2, "add index", "CREATE INDEX idx_items_name ON items (name);")));
+        assertEquals(1, next.migrate(con));
+    }
+
+    @Test
+    void testChangedMigrationIsRejected() throws Exception {
+        new MigrationRunner(List.of(new Migration(1, "create items", CREATE_TABLE))).migrate(con);
+
+        MigrationRunner edited = new MigrationRunner(
+                List.of(new Migration(1, "create items", CREATE_TABLE.replace("50", "80"))));
+
+        AppException e = assertThrows(AppException.class, () -> edited.migrate(con));
+        assertTrue(e.getMessage().contains("V1"));
+    }
+
+    @Test
+    void testChecksumIgnoresLineEndings() {
+        assertEquals(new Migration(1, "a", "SELECT 1;\nSELECT 2;\n").checksum(),
+                new Migration(1, "a", "SELECT 1;\r\nSELECT 2;\r\n").checksum());
+    }
+
+    @Test
+    void testRetryAfterPartialFailureSkipsExistingIndex() throws Exception {
+        new MigrationRunner(List.of(new Migration(1, "create items", CREATE_TABLE))).migrate(con);
+        String script = "CREATE INDEX idx_items_name ON items (name);\nCREATE INDEX idx_broken ON no_such_table (x);\n";
+        MigrationRunner failing = new MigrationRunner(List.of(new Migration(1, "create items", CREATE_TABLE),
+                new Migration(2, "indexes", script)));
+
+        SQLException e = assertThrows(SQLException.class, () -> failing.migrate(con));
+        assertTrue(e.getMessage().contains("V2"));
+
+        // The first index was created before the failure; the fixed script re-runs cleanly
+        MigrationRunner fixed = new MigrationRunner(List.of(new Migration(1, "create items", CREATE_TABLE),
+                new Migration(2, "indexes", "CREATE INDEX idx_items_name ON items (name);\n")));
+        assertEquals(1, fixed.migrate(con));
+    }
+
+    @Test
+    void testRetryAfterPartialFailureSkipsExistingTablesAndColumns() throws Exception {
+        String tablesAndColumns = CREATE_TABLE
+                + "ALTER TABLE items ADD (price NUMBER(8, 2) DEFAULT 0 NOT NULL, code VARCHAR2(10));\n"
+                + "ALTER TABLE items ADD label VARCHAR2(20) GENERATED ALWAYS AS (code || '-' || name);\n"
+                + "CREATE TABLE item_tags (item_id NUMBER(10), tag VARCHAR2(20));\n";
+        MigrationRunner failing = new MigrationRunner(List.of(new Migration(1, "items",
+                tablesAndColumns + "CREATE INDEX idx_broken ON no_such_table (x);\n")));
+
+        SQLException e = assertThrows(SQLException.class, () -> failing.migrate(con));
+        assertTrue(e.getMessage().contains("V1"));
+
+        // Every table and column is already there; only the fixed index is new
+        MigrationRunner fixed = new MigrationRunner(List.of(new Migration(1, "items",
+                tablesAndColumns + "CREATE INDEX idx_item_tags ON item_tags (item_id);\n")));
+        assertEquals(1, fixed.migrate(con));
+        try (ResultSet rs = con.getMetaData().getIndexInfo(null, null, "ITEM_TAGS", false, true)) {
+            boolean found = false;
+            while (rs.next()) {
+                found |= "IDX_ITEM_TAGS".equals(rs.getString("INDEX_NAME"));
+            }
+            assertTrue(found);
+        }
+    }
+
+    @Test
+    void testRetryAddsColumnsStillMissing() throws Exception {
+        new MigrationRunner(List.of(new Migration(1, "create items", CREATE_TABLE))).migrate(con);
+        MigrationRunner runner = new MigrationRunner(List.of(new Migration(1, "create items", CREATE_TABLE),
+                new Migration(2, "columns", "ALTER TABLE items ADD (name VARCHAR2(50), price NUMBER(8, 2));\n")));
+
+        // name exists but price does not, so the statement runs and reports the clash
+        assertThrows(SQLException.class, () -> runner.migrate(con));
+    }
+
+    @Test
+    void testAddedColumns() {
+        assertEquals(List.of("price", "code"),
+                MigrationRunner.addedColumns("price NUMBER(8, 2) DEFAULT 0 NOT NULL,\n code VARCHAR2(10)\n)", true));
+        assertEquals(List.of("birth_mmdd", "joining_mmdd"), MigrationRunner.addedColumns(
+                "birth_mmdd NUMBER(4) GENERATED ALWAYS AS (EXTRACT(MONTH FROM d) * 100 + EXTRACT(DAY FROM d)),"
+                        + " joining_mmdd NUMBER(4))", true));
+        assertEquals(List.of("event_date"), MigrationRunner.addedColumns("event_date DATE", false));
+    }
+
+    @Test
+    void testAfterMigrationRunsOnlyWhenApplied() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        List<Migration> migrations = List.of(new Migration(1, "create items", CREATE_TABLE),
+                new Migration(2, "add index", "CREATE INDEX idx_items_name ON items (name);"));
+        new MigrationRunner(migrations.subList(0, 1)).migrate(con);
+
+        MigrationRunner runner = new MigrationRunner(migrations)
+                .afterMigration(1, runs::incrementAndGet)
+                .afterMigration(2, () -> {
+                    // Runs after the migrations, with the index in place
+                    try (Statement st = con.createStatement()) {
+                        st.execute("INSERT INTO items VALUES (1, 'a')");
+                    }
+                    runs.addAndGet(10);
+                });
+
+        assertEquals(1, runner.migrate(con));
+        assertEquals(10, runs.get());
+        assertEquals(0, runner.migrate(con));
+        assertEquals(10, runs.get());
+    }
+
+    @Test
+    void testAfterMigrationFailureKeepsMigration() throws Exception {
+        MigrationRunner runner = new MigrationRunner(List.of(new Migration(1, "create items", CREATE_TABLE)))
+                .afterMigration(1, () -> {
+                    throw new IllegalStateException("backfill failed");
+                });
+
+        assertEquals(1, runner.migrate(con));
+        assertEquals(0, runner.migrate(con));
+    }
+
+    @Test
+    void testDuplicateVersionRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new MigrationRunner(
+                List.of(new Migration(1, "a", "SELECT 1;"), new Migration(1, "b", "SELECT 2;"))));
+    }
+
+    @Test
+    void testFromClasspath() throws Exception {
+        MigrationRunner runner = MigrationRunner.fromClasspath();
+
+        assertFalse(runner.getMigrations().isEmpty());
+        Migration first = runner.getMigrations().get(0);
+        assertEquals(0, first.version());
+        assertEquals("schema catch up", first.description());
+        assertTrue(first.script().contains("ALTER TABLE"));
+        assertEquals(List.of(0, 1, 2, 3, 4), runner.getMigrations().stream().map(Migration::version).toList());
+    }
+
+    @Test
+    void testMigrateOnStartupDisabled() throws Exception {
+        System.setProperty("db.migrate.on.startup", "false");
+        try {
+            assertEquals(0, MigrationRunner.migrateOnStartup(con));
+            try (ResultSet rs = con.getMetaData().getTables(null, null, "SCHEMA_MIGRATIONS", null)) {
+                assertFalse(rs.next());
+            }
+        } finally {
+            System.clearProperty("db.migrate.on.startup");
+        }
+    }
+}
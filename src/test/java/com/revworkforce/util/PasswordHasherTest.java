@@ -0,0 +1,119 @@
+package com.revworkforce.util;
+
+import com.revworkforce.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void testHashAndVerify() {
+        hasher = new PasswordHasher(2, 4, 4, 5000);
+
+        String hash = hasher.hash("secret");
+
+        assertEquals(4, PasswordUtil.workFactorOf(hash));
+        assertTrue(hasher.verify("secret", hash));
+        assertFalse(hasher.verify("wrong", hash));
+        assertEquals(1, hasher.getHashTimes().getCount());
+        assertEquals(2, hasher.getVerifyTimes().getCount());
+        assertEquals(3, hasher.getQueueWaitTimes().getCount());
+    }
+
+    @Test
+    void testNeedsRehash() {
+        hasher = new PasswordHasher(1, 1, 5, 5000);
+
+        assertTrue(hasher.needsRehash(PasswordUtil.hashPassword("secret", 4)));
+        assertFalse(hasher.needsRehash(PasswordUtil.hashPassword("secret", 5)));
+        assertTrue(hasher.needsRehash("not-a-hash"));
+        assertEquals(5, hasher.getWorkFactor());
+    }
+
+    @Test
+    void testRejectsWhenQueueFull() throws Exception {
+        hasher = new PasswordHasher(1, 1, 4, 5000);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(
+                () -> hasher.call(() -> release.await(5, TimeUnit.SECONDS), new LatencyHistogram("ms")));
+        waitFor(() -> hasher.getActiveCount() == 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(
+                () -> hasher.call(() -> release.await(5, TimeUnit.SECONDS), new LatencyHistogram("ms")));
+        waitFor(() -> hasher.getQueueDepth() == 1);
+
+        assertThrows(ServiceBusyException.class, () -> hasher.hash("secret"));
+        assertEquals(1, hasher.getRejected());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        assertNotNull(hasher.hash("secret"));
+    }
+
+    @Test
+    void testSubmitHashSharesTheBound() throws Exception {
+        hasher = new PasswordHasher(1, 1, 4, 5000);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(
+                () -> hasher.call(() -> release.await(5, TimeUnit.SECONDS), new LatencyHistogram("ms")));
+        waitFor(() -> hasher.getActiveCount() == 1);
+
+        Future<String> queued = hasher.submitHash("secret");
+        assertThrows(ServiceBusyException.class, () -> hasher.submitHash("secret"));
+        assertEquals(1, hasher.getRejected());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(PasswordUtil.verifyPassword("secret", queued.get(5, TimeUnit.SECONDS)));
+        assertEquals(1, hasher.getHashTimes().getCount());
+    }
+
+    @Test
+    void testTimesOut() {
+        hasher = new PasswordHasher(1, 1, 4, 50);
+        CountDownLatch release = new CountDownLatch(1);
+
+        assertThrows(ServiceBusyException.class,
+                () -> hasher.call(() -> release.await(5, TimeUnit.SECONDS), new LatencyHistogram("ms")));
+        assertEquals(1, hasher.getTimedOut());
+        release.countDown();
+    }
+
+    @Test
+    void testPropagatesFailure() {
+        hasher = new PasswordHasher(1, 1, 4, 5000);
+
+        assertThrows(IllegalArgumentException.class, () -> hasher.verify("secret", "not-a-hash"));
+        assertTrue(hasher.toString().contains("cost=4"));
+    }
+
+    @Test
+    void testShared() {
+        assertSame(PasswordHasher.shared(), PasswordHasher.shared());
+        assertEquals(PasswordUtil.getWorkFactor(), PasswordHasher.shared().getWorkFactor());
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not reached");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -29,4 +29,21 @@ class PasswordUtilTest {
         String hash = PasswordUtil.hashPassword(password);
         Assertions.assertFalse(PasswordUtil.verifyPassword(wrongPassword, hash));
     }
+
+    @Test
+    void testHashPassword_WithWorkFactor() {
+        String hash = PasswordUtil.hashPassword("secret", 5);
+        Assertions.assertEquals(5, PasswordUtil.workFactorOf(hash));
+        Assertions.assertTrue(PasswordUtil.verifyPassword("secret", hash));
+    }
+
+    @Test
+    void testWorkFactorOf() {
+        Assertions.assertEquals(PasswordUtil.getWorkFactor(),
+                PasswordUtil.workFactorOf(PasswordUtil.hashPassword("secret")));
+        Assertions.assertEquals(10, PasswordUtil.workFactorOf("$2b$10$abcdefghijklmnopqrstuu"));
+        Assertions.assertEquals(-1, PasswordUtil.workFactorOf(null));
+        Assertions.assertEquals(-1, PasswordUtil.workFactorOf("plaintext"));
+        Assertions.assertEquals(-1, PasswordUtil.workFactorOf("$2a$x1$abc"));
+    }
 }
@@ -0,0 +1,83 @@
+package com.revworkforce.util;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolSettingsTest {
+
+    private final Properties props = new Properties();
+    private final Map<String, String> env = new HashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("db.pool.max.size");
+    }
+
+    @Test
+    void testDefaults() {
+        PoolSettings settings = PoolSettings.from(props, env::get);
+
+        assertEquals(10, settings.getMaxSize());
+        assertEquals(2, settings.getMinIdle());
+        assertEquals(30000, settings.getConnectionTimeoutMs());
+        assertEquals(0, settings.getLeakDetectionMs());
+        assertTrue(settings.isMetrics());
+        assertFalse(settings.isAdaptive());
+        assertEquals(30, settings.getAdaptiveMaxSize());
+    }
+
+    @Test
+    void testPrecedence_SystemPropertyThenEnvironmentThenFile() {
+        props.setProperty("db.pool.max.size", "12");
+        props.setProperty("db.pool.min.idle", "3");
+        env.put("DB_POOL_MAX_SIZE", "14");
+        assertEquals(14, PoolSettings.from(props, env::get).getMaxSize());
+        assertEquals(3, PoolSettings.from(props, env::get).getMinIdle());
+
+        System.setProperty("db.pool.max.size", "16");
+        assertEquals(16, PoolSettings.from(props, env::get).getMaxSize());
+    }
+
+    @Test
+    void testApplyTo() {
+        props.setProperty("db.pool.max.size", "20");
+        props.setProperty("db.pool.min.idle", "5");
+        props.setProperty("db.pool.leak.detection.ms", "60000");
+        HikariConfig config = new HikariConfig();
+
+        PoolSettings.from(props, env::get).applyTo(config);
+
+        assertEquals(20, config.getMaximumPoolSize());
+        assertEquals(5, config.getMinimumIdle());
+        assertEquals(60000, config.getLeakDetectionThreshold());
+    }
+
+    @Test
+    void testAdaptiveMaxFollowsLargerPool() {
+        props.setProperty("db.pool.max.size", "40");
+        assertEquals(40, PoolSettings.from(props, env::get).getAdaptiveMaxSize());
+    }
+
+    @Test
+    void testInvalidValues() {
+        props.setProperty("db.pool.max.size", "ten");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> PoolSettings.from(props, env::get));
+        assertTrue(e.getMessage().contains("db.pool.max.size"));
+
+        props.setProperty("db.pool.max.size", "4");
+        props.setProperty("db.pool.min.idle", "5");
+        assertThrows(IllegalArgumentException.class, () -> PoolSettings.from(props, env::get));
+
+        props.setProperty("db.pool.min.idle", "1");
+        props.setProperty("db.pool.leak.detection.ms", "500");
+        assertThrows(IllegalArgumentException.class, () -> PoolSettings.from(props, env::get));
+    }
+}
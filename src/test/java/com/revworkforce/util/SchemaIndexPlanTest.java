@@ -0,0 +1,150 @@
+package com.revworkforce.util;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds schema.sql plus the migrations in an embedded H2 database (Oracle
+ * mode) and checks with EXPLAIN that the DAO query shapes use the migration
+ * indexes.
+ * <p>
+ * H2 indexes every foreign key by itself, which Oracle does not, so the
+ * foreign key constraints are left out; otherwise H2 would pick its own
+ * indexes and hide a missing one.
+ */
+class SchemaIndexPlanTest {
+
+    private static Connection con;
+    private static Connection unmigrated;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        con = createSchema("schema_plan");
+        MigrationRunner.fromClasspath().migrate(con);
+        unmigrated = createSchema("schema_plan_unmigrated");
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        H2Schema.drop(con);
+        H2Schema.drop(unmigrated);
+    }
+
+    private static Connection createSchema(String name) throws Exception {
+        return H2Schema.createBaseline(H2Schema.newUrl(name), false);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "IDX_EMPLOYEES_MANAGER | SELECT e.employee_id FROM employees e WHERE e.manager_id = 'MGR001'",
+            "IDX_LEAVE_APPS_EMP_STATUS | SELECT la.leave_application_id FROM leave_applications la "
+                    + "WHERE la.employee_id = 'EMP001' AND la.status = 'PENDING'",
+            "IDX_LEAVE_APPS_EMP_STATUS | SELECT leave_application_id, status FROM leave_applications "
+                    + "WHERE employee_id = 'EMP001' ORDER BY applied_date DESC",
+            "IDX_ATTENDANCE_DATE | SELECT employee_id, status FROM attendance "
+                    + "WHERE attendance_date = DATE '2024-06-03'",
+            "IDX_PERF_REVIEWS_EMPLOYEE | SELECT manager_feedback FROM performance_reviews "
+                    + "WHERE employee_id = 'EMP001' AND manager_feedback IS NOT NULL",
+            "IDX_GOALS_EMPLOYEE | SELECT goal_id FROM goals WHERE employee_id = 'EMP001'",
+            "IDX_EMPLOYEE_SECURITY_EMP | SELECT question_id FROM employee_security WHERE employee_id = 'EMP001'",
+            "IDX_NOTIFICATIONS_UNREAD | SELECT notification_id FROM notifications "
+                    + "WHERE employee_id = 'EMP001' AND is_read = 0",
+            "IDX_AUDIT_LOGS_CREATED | SELECT log_id FROM audit_logs "
+                    + "WHERE created_at >= TIMESTAMP '2024-01-01 00:00:00'"
+    })
+    void testQueryUsesIndex(String index, String query) throws SQLException {
+        String plan = explain(con, query);
+
+        assertTrue(plan.contains(index), "Expected " + index + " in plan:\n" + plan);
+    }
+
+    @Test
+    void testWithoutMigrationsTeamQueryScansEmployees() throws SQLException {
+        String plan = explain(unmigrated, "SELECT e.employee_id FROM employees e WHERE e.manager_id = 'MGR001'");
+
+        assertTrue(plan.contains("TABLESCAN"), plan);
+    }
+
+    @Test
+    void testMigrationsRerunOverHalfAppliedSchema() throws Exception {
+        Connection c = createSchema("schema_plan_retry");
+        try {
+            MigrationRunner runner = MigrationRunner.fromClasspath();
+            assertEquals(runner.getMigrations().size(), runner.migrate(c));
+            // As if every migration had failed on its last statement: all DDL in, nothing recorded
+            try (Statement st = c.createStatement()) {
+                st.execute("DELETE FROM schema_migrations");
+            }
+
+            assertEquals(runner.getMigrations().size(), runner.migrate(c));
+        } finally {
+            H2Schema.drop(c);
+        }
+    }
+
+    @Test
+    void testTeamLeaveJoinUsesBothIndexes() throws SQLException {
+        String plan = explain(con, """
+                SELECT la.leave_application_id
+                FROM leave_applications la
+                JOIN employees e ON la.employee_id = e.employee_id
+                WHERE e.manager_id = 'MGR001' AND la.status = 'PENDING'
+                """);
+
+        assertTrue(plan.contains("IDX_EMPLOYEES_MANAGER"), plan);
+        assertTrue(plan.contains("IDX_LEAVE_APPS_EMP_STATUS"), plan);
+    }
+
+    @Test
+    void testOneEventNotificationPerEmployeeAndDay() throws SQLException {
+        try (Statement st = con.createStatement()) {
+            st.execute("INSERT INTO employees (employee_id, first_name, last_name, email, password_hash, joining_date) "
+                    + "VALUES ('EVT001', 'Eve', 'Tan', 'eve@example.com', 'x', DATE '2020-01-01')");
+            // Ordinary notifications have no event date and may repeat
+            st.execute("INSERT INTO notifications (employee_id, notification_type, message) "
+                    + "VALUES ('EVT001', 'LEAVE_APPROVED', 'a')");
+            st.execute("INSERT INTO notifications (employee_id, notification_type, message) "
+                    + "VALUES ('EVT001', 'LEAVE_APPROVED', 'b')");
+            st.execute("INSERT INTO notifications (employee_id, notification_type, message, event_date) "
+                    + "VALUES ('EVT001', 'BIRTHDAY', 'c', DATE '2024-03-08')");
+
+            assertThrows(SQLIntegrityConstraintViolationException.class, () -> st.execute(
+                    "INSERT INTO notifications (employee_id, notification_type, message, event_date) "
+                            + "VALUES ('EVT001', 'BIRTHDAY', 'd', DATE '2024-03-08')"));
+            st.execute("DELETE FROM notifications WHERE employee_id = 'EVT001'");
+            st.execute("DELETE FROM employees WHERE employee_id = 'EVT001'");
+        }
+    }
+
+    @Test
+    void testMigrationsRecorded() throws Exception {
+        try (Statement st = con.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM schema_migrations")) {
+            assertTrue(rs.next());
+            assertEquals(MigrationRunner.fromClasspath().getMigrations().size(), rs.getInt(1));
+        }
+        assertEquals(0, MigrationRunner.fromClasspath().migrate(con));
+    }
+
+    private static String explain(Connection c, String query) throws SQLException {
+        try (Statement st = c.createStatement();
+                ResultSet rs = st.executeQuery("EXPLAIN " + query)) {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString().toUpperCase();
+        }
+    }
+}